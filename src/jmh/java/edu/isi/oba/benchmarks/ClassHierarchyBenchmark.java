@@ -0,0 +1,110 @@
+package edu.isi.oba.benchmarks;
+
+import edu.isi.oba.ontology.index.ClassHierarchyIndex;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.yaml.YamlUtils;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Benchmarks finding the direct super classes of every class of the ontologies of a configuration
+ * file (among all of its super classes), as is done for each class when using inheritance
+ * references: with the reasoner's super classes of each pair of super classes, and with the class
+ * hierarchy index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ClassHierarchyBenchmark {
+
+	/** Configuration file whose ontologies are benchmarked (relative to the project directory). */
+	@Param({"examples/dbpedia/config_music.yaml", "examples/modelcatalog/config.yaml"})
+	public String configFile;
+
+	private final List<OWLReasoner> reasoners = new ArrayList<>();
+
+	/** The super classes of each class of each ontology. */
+	private final List<List<Set<OWLClass>>> ontologySuperClasses = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void loadOntologies() {
+		final var config = YamlUtils.getYamlData(this.configFile);
+		for (final var ontology : config.getOwlOntologies()) {
+			final var reasoner = ReasonerRegistry.getReasoner(ontology);
+			this.reasoners.add(reasoner);
+			this.ontologySuperClasses.add(
+					ontology
+							.classesInSignature()
+							.map(
+									owlClass ->
+											reasoner
+													.getSuperClasses(owlClass, false)
+													.entities()
+													.filter(superClass -> !superClass.isOWLThing())
+													.collect(Collectors.toSet()))
+							.collect(Collectors.toList()));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void releaseReasoners() {
+		ReasonerRegistry.clear();
+	}
+
+	/** Ask the reasoner, for each pair of super classes, whether one is a super class of the other. */
+	@Benchmark
+	public void pairwiseReasonerQueries(Blackhole blackhole) {
+		for (var i = 0; i < this.reasoners.size(); i++) {
+			final var reasoner = this.reasoners.get(i);
+			for (final var superClasses : this.ontologySuperClasses.get(i)) {
+				final var directSuperClasses = new HashSet<OWLClass>(superClasses);
+				for (final var superClassA : superClasses) {
+					for (final var superClassB : superClasses) {
+						if (!superClassA.equals(superClassB)
+								&& reasoner.getSuperClasses(superClassA, false).containsEntity(superClassB)) {
+							directSuperClasses.remove(superClassB);
+						}
+					}
+				}
+
+				blackhole.consume(directSuperClasses);
+			}
+		}
+	}
+
+	/** Reduce the super classes with a (new) class hierarchy index of each ontology. */
+	@Benchmark
+	public void ancestorBitsets(Blackhole blackhole) {
+		for (var i = 0; i < this.reasoners.size(); i++) {
+			final var index = new ClassHierarchyIndex(this.reasoners.get(i));
+			for (final var superClasses : this.ontologySuperClasses.get(i)) {
+				final var directSuperClasses = new HashSet<OWLClass>(superClasses);
+				index.removeAncestors(directSuperClasses);
+				blackhole.consume(directSuperClasses);
+			}
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package edu.isi.oba.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import edu.isi.oba.Mapper;
+import edu.isi.oba.MarkdownWriter;
+import edu.isi.oba.Oba;
+import edu.isi.oba.Serializer;
+import edu.isi.oba.config.ConfigPropertyNames;
+import edu.isi.oba.config.YamlConfig;
+import edu.isi.oba.config.flags.GlobalFlags;
+import edu.isi.oba.generators.ExamplesGenerator;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.schema.SchemaRefUtils;
+import edu.isi.oba.utils.yaml.YamlUtils;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.media.Schema;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks each phase of generating the OpenAPI specification of a configuration file, in the
+ * order they are run by {@link Oba}:
+ *
+ * <ol>
+ *   <li>loading the configuration file and its ontologies;
+ *   <li>mapping the classes to schemas ({@link Mapper#createSchemas()});
+ *   <li>replacing the references of the schemas with the referenced schemas (only done for {@code
+ *       follow_references: false}, but benchmarked for every configuration file);
+ *   <li>generating the component examples;
+ *   <li>writing the OpenAPI specification ({@link Serializer}, which also dereferences the schemas
+ *       and generates the examples, but does not validate the written file);
+ *   <li>writing the markdown file ({@link MarkdownWriter}), if the configuration file has one.
+ * </ol>
+ *
+ * <p>Each phase is run once per iteration, as it is once per run of OBA. The inputs of a phase are
+ * prepared by the previous phases before the iteration. Everything is written to a temporary
+ * output directory instead of the one in the configuration file.
+ *
+ * <p>The default configuration files are the bundled examples whose ontologies are local files. The
+ * {@code benchmarks} profile runs JMH with the GC profiler, so the results (saved as JSON) include
+ * the allocation rate, bytes allocated per operation, and GC count and time of each phase.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GenerationPipelineBenchmark {
+
+	/** A configuration file, copied to a temporary directory with a temporary output directory. */
+	@State(Scope.Benchmark)
+	public static class ConfigFile {
+		/** Configuration file to benchmark (relative to the project directory). */
+		@Param({
+			"examples/business/config.yaml",
+			"examples/testConfig/config.yaml",
+			"examples/jazz/config.yaml",
+			"examples/restrictions/config.yaml",
+			"examples/modelcatalog/config.yaml",
+			"examples/example with spaces/config.yaml",
+			"examples/dbpedia/config_music.yaml"
+		})
+		public String configFile;
+
+		private Path directory;
+		private String redirectedConfigFile;
+
+		@Setup
+		public void redirectOutput() throws IOException {
+			initializeLogger();
+
+			this.directory = Files.createTempDirectory("oba-benchmark");
+			final var yamlMapper = new YAMLMapper();
+			final var config = (ObjectNode) yamlMapper.readTree(new File(this.configFile));
+			config.put("output_dir", this.directory.resolve("outputs").toString());
+
+			final var file = this.directory.resolve("config.yaml").toFile();
+			yamlMapper.writeValue(file, config);
+			this.redirectedConfigFile = file.getPath();
+		}
+
+		@TearDown
+		public void deleteOutput() throws IOException {
+			ReasonerRegistry.clear();
+			OntologyIndexRegistry.clear();
+
+			try (Stream<Path> paths = Files.walk(this.directory)) {
+				paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+		}
+
+		YamlConfig load() {
+			return YamlUtils.getYamlData(this.redirectedConfigFile);
+		}
+
+		Path getDirectory() {
+			return this.directory;
+		}
+	}
+
+	/** The configuration file with its ontologies loaded. */
+	@State(Scope.Benchmark)
+	public static class LoadedConfig {
+		YamlConfig config;
+
+		@Setup
+		public void load(ConfigFile configFile) {
+			this.config = configFile.load();
+		}
+	}
+
+	/** The schemas mapped from the loaded configuration, which are only read by the phases. */
+	@State(Scope.Benchmark)
+	public static class MappedSchemas {
+		Mapper mapper;
+
+		/** The schemas before their references are replaced. */
+		@SuppressWarnings("rawtypes")
+		Map<String, Schema> referencingSchemas;
+
+		OpenAPI openAPI;
+
+		@Setup
+		public void map(LoadedConfig loadedConfig) throws Exception {
+			this.mapper = new Mapper(loadedConfig.config);
+			this.mapper.createSchemas();
+
+			final var followReferences = GlobalFlags.getFlag(ConfigPropertyNames.FOLLOW_REFERENCES);
+			GlobalFlags.setFlag(ConfigPropertyNames.FOLLOW_REFERENCES, true);
+			this.referencingSchemas = this.mapper.getSchemas();
+			GlobalFlags.setFlag(ConfigPropertyNames.FOLLOW_REFERENCES, followReferences);
+
+			this.openAPI = new OpenAPI().components(new Components().schemas(this.mapper.getSchemas()));
+		}
+	}
+
+	/**
+	 * A newly mapped configuration for each invocation, since the {@link Serializer} changes the
+	 * mapper (and the base OpenAPI specification of the configuration).
+	 */
+	@State(Scope.Benchmark)
+	public static class NewlyMappedSchemas {
+		Mapper mapper;
+		OpenAPI openAPI;
+
+		@Setup(Level.Invocation)
+		public void map(LoadedConfig loadedConfig) throws Exception {
+			// The validation parses the written file again, and its parser rejects large files.
+			loadedConfig.config.setValidateGeneratedOpenapiFile(false);
+
+			OntologyIndexRegistry.clear();
+			this.mapper = new Mapper(loadedConfig.config);
+			this.mapper.createSchemas();
+			this.openAPI = Json.mapper().convertValue(loadedConfig.config.getOpenapi(), OpenAPI.class);
+		}
+	}
+
+	/** The configurations loaded by the benchmark, whose reasoners are released afterwards. */
+	@State(Scope.Benchmark)
+	public static class LoadedConfigs {
+		YamlConfig config;
+
+		@TearDown(Level.Invocation)
+		public void releaseReasoners() {
+			if (this.config != null) {
+				this.config.getOwlOntologies().forEach(ReasonerRegistry::release);
+				this.config = null;
+			}
+		}
+	}
+
+	@Benchmark
+	public YamlConfig loadOntologies(ConfigFile configFile, LoadedConfigs loadedConfigs) {
+		loadedConfigs.config = configFile.load();
+		return loadedConfigs.config;
+	}
+
+	@Benchmark
+	public Mapper createSchemas(LoadedConfig loadedConfig) throws Exception {
+		// The property domain indexes are built (once per ontology) while mapping.
+		OntologyIndexRegistry.clear();
+
+		final var mapper = new Mapper(loadedConfig.config);
+		mapper.createSchemas();
+		return mapper;
+	}
+
+	@Benchmark
+	@SuppressWarnings("rawtypes")
+	public Map<String, Schema> dereferenceSchemas(MappedSchemas mappedSchemas) {
+		return SchemaRefUtils.getDereferencedSchemasParallel(mappedSchemas.referencingSchemas);
+	}
+
+	@Benchmark
+	public Map<String, Example> generateExamples(
+			LoadedConfig loadedConfig, MappedSchemas mappedSchemas) throws Exception {
+		return ExamplesGenerator.generateExamples(
+				mappedSchemas.openAPI, loadedConfig.config.getExamplesMaxDepth());
+	}
+
+	@Benchmark
+	public Serializer serialize(
+			ConfigFile configFile, LoadedConfig loadedConfig, NewlyMappedSchemas newlyMappedSchemas)
+			throws Exception {
+		return new Serializer(
+				newlyMappedSchemas.mapper,
+				configFile.getDirectory().resolve("serialized"),
+				newlyMappedSchemas.openAPI,
+				loadedConfig.config.getCustomPaths(),
+				loadedConfig.config);
+	}
+
+	@Benchmark
+	public void writeMarkdownFile(LoadedConfig loadedConfig, MappedSchemas mappedSchemas)
+			throws Exception {
+		MarkdownWriter.writeMarkdownFile(loadedConfig.config, mappedSchemas.mapper);
+	}
+
+	/** Set up the logger used by OBA, logging errors only (e.g. cloning a schema logs warnings). */
+	private static void initializeLogger() throws IOException {
+		try (final var stream = Oba.class.getClassLoader().getResourceAsStream("logging.properties")) {
+			LogManager.getLogManager().readConfiguration(stream);
+		}
+
+		Logger.getLogger("").setLevel(java.util.logging.Level.SEVERE);
+		Oba.logger = Logger.getLogger(Oba.class.getName());
+	}
+}
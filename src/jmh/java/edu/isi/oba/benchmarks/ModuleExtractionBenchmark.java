@@ -0,0 +1,133 @@
+package edu.isi.oba.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import edu.isi.oba.Mapper;
+import edu.isi.oba.Oba;
+import edu.isi.oba.config.ConfigPropertyNames;
+import edu.isi.oba.config.YamlConfig;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.module.OntologyModuleExtractor;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.yaml.YamlUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+/**
+ * Benchmarks mapping a few classes of a large ontology against the whole ontology, compared to
+ * against the module of the ontology which the classes need ({@code extract_module: true}), along
+ * with extracting the module itself.
+ *
+ * <p>The configuration file is {@code examples/dbpedia/config_music.yaml}, with its classes
+ * (Genre and Band) set as the {@code paths_for_classes}, since every class of the ontology is
+ * allowed (and mapped) otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModuleExtractionBenchmark {
+	private static final String CONFIG_FILE = "examples/dbpedia/config_music.yaml";
+	private static final List<String> CLASSES =
+			List.of("http://dbpedia.org/ontology/Genre", "http://dbpedia.org/ontology/Band");
+
+	/** Whether the classes are mapped against the module of the ontology. */
+	@Param({"false", "true"})
+	public boolean extractModule;
+
+	private Path directory;
+	private YamlConfig config;
+	private Set<OWLClass> seedClasses;
+
+	@Setup
+	public void loadConfig() throws IOException {
+		initializeLogger();
+
+		this.directory = Files.createTempDirectory("oba-module-benchmark");
+		final var yamlMapper = new YAMLMapper();
+		final var config = (ObjectNode) yamlMapper.readTree(new File(CONFIG_FILE));
+		config.put(ConfigPropertyNames.OUTPUT_DIR, this.directory.resolve("outputs").toString());
+		config.put(ConfigPropertyNames.EXTRACT_MODULE, this.extractModule);
+		final var pathClasses =
+				((ObjectNode) config.get(ConfigPropertyNames.PATH_CONFIG))
+						.putArray(ConfigPropertyNames.PATHS_FOR_CLASSES);
+		CLASSES.forEach(
+				classIRI -> pathClasses.addObject().put(ConfigPropertyNames.CLASS_IRI, classIRI));
+
+		final var file = this.directory.resolve("config.yaml").toFile();
+		yamlMapper.writeValue(file, config);
+		this.config = YamlUtils.getYamlData(file.getPath());
+
+		final var dataFactory = OWLManager.getOWLDataFactory();
+		this.seedClasses =
+				CLASSES.stream()
+						.map(classIRI -> dataFactory.getOWLClass(IRI.create(classIRI)))
+						.collect(Collectors.toSet());
+	}
+
+	@TearDown
+	public void deleteOutput() throws IOException {
+		ReasonerRegistry.clear();
+		OntologyIndexRegistry.clear();
+
+		try (Stream<Path> paths = Files.walk(this.directory)) {
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+
+	/** Map the classes against the loaded ontology (or its module). */
+	@Benchmark
+	public Mapper createSchemas() throws Exception {
+		OntologyIndexRegistry.clear();
+
+		final var mapper = new Mapper(this.config);
+		mapper.createSchemas();
+		return mapper;
+	}
+
+	/** Extract the module of the loaded ontology (or of the module, which is the same module). */
+	@Benchmark
+	public Map<OWLOntology, OWLOntology> extractModules() throws OWLOntologyCreationException {
+		return OntologyModuleExtractor.extractModules(this.config.getOwlOntologies(), this.seedClasses);
+	}
+
+	/** Set up the logger used by OBA, logging errors only. */
+	private static void initializeLogger() throws IOException {
+		try (final var stream = Oba.class.getClassLoader().getResourceAsStream("logging.properties")) {
+			LogManager.getLogManager().readConfiguration(stream);
+		}
+
+		Logger.getLogger("").setLevel(java.util.logging.Level.SEVERE);
+		Oba.logger = Logger.getLogger(Oba.class.getName());
+	}
+}
@@ -0,0 +1,106 @@
+package edu.isi.oba.benchmarks;
+
+import edu.isi.oba.cache.OntologySnapshot;
+import edu.isi.oba.utils.ontology.OntologyFormats;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Benchmarks the startup of a run: parsing an ontology file (cold start), either with every OWLAPI
+ * parser in turn or with the parser of its detected format, compared to restoring the parsed
+ * ontology from its {@link OntologySnapshot} (warm start).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OntologyStartupBenchmark {
+
+	/** Ontology file which is benchmarked (relative to the project directory). */
+	@Param({
+		"examples/dbpedia/ontology.xml",
+		"examples/business/ontology.xml",
+		"examples/modelcatalog/sd-reduced.ttl",
+		"examples/testConfig/ontology.ttl"
+	})
+	public String ontologyFile;
+
+	private Path snapshotDirectory;
+	private OntologySnapshot snapshot;
+
+	@Setup(Level.Trial)
+	public void saveSnapshot() throws IOException, OWLOntologyCreationException {
+		this.snapshotDirectory = Files.createTempDirectory("oba-snapshot-benchmark");
+		this.snapshot =
+				new OntologySnapshot(this.snapshotDirectory, List.of(Path.of(this.ontologyFile)));
+		this.snapshot.save(this.parseOntology());
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteSnapshot() throws IOException {
+		try (Stream<Path> files = Files.walk(this.snapshotDirectory)) {
+			for (final var file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	/** Parse the ontology file, letting OWLAPI try each of its parsers until one succeeds. */
+	@Benchmark
+	public OWLOntologyManager parseOntology() throws OWLOntologyCreationException {
+		final var manager = OWLManager.createConcurrentOWLOntologyManager();
+		manager.loadOntologyFromOntologyDocument(
+				new FileDocumentSource(Path.of(this.ontologyFile).toFile()), this.getLoaderConfiguration());
+		return manager;
+	}
+
+	/** Parse the ontology file with the parser of its detected format, as is done for a run. */
+	@Benchmark
+	public OWLOntologyManager parseOntologyWithDetectedFormat() throws OWLOntologyCreationException {
+		final var file = Path.of(this.ontologyFile);
+		final var manager = OWLManager.createConcurrentOWLOntologyManager();
+		OntologyFormats.loadOntology(
+				manager,
+				file.toFile(),
+				OntologyFormats.detectMimeType(file, null),
+				this.getLoaderConfiguration());
+		return manager;
+	}
+
+	/** Restore the ontology from its snapshot. */
+	@Benchmark
+	public OWLOntologyManager restoreSnapshot() {
+		return this.snapshot.restore();
+	}
+
+	private OWLOntologyLoaderConfiguration getLoaderConfiguration() {
+		return new OWLOntologyLoaderConfiguration()
+				.setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+	}
+}
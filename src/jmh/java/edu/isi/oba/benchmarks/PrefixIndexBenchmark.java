@@ -0,0 +1,80 @@
+package edu.isi.oba.benchmarks;
+
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.index.PrefixIndex;
+import edu.isi.oba.ontology.schema.SchemaBuilder;
+import edu.isi.oba.utils.yaml.YamlUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Benchmarks building the prefix index of each ontology of a configuration file, and resolving the
+ * schema name of every class of the ontology, as is done for each referenced class when mapping the
+ * classes to schemas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrefixIndexBenchmark {
+
+	/** Configuration file whose ontologies are benchmarked (relative to the project directory). */
+	@Param({"examples/dbpedia/config_music.yaml", "examples/modelcatalog_full/config.yaml"})
+	public String configFile;
+
+	private final List<OWLOntology> ontologies = new ArrayList<>();
+	private final List<List<OWLClass>> ontologyClasses = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void loadOntologies() {
+		final var config = YamlUtils.getYamlData(this.configFile);
+		for (final var ontology : config.getOwlOntologies()) {
+			this.ontologies.add(ontology);
+			this.ontologyClasses.add(ontology.classesInSignature().collect(Collectors.toList()));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void releaseIndexes() {
+		OntologyIndexRegistry.clear();
+	}
+
+	/** Build the index, which is done once per ontology. */
+	@Benchmark
+	public void buildPrefixIndex(Blackhole blackhole) {
+		for (final var ontology : this.ontologies) {
+			blackhole.consume(new PrefixIndex(ontology));
+		}
+	}
+
+	/** Resolve the schema name of every class (memoized after the first iteration). */
+	@Benchmark
+	public void getPrefixedSchemaNameOfEveryClass(Blackhole blackhole) {
+		for (var i = 0; i < this.ontologies.size(); i++) {
+			final var ontology = this.ontologies.get(i);
+			for (final var owlClass : this.ontologyClasses.get(i)) {
+				blackhole.consume(SchemaBuilder.getPrefixedSchemaName(owlClass, ontology));
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package edu.isi.oba.benchmarks;
+
+import edu.isi.oba.ontology.index.PropertyDomainIndex;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.yaml.YamlUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Benchmarks building the object property hierarchy (and the property domain index) of each
+ * ontology of a configuration file, and looking up the properties of every class of the ontology,
+ * as is done when mapping the classes to schemas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PropertyHierarchyBenchmark {
+
+	/** Configuration file whose ontologies are benchmarked (relative to the project directory). */
+	@Param({"examples/modelcatalog_full/config.yaml"})
+	public String configFile;
+
+	private final List<OWLOntology> ontologies = new ArrayList<>();
+	private final List<PropertyDomainIndex> indexes = new ArrayList<>();
+	private final List<List<OWLClass>> ontologyClasses = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void loadOntologies() {
+		final var config = YamlUtils.getYamlData(this.configFile);
+		for (final var ontology : config.getOwlOntologies()) {
+			final var reasoner = ReasonerRegistry.getReasoner(ontology);
+			this.ontologies.add(ontology);
+			this.indexes.add(new PropertyDomainIndex(ontology, reasoner));
+			this.ontologyClasses.add(ontology.classesInSignature().collect(Collectors.toList()));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void releaseReasoners() {
+		ReasonerRegistry.clear();
+	}
+
+	/** Build the hierarchy and index, which is done once per ontology. */
+	@Benchmark
+	public void buildPropertyDomainIndex(Blackhole blackhole) {
+		for (final var ontology : this.ontologies) {
+			blackhole.consume(new PropertyDomainIndex(ontology, ReasonerRegistry.getReasoner(ontology)));
+		}
+	}
+
+	/** Look up the object and data properties of every class, which is done once per class. */
+	@Benchmark
+	public void lookUpPropertiesOfEveryClass(Blackhole blackhole) {
+		for (var i = 0; i < this.indexes.size(); i++) {
+			final var index = this.indexes.get(i);
+			for (final var owlClass : this.ontologyClasses.get(i)) {
+				blackhole.consume(index.getObjectProperties(owlClass));
+				blackhole.consume(index.getDataProperties(owlClass));
+			}
+		}
+	}
+}
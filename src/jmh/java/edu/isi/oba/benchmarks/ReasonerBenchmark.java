@@ -0,0 +1,133 @@
+package edu.isi.oba.benchmarks;
+
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.ontology.reasoner.ReasonerUtil;
+import edu.isi.oba.utils.yaml.YamlUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceDepth;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Benchmarks the reasoner queries made for each mapped class of the ontologies of a configuration
+ * file (the top class, the class's super classes and their own super classes, and the
+ * sub-properties of the class's object and data properties): with a new reasoner for each class,
+ * and with the shared, precomputed reasoner of the ontology. Each operation is one class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReasonerBenchmark {
+
+	/** Configuration file whose ontologies are benchmarked (relative to the project directory). */
+	@Param({"examples/dbpedia/config_music.yaml", "examples/modelcatalog/config.yaml"})
+	public String configFile;
+
+	/** Each class of each ontology, with its ontology. */
+	private final List<Map.Entry<OWLClass, OWLOntology>> classes = new ArrayList<>();
+
+	private int nextClass;
+
+	@Setup(Level.Trial)
+	public void loadOntologies() {
+		final var config = YamlUtils.getYamlData(this.configFile);
+		for (final var ontology : config.getOwlOntologies()) {
+			ontology
+					.classesInSignature()
+					.forEach(owlClass -> this.classes.add(Map.entry(owlClass, ontology)));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void releaseReasoners() {
+		ReasonerRegistry.clear();
+	}
+
+	/**
+	 * Create a new reasoner for the class, as was done for each class before the shared reasoners.
+	 */
+	@Benchmark
+	public void reasonerPerClass(Blackhole blackhole) {
+		final var entry = this.nextClass();
+		final var reasoner = ReasonerUtil.createReasoner(entry.getValue());
+		queryHierarchies(reasoner, entry.getKey(), entry.getValue(), blackhole);
+		reasoner.dispose();
+	}
+
+	/** Use the shared reasoner of the class's ontology. */
+	@Benchmark
+	public void sharedReasoner(Blackhole blackhole) {
+		final var entry = this.nextClass();
+		final var reasoner = ReasonerRegistry.getReasoner(entry.getValue());
+		queryHierarchies(reasoner, entry.getKey(), entry.getValue(), blackhole);
+	}
+
+	private Map.Entry<OWLClass, OWLOntology> nextClass() {
+		final var entry = this.classes.get(this.nextClass);
+		this.nextClass = (this.nextClass + 1) % this.classes.size();
+		return entry;
+	}
+
+	/** Make the reasoner queries the visitor makes to map a class. */
+	private static void queryHierarchies(
+			OWLReasoner reasoner, OWLClass owlClass, OWLOntology ontology, Blackhole blackhole) {
+		blackhole.consume(reasoner.getTopClassNode().getRepresentativeElement());
+
+		// The super classes, whose own super classes are checked to keep the direct ones.
+		reasoner
+				.getSuperClasses(owlClass, false)
+				.entities()
+				.forEach(superClass -> blackhole.consume(reasoner.getSuperClasses(superClass, false)));
+
+		// The sub-properties of the top-level object properties with the class in their domain.
+		reasoner
+				.subObjectProperties(
+						reasoner.getTopObjectPropertyNode().getRepresentativeElement(), InferenceDepth.DIRECT)
+				.filter(
+						topLevelProperty ->
+								!topLevelProperty.isBottomEntity()
+										&& topLevelProperty.isOWLObjectProperty()
+										&& ontology
+												.objectPropertyDomainAxioms(topLevelProperty)
+												.anyMatch(
+														domainAxiom ->
+																domainAxiom.getDomain().containsEntityInSignature(owlClass)))
+				.forEach(
+						topLevelProperty ->
+								reasoner
+										.subObjectProperties(topLevelProperty, InferenceDepth.ALL)
+										.forEach(blackhole::consume));
+
+		// The sub-properties of the data properties with the class in their domain.
+		ontology
+				.axioms(AxiomType.DATA_PROPERTY_DOMAIN)
+				.filter(domainAxiom -> domainAxiom.getDomain().containsEntityInSignature(owlClass))
+				.forEach(
+						domainAxiom ->
+								blackhole.consume(
+										reasoner.getSubDataProperties(
+												domainAxiom.getProperty().asOWLDataProperty(), false)));
+	}
+}
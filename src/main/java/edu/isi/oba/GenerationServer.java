@@ -0,0 +1,504 @@
+package edu.isi.oba;
+
+import static edu.isi.oba.Oba.logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.isi.oba.cache.LoadedOntologyCache;
+import edu.isi.oba.config.ConfigPropertyNames;
+import edu.isi.oba.config.flags.GlobalFlags;
+import edu.isi.oba.report.RunReport;
+import edu.isi.oba.utils.DigestUtils;
+import edu.isi.oba.utils.exithandler.ExitHandler;
+import edu.isi.oba.utils.exithandler.FatalErrorHandler;
+import edu.isi.oba.utils.file.FileWriterUtils;
+import io.swagger.v3.core.util.Json;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Local HTTP server which generates specifications in a long-running (warm) JVM, instead of a new
+ * process (with its startup and JIT warm-up) for each specification.
+ *
+ * <p>{@code POST /generate} takes a JSON object with the content of a configuration file ({@code
+ * config}) and, optionally, an inline ontology ({@code ontology}, in any format OBA reads), which
+ * is added to the configured ontologies. It returns a JSON object with the generated OpenAPI
+ * document ({@code openapi}) and markdown file ({@code markdown}, or {@code null} if the
+ * configuration does not generate one), or with an {@code error}. Each request is generated in its
+ * own directory, so the configuration's {@code output_dir} is ignored (and its {@code name} must be
+ * a directory inside it). The request's files, including the inline ontology, are deleted once it
+ * is generated.
+ *
+ * <p>The parsed ontologies (of the last {@value #CACHED_CONFIGURATIONS} configurations, see {@link
+ * LoadedOntologyCache}), their reasoners and indexes, and the memoized name transforms are shared
+ * by the requests. The requests are generated one at a time, since the configuration flags are
+ * process-wide, and at most {@value #QUEUE_CAPACITY} requests wait for their turn: any other
+ * request is rejected.
+ *
+ * <p>The server only listens on the loopback address, and only takes JSON requests to a loopback
+ * host without an {@code Origin}, so that web pages cannot send it requests. The configuration's
+ * local ontologies, ontology cache directory and inflection dictionary must be inside the server's
+ * working directory.
+ */
+public class GenerationServer {
+	/** Maximum number of requests waiting to be generated. */
+	public static final int QUEUE_CAPACITY = 16;
+
+	/** Maximum number of configurations whose parsed ontologies are kept. */
+	public static final int CACHED_CONFIGURATIONS = 8;
+
+	private static final String INLINE_ONTOLOGIES_DIRECTORY = "ontologies";
+
+	private final int port;
+	private final Integer mappingWorkers;
+	private final Path workDirectory;
+	private final Path baseDirectory = Path.of("").toAbsolutePath().normalize();
+
+	private HttpServer server;
+	private ExecutorService requestExecutor;
+	private ThreadPoolExecutor generationExecutor;
+	private ExitHandler previousExitHandler;
+
+	/**
+	 * Create a server, which is not started.
+	 *
+	 * @param port the port to listen on (or 0 for any free port)
+	 * @param mappingWorkers the number of mapping workers, which overrides the configurations, or
+	 *     {@code null}
+	 * @param workDirectory the {@link Path} of the directory of the requests' files
+	 */
+	public GenerationServer(int port, Integer mappingWorkers, Path workDirectory) {
+		this.port = port;
+		this.mappingWorkers = mappingWorkers;
+		this.workDirectory = workDirectory;
+	}
+
+	/**
+	 * Start listening for requests.
+	 *
+	 * @throws IOException if the server cannot listen on its port
+	 */
+	public void start() throws IOException {
+		this.server =
+				HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), this.port), 0);
+		this.server.createContext("/generate", this::handleGenerate);
+
+		// Each request waits for its generation on its own thread, so these are limited by the queue.
+		this.requestExecutor = Executors.newCachedThreadPool();
+		this.server.setExecutor(this.requestExecutor);
+		this.generationExecutor =
+				new ThreadPoolExecutor(
+						1,
+						1,
+						0L,
+						TimeUnit.MILLISECONDS,
+						new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+						runnable -> {
+							final var thread = new Thread(runnable, "oba-generation");
+							thread.setDaemon(true);
+							return thread;
+						});
+
+		// A fatal error only fails the current request.
+		this.previousExitHandler =
+				FatalErrorHandler.setExitHandler(
+						status -> {
+							throw new Oba.RunFailedException();
+						});
+		LoadedOntologyCache.enable(CACHED_CONFIGURATIONS);
+
+		this.server.start();
+		logger.info("Generation server listening on http://localhost:" + this.getPort() + "/generate");
+	}
+
+	/**
+	 * @return the port the server listens on
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/** Stop the server, and release the shared ontologies. */
+	public void stop() {
+		this.server.stop(0);
+		this.requestExecutor.shutdownNow();
+		this.generationExecutor.shutdownNow();
+		LoadedOntologyCache.clear();
+		FatalErrorHandler.setExitHandler(this.previousExitHandler);
+	}
+
+	private void handleGenerate(HttpExchange exchange) throws IOException {
+		try {
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				this.respondError(exchange, 405, "Only POST is supported.");
+				return;
+			}
+
+			// Web pages (including with a rebound DNS name) cannot send requests to the server.
+			final var headers = exchange.getRequestHeaders();
+			if (headers.containsKey("Origin") || !isLoopbackHost(headers.getFirst("Host"))) {
+				this.respondError(exchange, 403, "Only local, non-browser requests are supported.");
+				return;
+			}
+
+			if (!isJsonContentType(headers.getFirst("Content-Type"))) {
+				this.respondError(exchange, 415, "The request's Content-Type must be application/json.");
+				return;
+			}
+
+			final JsonNode request;
+			try {
+				request = Json.mapper().readTree(exchange.getRequestBody());
+			} catch (IOException e) {
+				this.respondError(exchange, 400, "The request is not valid JSON:  " + e.getMessage());
+				return;
+			}
+
+			final var config = request == null ? null : request.get("config");
+			final var ontology = request == null ? null : request.get("ontology");
+			if (config == null || !config.isTextual() || (ontology != null && !ontology.isTextual())) {
+				this.respondError(
+						exchange, 400, "The request needs a \"config\" (and an optional \"ontology\") string.");
+				return;
+			}
+
+			final ObjectNode response;
+			try {
+				response =
+						this.generationExecutor
+								.submit(
+										() ->
+												this.generate(
+														config.textValue(), ontology == null ? null : ontology.textValue()))
+								.get();
+			} catch (RejectedExecutionException e) {
+				this.respondError(exchange, 503, "Too many requests are waiting to be generated.");
+				return;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.respondError(exchange, 503, "The server is stopping.");
+				return;
+			} catch (ExecutionException e) {
+				final var cause = e.getCause();
+				if (cause instanceof IllegalArgumentException) {
+					this.respondError(exchange, 400, cause.getMessage());
+				} else if (cause instanceof Oba.RunFailedException) {
+					this.respondError(
+							exchange, 422, "Unable to generate the specification (see the server log).");
+				} else {
+					logger.severe("Unable to generate the specification:  " + cause);
+					this.respondError(exchange, 500, "Unable to generate the specification:  " + cause);
+				}
+				return;
+			}
+
+			this.respond(exchange, 200, response);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Generate the specification of a request (on the generation thread).
+	 *
+	 * @param config the content of the configuration file
+	 * @param ontology the content of the inline ontology, or {@code null}
+	 * @return the response, with the OpenAPI document and the markdown file
+	 * @throws IOException if the request's files cannot be written (or read)
+	 */
+	private ObjectNode generate(String config, String ontology) throws IOException {
+		final var yamlMapper = new ObjectMapper(new YAMLFactory());
+		final JsonNode configNode;
+		try {
+			configNode = yamlMapper.readTree(config);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The configuration is not valid YAML:  " + e.getMessage());
+		}
+
+		if (!(configNode instanceof ObjectNode)) {
+			throw new IllegalArgumentException("The configuration is not a YAML object.");
+		}
+
+		final var requestDirectory = Files.createTempDirectory(this.workDirectory, "request");
+		Path inlineOntologyFile = null;
+		try {
+			final var configObject = (ObjectNode) configNode;
+			configObject.put(ConfigPropertyNames.OUTPUT_DIR, requestDirectory.toString());
+			final var name = configObject.get(ConfigPropertyNames.NAME);
+			if (name != null && name.isTextual()) {
+				getDestinationDirectory(requestDirectory, name.textValue());
+			}
+
+			final var annotationConfig = configObject.get(ConfigPropertyNames.ANNOTATION_CONFIG);
+			final var configuredMarkdownFilename =
+					annotationConfig == null
+							? null
+							: annotationConfig.get(ConfigPropertyNames.MARKDOWN_GENERATION_FILENAME);
+			if (configuredMarkdownFilename != null && !configuredMarkdownFilename.isNull()) {
+				checkMarkdownFilename(configuredMarkdownFilename.asText());
+			}
+
+			this.confineLocalPaths(configObject);
+
+			if (ontology != null) {
+				final var ontologies =
+						configObject.get(ConfigPropertyNames.ONTOLOGIES) instanceof ArrayNode
+								? (ArrayNode) configObject.get(ConfigPropertyNames.ONTOLOGIES)
+								: configObject.putArray(ConfigPropertyNames.ONTOLOGIES);
+				inlineOntologyFile = this.saveInlineOntology(ontology);
+				ontologies.add(inlineOntologyFile.toString());
+			}
+
+			final var configFile = requestDirectory.resolve("config.yaml");
+			yamlMapper.writeValue(configFile.toFile(), configObject);
+
+			RunReport.start(configFile.toString());
+			final var configData = Oba.load_config(configFile.toString(), this.mappingWorkers);
+
+			// The response has the whole OpenAPI document.
+			GlobalFlags.setFlag(ConfigPropertyNames.SPLIT_OPENAPI_FILE, false);
+			try {
+				Oba.generate(configData, null);
+			} finally {
+				Oba.release_uncached_ontologies(configData);
+			}
+
+			final var destinationDirectory =
+					getDestinationDirectory(requestDirectory, configData.getName());
+			final var openapiFile =
+					destinationDirectory.resolve(
+							GlobalFlags.getFlag(ConfigPropertyNames.GENERATE_JSON_FILE)
+									? "openapi.json"
+									: "openapi.yaml");
+			final var markdownFilename =
+					configData.getAnnotationConfig() == null
+							? null
+							: configData.getAnnotationConfig().getMarkdownGenerationFilename();
+
+			final var response = Json.mapper().createObjectNode();
+			response.put("openapi", Files.readString(openapiFile));
+			response.put(
+					"markdown",
+					markdownFilename == null
+							? null
+							: Files.readString(destinationDirectory.resolve(markdownFilename)));
+			return response;
+		} finally {
+			deleteDirectory(requestDirectory);
+			if (inlineOntologyFile != null) {
+				deleteInlineOntology(inlineOntologyFile);
+			}
+		}
+	}
+
+	/**
+	 * Get the directory a configuration's specification is generated in, which must be inside the
+	 * request's directory.
+	 *
+	 * @throws IllegalArgumentException if the configuration's name leaves the request's directory
+	 */
+	private static Path getDestinationDirectory(Path requestDirectory, String name) {
+		final Path destinationDirectory;
+		try {
+			destinationDirectory = requestDirectory.resolve(name).normalize();
+		} catch (InvalidPathException e) {
+			throw new IllegalArgumentException("The configuration's name is not a valid directory name.");
+		}
+
+		if (!destinationDirectory.startsWith(requestDirectory)
+				|| destinationDirectory.equals(requestDirectory)) {
+			throw new IllegalArgumentException(
+					"The configuration's name must be a directory inside the output directory.");
+		}
+
+		return destinationDirectory;
+	}
+
+	/**
+	 * Check that the markdown file a configuration generates is a file name, so that it is inside
+	 * the destination directory.
+	 *
+	 * @throws IllegalArgumentException if the markdown file name is not a plain file name
+	 */
+	private static void checkMarkdownFilename(String markdownFilename) {
+		final Path markdownFile;
+		try {
+			markdownFile = Path.of(markdownFilename);
+		} catch (InvalidPathException e) {
+			throw new IllegalArgumentException(
+					"The configuration's markdown_generation_filename is not a valid file name.");
+		}
+
+		if (markdownFile.isAbsolute()
+				|| markdownFile.getNameCount() != 1
+				|| markdownFilename.isBlank()
+				|| ".".equals(markdownFilename)
+				|| "..".equals(markdownFilename)) {
+			throw new IllegalArgumentException(
+					"The configuration's markdown_generation_filename must be a file name, without a"
+							+ " directory.");
+		}
+	}
+
+	/**
+	 * Replace the configuration's local paths (of its ontologies, ontology cache directory and
+	 * inflection dictionary) by their absolute paths, which must be inside the server's working
+	 * directory. Remote ontologies are kept as they are.
+	 *
+	 * @throws IllegalArgumentException if a local path leaves the server's working directory
+	 */
+	private void confineLocalPaths(ObjectNode configObject) {
+		final var ontologies = configObject.get(ConfigPropertyNames.ONTOLOGIES);
+		if (ontologies instanceof ArrayNode) {
+			final var ontologyPaths = (ArrayNode) ontologies;
+			for (int index = 0; index < ontologyPaths.size(); index++) {
+				final var ontologyPath = ontologyPaths.get(index);
+				if (ontologyPath.isTextual()
+						&& !ontologyPath.textValue().startsWith("http://")
+						&& !ontologyPath.textValue().startsWith("https://")) {
+					ontologyPaths.set(
+							index,
+							this.confineLocalPath(ConfigPropertyNames.ONTOLOGIES, ontologyPath.textValue()));
+				}
+			}
+		}
+
+		for (final var key :
+				new String[] {
+					ConfigPropertyNames.ONTOLOGY_CACHE_DIR, ConfigPropertyNames.INFLECTION_DICTIONARY
+				}) {
+			final var path = configObject.get(key);
+			if (path != null && path.isTextual() && !path.textValue().isBlank()) {
+				configObject.put(key, this.confineLocalPath(key, path.textValue()));
+			}
+		}
+	}
+
+	private String confineLocalPath(String key, String path) {
+		final Path localPath;
+		try {
+			localPath = this.baseDirectory.resolve(path).normalize();
+		} catch (InvalidPathException e) {
+			throw new IllegalArgumentException(
+					"The configuration's " + key + " has an invalid path:  " + path);
+		}
+
+		if (!localPath.startsWith(this.baseDirectory)) {
+			throw new IllegalArgumentException(
+					"The configuration's "
+							+ key
+							+ " must be inside the server's working directory:  "
+							+ path);
+		}
+
+		return localPath.toString();
+	}
+
+	/** Whether a {@code Host} header names the loopback address (with an optional port). */
+	private static boolean isLoopbackHost(String host) {
+		if (host == null) {
+			return false;
+		}
+
+		final String hostname;
+		if (host.startsWith("[")) {
+			final var end = host.indexOf(']');
+			hostname = end < 0 ? host : host.substring(0, end + 1);
+		} else {
+			final var separator = host.lastIndexOf(':');
+			hostname = separator < 0 ? host : host.substring(0, separator);
+		}
+
+		return "localhost".equalsIgnoreCase(hostname)
+				|| "127.0.0.1".equals(hostname)
+				|| "[::1]".equals(hostname);
+	}
+
+	/** Whether a {@code Content-Type} header is JSON (with optional parameters, e.g. a charset). */
+	private static boolean isJsonContentType(String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+
+		final var separator = contentType.indexOf(';');
+		final var mediaType = separator < 0 ? contentType : contentType.substring(0, separator);
+		return "application/json".equalsIgnoreCase(mediaType.trim());
+	}
+
+	/**
+	 * Save an inline ontology, named by the digest of its content, so that the same ontology sent by
+	 * several requests is the same (cached) configured ontology.
+	 */
+	private Path saveInlineOntology(String ontology) throws IOException {
+		final var content = ontology.getBytes(StandardCharsets.UTF_8);
+		final var name = DigestUtils.toHex(DigestUtils.newDigest().digest(content));
+
+		// No file extension, so that the ontology's format is detected from its content.
+		final var ontologyFile =
+				this.workDirectory.resolve(INLINE_ONTOLOGIES_DIRECTORY).resolve(name).toAbsolutePath();
+		if (!Files.isRegularFile(ontologyFile)) {
+			FileWriterUtils.writeFileAtomically(
+					ontologyFile, outputStream -> outputStream.write(content));
+		}
+
+		return ontologyFile;
+	}
+
+	private void respondError(HttpExchange exchange, int status, String message) throws IOException {
+		this.respond(exchange, status, Json.mapper().createObjectNode().put("error", message));
+	}
+
+	private void respond(HttpExchange exchange, int status, ObjectNode body) throws IOException {
+		final var content = Json.mapper().writeValueAsBytes(body);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, content.length);
+		try (final var outputStream = exchange.getResponseBody()) {
+			outputStream.write(content);
+		}
+	}
+
+	/**
+	 * Delete an inline ontology (which is saved again, with the same name, by the next request which
+	 * sends it), and the inline ontologies' directory once it is empty.
+	 */
+	private static void deleteInlineOntology(Path ontologyFile) {
+		try {
+			Files.deleteIfExists(ontologyFile);
+			Files.deleteIfExists(ontologyFile.getParent());
+		} catch (DirectoryNotEmptyException e) {
+			// Another inline ontology is still being used.
+		} catch (IOException e) {
+			logger.warning("Unable to delete the inline ontology \"" + ontologyFile + "\":  " + e);
+		}
+	}
+
+	private static void deleteDirectory(Path directory) {
+		try (final var paths = Files.walk(directory)) {
+			for (final var path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		} catch (IOException e) {
+			logger.warning("Unable to delete the request directory \"" + directory + "\":  " + e);
+		}
+	}
+}
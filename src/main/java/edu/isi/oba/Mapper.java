@@ -2,35 +2,48 @@ package edu.isi.oba;
 
 import static edu.isi.oba.Oba.logger;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import edu.isi.oba.cache.SchemaCache;
 import edu.isi.oba.config.ConfigPropertyNames;
 import edu.isi.oba.config.YamlConfig;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.exceptions.OntologyVisitorException;
 import edu.isi.oba.generators.PathGenerator;
 import edu.isi.oba.ontology.visitor.ObjectVisitor;
+import edu.isi.oba.report.RunReport;
 import edu.isi.oba.utils.exithandler.FatalErrorHandler;
 import edu.isi.oba.utils.schema.SchemaRefUtils;
 import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
-class Mapper {
+public class Mapper {
+	// Only the thread running createSchemas() writes to these (mapping workers just convert classes),
+	// so they need no locking.
 	private final Map<IRI, String> schemaNames = new HashMap<>(); // URI-names of the schemas
 	private final Map<String, Schema> schemas = new HashMap<>();
 	private final Map<IRI, Schema> iriSchemaMap = new HashMap<>();
 	private final Paths paths = new Paths();
 	private final YamlConfig configData;
+	private final SchemaCache schemaCache;
 
 	private final Map<String, Map<String, String>> fullMarkdownGenerationMap = new TreeMap<>();
 
@@ -42,24 +55,159 @@ class Mapper {
 	 * @throws IOException
 	 */
 	public Mapper(YamlConfig configData) throws OWLOntologyCreationException, IOException {
+		this(configData, null);
+	}
+
+	/**
+	 * Constructor, with the schema cache continued from the previous run of the same process (i.e. in
+	 * watch or batch mode).
+	 *
+	 * @param configData the configuration data
+	 * @param schemaCache the {@link SchemaCache} to use, or {@code null} to load the cache file (if
+	 *     the schema cache is enabled)
+	 * @throws OWLOntologyCreationException
+	 * @throws IOException
+	 */
+	public Mapper(YamlConfig configData, SchemaCache schemaCache)
+			throws OWLOntologyCreationException, IOException {
 		this.configData = configData;
+
+		if (schemaCache != null) {
+			this.schemaCache = schemaCache;
+		} else if (GlobalFlags.getFlag(ConfigPropertyNames.SCHEMA_CACHE)) {
+			this.schemaCache =
+					new SchemaCache(
+							Path.of(configData.getOutputDir(), configData.getName()),
+							configData.getAnnotationConfig());
+		} else {
+			this.schemaCache = null;
+		}
 	}
 
-	private Schema getSchema(OWLClass cls, OWLOntology ontology) throws OntologyVisitorException {
+	/**
+	 * Convert a single class to its schema. This does not modify the mapper, so it may be called by
+	 * several mapping workers at once. The result is merged afterwards by {@link
+	 * #addMappedClassToOpenAPI(MappedClass)}.
+	 *
+	 * @param cls the {@link OWLClass} to convert
+	 * @param ontology the {@link OWLOntology} containing the class
+	 * @return the {@link MappedClass}, or {@code null} if the class could not be parsed
+	 */
+	private MappedClass mapClass(OWLClass cls, OWLOntology ontology) {
 		logger.info("=======================================================================");
 		logger.info("##############################################");
 		logger.info("###  Beginning schema mapping for class:");
 		logger.info("###\t" + cls);
 		logger.info("##############################################");
 
-		// Convert from OWL Class to OpenAPI Schema.
-		final var objVisitor = new ObjectVisitor(cls, ontology, this.configData);
+		final var classMapping = RunReport.startClass(cls);
+
+		try {
+			// Reuse the schema from the previous run, if the class (and what it depends on) is unchanged.
+			final var cachedSchema =
+					this.schemaCache == null ? null : this.schemaCache.get(cls, ontology);
+			if (cachedSchema != null) {
+				logger.info("###  Using cached schema.");
+				final var schema = cachedSchema.getSchema();
+				classMapping.finish(true, 0, getPropertyCount(schema), 0);
+				return new MappedClass(
+						cls,
+						schema,
+						cachedSchema.getReferencedClasses(ontology.getOWLOntologyManager().getOWLDataFactory()),
+						cachedSchema.getMarkdownMappings());
+			}
+
+			// Convert from OWL Class to OpenAPI Schema.
+			final var objVisitor = new ObjectVisitor(cls, ontology, this.configData);
+
+			final var mappedSchema = objVisitor.getClassSchema();
+			final var markdownMappings =
+					mappedSchema == null
+							? Map.<String, Map<String, String>>of()
+							: objVisitor.getMarkdownMappings();
+
+			if (this.schemaCache != null) {
+				this.schemaCache.put(
+						cls,
+						ontology,
+						mappedSchema,
+						objVisitor.getAllReferencedClasses(),
+						markdownMappings,
+						objVisitor.getVisitedClasses());
+			}
+
+			classMapping.finish(
+					false,
+					objVisitor.getVisitedAxiomCount(),
+					getPropertyCount(mappedSchema),
+					objVisitor.getRestrictionCount());
+
+			// Each time we generate a class's schema, there may be referenced classes that need to be
+			// added to the set of allowed classes.
+			return new MappedClass(
+					cls, mappedSchema, objVisitor.getAllReferencedClasses(), markdownMappings);
+		} catch (JsonProcessingException e) {
+			logger.log(Level.SEVERE, "Could not read cached schema of class " + cls.getIRI().toString());
+			logger.log(Level.SEVERE, "\n\tdetails:\n" + e);
+			return null;
+		} catch (OntologyVisitorException e) {
+			logger.log(Level.SEVERE, "Could not parse class " + cls.getIRI().toString());
+			logger.log(Level.SEVERE, "\n\tdetails:\n" + e);
+			return null;
+		}
+	}
+
+	private static int getPropertyCount(Schema<?> schema) {
+		return schema == null || schema.getProperties() == null ? 0 : schema.getProperties().size();
+	}
+
+	/**
+	 * Convert a batch of classes to their schemas, using the worker pool (if any).
+	 *
+	 * @param classes the {@link List} of {@link OWLClass}es to convert
+	 * @param ontology the {@link OWLOntology} containing the classes
+	 * @param workerPool the {@link ForkJoinPool} to map with, or {@code null} to map sequentially
+	 * @return a {@link List} of {@link MappedClass}es, in the same order as the classes
+	 */
+	private List<MappedClass> mapClasses(
+			List<OWLClass> classes, OWLOntology ontology, ForkJoinPool workerPool) {
+		if (workerPool == null || classes.size() < 2) {
+			return classes.stream().map(cls -> this.mapClass(cls, ontology)).collect(Collectors.toList());
+		}
+
+		try {
+			// The parallel stream runs inside the worker pool, and keeps the encounter order.
+			return workerPool
+					.submit(
+							() ->
+									classes.parallelStream()
+											.map(cls -> this.mapClass(cls, ontology))
+											.collect(Collectors.toList()))
+					.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OntologyVisitorException("Interrupted while mapping classes to schemas.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
 
-		final var mappedSchema = objVisitor.getClassSchema();
+			throw new OntologyVisitorException("Unable to map classes to schemas.", e.getCause());
+		}
+	}
 
-		// Each time we generate a class's schema, there may be referenced classes that need to be added
-		// to the set of allowed classes.
-		this.configData.addAllReferencedOwlClasses(objVisitor.getAllReferencedClasses());
+	/**
+	 * Add a converted class to the schemas, markdown mappings, and paths. Only called by the thread
+	 * running {@link #createSchemas()}, in the order the classes were found, so the output does not
+	 * depend on the number of mapping workers.
+	 *
+	 * @param mappedClass the {@link MappedClass} to add
+	 */
+	private void addMappedClassToOpenAPI(MappedClass mappedClass) {
+		final var cls = mappedClass.cls;
+		final var mappedSchema = mappedClass.schema;
+
+		this.configData.addAllReferencedOwlClasses(mappedClass.referencedClasses);
 
 		// Ignore schema, if null.  Otherwise, save it.
 		if (mappedSchema == null) {
@@ -73,105 +221,98 @@ class Mapper {
 			logger.info("--->  SAVING SCHEMA:  \"" + mappedSchema.getName() + "\"");
 			logger.info("=======================================================================");
 
-			final var classMarkdownMap = objVisitor.getMarkdownMappings();
-			if (!classMarkdownMap.isEmpty()) {
-				classMarkdownMap.forEach(
-						(annotationKey, propertyAnnotationValueMap) -> {
-							if (this.fullMarkdownGenerationMap.containsKey(annotationKey)) {
-								this.fullMarkdownGenerationMap
-										.get(annotationKey)
-										.putAll(propertyAnnotationValueMap);
-							} else {
-								this.fullMarkdownGenerationMap.put(annotationKey, propertyAnnotationValueMap);
-							}
-						});
-			}
+			mappedClass.markdownMappings.forEach(
+					(annotationKey, propertyAnnotationValueMap) -> {
+						if (this.fullMarkdownGenerationMap.containsKey(annotationKey)) {
+							this.fullMarkdownGenerationMap.get(annotationKey).putAll(propertyAnnotationValueMap);
+						} else {
+							this.fullMarkdownGenerationMap.put(annotationKey, propertyAnnotationValueMap);
+						}
+					});
 
 			logger.info("");
 			this.schemas.put(mappedSchema.getName(), mappedSchema);
 			this.iriSchemaMap.put(cls.getIRI(), mappedSchema);
 		}
 
-		return mappedSchema;
+		// If not disabled, and class is allowed, then add the OpenAPI paths
+		if (!GlobalFlags.getFlag(ConfigPropertyNames.DISABLE_ALL_PATHS)) {
+			if (this.configData.getPathConfig().getPathClasses().contains(cls.getIRI())) {
+				// Generate all paths for the class/schema and add to the current Paths object.
+				this.paths.putAll(
+						PathGenerator.generateAllPathItemsForSchema(
+								mappedSchema, cls.getIRI(), this.configData));
+			}
+		}
 	}
 
 	/**
 	 * Obtain Schemas using the ontology classes The schemas includes all (object and data)
 	 * properties.
+	 *
+	 * <p>Classes are converted by the number of mapping workers set in the configuration. Each batch
+	 * of classes is merged in a fixed order afterwards, so the output is identical to a sequential
+	 * run.
 	 */
 	public void createSchemas() {
 		final var processedClasses = new HashSet<IRI>();
-		for (OWLOntology ontology : this.configData.getOwlOntologies()) {
-			final var format = ontology.getFormat();
-			if (format == null) {
-				FatalErrorHandler.fatal("No ontology format found.  Unable to proceed.");
-			} else {
-				format
-						.asPrefixOWLDocumentFormat()
-						.getPrefixName2PrefixMap()
-						.forEach(
-								(prefixName, prefix) -> {
-									if (prefixName == null) {
-										FatalErrorHandler.fatal(
-												"Unable to proceed.  Prefix name for prefix:  \""
-														+ prefix
-														+ "\" is invalid.");
-
-									} else if (prefix == null) {
-										FatalErrorHandler.fatal(
-												"Unable to proceed.  Prefix for prefix name:  \""
-														+ prefixName
-														+ "\" is invalid.");
-									}
-
-									// Make a copy of the original allowed classes.  Use it for comparison, until this
-									// working
-									// copy and the allowed classes are equal.
-									var workingAllowedClasses = this.configData.getAllReferencedOwlClasses();
-
-									// Add allowed classes to OpenAPI (i.e. remove classes without default ontology
-									ontology
-											.classesInSignature()
-											.filter(
-													owlClass ->
-															owlClass.getIRI() != null
-																	&& !processedClasses.contains(owlClass.getIRI())
-																	&& workingAllowedClasses.contains(owlClass))
-											.forEach(
-													(owlClass) -> {
-														processedClasses.add(owlClass.getIRI());
-														this.addOwlclassToOpenAPI(owlClass, ontology);
-													});
-
-									// After allowed classes have been schema-fied, repeat for all the referenced
-									// classes.  If this is not done, the OpenAPI spec may contain references to
-									// schemas which do not exist (because they were not explicitly in the allow
-									// list).  Looping is done until no new references have been added from the
-									// schema-fication process.
-									while (!this.configData
-											.getAllReferencedOwlClasses()
-											.equals(workingAllowedClasses)) {
-										workingAllowedClasses.addAll(this.configData.getAllReferencedOwlClasses());
-
-										ontology
-												.classesInSignature()
-												.filter(
-														owlClass ->
-																workingAllowedClasses.contains(owlClass)
-																		&& !processedClasses.contains(owlClass.getIRI())
-																		&& !this.schemas
-																				.keySet()
-																				.contains(owlClass.getIRI().getShortForm()))
-												.forEach(
-														(owlClass) -> {
-															processedClasses.add(owlClass.getIRI());
-															this.addOwlclassToOpenAPI(owlClass, ontology);
-														});
-									}
-
-									// Add all the allowed classes to the map of schema names/IRIs.
-									this.setSchemaNames(this.configData.getAllReferencedOwlClasses());
-								});
+		final var workers = this.configData.getMappingWorkers();
+
+		// Java 11 has no virtual threads, so use a fork-join pool sized to the number of workers.
+		final var workerPool = workers > 1 ? new ForkJoinPool(workers) : null;
+
+		try {
+			for (OWLOntology ontology : this.configData.getOwlOntologies()) {
+				final var format = ontology.getFormat();
+				if (format == null) {
+					FatalErrorHandler.fatal("No ontology format found.  Unable to proceed.");
+				} else {
+					format
+							.asPrefixOWLDocumentFormat()
+							.getPrefixName2PrefixMap()
+							.forEach(
+									(prefixName, prefix) -> {
+										if (prefixName == null) {
+											FatalErrorHandler.fatal(
+													"Unable to proceed.  Prefix name for prefix:  \""
+															+ prefix
+															+ "\" is invalid.");
+
+										} else if (prefix == null) {
+											FatalErrorHandler.fatal(
+													"Unable to proceed.  Prefix for prefix name:  \""
+															+ prefixName
+															+ "\" is invalid.");
+										}
+									});
+
+					this.mapReferencedClasses(
+							ontology,
+							format.asPrefixOWLDocumentFormat().getPrefixName2PrefixMap().size(),
+							processedClasses,
+							workerPool);
+
+					// Add all the allowed classes to the map of schema names/IRIs.
+					this.setSchemaNames(this.configData.getAllReferencedOwlClasses());
+				}
+			}
+		} finally {
+			if (workerPool != null) {
+				workerPool.shutdown();
+			}
+		}
+
+		if (this.schemaCache != null) {
+			logger.info(
+					"Schema cache:  "
+							+ this.schemaCache.getHits()
+							+ " classes reused, "
+							+ this.schemaCache.getMisses()
+							+ " classes mapped.");
+			try {
+				this.schemaCache.save();
+			} catch (IOException e) {
+				logger.warning("Unable to save the schema cache:  " + e.getLocalizedMessage());
 			}
 		}
 
@@ -180,6 +321,96 @@ class Mapper {
 		}
 	}
 
+	/**
+	 * Add allowed classes to OpenAPI (i.e. remove classes without default ontology). After allowed
+	 * classes have been schema-fied, repeat for all the referenced classes. If this is not done, the
+	 * OpenAPI spec may contain references to schemas which do not exist (because they were not
+	 * explicitly in the allow list).
+	 *
+	 * <p>A worklist holds the classes still to be mapped. Only the classes newly referenced by a
+	 * mapped class are added to it, so each class is looked up (and mapped) once. Each batch of newly
+	 * referenced classes is mapped in the ontology's signature order.
+	 *
+	 * <p>The classes used to be mapped once per prefix of the ontology, and the rounds keep that
+	 * output. The first batch of a round maps every allowed (or referenced) class not mapped yet, and
+	 * a later class with the same short form replaces the earlier one's schema. The later batches
+	 * skip a class whose short form is already a schema's name, and that class is mapped by the first
+	 * batch of the next round (if any). A round which maps nothing ends the mapping.
+	 *
+	 * @param ontology the {@link OWLOntology} whose classes are mapped
+	 * @param rounds the number of rounds, i.e. of the ontology's prefixes
+	 * @param processedClasses the {@link Set} of {@link IRI}s of the classes already mapped (or
+	 *     queued), shared by all ontologies
+	 * @param workerPool the {@link ForkJoinPool} to map with, or {@code null} to map sequentially
+	 */
+	private void mapReferencedClasses(
+			OWLOntology ontology, int rounds, Set<IRI> processedClasses, ForkJoinPool workerPool) {
+		// Index the ontology's classes by IRI, with their position in the signature.
+		final var signaturePositions = new HashMap<IRI, Integer>();
+		final var signatureClasses = new ArrayList<OWLClass>();
+		ontology
+				.classesInSignature()
+				.filter(owlClass -> owlClass.getIRI() != null)
+				.forEach(
+						owlClass -> {
+							signaturePositions.put(owlClass.getIRI(), signatureClasses.size());
+							signatureClasses.add(owlClass);
+						});
+
+		for (var round = 0; round < rounds; round++) {
+			// Start with the classes which are already allowed (or referenced by another ontology).
+			final var referencedClasses = this.configData.getAllReferencedOwlClasses();
+			final var worklist = new ArrayDeque<OWLClass>();
+			for (final var owlClass : signatureClasses) {
+				if (referencedClasses.contains(owlClass) && processedClasses.add(owlClass.getIRI())) {
+					worklist.add(owlClass);
+				}
+			}
+
+			if (worklist.isEmpty()) {
+				break;
+			}
+
+			var isFirstBatch = true;
+			while (!worklist.isEmpty()) {
+				final var classesToMap = new ArrayList<>(worklist);
+				worklist.clear();
+
+				// Newly referenced classes of this ontology, sorted by their position in the signature.
+				final var newlyReferencedClasses = new TreeMap<Integer, OWLClass>();
+				for (final var mappedClass : this.mapClasses(classesToMap, ontology, workerPool)) {
+					if (mappedClass == null) {
+						continue;
+					}
+
+					// A class of the same batch may have taken the class's schema name.
+					if (!isFirstBatch && this.hasSchemaNamed(mappedClass.cls)) {
+						processedClasses.remove(mappedClass.cls.getIRI());
+						continue;
+					}
+
+					this.addMappedClassToOpenAPI(mappedClass);
+
+					for (final var referencedClass : mappedClass.referencedClasses) {
+						final var position = signaturePositions.get(referencedClass.getIRI());
+						if (position != null
+								&& !this.hasSchemaNamed(referencedClass)
+								&& processedClasses.add(referencedClass.getIRI())) {
+							newlyReferencedClasses.put(position, signatureClasses.get(position));
+						}
+					}
+				}
+
+				worklist.addAll(newlyReferencedClasses.values());
+				isFirstBatch = false;
+			}
+		}
+	}
+
+	private boolean hasSchemaNamed(OWLClass owlClass) {
+		return this.schemas.containsKey(owlClass.getIRI().getShortForm());
+	}
+
 	private void addUserPath() {
 		// User schema
 		final var userSchema = new Schema();
@@ -194,25 +425,6 @@ class Mapper {
 		this.paths.addPathItem("/user/login", PathGenerator.user_login(userSchema.getName()));
 	}
 
-	private void addOwlclassToOpenAPI(OWLClass cls, OWLOntology ontology) {
-		try {
-			final var mappedSchema = this.getSchema(cls, ontology);
-
-			// If not disabled, and class is allowed, then add the OpenAPI paths
-			if (!GlobalFlags.getFlag(ConfigPropertyNames.DISABLE_ALL_PATHS)) {
-				if (this.configData.getPathConfig().getPathClasses().contains(cls.getIRI())) {
-					// Generate all paths for the class/schema and add to the current Paths object.
-					this.paths.putAll(
-							PathGenerator.generateAllPathItemsForSchema(
-									mappedSchema, cls.getIRI(), this.configData));
-				}
-			}
-		} catch (OntologyVisitorException e) {
-			logger.log(Level.SEVERE, "Could not parse class " + cls.getIRI().toString());
-			logger.log(Level.SEVERE, "\n\tdetails:\n" + e);
-		}
-	}
-
 	/**
 	 * Set the {@link Map} of schema names to link {@link IRI} with its (short form) name.
 	 *
@@ -270,4 +482,23 @@ class Mapper {
 	public Map<String, Map<String, String>> getFullMarkdownMappings() {
 		return this.fullMarkdownGenerationMap;
 	}
+
+	/** The result of converting a single class, until it is added to the mapper. */
+	private static class MappedClass {
+		private final OWLClass cls;
+		private final Schema schema;
+		private final Set<OWLClass> referencedClasses;
+		private final Map<String, Map<String, String>> markdownMappings;
+
+		private MappedClass(
+				OWLClass cls,
+				Schema schema,
+				Set<OWLClass> referencedClasses,
+				Map<String, Map<String, String>> markdownMappings) {
+			this.cls = cls;
+			this.schema = schema;
+			this.referencedClasses = referencedClasses;
+			this.markdownMappings = markdownMappings;
+		}
+	}
 }
@@ -1,17 +1,33 @@
 package edu.isi.oba;
 
+import edu.isi.oba.cache.LoadedOntologyCache;
+import edu.isi.oba.cache.SchemaCache;
+import edu.isi.oba.config.ConfigPropertyNames;
 import edu.isi.oba.config.YamlConfig;
+import edu.isi.oba.config.flags.GlobalFlags;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.report.RunReport;
+import edu.isi.oba.utils.StringUtils;
 import edu.isi.oba.utils.cli.CliUtils;
 import edu.isi.oba.utils.exithandler.FatalErrorHandler;
+import edu.isi.oba.utils.file.FileChangeWatcher;
 import edu.isi.oba.utils.yaml.YamlUtils;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -20,6 +36,9 @@ import java.util.logging.Logger;
 public class Oba {
 	public static Logger logger = null;
 
+	/** Time without changes to the watched files, before the specification is generated again. */
+	private static final Duration WATCH_DEBOUNCE = Duration.ofMillis(300);
+
 	public static void main(String[] args) throws Exception {
 		/*
 		TODO: we are supporting one language. Issue #42
@@ -39,23 +58,191 @@ public class Oba {
 		logger.addHandler(new ConsoleHandler());
 
 		// parse command line
-		String config_yaml = CliUtils.getYamlConfigFileArgument(args);
-		// read the config yaml from command line
-		YamlConfig config_data = new YamlConfig();
+		List<String> config_yamls = CliUtils.getYamlConfigFilesArgument(args);
+		String config_yaml = config_yamls.isEmpty() ? null : config_yamls.get(0);
+		Integer mapping_workers = CliUtils.getMappingWorkersArgument(args);
+		Integer server_port = CliUtils.getServerPortArgument(args);
+		if (server_port != null) {
+			// The server's threads keep running until the process is stopped.
+			new GenerationServer(server_port, mapping_workers, Files.createTempDirectory("oba-server"))
+					.start();
+			return;
+		}
+
+		if (CliUtils.getWatchArgument(args)) {
+			if (config_yamls.size() > 1) {
+				FatalErrorHandler.fatal("Watch mode takes a single configuration file.");
+			}
+
+			Oba.watch(config_yaml, mapping_workers);
+			return;
+		}
+
+		if (config_yamls.size() > 1) {
+			Oba.batch(config_yamls, mapping_workers);
+			return;
+		}
+
+		RunReport.start(config_yaml);
+		YamlConfig config_data = Oba.load_config(config_yaml, mapping_workers);
+		Oba.generate(config_data, null);
+	}
+
+	/**
+	 * Generate the specification, then keep running and generate it again each time the configuration
+	 * file or a local ontology file changes (after a burst of changes settles).
+	 *
+	 * <p>The JVM, the ontologies, and the schemas are kept between runs: only the changed ontology
+	 * files are parsed again (see {@link LoadedOntologyCache}), and only the classes which depend on
+	 * changed axioms are mapped again (the schema cache is kept in memory). A fatal error only ends
+	 * the current run.
+	 */
+	private static void watch(String config_yaml, Integer mapping_workers) throws IOException {
+		FatalErrorHandler.setExitHandler(
+				status -> {
+					throw new RunFailedException();
+				});
+		LoadedOntologyCache.enable(1);
 
+		try (final var watcher = new FileChangeWatcher(WATCH_DEBOUNCE)) {
+			YamlConfig previous_config = null;
+			SchemaCache schema_cache = null;
+			var watched_files = Set.of(Path.of(config_yaml));
+			while (true) {
+				final var start = System.nanoTime();
+				try {
+					RunReport.start(config_yaml);
+					final var config_data = Oba.load_config(config_yaml, mapping_workers);
+					Oba.release_uncached_ontologies(previous_config);
+					previous_config = config_data;
+
+					schema_cache = Oba.continue_schema_cache(config_data, schema_cache);
+					Oba.generate(config_data, schema_cache);
+					watched_files = Oba.get_watched_files(config_yaml, config_data);
+					logger.info(
+							"Specification generated in "
+									+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+									+ " ms.");
+				} catch (RunFailedException e) {
+					logger.warning("Unable to generate the specification.  Fix the errors above.");
+				}
+
+				watcher.watch(watched_files);
+				logger.info(
+						"Watching " + watched_files.size() + " files for changes.  Press Ctrl+C to stop.");
+				try {
+					logger.info("Changed:  " + watcher.awaitChanges());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generate the specifications of several configuration files, one after the other in the same
+	 * JVM, so that the configurations share the parsed ontologies (and their reasoners and indexes)
+	 * of the same ontology files, and the schemas of the classes mapped with the same flags (see
+	 * {@link SchemaCache}). Each output directory is the same as if its configuration was generated
+	 * alone. A fatal error only ends the current configuration, and the others are still generated.
+	 *
+	 * <p>The configurations are not generated in parallel, since the flags are process-wide: the
+	 * classes of each configuration are mapped by its mapping workers.
+	 */
+	private static void batch(List<String> config_yamls, Integer mapping_workers) {
+		final var previous_exit_handler =
+				FatalErrorHandler.setExitHandler(
+						status -> {
+							throw new RunFailedException();
+						});
+		LoadedOntologyCache.enable(config_yamls.size());
+
+		final var failed_config_yamls = new ArrayList<String>();
 		try {
+			YamlConfig previous_config = null;
+			SchemaCache schema_cache = null;
+			for (int i = 0; i < config_yamls.size(); i++) {
+				final var config_yaml = config_yamls.get(i);
+				logger.info(
+						"Generating configuration "
+								+ (i + 1)
+								+ " of "
+								+ config_yamls.size()
+								+ ":  "
+								+ config_yaml);
+				try {
+					RunReport.start(config_yaml);
+					final var config_data = Oba.load_config(config_yaml, mapping_workers);
+					Oba.release_uncached_ontologies(previous_config);
+					previous_config = config_data;
+
+					schema_cache = Oba.continue_schema_cache(config_data, schema_cache);
+					Oba.generate(config_data, schema_cache);
+				} catch (RunFailedException e) {
+					failed_config_yamls.add(config_yaml);
+				}
+			}
+
+			Oba.release_uncached_ontologies(previous_config);
+		} finally {
+			LoadedOntologyCache.clear();
+			FatalErrorHandler.setExitHandler(previous_exit_handler);
+		}
+
+		if (!failed_config_yamls.isEmpty()) {
+			FatalErrorHandler.fatal(
+					"Unable to generate the specifications of:  " + String.join(", ", failed_config_yamls));
+		}
+	}
+
+	/**
+	 * Read the configuration file, with its ontologies.
+	 *
+	 * @param config_yaml the path of the configuration file
+	 * @param mapping_workers the number of mapping workers of the command line, or {@code null}
+	 * @return the {@link YamlConfig}
+	 */
+	static YamlConfig load_config(String config_yaml, Integer mapping_workers) {
+		// read the config yaml from command line
+		YamlConfig config_data = new YamlConfig();
+		final var loadPhase = RunReport.phase("load");
+		try (loadPhase) {
 			config_data = YamlUtils.getYamlData(config_yaml);
+		} catch (RunFailedException e) {
+			throw e;
 		} catch (Exception e) {
 			FatalErrorHandler.fatal(
 					"Error parsing the configuration file. Please make sure it is valid \n " + e);
 		}
 
+		// The command line overrides the number of mapping workers in the configuration file.
+		if (mapping_workers != null) {
+			config_data.setMappingWorkers(mapping_workers);
+		}
+
+		return config_data;
+	}
+
+	/**
+	 * Map the classes of the ontologies, and write the markdown file and the specification.
+	 *
+	 * @param config_data the {@link YamlConfig}
+	 * @param schema_cache the {@link SchemaCache} continued from the previous run of the process, or
+	 *     {@code null}
+	 * @return the {@link Mapper}
+	 */
+	static Mapper generate(YamlConfig config_data, SchemaCache schema_cache) {
 		String destination_dir = config_data.getOutputDir() + File.separator + config_data.getName();
 		try {
-			Mapper mapper = new Mapper(config_data);
-			mapper.createSchemas();
+			Mapper mapper = new Mapper(config_data, schema_cache);
+			final var mappingPhase = RunReport.phase("mapping");
+			try (mappingPhase) {
+				mapper.createSchemas();
+			}
 
-			try {
+			final var markdownPhase = RunReport.phase("markdown");
+			try (markdownPhase) {
 				MarkdownWriter.writeMarkdownFile(config_data, mapper);
 			} catch (Exception e) {
 				logger.severe("Error while creating/writing markdown file: " + e.getLocalizedMessage());
@@ -67,13 +254,76 @@ public class Oba {
 
 			// get schema and paths
 			Oba.generate_openapi_spec(openapi_base, mapper, destination_dir, custom_paths, config_data);
+			logger.info(
+					"Name transforms (pluralization and casing):  "
+							+ StringUtils.getTransformCacheHits()
+							+ " memoized, "
+							+ StringUtils.getTransformCacheMisses()
+							+ " computed");
+			Oba.write_run_report(destination_dir);
 			logger.info("OBA finished successfully. Output can be found at: " + destination_dir);
+			return mapper;
+		} catch (RunFailedException e) {
+			Oba.write_run_report(destination_dir);
+			throw e;
 		} catch (Exception e) {
+			// Keep the timings of the phases which ran, to see where the run failed.
+			Oba.write_run_report(destination_dir);
 			FatalErrorHandler.fatal(
 					"Error while creating the API specification: " + e.getLocalizedMessage());
+			return null;
 		}
 	}
 
+	/**
+	 * Continue the schema cache of the previous run of the process, in memory. If the configuration
+	 * enables the schema cache, the entries of the project's cache file are also reused, and the
+	 * cache is saved to the project's output directory.
+	 *
+	 * @param config_data the {@link YamlConfig}
+	 * @param previous_schema_cache the {@link SchemaCache} of the previous run, or {@code null}
+	 * @return the {@link SchemaCache} of this run
+	 */
+	private static SchemaCache continue_schema_cache(
+			YamlConfig config_data, SchemaCache previous_schema_cache) {
+		final var project_directory =
+				GlobalFlags.getFlag(ConfigPropertyNames.SCHEMA_CACHE)
+						? Path.of(config_data.getOutputDir(), config_data.getName())
+						: null;
+		return new SchemaCache(
+				project_directory, config_data.getAnnotationConfig(), previous_schema_cache);
+	}
+
+	/**
+	 * Release the reasoners and indexes of the ontologies of the previous run which are not kept by
+	 * the {@link LoadedOntologyCache} (i.e. the extracted ontology modules).
+	 */
+	static void release_uncached_ontologies(YamlConfig previous_config) {
+		if (previous_config == null) {
+			return;
+		}
+
+		previous_config.getOwlOntologies().stream()
+				.filter(ontology -> !LoadedOntologyCache.contains(ontology))
+				.forEach(
+						ontology -> {
+							ReasonerRegistry.release(ontology);
+							OntologyIndexRegistry.release(ontology);
+						});
+	}
+
+	/**
+	 * @return the configuration file and the local ontology files of the configuration
+	 */
+	private static Set<Path> get_watched_files(String config_yaml, YamlConfig config_data) {
+		final var watched_files = new HashSet<Path>();
+		watched_files.add(Path.of(config_yaml));
+		config_data.getOntologies().stream()
+				.filter(ontology -> !ontology.startsWith("http://") && !ontology.startsWith("https://"))
+				.forEach(ontology -> watched_files.add(Path.of(ontology)));
+		return watched_files;
+	}
+
 	private static void generate_openapi_spec(
 			OpenAPI openapi_base,
 			Mapper mapper,
@@ -85,4 +335,19 @@ public class Oba {
 		Path destinationProject = Paths.get(destinationProjectDirectory);
 		new Serializer(mapper, destinationProject, openapi_base, custom_paths, configData);
 	}
+
+	private static void write_run_report(String dir) {
+		final var reportFile = Paths.get(dir, RunReport.REPORT_FILE_NAME);
+		try {
+			RunReport.write(reportFile);
+			logger.info("Run report written to: " + reportFile);
+		} catch (IOException e) {
+			logger.warning("Unable to write the run report \"" + reportFile + "\":  " + e);
+		}
+	}
+
+	/** A fatal error, which ends the current run in watch (or server) mode, instead of exiting. */
+	static class RunFailedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+	}
 }
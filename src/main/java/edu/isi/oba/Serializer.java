@@ -17,11 +17,14 @@ import edu.isi.oba.config.ConfigPropertyNames;
 import edu.isi.oba.config.YamlConfig;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.generators.ExamplesGenerator;
+import edu.isi.oba.report.RunReport;
+import edu.isi.oba.utils.file.FileWriterUtils;
 import io.swagger.v3.jaxrs2.integration.JaxrsOpenApiContext;
 import io.swagger.v3.oas.integration.SwaggerConfiguration;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.examples.Example;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.tags.Tag;
@@ -29,9 +32,7 @@ import io.swagger.v3.parser.OpenAPIV3Parser;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import java.io.File;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -40,7 +41,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.yaml.snakeyaml.DumperOptions;
 
-class Serializer {
+public class Serializer {
 	String openapi_path;
 
 	public Serializer(
@@ -58,10 +59,20 @@ class Serializer {
 
 		// Add placeholder.  Paths will be set after the examples.
 		openAPI.setPaths(mapper.getPaths());
-		final var schemas = mapper.getSchemas();
+		final Map<String, Schema> schemas;
+		final var dereferencePhase = RunReport.phase("dereference");
+		try (dereferencePhase) {
+			schemas = mapper.getSchemas();
+		}
+
 		final var components = new Components().schemas(schemas);
 		openAPI.components(components);
-		final var examples = ExamplesGenerator.generateExamples(openAPI);
+		final Map<String, Example> examples;
+		final var examplesPhase = RunReport.phase("examples");
+		try (examplesPhase) {
+			examples = ExamplesGenerator.generateExamples(openAPI, configData.getExamplesMaxDepth());
+		}
+
 		openAPI.getComponents().setExamples(examples);
 
 		// Remove existing Tags so that we make sure everything is in alphabetical order with
@@ -145,8 +156,11 @@ class Serializer {
 					});
 		}
 
-		openAPI.setPaths(
-				ExamplesGenerator.generatePathExamples(openAPI.getPaths(), examples, configData));
+		final var pathExamplesPhase = RunReport.phase("path_examples");
+		try (pathExamplesPhase) {
+			openAPI.setPaths(
+					ExamplesGenerator.generatePathExamples(openAPI.getPaths(), examples, configData));
+		}
 
 		// Don't use .sortedOutput(true) because we are using SortedSchemaMixin to alphabetically sort
 		// the desired entries.  Sorting _everything_ alphabetically messes up the YAML file by moving
@@ -241,29 +255,40 @@ class Serializer {
 		// Re-initialize the YAML OutputMapper for the OpenAPI context, based on the updated settings.
 		ctx.setOutputYamlMapper(ctxYamlObjectMapper.copyWith(ctxYamlFactoryBuilder.build()));
 
-		// Get the file contents as either JSON or YAML (default) based on the configuration file.
-		final var content =
+		// Stream the file contents as either JSON or YAML (default) based on the configuration file.
+		final var writer =
 				GlobalFlags.getFlag(ConfigPropertyNames.GENERATE_JSON_FILE)
-						? ctx.getOutputJsonMapper()
-								.writer(new DefaultPrettyPrinter())
-								.writeValueAsString(openAPI)
-						: ctx.getOutputYamlMapper()
-								.writer(new DefaultPrettyPrinter())
-								.writeValueAsString(openAPI);
+						? ctx.getOutputJsonMapper().writer(new DefaultPrettyPrinter())
+						: ctx.getOutputYamlMapper().writer(new DefaultPrettyPrinter());
 		this.openapi_path = dir + File.separator + openapi_file;
-		final var file = new File(openapi_path);
-		final var writer =
-				Files.newBufferedWriter(
-						file.toPath(),
-						StandardCharsets.UTF_8,
-						StandardOpenOption.WRITE,
-						StandardOpenOption.CREATE,
-						StandardOpenOption.TRUNCATE_EXISTING);
-		writer.write(content);
-		writer.close();
+		final var serializationPhase = RunReport.phase("serialization");
+		try (serializationPhase) {
+			if (GlobalFlags.getFlag(ConfigPropertyNames.SPLIT_OPENAPI_FILE)) {
+				final var splitWriter =
+						new SplitSpecificationWriter(
+								GlobalFlags.getFlag(ConfigPropertyNames.GENERATE_JSON_FILE)
+										? ctx.getOutputJsonMapper()
+										: ctx.getOutputYamlMapper(),
+								openapi_file.substring(openapi_file.lastIndexOf('.')),
+								configData.getMappingWorkers());
+				splitWriter.write(openAPI, dir, openapi_file);
+				Oba.logger.info(
+						"OpenAPI files:  "
+								+ splitWriter.getWrittenFiles()
+								+ " written, "
+								+ splitWriter.getUnchangedFiles()
+								+ " unchanged.");
+			} else {
+				FileWriterUtils.writeFileAtomically(
+						Path.of(this.openapi_path), outputStream -> writer.writeValue(outputStream, openAPI));
+			}
+		}
 
 		if (GlobalFlags.getFlag(ConfigPropertyNames.VALIDATE_GENERATED_OPENAPI_FILE)) {
-			this.validate();
+			final var validationPhase = RunReport.phase("validation");
+			try (validationPhase) {
+				this.validate();
+			}
 		}
 	}
 
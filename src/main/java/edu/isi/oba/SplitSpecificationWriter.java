@@ -0,0 +1,401 @@
+package edu.isi.oba;
+
+import static edu.isi.oba.Oba.logger;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.isi.oba.utils.DigestUtils;
+import edu.isi.oba.utils.file.FileWriterUtils;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes an OpenAPI document as a small root document, and one file for each component schema, each
+ * component example, and each group of paths (by the tag of their operations), connected by
+ * relative {@code $ref}s:
+ *
+ * <ul>
+ *   <li>{@code components/schemas/<schema>.yaml}
+ *   <li>{@code components/examples/<example>.yaml}
+ *   <li>{@code paths/<tag>.yaml}, with the path items of the tag, by path
+ * </ul>
+ *
+ * <p>The files are rendered (and written) by several workers at once. The content digest of each
+ * file is recorded in a manifest ({@value #MANIFEST_FILE_NAME}): a file whose content is unchanged
+ * since the previous run is not written again, and the files of the previous run which are no
+ * longer generated are deleted.
+ */
+public class SplitSpecificationWriter {
+	public static final String MANIFEST_FILE_NAME = "openapi_files.json";
+
+	/** Increment when the manifest format changes. */
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String COMPONENTS = "components";
+	private static final String PATHS = "paths";
+	private static final String REF = "$ref";
+	private static final String COMPONENT_REF_PREFIX = "#/" + COMPONENTS + "/";
+	private static final String UNTAGGED_PATHS = "untagged";
+
+	/** The split component types, and the directory of their files. */
+	private static final Map<String, String> COMPONENT_DIRECTORIES =
+			Map.of("schemas", COMPONENTS + "/schemas", "examples", COMPONENTS + "/examples");
+
+	private final ObjectMapper outputMapper;
+	private final ObjectWriter writer;
+	private final String extension;
+	private final int workers;
+
+	private final AtomicInteger writtenFiles = new AtomicInteger();
+	private final AtomicInteger unchangedFiles = new AtomicInteger();
+
+	/**
+	 * @param outputMapper the {@link ObjectMapper} (JSON or YAML) which serializes the OpenAPI
+	 *     document
+	 * @param extension the extension of the files (e.g. {@code .yaml})
+	 * @param workers the number of workers rendering the files
+	 */
+	public SplitSpecificationWriter(ObjectMapper outputMapper, String extension, int workers) {
+		this.outputMapper = outputMapper;
+		this.writer = outputMapper.writer(new DefaultPrettyPrinter());
+		this.extension = extension;
+		this.workers = workers;
+	}
+
+	/**
+	 * Write the OpenAPI document to a directory.
+	 *
+	 * @param openAPI the {@link OpenAPI} document
+	 * @param directory the {@link Path} of the output directory
+	 * @param rootFileName the file name of the root document (e.g. {@code openapi.yaml})
+	 * @throws IOException if a file cannot be written
+	 */
+	public void write(OpenAPI openAPI, Path directory, String rootFileName) throws IOException {
+		final ObjectNode root = this.outputMapper.valueToTree(openAPI);
+
+		// The content of each file, by its path relative to the output directory (with '/').
+		final var files = new LinkedHashMap<String, JsonNode>();
+
+		// The file of each split component, by its type and name (e.g. "schemas/Person").
+		final var componentFiles = new HashMap<String, String>();
+		final var components = root.get(COMPONENTS);
+		if (components instanceof ObjectNode) {
+			for (final var componentType : new TreeMap<>(COMPONENT_DIRECTORIES).entrySet()) {
+				final var entries = components.get(componentType.getKey());
+				if (!(entries instanceof ObjectNode)) {
+					continue;
+				}
+
+				final var fileNames = new HashSet<String>();
+				entries
+						.properties()
+						.forEach(
+								entry -> {
+									final var file =
+											componentType.getValue()
+													+ "/"
+													+ getUniqueFileName(entry.getKey(), fileNames)
+													+ this.extension;
+									componentFiles.put(componentType.getKey() + "/" + entry.getKey(), file);
+									files.put(file, entry.getValue());
+								});
+			}
+		}
+
+		final var pathFiles = new LinkedHashMap<String, String>();
+		final var paths = root.get(PATHS);
+		if (paths instanceof ObjectNode) {
+			final var pathGroups = new TreeMap<String, ObjectNode>();
+			paths
+					.properties()
+					.forEach(
+							entry ->
+									pathGroups
+											.computeIfAbsent(
+													getTag(entry.getValue()), k -> Json.mapper().createObjectNode())
+											.set(entry.getKey(), entry.getValue()));
+
+			final var fileNames = new HashSet<String>();
+			pathGroups.forEach(
+					(tag, pathGroup) -> {
+						final var file = PATHS + "/" + getUniqueFileName(tag, fileNames) + this.extension;
+						pathGroup.fieldNames().forEachRemaining(path -> pathFiles.put(path, file));
+						files.put(file, pathGroup);
+					});
+		}
+
+		// The references of the split files are relative to their own directory.
+		files.forEach(
+				(file, content) ->
+						rewriteReferences(content, getDirectory(file), componentFiles, rootFileName));
+
+		// Replace the split entries of the root document by references to their files.
+		if (paths instanceof ObjectNode) {
+			final var pathsNode = (ObjectNode) paths;
+			pathFiles.forEach(
+					(path, file) ->
+							pathsNode.set(path, createReference(file + "#/" + escapeJsonPointer(path))));
+		}
+
+		componentFiles.forEach(
+				(component, file) -> {
+					final var separator = component.indexOf('/');
+					((ObjectNode) components.get(component.substring(0, separator)))
+							.set(component.substring(separator + 1), createReference(file));
+				});
+		files.put(rootFileName, root);
+
+		this.writeFiles(directory, files);
+	}
+
+	/**
+	 * @return the number of files written by the last call of {@link #write(OpenAPI, Path, String)}
+	 */
+	public int getWrittenFiles() {
+		return this.writtenFiles.get();
+	}
+
+	/**
+	 * @return the number of files which were unchanged (and not written again) by the last call of
+	 *     {@link #write(OpenAPI, Path, String)}
+	 */
+	public int getUnchangedFiles() {
+		return this.unchangedFiles.get();
+	}
+
+	private void writeFiles(Path directory, Map<String, JsonNode> files) throws IOException {
+		this.writtenFiles.set(0);
+		this.unchangedFiles.set(0);
+
+		final var manifestFile = directory.resolve(MANIFEST_FILE_NAME);
+		final var previousDigests = loadManifest(manifestFile);
+		final var digests = new ConcurrentHashMap<String, String>();
+
+		final var workerPool = this.workers > 1 ? new ForkJoinPool(this.workers) : null;
+		try {
+			if (workerPool == null) {
+				files.forEach(
+						(file, content) -> this.writeFile(directory, file, content, previousDigests, digests));
+			} else {
+				workerPool
+						.submit(
+								() ->
+										files.entrySet().parallelStream()
+												.forEach(
+														entry ->
+																this.writeFile(
+																		directory,
+																		entry.getKey(),
+																		entry.getValue(),
+																		previousDigests,
+																		digests)))
+						.get();
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing the OpenAPI files.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+
+			throw new IOException("Unable to write the OpenAPI files.", e.getCause());
+		} finally {
+			if (workerPool != null) {
+				workerPool.shutdown();
+			}
+		}
+
+		// Delete the files of the previous run which are no longer generated (only within the output
+		// directory, whatever the manifest says).
+		final var normalizedDirectory = directory.toAbsolutePath().normalize();
+		for (final var file : previousDigests.keySet()) {
+			final var path = normalizedDirectory.resolve(file).normalize();
+			if (!digests.containsKey(file) && path.startsWith(normalizedDirectory)) {
+				Files.deleteIfExists(path);
+			}
+		}
+
+		final var manifest = new Manifest(FORMAT_VERSION, new TreeMap<>(digests));
+		FileWriterUtils.writeFileAtomically(
+				manifestFile, outputStream -> Json.mapper().writeValue(outputStream, manifest));
+	}
+
+	private void writeFile(
+			Path directory,
+			String file,
+			JsonNode content,
+			Map<String, String> previousDigests,
+			Map<String, String> digests) {
+		try {
+			final var bytes = this.writer.writeValueAsBytes(content);
+			final var digest = digest(bytes);
+			digests.put(file, digest);
+
+			final var path = directory.resolve(file);
+			if (digest.equals(previousDigests.get(file)) && Files.isRegularFile(path)) {
+				this.unchangedFiles.incrementAndGet();
+				return;
+			}
+
+			FileWriterUtils.writeFileAtomically(path, outputStream -> outputStream.write(bytes));
+			this.writtenFiles.incrementAndGet();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Map<String, String> loadManifest(Path manifestFile) {
+		if (!Files.isRegularFile(manifestFile)) {
+			return Map.of();
+		}
+
+		try {
+			final var manifest = Json.mapper().readValue(manifestFile.toFile(), Manifest.class);
+			if (manifest.version != FORMAT_VERSION || manifest.files == null) {
+				logger.info("Ignoring OpenAPI file manifest with a different format:  " + manifestFile);
+				return Map.of();
+			}
+
+			return manifest.files;
+		} catch (IOException e) {
+			logger.warning("Ignoring unreadable OpenAPI file manifest \"" + manifestFile + "\":  " + e);
+			return Map.of();
+		}
+	}
+
+	/**
+	 * Rewrite the local references of a split file: references to split components point to their
+	 * files, and other references point into the root document.
+	 */
+	private static void rewriteReferences(
+			JsonNode node, Path directory, Map<String, String> componentFiles, String rootFileName) {
+		if (node.isObject()) {
+			final var ref = node.get(REF);
+			if (ref != null && ref.isTextual() && ref.textValue().startsWith("#/")) {
+				((ObjectNode) node)
+						.put(REF, getReference(ref.textValue(), directory, componentFiles, rootFileName));
+			}
+		}
+
+		if (node.isContainerNode()) {
+			node.forEach(child -> rewriteReferences(child, directory, componentFiles, rootFileName));
+		}
+	}
+
+	private static String getReference(
+			String ref, Path directory, Map<String, String> componentFiles, String rootFileName) {
+		if (ref.startsWith(COMPONENT_REF_PREFIX)) {
+			// e.g. "schemas/Person", optionally followed by a pointer into the component.
+			final var pointer = ref.substring(COMPONENT_REF_PREFIX.length());
+			final var typeEnd = pointer.indexOf('/');
+			if (typeEnd > 0) {
+				final var nameEnd = pointer.indexOf('/', typeEnd + 1);
+				final var name =
+						unescapeJsonPointer(
+								pointer.substring(typeEnd + 1, nameEnd < 0 ? pointer.length() : nameEnd));
+				final var file = componentFiles.get(pointer.substring(0, typeEnd) + "/" + name);
+				if (file != null) {
+					return relativize(directory, file)
+							+ (nameEnd < 0 ? "" : "#" + pointer.substring(nameEnd));
+				}
+			}
+		}
+
+		return relativize(directory, rootFileName) + ref;
+	}
+
+	private static String relativize(Path directory, String file) {
+		return directory.relativize(Path.of(file)).toString().replace(File.separatorChar, '/');
+	}
+
+	private static Path getDirectory(String file) {
+		final var separator = file.lastIndexOf('/');
+		return Path.of(separator < 0 ? "" : file.substring(0, separator));
+	}
+
+	/** Get the first tag of the operations of a path item. */
+	private static String getTag(JsonNode pathItem) {
+		for (final var operation : pathItem) {
+			final var tags = operation.get("tags");
+			if (tags != null && tags.isArray() && tags.size() > 0 && tags.get(0).isTextual()) {
+				return tags.get(0).textValue();
+			}
+		}
+
+		return UNTAGGED_PATHS;
+	}
+
+	/**
+	 * Get a file name (without extension) for a name, which is unique (ignoring case, for
+	 * case-insensitive file systems) among the file names of the same directory.
+	 */
+	private static String getUniqueFileName(String name, Set<String> fileNames) {
+		var baseName = name.replaceAll("[^A-Za-z0-9._-]", "_");
+		if (baseName.isEmpty() || baseName.startsWith(".")) {
+			baseName = "_" + baseName;
+		}
+
+		var fileName = baseName;
+		for (int i = 2; !fileNames.add(fileName.toLowerCase(Locale.ROOT)); i++) {
+			fileName = baseName + "_" + i;
+		}
+
+		return fileName;
+	}
+
+	private static ObjectNode createReference(String ref) {
+		return Json.mapper().createObjectNode().put(REF, ref);
+	}
+
+	private static String escapeJsonPointer(String token) {
+		return token.replace("~", "~0").replace("/", "~1");
+	}
+
+	private static String unescapeJsonPointer(String token) {
+		return token.replace("~1", "/").replace("~0", "~");
+	}
+
+	private static String digest(byte[] content) {
+		return DigestUtils.toHex(DigestUtils.newDigest().digest(content));
+	}
+
+	/** The contents of the manifest: the digest of each file, by its path. */
+	private static class Manifest {
+		@JsonProperty("version")
+		private final int version;
+
+		@JsonProperty("files")
+		private final Map<String, String> files;
+
+		@JsonCreator
+		private Manifest(
+				@JsonProperty("version") int version, @JsonProperty("files") Map<String, String> files) {
+			this.version = version;
+			this.files = files;
+		}
+	}
+}
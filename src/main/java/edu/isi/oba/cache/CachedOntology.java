@@ -0,0 +1,93 @@
+package edu.isi.oba.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A downloaded ontology, as stored in the {@link OntologyCache}: the serialization it was
+ * negotiated in, the validators returned by the server, and the SHA-256 digest of its content.
+ */
+public class CachedOntology {
+	private final String uri;
+	private final String serialization;
+	private final String contentType;
+	private final String etag;
+	private final String lastModified;
+	private final String sha256;
+	private final String fetched;
+
+	@JsonCreator
+	CachedOntology(
+			@JsonProperty("uri") String uri,
+			@JsonProperty("serialization") String serialization,
+			@JsonProperty("content_type") String contentType,
+			@JsonProperty("etag") String etag,
+			@JsonProperty("last_modified") String lastModified,
+			@JsonProperty("sha256") String sha256,
+			@JsonProperty("fetched") String fetched) {
+		this.uri = uri;
+		this.serialization = serialization;
+		this.contentType = contentType;
+		this.etag = etag;
+		this.lastModified = lastModified;
+		this.sha256 = sha256;
+		this.fetched = fetched;
+	}
+
+	/**
+	 * @return the URI the ontology was downloaded from
+	 */
+	@JsonProperty("uri")
+	public String getUri() {
+		return this.uri;
+	}
+
+	/**
+	 * @return the serialization (media type) requested with the {@code Accept} header
+	 */
+	@JsonProperty("serialization")
+	public String getSerialization() {
+		return this.serialization;
+	}
+
+	/**
+	 * @return the {@code Content-Type} returned by the server, or {@code null} if there was none
+	 */
+	@JsonProperty("content_type")
+	public String getContentType() {
+		return this.contentType;
+	}
+
+	/**
+	 * @return the {@code ETag} returned by the server, or {@code null} if there was none
+	 */
+	@JsonProperty("etag")
+	public String getEtag() {
+		return this.etag;
+	}
+
+	/**
+	 * @return the {@code Last-Modified} date returned by the server, or {@code null} if there was
+	 *     none
+	 */
+	@JsonProperty("last_modified")
+	public String getLastModified() {
+		return this.lastModified;
+	}
+
+	/**
+	 * @return the SHA-256 digest (in hexadecimal) of the content, which is also its file name
+	 */
+	@JsonProperty("sha256")
+	public String getSha256() {
+		return this.sha256;
+	}
+
+	/**
+	 * @return when the content was downloaded (or last revalidated), as an ISO-8601 instant
+	 */
+	@JsonProperty("fetched")
+	public String getFetched() {
+		return this.fetched;
+	}
+}
@@ -0,0 +1,267 @@
+package edu.isi.oba.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+/**
+ * The result of mapping a single class to its schema, as stored in the {@link SchemaCache}.
+ *
+ * <p>The schema is kept as JSON, so that every use gets its own copy (schemas are modified after
+ * mapping). The names of the schema and of its nested schemas are not part of their JSON, so they
+ * are kept separately, by the JSON path of the (nested) schema.
+ */
+public class CachedSchema {
+	private final String key;
+	private final JsonNode schema;
+	private final Map<String, String> schemaNames;
+	private final List<String> referencedClasses;
+	private final Map<String, Map<String, String>> markdownMappings;
+	private final List<String> visitedClasses;
+
+	@JsonCreator
+	CachedSchema(
+			@JsonProperty("key") String key,
+			@JsonProperty("schema") JsonNode schema,
+			@JsonProperty("schema_names") Map<String, String> schemaNames,
+			@JsonProperty("referenced_classes") List<String> referencedClasses,
+			@JsonProperty("markdown_mappings") Map<String, Map<String, String>> markdownMappings,
+			@JsonProperty("visited_classes") List<String> visitedClasses) {
+		this.key = key;
+		this.schema = schema == null || schema.isNull() ? null : schema;
+		this.schemaNames = schemaNames == null ? Map.of() : schemaNames;
+		this.referencedClasses = referencedClasses == null ? List.of() : referencedClasses;
+		this.markdownMappings = markdownMappings == null ? Map.of() : markdownMappings;
+		this.visitedClasses = visitedClasses == null ? List.of() : visitedClasses;
+	}
+
+	/**
+	 * Create the cache entry of a mapped class.
+	 *
+	 * @param key the key of the class and the axioms it was mapped from
+	 * @param schema the {@link Schema} of the class, or {@code null} if it has none
+	 * @param referencedClasses the {@link OWLClass}es referenced by the class
+	 * @param markdownMappings the markdown mappings of the class
+	 * @param visitedClasses the {@link OWLClass}es visited while mapping the class
+	 * @return a {@link CachedSchema}
+	 */
+	static CachedSchema of(
+			String key,
+			Schema<?> schema,
+			Collection<OWLClass> referencedClasses,
+			Map<String, Map<String, String>> markdownMappings,
+			Collection<OWLClass> visitedClasses) {
+		final var schemaNames = new TreeMap<String, String>();
+		collectSchemaNames(schema, "", schemaNames);
+
+		return new CachedSchema(
+				key,
+				schema == null ? null : Json.mapper().valueToTree(schema),
+				schemaNames,
+				toSortedIris(referencedClasses),
+				copyMarkdownMappings(markdownMappings),
+				toSortedIris(visitedClasses));
+	}
+
+	@JsonProperty("key")
+	String getKey() {
+		return this.key;
+	}
+
+	@JsonProperty("schema")
+	JsonNode getSchemaJson() {
+		return this.schema;
+	}
+
+	@JsonProperty("schema_names")
+	Map<String, String> getSchemaNames() {
+		return this.schemaNames;
+	}
+
+	@JsonProperty("referenced_classes")
+	List<String> getReferencedClassIris() {
+		return this.referencedClasses;
+	}
+
+	@JsonProperty("markdown_mappings")
+	Map<String, Map<String, String>> getMarkdownMappingsJson() {
+		return this.markdownMappings;
+	}
+
+	@JsonProperty("visited_classes")
+	List<String> getVisitedClassIris() {
+		return this.visitedClasses;
+	}
+
+	/**
+	 * Get a new copy of the cached schema.
+	 *
+	 * @return the {@link Schema}, or {@code null} if the class has no schema
+	 * @throws JsonProcessingException if the cached schema cannot be read
+	 */
+	public Schema<?> getSchema() throws JsonProcessingException {
+		if (this.schema == null) {
+			return null;
+		}
+
+		final Schema<?> copy = Json.mapper().treeToValue(this.schema, Schema.class);
+		clearDefaultTypes(copy, this.schema);
+		applySchemaNames(copy, "", this.schemaNames);
+		return copy;
+	}
+
+	/**
+	 * @param dataFactory the {@link OWLDataFactory} to create the classes with
+	 * @return the {@link OWLClass}es referenced by the class
+	 */
+	public Set<OWLClass> getReferencedClasses(OWLDataFactory dataFactory) {
+		return toClasses(this.referencedClasses, dataFactory);
+	}
+
+	/**
+	 * @param dataFactory the {@link OWLDataFactory} to create the classes with
+	 * @return the {@link OWLClass}es visited while mapping the class
+	 */
+	public Set<OWLClass> getVisitedClasses(OWLDataFactory dataFactory) {
+		return toClasses(this.visitedClasses, dataFactory);
+	}
+
+	/**
+	 * @return a new copy of the markdown mappings of the class
+	 */
+	public Map<String, Map<String, String>> getMarkdownMappings() {
+		return copyMarkdownMappings(this.markdownMappings);
+	}
+
+	private static List<String> toSortedIris(Collection<OWLClass> classes) {
+		return classes.stream()
+				.map(owlClass -> owlClass.getIRI().toString())
+				.sorted()
+				.collect(Collectors.toList());
+	}
+
+	private static Set<OWLClass> toClasses(List<String> iris, OWLDataFactory dataFactory) {
+		final var classes = new HashSet<OWLClass>();
+		iris.forEach(iri -> classes.add(dataFactory.getOWLClass(IRI.create(iri))));
+		return classes;
+	}
+
+	/** The visitor uses sorted maps for the markdown mappings, so keep them sorted. */
+	private static Map<String, Map<String, String>> copyMarkdownMappings(
+			Map<String, Map<String, String>> markdownMappings) {
+		final var copy = new TreeMap<String, Map<String, String>>();
+		markdownMappings.forEach((name, mappings) -> copy.put(name, new TreeMap<>(mappings)));
+		return copy;
+	}
+
+	private static void collectSchemaNames(Schema<?> schema, String path, Map<String, String> names) {
+		if (schema == null) {
+			return;
+		}
+
+		if (schema.getName() != null) {
+			names.put(path, schema.getName());
+		}
+
+		forEachNestedSchema(
+				schema,
+				(nestedSchema, field, key) ->
+						collectSchemaNames(nestedSchema, nestedPath(path, field, key), names));
+	}
+
+	private static void applySchemaNames(Schema<?> schema, String path, Map<String, String> names) {
+		if (schema == null) {
+			return;
+		}
+
+		if (names.containsKey(path)) {
+			schema.setName(names.get(path));
+		}
+
+		forEachNestedSchema(
+				schema,
+				(nestedSchema, field, key) ->
+						applySchemaNames(nestedSchema, nestedPath(path, field, key), names));
+	}
+
+	/**
+	 * Schemas without a type (e.g. {@code {}}) are read back as typed schemas (e.g. an {@code
+	 * ObjectSchema} with type "object"), so clear the types which are not in the JSON.
+	 */
+	private static void clearDefaultTypes(Schema<?> schema, JsonNode json) {
+		if (schema == null || json == null) {
+			return;
+		}
+
+		if (!json.has("type") && schema.getType() != null) {
+			schema.setType(null);
+		}
+
+		forEachNestedSchema(
+				schema,
+				(nestedSchema, field, key) -> {
+					var nestedJson = json.get(field);
+					if (nestedJson != null && key != null) {
+						nestedJson =
+								nestedJson.isArray() ? nestedJson.get(Integer.parseInt(key)) : nestedJson.get(key);
+					}
+					clearDefaultTypes(nestedSchema, nestedJson);
+				});
+	}
+
+	private static String nestedPath(String path, String field, String key) {
+		return path + "/" + field + (key == null ? "" : "/" + key);
+	}
+
+	private interface NestedSchemaConsumer {
+		/**
+		 * @param nestedSchema the nested {@link Schema}
+		 * @param field the JSON field of the nested schema
+		 * @param key the property name or list index of the nested schema, or {@code null}
+		 */
+		void accept(Schema<?> nestedSchema, String field, String key);
+	}
+
+	private static void forEachNestedSchema(Schema<?> schema, NestedSchemaConsumer consumer) {
+		if (schema.getProperties() != null) {
+			schema
+					.getProperties()
+					.forEach((name, property) -> consumer.accept(property, "properties", name));
+		}
+
+		consumer.accept(schema.getItems(), "items", null);
+		consumer.accept(schema.getNot(), "not", null);
+
+		if (schema.getAdditionalProperties() instanceof Schema) {
+			consumer.accept((Schema<?>) schema.getAdditionalProperties(), "additionalProperties", null);
+		}
+
+		forEachListedSchema(schema.getAllOf(), "allOf", consumer);
+		forEachListedSchema(schema.getAnyOf(), "anyOf", consumer);
+		forEachListedSchema(schema.getOneOf(), "oneOf", consumer);
+	}
+
+	private static void forEachListedSchema(
+			List<Schema> schemas, String field, NestedSchemaConsumer consumer) {
+		if (schemas != null) {
+			final var listedSchemas = new ArrayList<Schema>(schemas);
+			for (var i = 0; i < listedSchemas.size(); i++) {
+				consumer.accept(listedSchemas.get(i), field, String.valueOf(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package edu.isi.oba.cache;
+
+import static edu.isi.oba.utils.DigestUtils.newDigest;
+import static edu.isi.oba.utils.DigestUtils.toHex;
+import static edu.isi.oba.utils.DigestUtils.update;
+
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.index.PropertyDomainIndex;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Computes the cache key of a class of an ontology: a digest of the axioms the class's schema may
+ * have been generated from.
+ *
+ * <p>The visited classes of a class (itself, its super classes, restriction classes, and referenced
+ * classes) are its roots. Its dependencies are:
+ *
+ * <ul>
+ *   <li>the roots, and the classes and properties in the axioms which reference them (e.g. the
+ *       properties whose domain is a root, and the properties and fillers of its restrictions);
+ *   <li>the (sub-)properties found for each root by the {@link PropertyDomainIndex};
+ *   <li>the classes in the axioms which reference those properties (e.g. their ranges).
+ * </ul>
+ *
+ * <p>Each dependency contributes the digest of all the axioms which reference it, and of its
+ * annotations. A change to any of these axioms (e.g. a new super class, a new property in the
+ * domain of a super class, or a changed range or label) changes the key of the class, and of every
+ * class depending on it. Built-in entities (such as owl:Thing) are not dependencies.
+ *
+ * <p>Entity digests are computed once per ontology and may be shared by several mapping workers.
+ */
+public class DependencyDigester {
+	private final OWLOntology ontology;
+	private final String fingerprint;
+	private final Map<OWLEntity, EntityDigest> entityDigests = new ConcurrentHashMap<>();
+
+	/**
+	 * @param ontology the {@link OWLOntology} whose classes are digested
+	 * @param fingerprint the fingerprint of everything else that affects the schemas (e.g. the
+	 *     configuration flags)
+	 */
+	DependencyDigester(OWLOntology ontology, String fingerprint) {
+		this.ontology = ontology;
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * Get the cache key of a class.
+	 *
+	 * @param owlClass the {@link OWLClass}
+	 * @param visitedClasses the {@link OWLClass}es visited while mapping the class
+	 * @return the key, as a hex string
+	 */
+	String getKey(OWLClass owlClass, Collection<OWLClass> visitedClasses) {
+		final var index =
+				OntologyIndexRegistry.getPropertyDomainIndex(
+						this.ontology, ReasonerRegistry.getReasoner(this.ontology));
+
+		// Dependencies, sorted by entity type and IRI.
+		final var dependencies = new TreeMap<String, OWLEntity>();
+		final var properties = new HashSet<OWLEntity>();
+
+		for (final var visitedClass : visitedClasses) {
+			if (!isDependency(visitedClass)) {
+				continue;
+			}
+
+			addDependency(dependencies, visitedClass);
+			for (final var neighbour : this.getEntityDigest(visitedClass).neighbours) {
+				addDependency(dependencies, neighbour);
+				if (!neighbour.isOWLClass()) {
+					properties.add(neighbour);
+				}
+			}
+
+			index
+					.getObjectProperties(visitedClass)
+					.forEach(entry -> properties.add(entry.getProperty().asOWLObjectProperty()));
+			index.getDataProperties(visitedClass).forEach(entry -> properties.add(entry.getProperty()));
+		}
+
+		for (final var property : properties) {
+			addDependency(dependencies, property);
+			for (final var neighbour : this.getEntityDigest(property).neighbours) {
+				if (neighbour.isOWLClass()) {
+					addDependency(dependencies, neighbour);
+				}
+			}
+		}
+
+		final var digest = newDigest();
+		update(digest, this.fingerprint);
+		update(digest, owlClass.getIRI().toString());
+		dependencies.forEach(
+				(name, entity) -> update(digest, name + "=" + this.getEntityDigest(entity).digest));
+		return toHex(digest.digest());
+	}
+
+	private EntityDigest getEntityDigest(OWLEntity entity) {
+		final var entityDigest = this.entityDigests.get(entity);
+		if (entityDigest != null) {
+			return entityDigest;
+		}
+
+		final var axioms = new ArrayList<String>();
+		final var neighbours = new HashSet<OWLEntity>();
+		this.ontology
+				.referencingAxioms(entity)
+				.forEach(
+						axiom -> {
+							axioms.add(axiom.toString());
+							axiom.signature().filter(DependencyDigester::isDependency).forEach(neighbours::add);
+						});
+		this.ontology
+				.annotationAssertionAxioms(entity.getIRI())
+				.forEach(axiom -> axioms.add(axiom.toString()));
+		Collections.sort(axioms);
+
+		final var digest = newDigest();
+		axioms.forEach(axiom -> update(digest, axiom));
+		neighbours.remove(entity);
+
+		final var newEntityDigest = new EntityDigest(toHex(digest.digest()), List.copyOf(neighbours));
+		final var previous = this.entityDigests.putIfAbsent(entity, newEntityDigest);
+		return previous == null ? newEntityDigest : previous;
+	}
+
+	private static boolean isDependency(OWLEntity entity) {
+		return (entity.isOWLClass() || entity.isOWLObjectProperty() || entity.isOWLDataProperty())
+				&& !entity.isBuiltIn();
+	}
+
+	private static void addDependency(Map<String, OWLEntity> dependencies, OWLEntity entity) {
+		dependencies.put(entity.getEntityType().getName() + " " + entity.getIRI(), entity);
+	}
+
+	/** The digest of the axioms referencing an entity, and the entities in those axioms. */
+	private static class EntityDigest {
+		private final String digest;
+		private final List<OWLEntity> neighbours;
+
+		private EntityDigest(String digest, List<OWLEntity> neighbours) {
+			this.digest = digest;
+			this.neighbours = neighbours;
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package edu.isi.oba.cache;
+
+import static edu.isi.oba.Oba.logger;
+import static edu.isi.oba.utils.DigestUtils.digestFile;
+
+import edu.isi.oba.exceptions.OntologyLoadingException;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.ontology.OntologyFormats;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * In-memory cache of the ontologies loaded by the runs of a long-running process (i.e. in watch
+ * mode), so that a run only parses the ontology files which changed since the previous run.
+ *
+ * <p>The cache keeps the {@link OWLOntologyManager} of the previous run, and the SHA-256 digest of
+ * each ontology file it loaded. An ontology whose file is unchanged is kept as is, along with its
+ * shared reasoner and indexes (see {@link ReasonerRegistry} and {@link OntologyIndexRegistry}). An
+ * ontology whose file changed is removed from the manager (releasing its reasoner and indexes) and
+ * loaded again, and the reasoners and indexes of the ontologies importing it are released. If the
+ * configured ontologies (or their order) change, every ontology is loaded again with a new manager.
+ *
+ * <p>The ontologies of several configurations (i.e. lists of configured ontologies) may be kept,
+ * each with its own manager, e.g. for the tenants of the {@link edu.isi.oba.GenerationServer}. The
+ * least recently used configuration is released when there are too many.
+ *
+ * <p>There is one cache per process, like the {@link ReasonerRegistry}. It is disabled unless
+ * {@link #enable(int)} is called, so that a single run (and the tests) load the ontologies as
+ * before.
+ */
+public final class LoadedOntologyCache {
+	private static int maximumConfigurations;
+
+	// By configured ontologies, least recently used first.
+	private static final Map<List<String>, LoadedOntologies> configurations =
+			new LinkedHashMap<>(16, 0.75f, true);
+
+	private LoadedOntologyCache() {
+		throw new UnsupportedOperationException("Static utility class");
+	}
+
+	/**
+	 * Keep the loaded ontologies between runs, from now on.
+	 *
+	 * @param maximum the maximum number of configurations (i.e. lists of configured ontologies) whose
+	 *     ontologies are kept
+	 */
+	public static synchronized void enable(int maximum) {
+		if (maximum < 1) {
+			throw new IllegalArgumentException("The maximum must be positive: " + maximum);
+		}
+
+		maximumConfigurations = maximum;
+		releaseLeastRecentlyUsed();
+	}
+
+	/**
+	 * @return whether the loaded ontologies are kept between runs
+	 */
+	public static synchronized boolean isEnabled() {
+		return maximumConfigurations > 0;
+	}
+
+	/** Disable the cache, releasing the loaded ontologies. */
+	public static synchronized void clear() {
+		configurations.values().forEach(LoadedOntologies::release);
+		configurations.clear();
+		maximumConfigurations = 0;
+	}
+
+	/**
+	 * @param ontology an {@link OWLOntology}
+	 * @return whether the ontology was loaded by the cache (including the ontologies it imports), and
+	 *     is kept for the next run
+	 */
+	public static synchronized boolean contains(OWLOntology ontology) {
+		// Not manager.contains(), which is true for another ontology with the same ID (e.g. a module).
+		return configurations.values().stream()
+				.anyMatch(
+						configuration ->
+								configuration.manager.ontologies().anyMatch(loaded -> loaded == ontology));
+	}
+
+	/**
+	 * @param ontologyPath the URL or file path of a configured ontology
+	 * @return whether the ontology was loaded by a previous run
+	 */
+	public static synchronized boolean contains(String ontologyPath) {
+		return configurations.entrySet().stream()
+				.anyMatch(
+						entry -> {
+							final var index = entry.getKey().indexOf(ontologyPath);
+							return index >= 0 && entry.getValue().loadedOntologies.get(index) != null;
+						});
+	}
+
+	/**
+	 * Load the ontologies of a run, only parsing the files which are not loaded (or changed) since
+	 * the previous run.
+	 *
+	 * @param paths the URLs or file paths of the configured ontologies, in order
+	 * @param files the {@link Path}s of the (fetched) ontology files, in the same order
+	 * @param mimeTypes the MIME types of the files (or {@code null} if not known), in the same order
+	 * @param config the {@link OWLOntologyLoaderConfiguration}
+	 * @return the {@link OWLOntologyManager} with the ontologies (and the ontologies they import)
+	 * @throws IOException if an ontology file cannot be read
+	 * @throws OntologyLoadingException if an ontology cannot be loaded (after which every ontology is
+	 *     loaded again by the next run)
+	 */
+	public static synchronized OWLOntologyManager load(
+			List<String> paths,
+			List<Path> files,
+			List<String> mimeTypes,
+			OWLOntologyLoaderConfiguration config)
+			throws IOException {
+		final var key = List.copyOf(paths);
+		var configuration = configurations.get(key);
+		if (configuration == null) {
+			configuration = new LoadedOntologies(paths.size());
+			configurations.put(key, configuration);
+			releaseLeastRecentlyUsed();
+		}
+
+		final var manager = configuration.manager;
+		final var loadedOntologies = configuration.loadedOntologies;
+		final var digests = new ArrayList<String>();
+		for (final var file : files) {
+			digests.add(digestFile(file));
+		}
+
+		// Remove every changed ontology first, since an ontology may import another one.
+		final var changedIndexes = new ArrayList<Integer>();
+		for (var index = 0; index < paths.size(); index++) {
+			final var loadedOntology = loadedOntologies.get(index);
+			if (loadedOntology == null || !loadedOntology.digest.equals(digests.get(index))) {
+				changedIndexes.add(index);
+				if (loadedOntology != null) {
+					release(loadedOntology.ontology);
+					manager.removeOntology(loadedOntology.ontology);
+					loadedOntologies.set(index, null);
+				}
+			}
+		}
+
+		if (changedIndexes.isEmpty()) {
+			logger.info("Reusing the " + paths.size() + " unchanged ontologies.");
+			return manager;
+		}
+
+		final Set<OWLOntology> reloadedOntologies = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (final var index : changedIndexes) {
+			logger.info("Loading changed ontology:  " + paths.get(index));
+			try {
+				final var ontology =
+						OntologyFormats.loadOntology(
+								manager, files.get(index).toFile(), mimeTypes.get(index), config);
+				loadedOntologies.set(index, new LoadedOntology(digests.get(index), ontology));
+				reloadedOntologies.add(ontology);
+			} catch (OWLOntologyCreationException | RuntimeException e) {
+				configurations.remove(key).release();
+				throw new OntologyLoadingException(
+						"Failed to load ontology from path: " + files.get(index), e);
+			}
+		}
+
+		// The reasoners (and indexes) of the other ontologies include the ontologies they import.
+		manager
+				.ontologies()
+				.filter(ontology -> !reloadedOntologies.contains(ontology))
+				.filter(ontology -> ontology.importsClosure().anyMatch(reloadedOntologies::contains))
+				.forEach(LoadedOntologyCache::release);
+
+		return manager;
+	}
+
+	private static void releaseLeastRecentlyUsed() {
+		final var iterator = configurations.values().iterator();
+		while (configurations.size() > maximumConfigurations && iterator.hasNext()) {
+			iterator.next().release();
+			iterator.remove();
+		}
+	}
+
+	private static void release(OWLOntology ontology) {
+		ReasonerRegistry.release(ontology);
+		OntologyIndexRegistry.release(ontology);
+	}
+
+	/** The ontologies loaded for a configuration, with their manager. */
+	private static final class LoadedOntologies {
+		private final OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+
+		// The ontology of each configured ontology, or null if it is not loaded.
+		private final List<LoadedOntology> loadedOntologies;
+
+		private LoadedOntologies(int size) {
+			this.loadedOntologies = new ArrayList<>(Collections.nCopies(size, null));
+		}
+
+		/** Release every loaded ontology, so that the next run loads them all again. */
+		private void release() {
+			this.manager.ontologies().forEach(LoadedOntologyCache::release);
+		}
+	}
+
+	/** An ontology loaded from a file, with the file's digest. */
+	private static final class LoadedOntology {
+		private final String digest;
+		private final OWLOntology ontology;
+
+		private LoadedOntology(String digest, OWLOntology ontology) {
+			this.digest = digest;
+			this.ontology = ontology;
+		}
+	}
+}
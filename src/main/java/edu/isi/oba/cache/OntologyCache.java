@@ -0,0 +1,197 @@
+package edu.isi.oba.cache;
+
+import static edu.isi.oba.Oba.logger;
+import static edu.isi.oba.utils.DigestUtils.digestFile;
+import static edu.isi.oba.utils.DigestUtils.newDigest;
+import static edu.isi.oba.utils.DigestUtils.toHex;
+
+import edu.isi.oba.utils.file.FileWriterUtils;
+import io.swagger.v3.core.util.Json;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Persistent, content-addressed cache of the ontologies downloaded from remote URIs, so that later
+ * runs only revalidate them (with conditional requests) instead of downloading them again, or skip
+ * the network entirely in offline mode.
+ *
+ * <p>The cache directory holds an entry per URI ({@code entries/<digest of the URI>.json}, see
+ * {@link CachedOntology}) and the downloaded contents, named by their SHA-256 digest ({@code
+ * objects/<digest>}). An entry is only used if its content is present and unchanged. Several
+ * ontologies may be cached at once (by different threads), and the cache may be shared by several
+ * projects.
+ */
+public class OntologyCache {
+	static final String ENTRIES_DIRECTORY = "entries";
+	static final String OBJECTS_DIRECTORY = "objects";
+
+	private final Path entriesDirectory;
+	private final Path objectsDirectory;
+	private final boolean offline;
+
+	/**
+	 * Create (or open) an ontology cache.
+	 *
+	 * @param directory the cache directory, which is created if needed
+	 * @param offline whether the network must not be used, so only cached ontologies are available
+	 * @throws IOException if the cache directory cannot be created
+	 */
+	public OntologyCache(Path directory, boolean offline) throws IOException {
+		this.entriesDirectory = directory.resolve(ENTRIES_DIRECTORY);
+		this.objectsDirectory = directory.resolve(OBJECTS_DIRECTORY);
+		this.offline = offline;
+
+		Files.createDirectories(this.entriesDirectory);
+		Files.createDirectories(this.objectsDirectory);
+	}
+
+	/**
+	 * @return whether the network must not be used
+	 */
+	public boolean isOffline() {
+		return this.offline;
+	}
+
+	/**
+	 * Get the cached ontology of a URI, if its content is present and unchanged.
+	 *
+	 * @param uri the URI of the ontology
+	 * @return the {@link CachedOntology}, or {@code null} if there is none
+	 */
+	public CachedOntology get(String uri) {
+		final var entryFile = this.getEntryFile(uri);
+		if (!Files.isRegularFile(entryFile)) {
+			return null;
+		}
+
+		try {
+			final var cachedOntology = Json.mapper().readValue(entryFile.toFile(), CachedOntology.class);
+			if (!uri.equals(cachedOntology.getUri()) || cachedOntology.getSha256() == null) {
+				return null;
+			}
+
+			final var contentFile = this.getContentFile(cachedOntology);
+			if (!Files.isRegularFile(contentFile)
+					|| !cachedOntology.getSha256().equals(digestFile(contentFile))) {
+				logger.warning("Ignoring missing or modified cached ontology:  " + contentFile);
+				return null;
+			}
+
+			return cachedOntology;
+		} catch (IOException e) {
+			logger.warning("Ignoring unreadable ontology cache entry \"" + entryFile + "\":  " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Cache the content of an ontology downloaded from a URI, replacing its previous entry (if any).
+	 *
+	 * @param uri the URI of the ontology
+	 * @param content the {@link InputStream} of the downloaded content, which is read fully (but not
+	 *     closed)
+	 * @param serialization the serialization requested with the {@code Accept} header
+	 * @param contentType the {@code Content-Type} returned by the server (may be {@code null})
+	 * @param etag the {@code ETag} returned by the server (may be {@code null})
+	 * @param lastModified the {@code Last-Modified} date returned by the server (may be {@code null})
+	 * @return the new {@link CachedOntology}
+	 * @throws IOException if the content cannot be read or cached
+	 */
+	public CachedOntology put(
+			String uri,
+			InputStream content,
+			String serialization,
+			String contentType,
+			String etag,
+			String lastModified)
+			throws IOException {
+		// Download to a unique file first, since its name (the digest) is only known at the end.
+		final var downloadFile = this.objectsDirectory.resolve(UUID.randomUUID() + ".download");
+		try {
+			final var digestStream = new DigestInputStream(content, newDigest());
+			Files.copy(digestStream, downloadFile);
+
+			final var sha256 = toHex(digestStream.getMessageDigest().digest());
+			final var contentFile = this.objectsDirectory.resolve(sha256);
+			if (Files.isRegularFile(contentFile)) {
+				Files.delete(downloadFile);
+			} else {
+				Files.move(downloadFile, contentFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			return this.putEntry(
+					new CachedOntology(
+							uri,
+							serialization,
+							contentType,
+							etag,
+							lastModified,
+							sha256,
+							Instant.now().toString()));
+		} finally {
+			Files.deleteIfExists(downloadFile);
+		}
+	}
+
+	/**
+	 * Record that a cached ontology was revalidated (i.e. the server replied it is unchanged).
+	 *
+	 * @param cachedOntology the revalidated {@link CachedOntology}
+	 * @param etag the new {@code ETag} returned by the server, or {@code null} to keep the cached one
+	 * @param lastModified the new {@code Last-Modified} date returned by the server, or {@code null}
+	 *     to keep the cached one
+	 * @return the updated {@link CachedOntology}
+	 * @throws IOException if the entry cannot be written
+	 */
+	public CachedOntology revalidated(CachedOntology cachedOntology, String etag, String lastModified)
+			throws IOException {
+		return this.putEntry(
+				new CachedOntology(
+						cachedOntology.getUri(),
+						cachedOntology.getSerialization(),
+						cachedOntology.getContentType(),
+						etag == null ? cachedOntology.getEtag() : etag,
+						lastModified == null ? cachedOntology.getLastModified() : lastModified,
+						cachedOntology.getSha256(),
+						Instant.now().toString()));
+	}
+
+	/**
+	 * Copy the content of a cached ontology to a file.
+	 *
+	 * @param cachedOntology the {@link CachedOntology}
+	 * @param destination the {@link Path} of the file, which is replaced if it exists
+	 * @throws IOException if the content cannot be copied
+	 */
+	public void copyTo(CachedOntology cachedOntology, Path destination) throws IOException {
+		Files.copy(
+				this.getContentFile(cachedOntology), destination, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private CachedOntology putEntry(CachedOntology cachedOntology) throws IOException {
+		FileWriterUtils.writeFileAtomically(
+				this.getEntryFile(cachedOntology.getUri()),
+				outputStream ->
+						Json.mapper()
+								.writerWithDefaultPrettyPrinter()
+								.writeValue(outputStream, cachedOntology));
+		return cachedOntology;
+	}
+
+	private Path getEntryFile(String uri) {
+		final var digest = newDigest();
+		digest.update(uri.getBytes(StandardCharsets.UTF_8));
+		return this.entriesDirectory.resolve(toHex(digest.digest()) + ".json");
+	}
+
+	private Path getContentFile(CachedOntology cachedOntology) {
+		return this.objectsDirectory.resolve(cachedOntology.getSha256());
+	}
+}
@@ -0,0 +1,237 @@
+package edu.isi.oba.cache;
+
+import static edu.isi.oba.Oba.logger;
+import static edu.isi.oba.utils.DigestUtils.digestFile;
+import static edu.isi.oba.utils.DigestUtils.newDigest;
+import static edu.isi.oba.utils.DigestUtils.toHex;
+import static edu.isi.oba.utils.DigestUtils.update;
+
+import edu.isi.oba.Oba;
+import edu.isi.oba.utils.file.FileWriterUtils;
+import edu.isi.oba.utils.ontology.OntologyDownloader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.VersionInfo;
+
+/**
+ * Binary snapshot of the ontologies loaded for a project, so that a later run restores them instead
+ * of parsing the ontology files again.
+ *
+ * <p>The snapshot is the (Java) serialized {@link OWLOntologyManager}, with its ontologies and
+ * their formats (and prefixes). It is saved next to the project's copied ontology files, and is
+ * keyed by the SHA-256 digests of those files (in order), the OBA and OWLAPI versions, and the
+ * snapshot format. The imports which OWLAPI resolved remotely are listed in the snapshot, and are
+ * fetched again (through the {@link OntologyCache}, if there is one) to add their digests to the
+ * key, so a snapshot is not restored once one of them changes (or cannot be fetched). A snapshot
+ * with another key is ignored (and replaced by the next save). Only the classes which a snapshot
+ * contains (from OWLAPI, Guava's multimaps, and a few JDK collections) may be read from a snapshot
+ * file.
+ */
+public class OntologySnapshot {
+	public static final String SNAPSHOT_FILE_NAME = "ontologies.snapshot";
+
+	/** Increment when the snapshot format (or the way ontologies are loaded) changes. */
+	private static final int FORMAT_VERSION = 2;
+
+	private static final String MAGIC = "OBA ontology snapshot";
+
+	// The classes of a serialized manager (strings and arrays of primitives are always allowed).
+	private static final ObjectInputFilter CLASS_FILTER =
+			ObjectInputFilter.Config.createFilter(
+					String.join(
+							";",
+							"org.semanticweb.owlapi.**",
+							"uk.ac.manchester.cs.owl.owlapi.**",
+							"com.google.common.collect.AbstractListMultimap",
+							"com.google.common.collect.AbstractMapBasedMultimap",
+							"com.google.common.collect.ArrayListMultimap",
+							"com.google.common.collect.ArrayListMultimapGwtSerializationDependencies",
+							"java.lang.Object",
+							"java.lang.Boolean",
+							"java.lang.Number",
+							"java.lang.Integer",
+							"java.lang.Long",
+							"java.lang.Enum",
+							"java.util.ArrayList",
+							"java.util.Collections$EmptyList",
+							"java.util.Collections$SetFromMap",
+							"java.util.Collections$SynchronizedCollection",
+							"java.util.Collections$SynchronizedList",
+							"java.util.Collections$SynchronizedRandomAccessList",
+							"java.util.Collections$UnmodifiableCollection",
+							"java.util.Collections$UnmodifiableList",
+							"java.util.Collections$UnmodifiableRandomAccessList",
+							"java.util.EnumMap",
+							"java.util.HashMap",
+							"java.util.HashSet",
+							"java.util.Map$Entry",
+							"java.util.TreeMap",
+							"java.util.TreeSet",
+							"java.util.concurrent.ConcurrentHashMap",
+							"java.util.concurrent.ConcurrentHashMap$Segment",
+							"java.util.concurrent.CopyOnWriteArrayList",
+							"java.util.concurrent.atomic.AtomicBoolean",
+							"java.util.concurrent.atomic.AtomicInteger",
+							"java.util.concurrent.atomic.AtomicLong",
+							"java.util.concurrent.locks.AbstractOwnableSynchronizer",
+							"java.util.concurrent.locks.AbstractQueuedSynchronizer",
+							"java.util.concurrent.locks.ReentrantLock",
+							"java.util.concurrent.locks.ReentrantLock$NonfairSync",
+							"java.util.concurrent.locks.ReentrantLock$Sync",
+							"java.util.concurrent.locks.ReentrantReadWriteLock",
+							"java.util.concurrent.locks.ReentrantReadWriteLock$NonfairSync",
+							"java.util.concurrent.locks.ReentrantReadWriteLock$ReadLock",
+							"java.util.concurrent.locks.ReentrantReadWriteLock$Sync",
+							"java.util.concurrent.locks.ReentrantReadWriteLock$WriteLock",
+							"!*"));
+
+	private final Path snapshotFile;
+	private final OntologyCache ontologyCache;
+
+	// The key of the ontology files (without the remote imports)
+	private final String filesKey;
+
+	/**
+	 * Create the snapshot of the ontologies loaded from a project's ontology files, whose remote
+	 * imports are always downloaded.
+	 *
+	 * @param directory the project's output directory
+	 * @param ontologyFiles the {@link Path}s of the ontology files, in the order they are loaded
+	 * @throws IOException if an ontology file cannot be read
+	 */
+	public OntologySnapshot(Path directory, List<Path> ontologyFiles) throws IOException {
+		this(directory, ontologyFiles, null);
+	}
+
+	/**
+	 * Create the snapshot of the ontologies loaded from a project's ontology files.
+	 *
+	 * @param directory the project's output directory
+	 * @param ontologyFiles the {@link Path}s of the ontology files, in the order they are loaded
+	 * @param ontologyCache the {@link OntologyCache} the remote imports are fetched through (and
+	 *     revalidated, or only read in offline mode), or {@code null} to always download them
+	 * @throws IOException if an ontology file cannot be read
+	 */
+	public OntologySnapshot(Path directory, List<Path> ontologyFiles, OntologyCache ontologyCache)
+			throws IOException {
+		this.snapshotFile = directory.resolve(SNAPSHOT_FILE_NAME);
+		this.ontologyCache = ontologyCache;
+
+		final var digest = newDigest();
+		update(digest, "format=" + FORMAT_VERSION);
+		update(digest, "version=" + Oba.class.getPackage().getImplementationVersion());
+		update(digest, "owlapi=" + VersionInfo.getVersionInfo().getVersion());
+		for (final var ontologyFile : ontologyFiles) {
+			update(digest, "ontology=" + digestFile(ontologyFile));
+		}
+		this.filesKey = toHex(digest.digest());
+	}
+
+	/**
+	 * Restore the ontologies from the snapshot file, if it matches the ontology files.
+	 *
+	 * @return a new {@link OWLOntologyManager} with the ontologies, or {@code null} if there is no
+	 *     matching (or readable) snapshot
+	 */
+	public OWLOntologyManager restore() {
+		if (!Files.isRegularFile(this.snapshotFile)) {
+			return null;
+		}
+
+		try (final var stream =
+				new ObjectInputStream(new BufferedInputStream(Files.newInputStream(this.snapshotFile)))) {
+			stream.setObjectInputFilter(CLASS_FILTER);
+			if (!MAGIC.equals(stream.readUTF()) || stream.readInt() != FORMAT_VERSION) {
+				logger.info("Ignoring ontology snapshot with a different format:  " + this.snapshotFile);
+				return null;
+			}
+
+			final var remoteImports = new ArrayList<String>();
+			for (var count = stream.readInt(); count > 0; count--) {
+				remoteImports.add(stream.readUTF());
+			}
+
+			if (!this.getKey(remoteImports).equals(stream.readUTF())) {
+				logger.info("Ignoring ontology snapshot of other ontology files:  " + this.snapshotFile);
+				return null;
+			}
+
+			return (OWLOntologyManager) stream.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			logger.warning("Ignoring unreadable ontology snapshot \"" + this.snapshotFile + "\":  " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Save the ontologies of a manager, replacing the previous snapshot file.
+	 *
+	 * @param manager the {@link OWLOntologyManager} with the loaded ontologies
+	 * @throws IOException if the snapshot file cannot be written (or a remote import cannot be
+	 *     downloaded)
+	 */
+	public void save(OWLOntologyManager manager) throws IOException {
+		final var remoteImports =
+				manager
+						.ontologies()
+						.map(manager::getOntologyDocumentIRI)
+						.filter(iri -> "http".equals(iri.getScheme()) || "https".equals(iri.getScheme()))
+						.map(IRI::toString)
+						.distinct()
+						.sorted()
+						.collect(Collectors.toList());
+		final var key = this.getKey(remoteImports);
+
+		FileWriterUtils.writeFileAtomically(
+				this.snapshotFile,
+				outputStream -> {
+					final var stream = new ObjectOutputStream(outputStream);
+					stream.writeUTF(MAGIC);
+					stream.writeInt(FORMAT_VERSION);
+					stream.writeInt(remoteImports.size());
+					for (final var remoteImport : remoteImports) {
+						stream.writeUTF(remoteImport);
+					}
+					stream.writeUTF(key);
+					stream.writeObject(manager);
+					stream.flush();
+				});
+	}
+
+	/** Get the key of the ontology files and of the current content of the remote imports. */
+	private String getKey(List<String> remoteImports) throws IOException {
+		final var digest = newDigest();
+		update(digest, this.filesKey);
+		for (final var remoteImport : remoteImports) {
+			update(digest, "import=" + remoteImport + " " + this.digestRemoteImport(remoteImport));
+		}
+		return toHex(digest.digest());
+	}
+
+	private String digestRemoteImport(String uri) throws IOException {
+		final var downloadedFile = Files.createTempFile("oba-import", ".owl");
+		try {
+			OntologyDownloader.downloadOntology(uri, downloadedFile.toString(), this.ontologyCache);
+			return digestFile(downloadedFile);
+		} finally {
+			Files.deleteIfExists(downloadedFile);
+		}
+	}
+
+	/**
+	 * @return the path of the snapshot file
+	 */
+	public Path getSnapshotFile() {
+		return this.snapshotFile;
+	}
+}
@@ -0,0 +1,319 @@
+package edu.isi.oba.cache;
+
+import static edu.isi.oba.Oba.logger;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import edu.isi.oba.Oba;
+import edu.isi.oba.config.ConfigPropertyNames;
+import edu.isi.oba.config.flags.GlobalFlags;
+import edu.isi.oba.config.ontology.annotations.AnnotationConfig;
+import edu.isi.oba.utils.StringUtils;
+import edu.isi.oba.utils.file.FileWriterUtils;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * On-disk cache of the schemas (and markdown mappings) generated for each class, so that a new run
+ * only visits the classes whose axioms changed (and the classes depending on them).
+ *
+ * <p>Each entry is keyed by the class IRI and stores the key computed by {@link DependencyDigester}
+ * when the class was mapped. An entry is only reused if the key computed for the current ontology
+ * (and the current configuration flags, annotation configuration, inflection dictionary, prefixes,
+ * and imports) is the same.
+ *
+ * <p>The cache is saved to the project's output directory (unless it is only kept in memory,
+ * between the runs of watch or batch mode). Entries which were not used by a run are dropped when
+ * the cache is saved. Lookups and new entries are safe from several mapping workers.
+ */
+public class SchemaCache {
+	public static final String CACHE_FILE_NAME = "schema_cache.json";
+
+	/** Increment when the cached format (or the way schemas are generated) changes. */
+	private static final int FORMAT_VERSION = 1;
+
+	private final Path cacheFile;
+	private final AnnotationConfig annotationConfig;
+	private final Map<String, CachedSchema> fileEntries;
+	private final Map<String, CachedSchema> continuedEntries;
+	private final Map<String, CachedSchema> entries = new ConcurrentHashMap<>();
+	private final Map<OWLOntology, DependencyDigester> digesters = new IdentityHashMap<>();
+
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+
+	/**
+	 * Create the schema cache of a project, loading the entries saved by the previous run (if any).
+	 *
+	 * @param directory the project's output directory
+	 * @param annotationConfig the {@link AnnotationConfig} of the configuration file
+	 */
+	public SchemaCache(Path directory, AnnotationConfig annotationConfig) {
+		this(directory, annotationConfig, null);
+	}
+
+	/**
+	 * Create the schema cache of a run which continues the cache of the previous run of the same
+	 * process (i.e. in watch or batch mode), as well as loading the entries from the cache file. The
+	 * entries of every previous run are kept (in memory), since each entry is only reused if its key
+	 * is unchanged. A class may have both a continued entry and an entry of the cache file (e.g. of
+	 * another configuration, with other flags, in batch mode), and either is reused if its key is
+	 * unchanged.
+	 *
+	 * @param directory the project's output directory, or {@code null} if the cache is not saved
+	 * @param annotationConfig the {@link AnnotationConfig} of the configuration file
+	 * @param previousCache the {@link SchemaCache} of the previous run, or {@code null}
+	 */
+	public SchemaCache(Path directory, AnnotationConfig annotationConfig, SchemaCache previousCache) {
+		this.cacheFile = directory == null ? null : directory.resolve(CACHE_FILE_NAME);
+		this.annotationConfig = annotationConfig;
+		if (previousCache == null) {
+			this.fileEntries = this.loadEntries();
+			this.continuedEntries = Map.of();
+		} else {
+			// The previous run's entries already include the ones of its own cache file (e.g. in watch
+			// mode, where it is this run's cache file too).
+			this.fileEntries =
+					Objects.equals(this.cacheFile, previousCache.cacheFile) ? Map.of() : this.loadEntries();
+
+			// The entries used (or added) by the previous run are the most recent ones.
+			final var continuedEntries = new HashMap<>(previousCache.fileEntries);
+			continuedEntries.putAll(previousCache.continuedEntries);
+			continuedEntries.putAll(previousCache.entries);
+			this.continuedEntries = continuedEntries;
+		}
+	}
+
+	/**
+	 * Get the cached schema of a class, if the class (and everything it depends on) is unchanged
+	 * since it was cached.
+	 *
+	 * @param owlClass the {@link OWLClass} to get the schema of
+	 * @param ontology the {@link OWLOntology} containing the class
+	 * @return the {@link CachedSchema}, or {@code null} if there is none (or it is out of date)
+	 */
+	public CachedSchema get(OWLClass owlClass, OWLOntology ontology) {
+		final var iri = owlClass.getIRI().toString();
+		final var continuedSchema = this.continuedEntries.get(iri);
+		if (continuedSchema != null && this.isUnchanged(continuedSchema, owlClass, ontology)) {
+			return this.hit(iri, continuedSchema);
+		}
+
+		final var fileSchema = this.fileEntries.get(iri);
+		if (fileSchema != null
+				&& (continuedSchema == null || !fileSchema.getKey().equals(continuedSchema.getKey()))
+				&& this.isUnchanged(fileSchema, owlClass, ontology)) {
+			return this.hit(iri, fileSchema);
+		}
+
+		this.misses.incrementAndGet();
+		return null;
+	}
+
+	private CachedSchema hit(String iri, CachedSchema cachedSchema) {
+		this.entries.put(iri, cachedSchema);
+		this.hits.incrementAndGet();
+		return cachedSchema;
+	}
+
+	private boolean isUnchanged(CachedSchema cachedSchema, OWLClass owlClass, OWLOntology ontology) {
+		final var visitedClasses =
+				cachedSchema.getVisitedClasses(ontology.getOWLOntologyManager().getOWLDataFactory());
+		final var key = this.getDigester(ontology).getKey(owlClass, visitedClasses);
+		return key.equals(cachedSchema.getKey());
+	}
+
+	/**
+	 * Cache the result of mapping a class. Everything is copied, so the results may be changed
+	 * afterwards.
+	 *
+	 * @param owlClass the mapped {@link OWLClass}
+	 * @param ontology the {@link OWLOntology} containing the class
+	 * @param schema the {@link Schema} of the class, or {@code null} if it has none
+	 * @param referencedClasses the {@link OWLClass}es referenced by the class
+	 * @param markdownMappings the markdown mappings of the class
+	 * @param visitedClasses the {@link OWLClass}es visited while mapping the class
+	 */
+	public void put(
+			OWLClass owlClass,
+			OWLOntology ontology,
+			Schema<?> schema,
+			Set<OWLClass> referencedClasses,
+			Map<String, Map<String, String>> markdownMappings,
+			Set<OWLClass> visitedClasses) {
+		final var key = this.getDigester(ontology).getKey(owlClass, visitedClasses);
+		this.entries.put(
+				owlClass.getIRI().toString(),
+				CachedSchema.of(key, schema, referencedClasses, markdownMappings, visitedClasses));
+	}
+
+	/**
+	 * Save the entries used (or added) by this run, replacing the previous cache file. Nothing is
+	 * saved if the cache has no cache file.
+	 *
+	 * @throws IOException if the cache file cannot be written
+	 */
+	public void save() throws IOException {
+		if (this.cacheFile == null) {
+			return;
+		}
+
+		final var cacheFileContents =
+				new CacheFileContents(FORMAT_VERSION, new TreeMap<>(this.entries));
+
+		FileWriterUtils.writeFileAtomically(
+				this.cacheFile, outputStream -> Json.mapper().writeValue(outputStream, cacheFileContents));
+	}
+
+	/**
+	 * @return the number of classes whose schema was found in the cache
+	 */
+	public int getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * @return the number of classes which had to be mapped
+	 */
+	public int getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * @return the path of the cache file, or {@code null} if the cache is not saved
+	 */
+	public Path getCacheFile() {
+		return this.cacheFile;
+	}
+
+	private Map<String, CachedSchema> loadEntries() {
+		if (this.cacheFile == null || !Files.isRegularFile(this.cacheFile)) {
+			return Map.of();
+		}
+
+		try {
+			final var cacheFileContents =
+					Json.mapper().readValue(this.cacheFile.toFile(), CacheFileContents.class);
+			if (cacheFileContents.version != FORMAT_VERSION || cacheFileContents.entries == null) {
+				logger.info("Ignoring schema cache with a different format:  " + this.cacheFile);
+				return Map.of();
+			}
+
+			return cacheFileContents.entries;
+		} catch (IOException e) {
+			logger.warning("Ignoring unreadable schema cache \"" + this.cacheFile + "\":  " + e);
+			return Map.of();
+		}
+	}
+
+	private DependencyDigester getDigester(OWLOntology ontology) {
+		synchronized (this.digesters) {
+			return this.digesters.computeIfAbsent(
+					ontology, k -> new DependencyDigester(k, this.getFingerprint(k)));
+		}
+	}
+
+	/**
+	 * Get the fingerprint of everything (other than the ontology's axioms) which affects the
+	 * generated schemas.
+	 */
+	private String getFingerprint(OWLOntology ontology) {
+		final var fingerprint = new StringBuilder();
+		fingerprint.append("format=").append(FORMAT_VERSION).append('\n');
+		fingerprint
+				.append("version=")
+				.append(Oba.class.getPackage().getImplementationVersion())
+				.append('\n');
+		// Whether the schemas are cached does not change them, so configurations which only differ by
+		// this flag share the entries (e.g. in batch mode).
+		final var flags = new TreeMap<>(GlobalFlags.getFlagsSnapshot());
+		flags.remove(ConfigPropertyNames.SCHEMA_CACHE);
+		fingerprint.append("flags=").append(flags).append('\n');
+		fingerprint
+				.append("annotations=")
+				.append(canonicalize(Json.mapper().valueToTree(this.annotationConfig)))
+				.append('\n');
+		fingerprint
+				.append("inflections=")
+				.append(new TreeMap<>(StringUtils.getInflectionDictionary()))
+				.append('\n');
+		fingerprint.append("ontology=").append(ontology.getOntologyID()).append('\n');
+		fingerprint
+				.append("imports=")
+				.append(
+						ontology
+								.imports()
+								.map(imported -> imported.getOntologyID().toString())
+								.sorted()
+								.collect(Collectors.toList()))
+				.append('\n');
+
+		final var format = ontology.getFormat();
+		if (format != null && format.isPrefixOWLDocumentFormat()) {
+			fingerprint
+					.append("prefixes=")
+					.append(new TreeMap<>(format.asPrefixOWLDocumentFormat().getPrefixName2PrefixMap()))
+					.append('\n');
+		}
+
+		return fingerprint.toString();
+	}
+
+	/** Sort object fields and array elements, since some configuration values are unordered sets. */
+	private static JsonNode canonicalize(JsonNode node) {
+		if (node.isObject()) {
+			final var sorted = Json.mapper().createObjectNode();
+			final var fieldNames = new ArrayList<String>();
+			node.fieldNames().forEachRemaining(fieldNames::add);
+			fieldNames.stream()
+					.sorted()
+					.forEach(fieldName -> sorted.set(fieldName, canonicalize(node.get(fieldName))));
+			return sorted;
+		} else if (node.isArray()) {
+			final var elements = new ArrayList<JsonNode>();
+			node.forEach(element -> elements.add(canonicalize(element)));
+			elements.sort(Comparator.comparing(JsonNode::toString));
+
+			final ArrayNode sorted = Json.mapper().createArrayNode();
+			sorted.addAll(elements);
+			return sorted;
+		}
+
+		return node;
+	}
+
+	/** The contents of the cache file. */
+	private static class CacheFileContents {
+		@JsonProperty("version")
+		private final int version;
+
+		@JsonProperty("entries")
+		private final Map<String, CachedSchema> entries;
+
+		@JsonCreator
+		private CacheFileContents(
+				@JsonProperty("version") int version,
+				@JsonProperty("entries") Map<String, CachedSchema> entries) {
+			this.version = version;
+			this.entries = entries;
+		}
+	}
+}
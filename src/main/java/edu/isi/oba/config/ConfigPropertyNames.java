@@ -19,7 +19,16 @@ public class ConfigPropertyNames {
 	public static final String OUTPUT_DIR = "output_dir";
 	public static final String ONTOLOGIES = "ontologies";
 	public static final String GENERATE_JSON_FILE = "generate_json_file";
+	public static final String SPLIT_OPENAPI_FILE = "split_openapi_file";
 	public static final String VALIDATE_GENERATED_OPENAPI_FILE = "validate_generated_openapi_file";
+	public static final String MAPPING_WORKERS = "mapping_workers";
+	public static final String SCHEMA_CACHE = "schema_cache";
+	public static final String EXAMPLES_MAX_DEPTH = "examples_max_depth";
+	public static final String ONTOLOGY_CACHE_DIR = "ontology_cache_dir";
+	public static final String OFFLINE = "offline";
+	public static final String ONTOLOGY_SNAPSHOT = "ontology_snapshot";
+	public static final String EXTRACT_MODULE = "extract_module";
+	public static final String INFLECTION_DICTIONARY = "inflection_dictionary";
 
 	// ---------------------------------------------------------
 	//  OpenAPI constants
@@ -3,20 +3,30 @@ package edu.isi.oba.config;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import edu.isi.oba.cache.LoadedOntologyCache;
+import edu.isi.oba.cache.OntologyCache;
+import edu.isi.oba.cache.OntologySnapshot;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.config.ontology.annotations.AnnotationConfig;
 import edu.isi.oba.config.paths.PathConfig;
 import edu.isi.oba.exceptions.ConfigValidationException;
 import edu.isi.oba.exceptions.OntologyLoadingException;
-import edu.isi.oba.ontology.reasoner.ReasonerUtil;
+import edu.isi.oba.generators.ExamplesGenerator;
+import edu.isi.oba.ontology.module.OntologyModuleExtractor;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.StringUtils;
 import edu.isi.oba.utils.exithandler.FatalErrorHandler;
 import edu.isi.oba.utils.ontology.OntologyDownloader;
+import edu.isi.oba.utils.ontology.OntologyFormats;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -24,11 +34,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.semanticweb.owlapi.apibinding.OWLManager;
-import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -52,6 +65,8 @@ public class YamlConfig {
 
 	private static final String DEFAULT_OUTPUT_DIRECTORY = "outputs";
 	private static final String DEFAULT_PROJECT_NAME = "default_project";
+	private static final int DEFAULT_MAPPING_WORKERS = 1;
+	private static final int MAX_CONCURRENT_FETCHES = 8;
 
 	@JsonProperty(ConfigPropertyNames.OPENAPI_OVERVIEW)
 	private OpenAPI openapi;
@@ -62,6 +77,27 @@ public class YamlConfig {
 	@JsonProperty(ConfigPropertyNames.NAME)
 	private String name = DEFAULT_PROJECT_NAME;
 
+	@JsonProperty(ConfigPropertyNames.MAPPING_WORKERS)
+	private Integer mappingWorkers = DEFAULT_MAPPING_WORKERS;
+
+	@JsonProperty(ConfigPropertyNames.EXAMPLES_MAX_DEPTH)
+	private Integer examplesMaxDepth = ExamplesGenerator.DEFAULT_MAX_DEPTH;
+
+	@JsonProperty(ConfigPropertyNames.ONTOLOGY_CACHE_DIR)
+	private String ontologyCacheDir;
+
+	@JsonProperty(ConfigPropertyNames.OFFLINE)
+	private Boolean offline = false;
+
+	@JsonProperty(ConfigPropertyNames.ONTOLOGY_SNAPSHOT)
+	private Boolean ontologySnapshot = false;
+
+	@JsonProperty(ConfigPropertyNames.EXTRACT_MODULE)
+	private Boolean extractModule = false;
+
+	@JsonProperty(ConfigPropertyNames.INFLECTION_DICTIONARY)
+	private String inflectionDictionary;
+
 	@JsonSetter(ConfigPropertyNames.ONTOLOGIES)
 	private final Set<String> ontologies = new HashSet<>();
 
@@ -96,7 +132,12 @@ public class YamlConfig {
 
 	private File outputFilePath;
 
-	private final OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	// Concurrent manager, so the loaded ontologies may be read by several mapping workers at once.
+	// Replaced by the restored manager, if the ontologies are restored from a snapshot.
+	private OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+
+	// Snapshot to save once the ontologies are parsed (and validated), or null if not needed.
+	private OntologySnapshot snapshotToSave;
 
 	public YamlConfig() {
 		GlobalFlags.setFlag(ConfigPropertyNames.ALWAYS_GENERATE_ARRAYS, true);
@@ -106,6 +147,8 @@ public class YamlConfig {
 		GlobalFlags.setFlag(ConfigPropertyNames.FOLLOW_REFERENCES, true);
 		GlobalFlags.setFlag(ConfigPropertyNames.GENERATE_JSON_FILE, false);
 		GlobalFlags.setFlag(ConfigPropertyNames.REQUIRED_PROPERTIES_FROM_CARDINALITY, false);
+		GlobalFlags.setFlag(ConfigPropertyNames.SCHEMA_CACHE, false);
+		GlobalFlags.setFlag(ConfigPropertyNames.SPLIT_OPENAPI_FILE, false);
 		GlobalFlags.setFlag(ConfigPropertyNames.USE_INHERITANCE_REFERENCES, false);
 		GlobalFlags.setFlag(ConfigPropertyNames.VALIDATE_GENERATED_OPENAPI_FILE, true);
 	}
@@ -131,6 +174,31 @@ public class YamlConfig {
 			throw new ConfigValidationException("At least one ontology must be specified.");
 		}
 
+		if (mappingWorkers != null && mappingWorkers < 1) {
+			logger.warning("Validation failed: Number of mapping workers is less than one.");
+			throw new ConfigValidationException("Number of mapping workers must be at least one.");
+		}
+
+		if (examplesMaxDepth != null && examplesMaxDepth < 0) {
+			logger.warning("Validation failed: Maximum depth of the examples is negative.");
+			throw new ConfigValidationException("Maximum depth of the examples must not be negative.");
+		}
+
+		if (Boolean.TRUE.equals(offline) && (ontologyCacheDir == null || ontologyCacheDir.isBlank())) {
+			logger.warning("Validation failed: Offline mode without an ontology cache directory.");
+			throw new ConfigValidationException(
+					"Offline mode requires an ontology cache directory ("
+							+ ConfigPropertyNames.ONTOLOGY_CACHE_DIR
+							+ ").");
+		}
+
+		if (this.getInflectionDictionary() != null
+				&& !Files.isRegularFile(Path.of(this.getInflectionDictionary()))) {
+			logger.warning("Validation failed: Inflection dictionary file not found.");
+			throw new ConfigValidationException(
+					"The inflection dictionary file does not exist: " + this.getInflectionDictionary());
+		}
+
 		pathConfig.validate();
 
 		annotationConfig.validate();
@@ -153,12 +221,24 @@ public class YamlConfig {
 		// Create path for output
 		this.createOutputDir();
 
+		// Names are pluralized with the inflection dictionary of this configuration (if any).
+		if (this.getInflectionDictionary() == null) {
+			StringUtils.setInflectionDictionary(Map.of());
+		} else {
+			StringUtils.loadInflectionDictionary(Path.of(this.getInflectionDictionary()));
+		}
+
 		this.setOwlOntologies();
 
 		// Set the allowed classes for the OpenAPI based on configuration file.  If no restrictions set,
 		// all classes are added from each ontology.
 		this.setClassesAllowedByYamlConfig();
 
+		// Replace the ontologies by the (smaller) modules which the allowed classes need, if enabled.
+		if (this.isExtractModule()) {
+			this.extractOntologyModules();
+		}
+
 		// If auth config is present, verify a Firebase key also.  Default authorization config, if
 		// null.
 		this.handleAuth();
@@ -193,6 +273,86 @@ public class YamlConfig {
 		return this.name;
 	}
 
+	/**
+	 * Get the number of worker threads used to map the ontology classes to schemas.
+	 *
+	 * @return the number of mapping workers (at least one)
+	 */
+	public int getMappingWorkers() {
+		return this.mappingWorkers == null ? DEFAULT_MAPPING_WORKERS : this.mappingWorkers;
+	}
+
+	/**
+	 * Set the number of worker threads used to map the ontology classes to schemas (e.g. when
+	 * overridden on the command line).
+	 *
+	 * @param mappingWorkers the number of mapping workers
+	 */
+	public void setMappingWorkers(Integer mappingWorkers) {
+		this.mappingWorkers = mappingWorkers;
+	}
+
+	/**
+	 * Get the maximum number of nested schema references followed when generating the examples.
+	 *
+	 * @return the maximum depth of the examples
+	 */
+	public int getExamplesMaxDepth() {
+		return this.examplesMaxDepth == null
+				? ExamplesGenerator.DEFAULT_MAX_DEPTH
+				: this.examplesMaxDepth;
+	}
+
+	/**
+	 * Get the directory of the cache of downloaded ontologies.
+	 *
+	 * @return the directory, or {@code null} if remote ontologies are not cached
+	 */
+	public String getOntologyCacheDir() {
+		return this.ontologyCacheDir == null || this.ontologyCacheDir.isBlank()
+				? null
+				: this.ontologyCacheDir;
+	}
+
+	/**
+	 * Whether remote ontologies must be read from the ontology cache, without using the network.
+	 *
+	 * @return the offline indicator
+	 */
+	public boolean isOffline() {
+		return Boolean.TRUE.equals(this.offline);
+	}
+
+	/**
+	 * Whether the loaded ontologies are saved to (and restored from) a binary snapshot.
+	 *
+	 * @return the ontology snapshot indicator
+	 */
+	public boolean isOntologySnapshot() {
+		return Boolean.TRUE.equals(this.ontologySnapshot);
+	}
+
+	/**
+	 * Whether the allowed classes are mapped against the module of the ontologies they need, instead
+	 * of the whole ontologies.
+	 *
+	 * @return the module extraction indicator
+	 */
+	public boolean isExtractModule() {
+		return Boolean.TRUE.equals(this.extractModule);
+	}
+
+	/**
+	 * Get the file of words to be pluralized and singularized as given instead of by RiTa.
+	 *
+	 * @return the file, or {@code null} if there is no inflection dictionary
+	 */
+	public String getInflectionDictionary() {
+		return this.inflectionDictionary == null || this.inflectionDictionary.isBlank()
+				? null
+				: this.inflectionDictionary;
+	}
+
 	/**
 	 * Get the {@link PathConfig}.
 	 *
@@ -362,6 +522,28 @@ public class YamlConfig {
 		GlobalFlags.setFlag(ConfigPropertyNames.GENERATE_JSON_FILE, generateJsonFile);
 	}
 
+	/**
+	 * Set the configuration flag to enable or disable writing the OpenAPI specification as a root
+	 * document and a file for each component schema, component example, and group of paths.
+	 *
+	 * @param splitOpenapiFile a {@link Boolean} indicator
+	 */
+	@JsonSetter(ConfigPropertyNames.SPLIT_OPENAPI_FILE)
+	public void setSplitOpenapiFile(Boolean splitOpenapiFile) {
+		GlobalFlags.setFlag(ConfigPropertyNames.SPLIT_OPENAPI_FILE, splitOpenapiFile);
+	}
+
+	/**
+	 * Set the configuration flag to enable or disable the schema cache, which reuses the schemas of
+	 * unchanged classes from the previous run.
+	 *
+	 * @param schemaCache a {@link Boolean} indicator
+	 */
+	@JsonSetter(ConfigPropertyNames.SCHEMA_CACHE)
+	public void setSchemaCache(Boolean schemaCache) {
+		GlobalFlags.setFlag(ConfigPropertyNames.SCHEMA_CACHE, schemaCache);
+	}
+
 	/**
 	 * Set the configuration flag to enable or disable validation of the outputted OpenAPI file.
 	 *
@@ -429,7 +611,8 @@ public class YamlConfig {
 		this.owlOntologies.stream()
 				.forEach(
 						(ontology) -> {
-							final var reasoner = ReasonerUtil.createReasoner(ontology);
+							// Use the shared reasoner, so it is not created again when mapping the classes.
+							final var reasoner = ReasonerRegistry.getReasoner(ontology);
 
 							if (!reasoner.isConsistent()) {
 								FatalErrorHandler.fatal(
@@ -442,33 +625,225 @@ public class YamlConfig {
 								FatalErrorHandler.fatal("No ontology format found.  Unable to proceed.");
 							}
 						});
+
+		// Save the parsed ontologies, so the next run (with the same ontology files) restores them.
+		if (this.snapshotToSave != null) {
+			try {
+				this.snapshotToSave.save(this.manager);
+				logger.log(
+						Level.INFO, "Saved ontology snapshot:  " + this.snapshotToSave.getSnapshotFile());
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Unable to save ontology snapshot:  " + e);
+			} finally {
+				this.snapshotToSave = null;
+			}
+		}
 	}
 
 	/**
 	 * Download ontologies based on the path specified in the config file.
 	 *
+	 * <p>The ontologies are downloaded (or copied) concurrently, and each is loaded into the manager
+	 * as soon as it (and every ontology before it) is fetched. They are loaded in the order of their
+	 * file indexes (as before), since the manager loads one ontology at a time and resolves the
+	 * imports of an ontology with the ontologies loaded before it.
+	 *
+	 * <p>With an ontology snapshot, every ontology is fetched first, and the ontologies are restored
+	 * from the snapshot if it matches the fetched files. Otherwise, they are parsed (as above) and
+	 * the snapshot is saved once they are validated.
+	 *
+	 * <p>With the {@link LoadedOntologyCache} (i.e. in watch mode), only the ontologies which changed
+	 * since the previous run are parsed, and the remote ontologies are only fetched by the first run.
+	 *
 	 * @throws IOException
 	 */
 	private void downloadOntologies() throws IOException {
-		int index = 0;
-		for (final var ontologyPath : this.ontologies) {
-			final var destinationPath = getOntologyDestinationPath(index);
-			try {
-				if (ontologyPath.startsWith("http://") || ontologyPath.startsWith("https://")) {
-					downloadOntologyFromUri(ontologyPath, destinationPath);
-				} else {
-					copyOntologyToDestination(ontologyPath, destinationPath);
+		final var ontologyPaths = List.copyOf(this.ontologies);
+		if (ontologyPaths.isEmpty()) {
+			return;
+		}
+
+		// The fetches mostly wait for the network, so use a small pool of (daemon) threads.
+		final var fetchPool =
+				Executors.newFixedThreadPool(
+						Math.min(ontologyPaths.size(), MAX_CONCURRENT_FETCHES),
+						runnable -> {
+							final var thread = new Thread(runnable, "oba-ontology-fetch");
+							thread.setDaemon(true);
+							return thread;
+						});
+
+		try {
+			final var ontologyCache =
+					this.getOntologyCacheDir() == null
+							? null
+							: new OntologyCache(Path.of(this.getOntologyCacheDir()), this.isOffline());
+
+			final var fetches = new ArrayList<Future<String>>();
+			for (int index = 0; index < ontologyPaths.size(); index++) {
+				final var ontologyPath = ontologyPaths.get(index);
+				final var destinationPath = getOntologyDestinationPath(index);
+				if (isRemoteOntologyLoaded(ontologyPath, destinationPath)) {
+					fetches.add(CompletableFuture.completedFuture(null));
+					continue;
 				}
 
-				logger.log(Level.INFO, LOG_FILE_LOADED + destinationPath.replace("\\", "/"));
+				fetches.add(
+						fetchPool.submit(
+								() -> this.fetchOntology(ontologyPath, destinationPath, ontologyCache)));
+			}
+
+			if (LoadedOntologyCache.isEnabled()) {
+				this.loadCachedOntologies(ontologyPaths, fetches);
+				return;
+			}
+
+			if (this.isOntologySnapshot()
+					&& this.restoreOntologySnapshot(ontologyPaths, fetches, ontologyCache)) {
+				return;
+			}
+
+			for (int index = 0; index < ontologyPaths.size(); index++) {
+				final var ontologyPath = ontologyPaths.get(index);
+				try {
+					final var mimeType = this.awaitFetch(fetches.get(index));
+					final var destinationPath = getOntologyDestinationPath(index);
+					logger.log(Level.INFO, LOG_FILE_LOADED + destinationPath.replace("\\", "/"));
+
+					loadOntologyIntoManager(destinationPath, mimeType);
+				} catch (IOException | OntologyLoadingException ex) {
+					logger.log(Level.SEVERE, "Error processing ontology: " + ontologyPath, ex);
+					throw ex;
+				}
+			}
+		} finally {
+			// Stop the remaining fetches, if an ontology could not be fetched (or loaded).
+			fetchPool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Whether a remote ontology was loaded by a previous run of the {@link LoadedOntologyCache}, from
+	 * the same destination file, so it does not need to be downloaded again.
+	 *
+	 * @param ontologyPath a {@link String} of the ontology's URL or file path
+	 * @param destinationPath a {@link String} of the destination file's path
+	 * @return whether the ontology is remote and already loaded
+	 */
+	private static boolean isRemoteOntologyLoaded(String ontologyPath, String destinationPath) {
+		return LoadedOntologyCache.isEnabled()
+				&& (ontologyPath.startsWith("http://") || ontologyPath.startsWith("https://"))
+				&& LoadedOntologyCache.contains(ontologyPath)
+				&& Files.isRegularFile(Path.of(destinationPath));
+	}
 
-				loadOntologyIntoManager(destinationPath);
+	/**
+	 * Load the ontologies with the {@link LoadedOntologyCache}, once every ontology is fetched.
+	 *
+	 * @param ontologyPaths the {@link List} of ontology URLs or file paths, in order
+	 * @param fetches the {@link List} of the {@link Future}s of their fetches, in the same order
+	 * @throws IOException if an ontology could not be fetched
+	 */
+	private void loadCachedOntologies(List<String> ontologyPaths, List<Future<String>> fetches)
+			throws IOException {
+		final var ontologyFiles = new ArrayList<Path>();
+		final var mimeTypes = new ArrayList<String>();
+		for (int index = 0; index < ontologyPaths.size(); index++) {
+			try {
+				mimeTypes.add(this.awaitFetch(fetches.get(index)));
+				ontologyFiles.add(Path.of(getOntologyDestinationPath(index)));
+			} catch (IOException ex) {
+				logger.log(Level.SEVERE, "Error processing ontology: " + ontologyPaths.get(index), ex);
+				throw ex;
+			}
+		}
+
+		this.manager =
+				LoadedOntologyCache.load(ontologyPaths, ontologyFiles, mimeTypes, getLoaderConfiguration());
+	}
+
+	/**
+	 * Download (or copy) an ontology file to the project destination path.
+	 *
+	 * @param ontologyPath a {@link String} of the ontology's URL or file path
+	 * @param destinationPath a {@link String} of the destination file's path
+	 * @param ontologyCache the {@link OntologyCache} of downloaded ontologies, or {@code null}
+	 * @return a {@link String} of the ontology's MIME type (from the {@code Content-Type} it was
+	 *     downloaded with, or the file's name or content), or {@code null} if it is not known
+	 * @throws IOException
+	 */
+	private String fetchOntology(
+			String ontologyPath, String destinationPath, OntologyCache ontologyCache) throws IOException {
+		if (ontologyPath.startsWith("http://") || ontologyPath.startsWith("https://")) {
+			final var contentType = downloadOntologyFromUri(ontologyPath, destinationPath, ontologyCache);
+			return OntologyFormats.detectMimeType(Path.of(destinationPath), contentType);
+		} else {
+			copyOntologyToDestination(ontologyPath, destinationPath);
+			// The copy is always named "ontology<N>.owl", so check the original file's name.
+			return OntologyFormats.detectMimeType(Path.of(ontologyPath), null);
+		}
+	}
 
-			} catch (IOException | OntologyLoadingException ex) {
-				logger.log(Level.SEVERE, "Error processing ontology: " + ontologyPath, ex);
+	/**
+	 * Restore the ontologies from the project's snapshot, once every ontology is fetched.
+	 *
+	 * @param ontologyPaths the {@link List} of ontology URLs or file paths, in order
+	 * @param fetches the {@link List} of the {@link Future}s of their fetches, in the same order
+	 * @param ontologyCache the {@link OntologyCache} of downloaded ontologies (which the snapshot's
+	 *     remote imports are fetched through), or {@code null}
+	 * @return whether the ontologies were restored (otherwise, the snapshot is saved once they are
+	 *     parsed)
+	 * @throws IOException if an ontology could not be fetched
+	 */
+	private boolean restoreOntologySnapshot(
+			List<String> ontologyPaths, List<Future<String>> fetches, OntologyCache ontologyCache)
+			throws IOException {
+		final var ontologyFiles = new ArrayList<Path>();
+		for (int index = 0; index < ontologyPaths.size(); index++) {
+			try {
+				this.awaitFetch(fetches.get(index));
+				ontologyFiles.add(Path.of(getOntologyDestinationPath(index)));
+			} catch (IOException ex) {
+				logger.log(Level.SEVERE, "Error processing ontology: " + ontologyPaths.get(index), ex);
 				throw ex;
 			}
-			index++;
+		}
+
+		final var snapshot =
+				new OntologySnapshot(this.outputFilePath.toPath(), ontologyFiles, ontologyCache);
+		final var restoredManager = snapshot.restore();
+		if (restoredManager == null) {
+			this.snapshotToSave = snapshot;
+			return false;
+		}
+
+		logger.log(Level.INFO, "Restored ontologies from snapshot:  " + snapshot.getSnapshotFile());
+		this.manager = restoredManager;
+		return true;
+	}
+
+	/**
+	 * Wait for an ontology to be fetched.
+	 *
+	 * @param fetch the {@link Future} of the fetch, with the ontology's MIME type
+	 * @return a {@link String} of the ontology's MIME type, or {@code null} if it is not known
+	 * @throws IOException if the ontology could not be fetched (or the wait was interrupted)
+	 */
+	private String awaitFetch(Future<String> fetch) throws IOException {
+		try {
+			return fetch.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while fetching ontologies.");
+		} catch (ExecutionException e) {
+			final var cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+
+			throw new IOException("Unable to fetch ontology.", cause);
 		}
 	}
 
@@ -506,29 +881,44 @@ public class YamlConfig {
 	 *
 	 * @param uri a {@link String} of the source file's URL/URI
 	 * @param destinationPath a {@link String} of the destination file's path
+	 * @param ontologyCache the {@link OntologyCache} of downloaded ontologies, or {@code null}
+	 * @return a {@link String} of the {@code Content-Type} the ontology was received with
 	 * @throws IOException
 	 */
-	private void downloadOntologyFromUri(String uri, String destinationPath) throws IOException {
-		OntologyDownloader.downloadOntology(uri, destinationPath);
+	private String downloadOntologyFromUri(
+			String uri, String destinationPath, OntologyCache ontologyCache) throws IOException {
+		return OntologyDownloader.downloadOntology(uri, destinationPath, ontologyCache);
 	}
 
 	/**
 	 * Load an ontology into the {@link OWLOntologyManager}.
 	 *
+	 * <p>With a known MIME type, the ontology is parsed with the matching parser, instead of OWLAPI
+	 * trying every parser until one succeeds (which it still does, if the matching parser fails).
+	 *
 	 * @param path a {@link String} of the (local project) ontology file's path
+	 * @param mimeType a {@link String} of the ontology's MIME type, or {@code null} if it is not
+	 *     known
 	 * @throws OntologyLoadingException
 	 */
-	private void loadOntologyIntoManager(String path) throws OntologyLoadingException {
-		OWLOntologyLoaderConfiguration config =
-				new OWLOntologyLoaderConfiguration()
-						.setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+	private void loadOntologyIntoManager(String path, String mimeType)
+			throws OntologyLoadingException {
 		try {
-			manager.loadOntologyFromOntologyDocument(new FileDocumentSource(new File(path)), config);
+			OntologyFormats.loadOntology(manager, new File(path), mimeType, getLoaderConfiguration());
 		} catch (OWLOntologyCreationException ex) {
 			throw new OntologyLoadingException("Failed to load ontology from path: " + path, ex);
 		}
 	}
 
+	/**
+	 * @return the {@link OWLOntologyLoaderConfiguration} of the ontologies, which ignores the imports
+	 *     that cannot be loaded
+	 */
+	private static OWLOntologyLoaderConfiguration getLoaderConfiguration() {
+		return new OWLOntologyLoaderConfiguration()
+				.setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+	}
+
 	/**
 	 * Get set of allowed classes. Get all classes, if no restrictions in configuration file.
 	 *
@@ -553,6 +943,40 @@ public class YamlConfig {
 		}
 	}
 
+	/**
+	 * Replace each ontology by its module for the allowed classes (see {@link
+	 * OntologyModuleExtractor}), unless every class is allowed.
+	 *
+	 * @throws OWLOntologyCreationException
+	 */
+	private void extractOntologyModules() throws OWLOntologyCreationException {
+		final var allowedPathClassesByIRI = this.pathConfig.getPathClasses();
+		if (allowedPathClassesByIRI == null || allowedPathClassesByIRI.isEmpty()) {
+			logger.log(Level.INFO, "Every class is allowed, so no ontology module is extracted.");
+			return;
+		}
+
+		final var modules =
+				OntologyModuleExtractor.extractModules(this.owlOntologies, this.allowedClasses);
+		modules.forEach(
+				(ontology, module) -> {
+					logger.log(
+							Level.INFO,
+							"Extracted ontology module:  "
+									+ module.getAxiomCount()
+									+ " of "
+									+ ontology.getAxiomCount()
+									+ " axioms of "
+									+ ontology.getOntologyID());
+
+					// The whole ontology is no longer mapped.
+					ReasonerRegistry.release(ontology);
+				});
+
+		this.owlOntologies.clear();
+		this.owlOntologies.addAll(modules.values());
+	}
+
 	/** Determines which OWL classes from the ontology are allowed based on config restrictions. */
 	private Set<OWLClass> getAllowedClassesFromOntology(
 			OWLOntology ontology, Set<IRI> allowedPathClassesByIRI) {
@@ -584,15 +1008,19 @@ public class YamlConfig {
 	 * Get {@link Set} of all {@link OWLClass}es referenced (allowed classes and any referenced
 	 * classes). Get all classes, if no restrictions in configuration file.
 	 *
-	 * @return a {@link Set} of {@link OWLClass}es that are allowed (or referenced by allowed {@link
-	 *     OWLClass}es) the config file.
+	 * @return a snapshot {@link Set} of {@link OWLClass}es that are allowed (or referenced by allowed
+	 *     {@link OWLClass}es) the config file.
 	 */
 	public final Set<OWLClass> getAllReferencedOwlClasses() {
-		return Collections.unmodifiableSet(this.allReferencedClasses);
+		// Copy while holding the lock, because classes may be added concurrently while mapping.
+		synchronized (this.allReferencedClasses) {
+			return Set.copyOf(this.allReferencedClasses);
+		}
 	}
 
 	/**
-	 * Add additional {@link OWLClass}es to the the {@link Set} of referenced {@link OWLClass}es.
+	 * Add additional {@link OWLClass}es to the the {@link Set} of referenced {@link OWLClass}es. Safe
+	 * to call from several mapping workers at once.
 	 *
 	 * @param owlClasses a {@link Set} of referenced {@link OWLClass}es to be added.
 	 */
@@ -630,7 +1058,7 @@ public class YamlConfig {
 	 */
 	public final Set<String> getAllReferencedClasses() {
 		return Collections.unmodifiableSet(
-				this.allReferencedClasses.stream()
+				this.getAllReferencedOwlClasses().stream()
 						.map(k -> k.getIRI().getShortForm())
 						.collect(Collectors.toSet()));
 	}
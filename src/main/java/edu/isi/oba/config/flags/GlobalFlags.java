@@ -45,7 +45,8 @@ public class GlobalFlags {
 	 *     present
 	 */
 	public static Boolean getFlag(String key) {
-		return booleanMap.containsKey(key) ? booleanMap.get(key) : false;
+		// Single lookup, so a concurrent clear cannot happen between the check and the get.
+		return booleanMap.getOrDefault(key, false);
 	}
 
 	/**
@@ -70,12 +71,13 @@ public class GlobalFlags {
 	/**
 	 * Bulk updates the global flags using the provided map.
 	 *
-	 * <p>Existing flags are cleared before the new ones are added.
+	 * <p>Existing flags are cleared before the new ones are added. Concurrent bulk updates are
+	 * applied one after another, so the map never ends up with a mix of both.
 	 *
 	 * @param flags a {@link Map} of {@link String} keys to {@link Boolean} values to populate the
 	 *     global flag map
 	 */
-	public static void setFlags(Map<String, Boolean> flags) {
+	public static synchronized void setFlags(Map<String, Boolean> flags) {
 		booleanMap.clear();
 		for (final var entry : flags.entrySet()) {
 			setFlag(entry.getKey(), entry.getValue());
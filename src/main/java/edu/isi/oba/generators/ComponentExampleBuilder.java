@@ -0,0 +1,523 @@
+package edu.isi.oba.generators;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import io.swagger.oas.inflector.examples.ExampleBuilder.RequestType;
+import io.swagger.v3.oas.models.media.Schema;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.jena.iri.IRIException;
+import org.apache.jena.iri.IRIFactory;
+
+/**
+ * Builds the example of each component schema of an OpenAPI spec, for either read (response) or
+ * write (request) operations, by walking the {@link Schema}s themselves.
+ *
+ * <p>A reference to a component schema is replaced by the example of that schema. References are
+ * followed up to a maximum depth, and a reference back to a schema whose example is being built
+ * (i.e. a cycle) is not followed. A reference which is not followed has no example. The example of
+ * a schema is built once for each depth it is needed at, and reused wherever the schemas it
+ * references are (or are not) being built in the same way, so the examples do not depend on the
+ * order they are built in. Schemas combining others with {@code allOf} (or with more than one of
+ * {@code allOf}, {@code anyOf}, and {@code oneOf}) get the example of the combination of their
+ * sub-schemas. The items of an array are not followed: their example only depends on their own type
+ * and format.
+ */
+class ComponentExampleBuilder {
+	private static final String COMPONENT_SCHEMA_REF_PREFIX = "#/components/schemas/";
+
+	/** The example of a schema which is not allowed for the request type (e.g. a write-only one). */
+	private static final Object NO_EXAMPLE = new Object();
+
+	private final Map<String, Schema> schemas;
+	private final RequestType requestType;
+	private final int maxDepth;
+
+	// Component schema name -> (depth -> examples, built with different schemas in progress)
+	private final Map<String, Map<Integer, List<BuiltExample>>> examplesByName = new HashMap<>();
+
+	// Component schema names, and their index in the bit sets of schemas
+	private final List<String> schemaNames;
+	private final Map<String, Integer> schemaIndexes = new HashMap<>();
+
+	// Schema in progress -> its position in the stack of schemas in progress
+	private final Map<String, Integer> schemasInProgress = new HashMap<>();
+	private final BitSet schemaIndexesInProgress = new BitSet();
+
+	// The examples being built, innermost first
+	private final Deque<BuiltExample> examplesInProgress = new ArrayDeque<>();
+
+	/**
+	 * @param schemas the component schemas, by name
+	 * @param requestType the {@link RequestType} to build the examples for
+	 * @param maxDepth the maximum number of nested references followed
+	 */
+	ComponentExampleBuilder(Map<String, Schema> schemas, RequestType requestType, int maxDepth) {
+		this.schemas = schemas;
+		this.requestType = requestType;
+		this.maxDepth = maxDepth;
+		this.schemaNames = new ArrayList<>(new TreeMap<>(schemas).keySet());
+		this.schemaNames.forEach(name -> this.schemaIndexes.put(name, this.schemaIndexes.size()));
+	}
+
+	/**
+	 * Build the examples of all the component schemas which are allowed for the request type.
+	 *
+	 * @return a {@link Map} of the examples, sorted by component schema name
+	 */
+	Map<String, Object> getExamples() {
+		final var examples = new TreeMap<String, Object>();
+		new TreeMap<>(this.schemas)
+				.forEach(
+						(name, schema) -> {
+							final var example = this.getComponentExample(name, 0);
+							if (example != NO_EXAMPLE) {
+								examples.put(name, example);
+							}
+						});
+		return examples;
+	}
+
+	private Object getComponentExample(String name, int depth) {
+		final var builtExamples =
+				this.examplesByName
+						.computeIfAbsent(name, k -> new HashMap<>())
+						.computeIfAbsent(depth, k -> new ArrayList<>());
+		for (final var builtExample : builtExamples) {
+			if (this.isReusable(builtExample)) {
+				this.addDependencies(builtExample);
+				return builtExample.example;
+			}
+		}
+
+		final var builtExample = new BuiltExample(this.schemasInProgress.size());
+		this.examplesInProgress.push(builtExample);
+		this.startSchema(name);
+		builtExample.example = this.getExample(this.schemas.get(name), depth);
+		this.endSchema(name);
+		this.examplesInProgress.pop();
+
+		builtExamples.add(builtExample);
+		this.addDependencies(builtExample);
+		return builtExample.example;
+	}
+
+	private void startSchema(String name) {
+		this.schemasInProgress.put(name, this.schemasInProgress.size());
+		this.schemaIndexesInProgress.set(this.schemaIndexes.get(name));
+	}
+
+	private void endSchema(String name) {
+		this.schemasInProgress.remove(name);
+		this.schemaIndexesInProgress.clear(this.schemaIndexes.get(name));
+	}
+
+	/**
+	 * Whether a component schema is in progress. The answer is a dependency of the example being
+	 * built, unless the schema was started while building it.
+	 */
+	private boolean isInProgress(String name) {
+		final var index = this.schemaIndexes.get(name);
+		final var position = this.schemasInProgress.get(name);
+		final var builtExample = this.examplesInProgress.peek();
+		if (builtExample != null) {
+			if (position == null) {
+				builtExample.requiredNotInProgress.set(index);
+			} else if (position < builtExample.position) {
+				builtExample.requiredInProgress.set(index);
+			}
+		}
+
+		return position != null;
+	}
+
+	/** Whether an example would be built the same way with the schemas now in progress. */
+	private boolean isReusable(BuiltExample builtExample) {
+		final var missingSchemas = (BitSet) builtExample.requiredInProgress.clone();
+		missingSchemas.andNot(this.schemaIndexesInProgress);
+		return missingSchemas.isEmpty()
+				&& !builtExample.requiredNotInProgress.intersects(this.schemaIndexesInProgress);
+	}
+
+	/** Add the dependencies of a (nested) example to the example being built. */
+	private void addDependencies(BuiltExample nestedExample) {
+		final var builtExample = this.examplesInProgress.peek();
+		if (builtExample == null) {
+			return;
+		}
+
+		builtExample.requiredNotInProgress.or(nestedExample.requiredNotInProgress);
+		nestedExample.requiredInProgress.stream()
+				.forEach(
+						index -> {
+							if (this.schemasInProgress.get(this.schemaNames.get(index)) < builtExample.position) {
+								builtExample.requiredInProgress.set(index);
+							}
+						});
+	}
+
+	private Object getExample(Schema<?> schema, int depth) {
+		if (schema == null) {
+			return null;
+		}
+
+		// Everything but the reference of a schema reference is ignored (as in its JSON).
+		if (schema.get$ref() != null) {
+			final var referencedName = this.getReferencedName(schema);
+			if (referencedName != null && depth < this.maxDepth && !this.isInProgress(referencedName)) {
+				return this.getComponentExample(referencedName, depth + 1);
+			}
+
+			return null;
+		}
+
+		final var exampleSchema = this.isCombination(schema) ? this.combine(schema) : schema;
+		if (!this.isAllowed(exampleSchema)) {
+			return NO_EXAMPLE;
+		}
+
+		if (exampleSchema.getProperties() != null) {
+			final var propertyExamples = new TreeMap<String, Object>();
+			exampleSchema
+					.getProperties()
+					.forEach(
+							(propertyName, propertySchema) -> {
+								final var example = this.getExample(propertySchema, depth);
+								if (example != NO_EXAMPLE) {
+									propertyExamples.put(propertyName, example);
+								}
+							});
+			return propertyExamples;
+		}
+
+		return this.getValueExample(exampleSchema);
+	}
+
+	/** Whether the read-only and write-only flags of the schema allow it for the request type. */
+	private boolean isAllowed(Schema<?> schema) {
+		final var isReadOnly = Boolean.TRUE.equals(schema.getReadOnly());
+		final var isWriteOnly = Boolean.TRUE.equals(schema.getWriteOnly());
+
+		if (this.requestType == RequestType.READ) {
+			return !isWriteOnly && (schema.getReadOnly() == null || isReadOnly);
+		} else if (this.requestType == RequestType.WRITE) {
+			return !isReadOnly && (schema.getWriteOnly() == null || isWriteOnly);
+		}
+
+		return true;
+	}
+
+	/** Get the example of a schema without properties, from its default/example/enum or type. */
+	private Object getValueExample(Schema<?> schema) {
+		if (schema.getDefault() != null) {
+			return schema.getDefault();
+		}
+
+		if (schema.getExample() != null || schema.getExampleSetFlag()) {
+			return schema.getExample() == null ? NullNode.getInstance() : schema.getExample();
+		}
+
+		if (schema.getEnum() != null) {
+			// If there is an enum list, it should always have at least one value.
+			// This is a safety check to avoid problems.
+			return schema.getEnum().isEmpty() ? String.valueOf("") : schema.getEnum().get(0);
+		}
+
+		if (schema.getType() == null) {
+			// If no type, there is no example.
+			return null;
+		}
+
+		if (!"array".equals(schema.getType())) {
+			return getObjectFromTypeAndFormat(schema);
+		}
+
+		if (schema.getItems() == null) {
+			return null;
+		}
+
+		final var arrayNode = JsonNodeFactory.instance.arrayNode();
+		final var arrayNodePOJOItem = getObjectFromTypeAndFormat(schema.getItems());
+		if (schema.getMinItems() == null && schema.getMaxItems() == null) {
+			arrayNode.addPOJO(arrayNodePOJOItem);
+		} else {
+			final var numberOfItems =
+					schema.getMaxItems() != null ? schema.getMaxItems() : schema.getMinItems();
+			for (int i = 0; i < numberOfItems; i++) {
+				arrayNode.addPOJO(arrayNodePOJOItem);
+			}
+		}
+		return arrayNode;
+	}
+
+	private String getReferencedName(Schema<?> schema) {
+		final var ref = schema.get$ref();
+		if (ref == null || !ref.startsWith(COMPONENT_SCHEMA_REF_PREFIX)) {
+			return null;
+		}
+
+		final var name = ref.substring(COMPONENT_SCHEMA_REF_PREFIX.length());
+		return this.schemas.containsKey(name) ? name : null;
+	}
+
+	private boolean isCombination(Schema<?> schema) {
+		final var hasAllOf = schema.getAllOf() != null;
+		final var hasAnyOf = schema.getAnyOf() != null;
+		final var hasOneOf = schema.getOneOf() != null;
+		return hasAllOf || (hasAnyOf && hasOneOf);
+	}
+
+	/**
+	 * Combine the sub-schemas of a schema (in {@code allOf}, {@code oneOf}, then {@code anyOf}) into
+	 * a single schema. Later sub-schemas override the type, format, enum, and flags of earlier ones,
+	 * and the properties of the schema itself override those of its sub-schemas.
+	 */
+	private Schema<?> combine(Schema<?> schema) {
+		final var combined = new Schema<Object>();
+		combined.setType(schema.getType());
+		combined.setFormat(schema.getFormat());
+
+		final var examples = new LinkedHashSet<Object>();
+		final var defaultValues = new LinkedHashSet<Object>();
+		final var combinedNames = new HashSet<String>();
+		this.combineSubSchemas(
+				schema, schema.getAllOf(), combined, examples, defaultValues, combinedNames);
+		this.combineSubSchemas(
+				schema, schema.getOneOf(), combined, examples, defaultValues, combinedNames);
+		this.combineSubSchemas(
+				schema, schema.getAnyOf(), combined, examples, defaultValues, combinedNames);
+
+		if (defaultValues.size() == 1) {
+			combined.setDefault(defaultValues.iterator().next());
+		}
+
+		if (schema.getExample() != null) {
+			combined.setExample(schema.getExample());
+		} else if (!examples.isEmpty()) {
+			combined.setExample(examples);
+		}
+
+		if (schema.getProperties() != null) {
+			if (combined.getProperties() == null) {
+				combined.setProperties(new LinkedHashMap<>());
+			}
+			combined.getProperties().putAll(schema.getProperties());
+		}
+
+		return combined;
+	}
+
+	private void combineSubSchemas(
+			Schema<?> schema,
+			List<Schema> subSchemas,
+			Schema<Object> combined,
+			Set<Object> examples,
+			Set<Object> defaultValues,
+			Set<String> combinedNames) {
+		if (subSchemas == null) {
+			return;
+		}
+
+		for (final var subSchema : subSchemas) {
+			final var referencedName = this.getReferencedName(subSchema);
+			var resolved = (Schema<?>) subSchema;
+			if (referencedName != null) {
+				// Skip cycles, e.g. a schema which is one of its own sub-schemas.
+				if (this.isInProgress(referencedName) || !combinedNames.add(referencedName)) {
+					continue;
+				}
+				resolved = this.schemas.get(referencedName);
+			}
+
+			if (this.isCombination(resolved)) {
+				if (referencedName != null) {
+					this.startSchema(referencedName);
+				}
+				resolved = this.combine(resolved);
+				if (referencedName != null) {
+					this.endSchema(referencedName);
+				}
+			}
+
+			if (resolved.getProperties() != null) {
+				if (combined.getProperties() == null) {
+					combined.setProperties(new LinkedHashMap<>());
+				}
+				combined.getProperties().putAll(resolved.getProperties());
+			}
+
+			if (resolved.getEnum() != null) {
+				combined.setEnum(new ArrayList<Object>(resolved.getEnum()));
+			}
+
+			if (resolved.getExample() != null) {
+				examples.add(resolved.getExample());
+			}
+
+			if (schema.getDefault() != null && resolved.getDefault() == null) {
+				defaultValues.add(schema.getDefault());
+			} else {
+				defaultValues.add(resolved.getDefault());
+			}
+
+			if (resolved.getMaxItems() != null) {
+				combined.setMaxItems(resolved.getMaxItems());
+			}
+
+			if (resolved.getMinItems() != null) {
+				combined.setMinItems(resolved.getMinItems());
+			}
+
+			if (resolved.getType() != null) {
+				combined.setType(resolved.getType());
+			}
+
+			if (resolved.getFormat() != null) {
+				combined.setFormat(resolved.getFormat());
+			}
+
+			if (resolved.getReadOnly() != null) {
+				combined.setReadOnly(resolved.getReadOnly());
+			}
+
+			if (resolved.getWriteOnly() != null) {
+				combined.setWriteOnly(resolved.getWriteOnly());
+			}
+		}
+	}
+
+	private static Object getObjectFromTypeAndFormat(Schema<?> schema) {
+		final var type = schema.get$ref() == null ? schema.getType() : null;
+		if (type == null) {
+			return null;
+		} else {
+			final var format = schema.getFormat();
+			if ("boolean".equals(type)) {
+				return Boolean.valueOf(false);
+			} else if ("integer".equals(type)) {
+				return Integer.valueOf(2);
+			} else if ("number".equals(type)) {
+				if (format == null) {
+					// If no format, treat as a default number.
+					return (Number) 5;
+				} else {
+					if ("double".equals(format)) {
+						return Double.valueOf("8.123456789101112");
+					} else if ("float".equals(format)) {
+						return Float.valueOf("9.1234567");
+					} else {
+						return (Number) 5;
+					}
+				}
+			} else {
+				if (format == null) {
+					// If no format, treat as a default string.
+					return type;
+				} else {
+					if ("binary".equals(format)) {
+						// Represents binary data, often used for file uploads.
+						return Integer.parseInt("This is some binary data", 2);
+					} else if ("byte".equals(format)) {
+						// Represents base64 encoded data / file contents
+						return String.valueOf("These are some bytes").getBytes();
+					} else if ("date".equals(format)) {
+						// Represents a date in the format YYYY-MM-DD.
+						return LocalDate.parse("2025-01-02", DateTimeFormatter.ISO_LOCAL_DATE);
+					} else if ("date-time".equals(format)) {
+						// Represents a date and time in the format YYYY-MM-DDTHH:mm:ssZ.
+						return ZonedDateTime.parse(
+								"2025-01-02T07:00:00.000Z", DateTimeFormatter.ISO_ZONED_DATE_TIME);
+					} else if ("hostname".equals(format)) {
+						// Represents a host name as defined by RFC1123
+						final var hostname = "localhost";
+						try {
+							return InetAddress.getByName(hostname).getCanonicalHostName();
+						} catch (UnknownHostException e) {
+							return String.valueOf(hostname);
+						}
+					} else if ("ipv4".equals(format)) {
+						// Represents an IPv4 address.
+						final var ipv4Addr = "192.168.1.1";
+						try {
+							return (Inet4Address) InetAddress.getByName(ipv4Addr);
+						} catch (UnknownHostException e) {
+							return String.valueOf(ipv4Addr);
+						}
+					} else if ("ipv6".equals(format)) {
+						// Represents an IPv6 address.
+						final var ipv6Addr = "2001:db8:3333:4444:5555:6666:7777:8888";
+						try {
+							return (Inet6Address) InetAddress.getByName(ipv6Addr);
+						} catch (UnknownHostException e) {
+							return String.valueOf(ipv6Addr);
+						}
+					} else if ("iri".equals(format)) {
+						// Represents an Internationalized Resource Identifier (IRI).
+						final var iri = "http://www.example.org/red%09ros&#xE9;#red";
+						try {
+							return IRIFactory.iriImplementation().construct(iri);
+						} catch (IRIException e) {
+							return String.valueOf(iri);
+						}
+					} else if ("password".equals(format)) {
+						// Indicates that the string contains sensitive information.
+						return String.valueOf("\u25CF\u25CF\u25CF\u25CF\u25CF\u25CF");
+					} else if ("uri".equals(format)) {
+						// Represents a Uniform Resource Identifier (URI).
+						final var uri = "mailto:user@example.com";
+						try {
+							return new URI(uri);
+						} catch (URISyntaxException e) {
+							return String.valueOf(uri);
+						}
+					} else if ("uri-reference".equals(format)) {
+						// Represents a URI reference.
+						final var uriReference = "http://www.example.com/page.html#section1";
+						try {
+							return new URI(uriReference);
+						} catch (URISyntaxException e) {
+							return String.valueOf(uriReference);
+						}
+					} else {
+						// generic string without a format.
+						return type;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The example of a component schema, with the component schemas whose references it left out
+	 * (because they were in progress before it was started), and those whose references it followed.
+	 */
+	private static class BuiltExample {
+		private final int position;
+		private final BitSet requiredInProgress = new BitSet();
+		private final BitSet requiredNotInProgress = new BitSet();
+		private Object example;
+
+		private BuiltExample(int position) {
+			this.position = position;
+		}
+	}
+}
@@ -6,6 +6,7 @@ import edu.isi.oba.MapperProperty;
 import edu.isi.oba.config.ConfigPropertyNames;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.config.ontology.annotations.AnnotationConfig;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
 import edu.isi.oba.utils.ontology.OntologyDescriptionUtils;
 import io.swagger.v3.oas.models.media.Schema;
 import java.util.Set;
@@ -16,7 +17,6 @@ import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
-import org.semanticweb.owlapi.search.EntitySearcher;
 
 public final class AnnotationProcessor {
 	private AnnotationProcessor() {
@@ -72,7 +72,8 @@ public final class AnnotationProcessor {
 		if (propertyAnnotations == null) return;
 
 		final Set<OWLAnnotation> annotations =
-				EntitySearcher.getAnnotations(entity, ontology).collect(Collectors.toSet());
+				OntologyIndexRegistry.getAnnotationIndex(ontology).getAnnotations(entity.getIRI()).stream()
+						.collect(Collectors.toSet());
 
 		for (var annotation : annotations) {
 			final var annotationName = annotation.getProperty().getIRI().getShortForm();
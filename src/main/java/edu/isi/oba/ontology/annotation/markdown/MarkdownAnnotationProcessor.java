@@ -1,5 +1,6 @@
 package edu.isi.oba.ontology.annotation.markdown;
 
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
 import edu.isi.oba.ontology.visitor.VisitorContext;
 import java.util.TreeMap;
 import java.util.logging.Logger;
@@ -10,7 +11,6 @@ import org.semanticweb.owlapi.model.OWLDataRestriction;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLObjectRestriction;
 import org.semanticweb.owlapi.model.OWLRestriction;
-import org.semanticweb.owlapi.search.EntitySearcher;
 
 public class MarkdownAnnotationProcessor {
 	private final Logger logger;
@@ -70,11 +70,19 @@ public class MarkdownAnnotationProcessor {
 	 * @param axiom an {@link OWLAxiom}
 	 */
 	public void setMarkdownContentFromAxiomAnnotations() {
+		if (this.context.getReferencedClasses().isEmpty()) {
+			return;
+		}
+
+		final var annotationIndex =
+				OntologyIndexRegistry.getAnnotationIndex(this.context.getBaseClassOntology());
+
 		for (final var refClass : this.context.getReferencedClasses()) {
 			final var refClassName = refClass.getIRI().getShortForm();
 
 			// Get markdown annotations from classes.
-			EntitySearcher.getAnnotationObjects(refClass, this.context.getBaseClassOntology())
+			annotationIndex
+					.getAnnotations(refClass.getIRI())
 					.forEach(
 							(annotation) -> {
 								this.addMarkdownAnnotationsToMap(annotation, refClassName);
@@ -93,8 +101,8 @@ public class MarkdownAnnotationProcessor {
 										.dataPropertiesInSignature()
 										.forEach(
 												(dataProp) -> {
-													EntitySearcher.getAnnotationObjects(
-																	dataProp, this.context.getBaseClassOntology())
+													annotationIndex
+															.getAnnotations(dataProp.getIRI())
 															.forEach(
 																	(annotation) -> {
 																		this.addMarkdownAnnotationsToMap(
@@ -117,8 +125,8 @@ public class MarkdownAnnotationProcessor {
 										.objectPropertiesInSignature()
 										.forEach(
 												(objProp) -> {
-													EntitySearcher.getAnnotationObjects(
-																	objProp, this.context.getBaseClassOntology())
+													annotationIndex
+															.getAnnotations(objProp.getIRI())
 															.forEach(
 																	(annotation) -> {
 																		this.addMarkdownAnnotationsToMap(
@@ -176,8 +184,8 @@ public class MarkdownAnnotationProcessor {
 										.dataPropertiesInSignature()
 										.forEach(
 												(dataProp) -> {
-													EntitySearcher.getAnnotationObjects(
-																	dataProp, this.context.getBaseClassOntology())
+													annotationIndex
+															.getAnnotations(dataProp.getIRI())
 															.forEach(
 																	(annotation) -> {
 																		this.addMarkdownAnnotationsToMap(
@@ -190,8 +198,8 @@ public class MarkdownAnnotationProcessor {
 										.objectPropertiesInSignature()
 										.forEach(
 												(objProp) -> {
-													EntitySearcher.getAnnotationObjects(
-																	objProp, this.context.getBaseClassOntology())
+													annotationIndex
+															.getAnnotations(objProp.getIRI())
 															.forEach(
 																	(annotation) -> {
 																		this.addMarkdownAnnotationsToMap(
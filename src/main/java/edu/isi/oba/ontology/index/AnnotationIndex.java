@@ -0,0 +1,79 @@
+package edu.isi.oba.ontology.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/** Index from the IRI of an entity to its annotations, grouped by annotation property. */
+public class AnnotationIndex {
+	private final Map<IRI, List<OWLAnnotation>> annotationsBySubject = new HashMap<>();
+	private final Map<IRI, Map<IRI, List<OWLAnnotation>>> annotationsBySubjectAndProperty =
+			new HashMap<>();
+
+	/**
+	 * Build the index of an ontology.
+	 *
+	 * @param ontology the {@link OWLOntology} whose annotation assertions are indexed
+	 */
+	public AnnotationIndex(OWLOntology ontology) {
+		ontology
+				.axioms(AxiomType.ANNOTATION_ASSERTION)
+				.map(OWLAnnotationAssertionAxiom::getSubject)
+				.filter(subject -> subject.isIRI())
+				.map(subject -> (IRI) subject)
+				.distinct()
+				.forEach(subject -> this.indexSubject(ontology, subject));
+	}
+
+	private void indexSubject(OWLOntology ontology, IRI subject) {
+		final var annotations = new ArrayList<OWLAnnotation>();
+		final var annotationsByProperty = new LinkedHashMap<IRI, List<OWLAnnotation>>();
+		ontology
+				.annotationAssertionAxioms(subject)
+				.map(OWLAnnotationAssertionAxiom::getAnnotation)
+				.forEach(
+						annotation -> {
+							annotations.add(annotation);
+							annotationsByProperty
+									.computeIfAbsent(annotation.getProperty().getIRI(), k -> new ArrayList<>())
+									.add(annotation);
+						});
+
+		this.annotationsBySubject.put(subject, Collections.unmodifiableList(annotations));
+		annotationsByProperty.replaceAll((property, list) -> Collections.unmodifiableList(list));
+		this.annotationsBySubjectAndProperty.put(subject, annotationsByProperty);
+	}
+
+	/**
+	 * Get all annotations of an entity.
+	 *
+	 * @param subject the {@link IRI} of the entity
+	 * @return the {@link OWLAnnotation}s of the entity's annotation assertions (empty if it has none)
+	 */
+	public List<OWLAnnotation> getAnnotations(IRI subject) {
+		return this.annotationsBySubject.getOrDefault(subject, List.of());
+	}
+
+	/**
+	 * Get the annotations of an entity for an annotation property (e.g. its {@code rdfs:comment}s in
+	 * each language).
+	 *
+	 * @param subject the {@link IRI} of the entity
+	 * @param property the {@link IRI} of the annotation property
+	 * @return the {@link OWLAnnotation}s of the entity for the property (empty if it has none)
+	 */
+	public List<OWLAnnotation> getAnnotations(IRI subject, IRI property) {
+		final var annotationsByProperty = this.annotationsBySubjectAndProperty.get(subject);
+		return annotationsByProperty == null
+				? List.of()
+				: annotationsByProperty.getOrDefault(property, List.of());
+	}
+}
@@ -0,0 +1,96 @@
+package edu.isi.oba.ontology.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/** Index of the (inferred) ancestors of the classes of an ontology, built as they are mapped. */
+public class ClassHierarchyIndex {
+	private final OWLReasoner reasoner;
+	private final Map<OWLClass, Integer> classIds = new HashMap<>();
+	private final List<BitSet> ancestors = new ArrayList<>();
+
+	/**
+	 * Create the index of an ontology.
+	 *
+	 * @param reasoner the (shared) {@link OWLReasoner} of the ontology, whose class hierarchy is
+	 *     indexed
+	 */
+	public ClassHierarchyIndex(OWLReasoner reasoner) {
+		this.reasoner = reasoner;
+	}
+
+	private int getOrAddId(OWLClass owlClass) {
+		final var id = this.classIds.get(owlClass);
+		if (id != null) {
+			return id;
+		}
+
+		this.classIds.put(owlClass, this.ancestors.size());
+		this.ancestors.add(null);
+		return this.ancestors.size() - 1;
+	}
+
+	/** Get the ancestors of a class, resolving (and storing) them if needed. */
+	private BitSet getAncestors(OWLClass owlClass) {
+		final var id = this.getOrAddId(owlClass);
+		final var classAncestors = this.ancestors.get(id);
+		if (classAncestors != null) {
+			return classAncestors;
+		}
+
+		final var resolvedAncestors = new BitSet();
+		this.reasoner
+				.getSuperClasses(owlClass, true)
+				.nodes()
+				.forEach(
+						node -> {
+							node.entities()
+									.forEach(superClass -> resolvedAncestors.set(this.getOrAddId(superClass)));
+							resolvedAncestors.or(this.getAncestors(node.getRepresentativeElement()));
+						});
+		resolvedAncestors.clear(id);
+
+		this.ancestors.set(id, resolvedAncestors);
+		return resolvedAncestors;
+	}
+
+	/**
+	 * Whether a class is an ancestor (i.e. an inferred, strict super class) of another class.
+	 *
+	 * @param owlClass the {@link OWLClass}
+	 * @param ancestor the possible ancestor {@link OWLClass}
+	 * @return whether {@code ancestor} is an ancestor of {@code owlClass}
+	 */
+	public synchronized boolean isAncestor(OWLClass owlClass, OWLClass ancestor) {
+		return this.getAncestors(owlClass).get(this.getOrAddId(ancestor));
+	}
+
+	/**
+	 * Remove, from a set of classes, each class which is an ancestor of another class of the set
+	 * (i.e. the transitive reduction of the set). For the super classes of a class, this leaves its
+	 * direct super classes.
+	 *
+	 * <p>The set is changed in place, so that the order of the remaining classes does not change.
+	 *
+	 * @param classes the {@link Set} of {@link OWLClass}es to reduce
+	 */
+	public synchronized void removeAncestors(Set<OWLClass> classes) {
+		// A single class is not an ancestor of another one.
+		if (classes.size() < 2) {
+			return;
+		}
+
+		final var classesAncestors = new BitSet();
+		for (final var owlClass : classes) {
+			classesAncestors.or(this.getAncestors(owlClass));
+		}
+
+		classes.removeIf(owlClass -> classesAncestors.get(this.getOrAddId(owlClass)));
+	}
+}
@@ -0,0 +1,142 @@
+package edu.isi.oba.ontology.index;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.ClassExpressionType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/** Index of how the classes of an ontology are used by its axioms, as bit sets of class IDs. */
+public class ClassUsageIndex {
+	private final Map<OWLClass, Integer> classIds = new HashMap<>();
+	private final BitSet equivalentClasses = new BitSet();
+	private final BitSet subClassRestrictions = new BitSet();
+	private final BitSet dataPropertyDomains = new BitSet();
+	private final Map<String, BitSet> objectPropertyRanges = new HashMap<>();
+
+	/**
+	 * Build the index of an ontology.
+	 *
+	 * @param ontology the {@link OWLOntology} whose class usages are indexed
+	 */
+	public ClassUsageIndex(OWLOntology ontology) {
+		ontology
+				.axioms(AxiomType.EQUIVALENT_CLASSES)
+				.forEach(
+						axiom ->
+								axiom
+										.namedClasses()
+										.filter(
+												owlClass ->
+														axiom
+																.classExpressions()
+																.anyMatch(expression -> !expression.equals(owlClass)))
+										.forEach(owlClass -> this.equivalentClasses.set(this.getOrAddId(owlClass))));
+
+		ontology
+				.axioms(AxiomType.SUBCLASS_OF)
+				.filter(axiom -> !axiom.getSubClass().isAnonymous())
+				.filter(
+						axiom ->
+								axiom.getNestedClassExpressions().stream()
+										.anyMatch(
+												expression ->
+														!expression
+																.getClassExpressionType()
+																.equals(ClassExpressionType.OWL_CLASS)))
+				.forEach(
+						axiom ->
+								this.subClassRestrictions.set(this.getOrAddId(axiom.getSubClass().asOWLClass())));
+
+		ontology
+				.axioms(AxiomType.DATA_PROPERTY_DOMAIN)
+				.forEach(
+						axiom ->
+								axiom
+										.getClassesInSignature()
+										.forEach(owlClass -> this.dataPropertyDomains.set(this.getOrAddId(owlClass))));
+
+		ontology
+				.axioms(AxiomType.OBJECT_PROPERTY_RANGE)
+				.filter(axiom -> axiom.getProperty().isNamed())
+				.forEach(
+						axiom -> {
+							final var ranges =
+									this.objectPropertyRanges.computeIfAbsent(
+											axiom.getProperty().asOWLObjectProperty().getIRI().getShortForm(),
+											k -> new BitSet());
+							axiom
+									.getClassesInSignature()
+									.forEach(owlClass -> ranges.set(this.getOrAddId(owlClass)));
+						});
+	}
+
+	private int getOrAddId(OWLClass owlClass) {
+		return this.classIds.computeIfAbsent(owlClass, k -> this.classIds.size());
+	}
+
+	private int getId(OWLClass owlClass) {
+		return this.classIds.getOrDefault(owlClass, -1);
+	}
+
+	/**
+	 * @param owlClass the {@link OWLClass}
+	 * @return whether the class has one or more equivalent classes
+	 */
+	public boolean hasEquivalentClasses(OWLClass owlClass) {
+		final var id = this.getId(owlClass);
+		return id >= 0 && this.equivalentClasses.get(id);
+	}
+
+	/**
+	 * @param owlClass the {@link OWLClass}
+	 * @return whether the class has a subclass axiom with a nested expression which is not a class
+	 *     (i.e. it declares a "subclass of" property restriction)
+	 */
+	public boolean hasSubClassRestrictions(OWLClass owlClass) {
+		final var id = this.getId(owlClass);
+		return id >= 0 && this.subClassRestrictions.get(id);
+	}
+
+	/**
+	 * @param owlClass the {@link OWLClass}
+	 * @return whether the class is (in) the domain of one or more data properties
+	 */
+	public boolean isDataPropertyDomain(OWLClass owlClass) {
+		final var id = this.getId(owlClass);
+		return id >= 0 && this.dataPropertyDomains.get(id);
+	}
+
+	/**
+	 * Get the classes of the ranges of some object properties (e.g. of the properties of a schema),
+	 * to be tested with {@link #isObjectPropertyRange(OWLClass, BitSet)}.
+	 *
+	 * @param propertyNames the short forms of the object properties (other names are ignored)
+	 * @return a {@link BitSet} of the IDs of the classes named by the ranges of the properties
+	 */
+	public BitSet getObjectPropertyRanges(Collection<String> propertyNames) {
+		final var ranges = new BitSet();
+		for (final var propertyName : propertyNames) {
+			final var propertyRanges = this.objectPropertyRanges.get(propertyName);
+			if (propertyRanges != null) {
+				ranges.or(propertyRanges);
+			}
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * @param owlClass the {@link OWLClass}
+	 * @param ranges the classes of the ranges of some object properties, from {@link
+	 *     #getObjectPropertyRanges(Collection)}
+	 * @return whether the class is (in) the range of one of those object properties
+	 */
+	public boolean isObjectPropertyRange(OWLClass owlClass, BitSet ranges) {
+		final var id = this.getId(owlClass);
+		return id >= 0 && ranges.get(id);
+	}
+}
@@ -0,0 +1,235 @@
+package edu.isi.oba.ontology.index;
+
+import static edu.isi.oba.Oba.logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceDepth;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * The object property hierarchy of an ontology, with the domains and ranges declared for each
+ * property, built once per ontology.
+ *
+ * <p>Each (named) object property gets an ID, in the order in which the hierarchy is walked, and
+ * everything else is stored in arrays indexed by that ID. The top-level properties are the direct
+ * sub-properties of owl:topObjectProperty, and each one keeps all of its (transitive)
+ * sub-properties, in reasoner order.
+ *
+ * <p>A sub-property inherits the domains and ranges of its top-level super-property (see {@link
+ * PropertyDomainIndex}).
+ */
+public class ObjectPropertyHierarchy {
+	private static final int[] NO_IDS = new int[0];
+
+	private final List<OWLObjectPropertyExpression> properties = new ArrayList<>();
+	private final Map<OWLObjectPropertyExpression, Integer> propertyIds = new HashMap<>();
+
+	private final int[] topLevelProperties;
+	private final int[][] subProperties;
+	private final IRI[][] domains;
+	private final OWLClass[][] ranges;
+	private final OWLClass[][] subPropertyRanges;
+	private final OWLClassExpression[][] complexRanges;
+
+	/**
+	 * Build the object property hierarchy of an ontology.
+	 *
+	 * @param ontology the {@link OWLOntology}
+	 * @param reasoner the (precomputed) {@link OWLReasoner} of the ontology
+	 */
+	public ObjectPropertyHierarchy(OWLOntology ontology, OWLReasoner reasoner) {
+		// Walk the top-level object properties and all of their sub-properties once.
+		final var topLevelIds = new ArrayList<Integer>();
+		final var subPropertyIds = new HashMap<Integer, int[]>();
+		reasoner
+				.subObjectProperties(
+						reasoner.getTopObjectPropertyNode().getRepresentativeElement(), InferenceDepth.DIRECT)
+				.filter(ObjectPropertyHierarchy::isNamedProperty)
+				.forEach(
+						(objPropExpr) -> {
+							final var id = this.getOrAddId(objPropExpr);
+							topLevelIds.add(id);
+							subPropertyIds.put(
+									id,
+									reasoner
+											.subObjectProperties(objPropExpr, InferenceDepth.ALL)
+											.filter(ObjectPropertyHierarchy::isNamedProperty)
+											.mapToInt(this::getOrAddId)
+											.toArray());
+						});
+
+		this.topLevelProperties = topLevelIds.stream().mapToInt(Integer::intValue).toArray();
+
+		final var size = this.properties.size();
+		this.subProperties = new int[size][];
+		this.domains = new IRI[size][];
+		this.ranges = new OWLClass[size][];
+		this.subPropertyRanges = new OWLClass[size][];
+		this.complexRanges = new OWLClassExpression[size][];
+
+		for (var id = 0; id < size; id++) {
+			final var objPropExpr = this.properties.get(id);
+			this.subProperties[id] = subPropertyIds.getOrDefault(id, NO_IDS);
+			this.domains[id] = getDomains(ontology, objPropExpr);
+			this.indexRanges(ontology, id, objPropExpr);
+		}
+	}
+
+	/**
+	 * @return the number of (named) object properties in the hierarchy
+	 */
+	public int size() {
+		return this.properties.size();
+	}
+
+	/**
+	 * @param id the ID of a property
+	 * @return the {@link OWLObjectPropertyExpression} with the ID
+	 */
+	public OWLObjectPropertyExpression getProperty(int id) {
+		return this.properties.get(id);
+	}
+
+	/**
+	 * @param property an {@link OWLObjectPropertyExpression}
+	 * @return the ID of the property, or -1 if it is not in the hierarchy
+	 */
+	public int getId(OWLObjectPropertyExpression property) {
+		return this.propertyIds.getOrDefault(property, -1);
+	}
+
+	/**
+	 * @return the IDs of the direct sub-properties of owl:topObjectProperty
+	 */
+	public int[] getTopLevelProperties() {
+		return this.topLevelProperties.clone();
+	}
+
+	/**
+	 * @param id the ID of a top-level property
+	 * @return the IDs of all (transitive) sub-properties, which is empty for other properties
+	 */
+	public int[] getSubProperties(int id) {
+		return this.subProperties[id].clone();
+	}
+
+	/**
+	 * @param id the ID of a property
+	 * @return the IRIs of the named classes which are declared domains of the property (directly, or
+	 *     as operands of a unionOf domain)
+	 */
+	public IRI[] getDomains(int id) {
+		return this.domains[id].clone();
+	}
+
+	/**
+	 * @param id the ID of a property
+	 * @return the named class ranges of the property, as used for a top-level property
+	 */
+	public OWLClass[] getRanges(int id) {
+		return this.ranges[id].clone();
+	}
+
+	/**
+	 * @param id the ID of a property
+	 * @return the named class ranges of the property, including the operands of unionOf ranges, as
+	 *     used for a sub-property
+	 */
+	public OWLClass[] getSubPropertyRanges(int id) {
+		return this.subPropertyRanges[id].clone();
+	}
+
+	/**
+	 * @param id the ID of a property
+	 * @return the unionOf/intersectionOf ranges of the property
+	 */
+	public OWLClassExpression[] getComplexRanges(int id) {
+		return this.complexRanges[id].clone();
+	}
+
+	private int getOrAddId(OWLObjectPropertyExpression objPropExpr) {
+		return this.propertyIds.computeIfAbsent(
+				objPropExpr,
+				k -> {
+					this.properties.add(k);
+					return this.properties.size() - 1;
+				});
+	}
+
+	private static boolean isNamedProperty(OWLObjectPropertyExpression objPropExpr) {
+		return !objPropExpr.isBottomEntity() && objPropExpr.isOWLObjectProperty();
+	}
+
+	/**
+	 * Get the named classes which are a domain of an object property, either directly or as an
+	 * operand of a unionOf domain.
+	 */
+	private static IRI[] getDomains(OWLOntology ontology, OWLObjectPropertyExpression objPropExpr) {
+		final var domains = new LinkedHashSet<IRI>();
+		for (final var objPropDomainAx : ontology.getObjectPropertyDomainAxioms(objPropExpr)) {
+			final var domain = objPropDomainAx.getDomain();
+			if (domain.isOWLClass()) {
+				domains.add(domain.asOWLClass().getIRI());
+			} else if (domain instanceof OWLObjectUnionOf) {
+				for (final var domainOperand : ((OWLObjectUnionOf) domain).getOperands()) {
+					if (domainOperand.isOWLClass()) {
+						domains.add(domainOperand.asOWLClass().getIRI());
+					}
+				}
+			} else {
+				logger.severe(
+						"\t  The object property domain axiom \""
+								+ objPropDomainAx
+								+ "\" has an unknown domain type \""
+								+ domain
+								+ "\" !!");
+			}
+		}
+		return domains.toArray(new IRI[0]);
+	}
+
+	private void indexRanges(OWLOntology ontology, int id, OWLObjectPropertyExpression objPropExpr) {
+		final var namedRanges = new ArrayList<OWLClass>();
+		final var namedAndUnionRanges = new ArrayList<OWLClass>();
+		final var complexObjectRanges = new ArrayList<OWLClassExpression>();
+
+		for (final var objPropRangeAx : ontology.getObjectPropertyRangeAxioms(objPropExpr)) {
+			final var range = objPropRangeAx.getRange();
+			if (range.isOWLClass()) {
+				namedRanges.add(range.asOWLClass());
+				namedAndUnionRanges.add(range.asOWLClass());
+			} else if (range instanceof OWLObjectUnionOf) {
+				for (final var rangeOperand : ((OWLObjectUnionOf) range).getOperands()) {
+					if (rangeOperand.isOWLClass()) {
+						namedAndUnionRanges.add(rangeOperand.asOWLClass());
+					}
+				}
+				complexObjectRanges.add(range);
+			} else if (range instanceof OWLObjectIntersectionOf) {
+				complexObjectRanges.add(range);
+			} else {
+				logger.severe(
+						"\t  The object property range axiom \""
+								+ objPropRangeAx
+								+ "\" has an unknown range type \""
+								+ range
+								+ "\" !!");
+			}
+		}
+
+		this.ranges[id] = namedRanges.toArray(new OWLClass[0]);
+		this.subPropertyRanges[id] = namedAndUnionRanges.toArray(new OWLClass[0]);
+		this.complexRanges[id] = complexObjectRanges.toArray(new OWLClassExpression[0]);
+	}
+}
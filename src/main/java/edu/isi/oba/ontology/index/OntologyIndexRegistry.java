@@ -0,0 +1,142 @@
+package edu.isi.oba.ontology.index;
+
+import edu.isi.oba.exceptions.InvalidOntologyFormatException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Registry which shares the indexes built for an {@link OWLOntology}, so that they are built once
+ * and then used for every class of the ontology.
+ *
+ * <p>As with the shared reasoners, ontologies are tracked by identity.
+ */
+public class OntologyIndexRegistry {
+	private static final Map<OWLOntology, PropertyDomainIndex> propertyDomainIndexes =
+			new IdentityHashMap<>();
+	private static final Map<OWLOntology, PrefixIndex> prefixIndexes = new IdentityHashMap<>();
+	private static final Map<OWLOntology, AnnotationIndex> annotationIndexes =
+			new IdentityHashMap<>();
+	private static final Map<OWLOntology, ClassUsageIndex> classUsageIndexes =
+			new IdentityHashMap<>();
+	private static final Map<OWLOntology, ClassHierarchyIndex> classHierarchyIndexes =
+			new IdentityHashMap<>();
+
+	private OntologyIndexRegistry() {
+		throw new UnsupportedOperationException("Static utility class");
+	}
+
+	/**
+	 * Get the shared {@link PropertyDomainIndex} for an ontology, building it on first use.
+	 *
+	 * @param ontology the {@link OWLOntology} to get the index for
+	 * @param reasoner the (shared) {@link OWLReasoner} of the ontology, used if the index must be
+	 *     built
+	 * @return the shared {@link PropertyDomainIndex} of the ontology
+	 */
+	public static PropertyDomainIndex getPropertyDomainIndex(
+			OWLOntology ontology, OWLReasoner reasoner) {
+		synchronized (propertyDomainIndexes) {
+			return propertyDomainIndexes.computeIfAbsent(
+					ontology, k -> new PropertyDomainIndex(k, reasoner));
+		}
+	}
+
+	/**
+	 * Get the shared {@link PrefixIndex} for an ontology, building it on first use.
+	 *
+	 * @param ontology the {@link OWLOntology} to get the index for
+	 * @return the shared {@link PrefixIndex} of the ontology
+	 * @throws InvalidOntologyFormatException if the ontology does not have a prefix document format
+	 */
+	public static PrefixIndex getPrefixIndex(OWLOntology ontology)
+			throws InvalidOntologyFormatException {
+		synchronized (prefixIndexes) {
+			return prefixIndexes.computeIfAbsent(ontology, PrefixIndex::new);
+		}
+	}
+
+	/**
+	 * Get the shared {@link AnnotationIndex} for an ontology, building it on first use.
+	 *
+	 * @param ontology the {@link OWLOntology} to get the index for
+	 * @return the shared {@link AnnotationIndex} of the ontology
+	 */
+	public static AnnotationIndex getAnnotationIndex(OWLOntology ontology) {
+		synchronized (annotationIndexes) {
+			return annotationIndexes.computeIfAbsent(ontology, AnnotationIndex::new);
+		}
+	}
+
+	/**
+	 * Get the shared {@link ClassUsageIndex} for an ontology, building it on first use.
+	 *
+	 * @param ontology the {@link OWLOntology} to get the index for
+	 * @return the shared {@link ClassUsageIndex} of the ontology
+	 */
+	public static ClassUsageIndex getClassUsageIndex(OWLOntology ontology) {
+		synchronized (classUsageIndexes) {
+			return classUsageIndexes.computeIfAbsent(ontology, ClassUsageIndex::new);
+		}
+	}
+
+	/**
+	 * Get the shared {@link ClassHierarchyIndex} for an ontology, creating it on first use.
+	 *
+	 * @param ontology the {@link OWLOntology} to get the index for
+	 * @param reasoner the (shared) {@link OWLReasoner} of the ontology, used if the index must be
+	 *     created
+	 * @return the shared {@link ClassHierarchyIndex} of the ontology
+	 */
+	public static ClassHierarchyIndex getClassHierarchyIndex(
+			OWLOntology ontology, OWLReasoner reasoner) {
+		synchronized (classHierarchyIndexes) {
+			return classHierarchyIndexes.computeIfAbsent(
+					ontology, k -> new ClassHierarchyIndex(reasoner));
+		}
+	}
+
+	/**
+	 * Remove the indexes for an ontology (e.g. because the ontology was changed). The next call
+	 * rebuilds them.
+	 *
+	 * @param ontology the {@link OWLOntology} whose indexes should be released
+	 */
+	public static void release(OWLOntology ontology) {
+		synchronized (propertyDomainIndexes) {
+			propertyDomainIndexes.remove(ontology);
+		}
+		synchronized (prefixIndexes) {
+			prefixIndexes.remove(ontology);
+		}
+		synchronized (annotationIndexes) {
+			annotationIndexes.remove(ontology);
+		}
+		synchronized (classUsageIndexes) {
+			classUsageIndexes.remove(ontology);
+		}
+		synchronized (classHierarchyIndexes) {
+			classHierarchyIndexes.remove(ontology);
+		}
+	}
+
+	/** Remove all indexes. */
+	public static void clear() {
+		synchronized (propertyDomainIndexes) {
+			propertyDomainIndexes.clear();
+		}
+		synchronized (prefixIndexes) {
+			prefixIndexes.clear();
+		}
+		synchronized (annotationIndexes) {
+			annotationIndexes.clear();
+		}
+		synchronized (classUsageIndexes) {
+			classUsageIndexes.clear();
+		}
+		synchronized (classHierarchyIndexes) {
+			classHierarchyIndexes.clear();
+		}
+	}
+}
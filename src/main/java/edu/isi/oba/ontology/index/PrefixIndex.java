@@ -0,0 +1,126 @@
+package edu.isi.oba.ontology.index;
+
+import edu.isi.oba.exceptions.InvalidOntologyFormatException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/** Index from the IRI of a class to its schema name, prefixed by the names of its namespace. */
+public class PrefixIndex {
+
+	/** A node of the trie, whose children are sorted by their character. */
+	private static class Node {
+		private char[] characters = new char[0];
+		private Node[] children = new Node[0];
+
+		/** The prefix (e.g. {@code "ex-"}) of the names of the IRIs whose namespace ends here. */
+		private String schemaNamePrefix;
+
+		private Node getChild(char character) {
+			final var index = Arrays.binarySearch(this.characters, character);
+			return index < 0 ? null : this.children[index];
+		}
+
+		private Node getOrAddChild(char character) {
+			final var index = Arrays.binarySearch(this.characters, character);
+			if (index >= 0) {
+				return this.children[index];
+			}
+
+			final var insertion = -index - 1;
+			final var child = new Node();
+			this.characters = insert(this.characters, insertion, character);
+			this.children = insert(this.children, insertion, child);
+			return child;
+		}
+
+		private static char[] insert(char[] array, int index, char value) {
+			final var result = new char[array.length + 1];
+			System.arraycopy(array, 0, result, 0, index);
+			result[index] = value;
+			System.arraycopy(array, index, result, index + 1, array.length - index);
+			return result;
+		}
+
+		private static Node[] insert(Node[] array, int index, Node value) {
+			final var result = new Node[array.length + 1];
+			System.arraycopy(array, 0, result, 0, index);
+			result[index] = value;
+			System.arraycopy(array, index, result, index + 1, array.length - index);
+			return result;
+		}
+	}
+
+	private final Node root = new Node();
+	private final Map<IRI, String> schemaNames = new ConcurrentHashMap<>();
+
+	/**
+	 * Build the index of an ontology.
+	 *
+	 * @param ontology the {@link OWLOntology} whose prefixes are indexed
+	 * @throws InvalidOntologyFormatException if the ontology does not have a prefix document format
+	 */
+	public PrefixIndex(OWLOntology ontology) throws InvalidOntologyFormatException {
+		final var format = ontology.getOWLOntologyManager().getOntologyFormat(ontology);
+		if (format == null || !format.isPrefixOWLDocumentFormat()) {
+			throw new InvalidOntologyFormatException(
+					"Ontology has an invalid or null prefix document format. Unable to proceed.");
+		}
+
+		format
+				.asPrefixOWLDocumentFormat()
+				.getPrefixName2PrefixMap()
+				.forEach(
+						(prefixName, namespace) -> {
+							final var name = prefixName.replace(":", "");
+							if (!name.isEmpty()) {
+								var node = this.root;
+								for (var i = 0; i < namespace.length(); i++) {
+									node = node.getOrAddChild(namespace.charAt(i));
+								}
+
+								node.schemaNamePrefix =
+										name + "-" + (node.schemaNamePrefix == null ? "" : node.schemaNamePrefix);
+							}
+						});
+	}
+
+	/**
+	 * Get the schema name of an IRI (e.g. of a class).
+	 *
+	 * @param iri the {@link IRI}
+	 * @return the schema name, prefixed with the prefix name(s) of the IRI's namespace (if any)
+	 */
+	public String getSchemaName(IRI iri) {
+		final var schemaName = this.schemaNames.get(iri);
+		if (schemaName != null) {
+			return schemaName;
+		}
+
+		final var resolvedName = this.resolveSchemaName(iri);
+		final var previousName = this.schemaNames.putIfAbsent(iri, resolvedName);
+		return previousName == null ? resolvedName : previousName;
+	}
+
+	private String resolveSchemaName(IRI iri) {
+		final var iriAsString = iri.toString();
+		final var shortForm = iri.getShortForm();
+
+		// The namespace is the IRI without its short form.
+		final var namespaceLength =
+				iriAsString.endsWith(shortForm)
+						? iriAsString.length() - shortForm.length()
+						: iriAsString.length();
+
+		var node = this.root;
+		for (var i = 0; i < namespaceLength && node != null; i++) {
+			node = node.getChild(iriAsString.charAt(i));
+		}
+
+		return node == null || node.schemaNamePrefix == null
+				? shortForm
+				: node.schemaNamePrefix + shortForm;
+	}
+}
@@ -0,0 +1,226 @@
+package edu.isi.oba.ontology.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/** Inverted index from a class to the data and object properties whose domain names it. */
+public class PropertyDomainIndex {
+
+	/**
+	 * An object property to be added to the schema of a class, along with its resolved ranges. A
+	 * sub-property inherits the domains and ranges of its top-level super-property, so the same
+	 * property may have one entry per top-level super-property.
+	 */
+	public static class ObjectPropertyEntry {
+		private final OWLObjectPropertyExpression property;
+		private final Set<OWLClass> ranges;
+		private final List<OWLClassExpression> complexRanges;
+
+		private ObjectPropertyEntry(
+				OWLObjectPropertyExpression property,
+				Set<OWLClass> ranges,
+				List<OWLClassExpression> complexRanges) {
+			this.property = property;
+			this.ranges = Collections.unmodifiableSet(ranges);
+			this.complexRanges = Collections.unmodifiableList(complexRanges);
+		}
+
+		/**
+		 * @return the {@link OWLObjectPropertyExpression}
+		 */
+		public OWLObjectPropertyExpression getProperty() {
+			return this.property;
+		}
+
+		/**
+		 * @return the {@link OWLClass} ranges of the property, including the inherited ones
+		 */
+		public Set<OWLClass> getRanges() {
+			return this.ranges;
+		}
+
+		/**
+		 * @return the unionOf/intersectionOf ranges of the property, which are treated like
+		 *     restrictions
+		 */
+		public List<OWLClassExpression> getComplexRanges() {
+			return this.complexRanges;
+		}
+	}
+
+	/** A data property to be added to the schema of a class, along with its ranges. */
+	public static class DataPropertyEntry {
+		private final OWLDataProperty property;
+		private final List<OWLDataRange> ranges;
+
+		private DataPropertyEntry(OWLDataProperty property, List<OWLDataRange> ranges) {
+			this.property = property;
+			this.ranges = Collections.unmodifiableList(ranges);
+		}
+
+		/**
+		 * @return the {@link OWLDataProperty}
+		 */
+		public OWLDataProperty getProperty() {
+			return this.property;
+		}
+
+		/**
+		 * @return the ranges of the property's range axioms, in axiom order
+		 */
+		public List<OWLDataRange> getRanges() {
+			return this.ranges;
+		}
+	}
+
+	private final ObjectPropertyHierarchy objectPropertyHierarchy;
+	private final Map<IRI, List<ObjectPropertyEntry>> objectPropertiesByDomain = new HashMap<>();
+	private final Map<IRI, List<DataPropertyEntry>> dataPropertiesByDomain = new HashMap<>();
+
+	/**
+	 * Build the index of an ontology.
+	 *
+	 * @param ontology the {@link OWLOntology} to index
+	 * @param reasoner the (precomputed) {@link OWLReasoner} of the ontology, used for the property
+	 *     hierarchies
+	 */
+	public PropertyDomainIndex(OWLOntology ontology, OWLReasoner reasoner) {
+		this.objectPropertyHierarchy = new ObjectPropertyHierarchy(ontology, reasoner);
+		this.indexObjectProperties();
+		this.indexDataProperties(ontology, reasoner);
+	}
+
+	/**
+	 * @return the {@link ObjectPropertyHierarchy} of the ontology, which the index was built from
+	 */
+	public ObjectPropertyHierarchy getObjectPropertyHierarchy() {
+		return this.objectPropertyHierarchy;
+	}
+
+	/**
+	 * Get the object properties of a class, i.e. those whose domain (or whose top-level
+	 * super-property's domain) is the class.
+	 *
+	 * @param owlClass the {@link OWLClass}
+	 * @return a {@link List} of {@link ObjectPropertyEntry}s, which is empty if there are none
+	 */
+	public List<ObjectPropertyEntry> getObjectProperties(OWLClass owlClass) {
+		return this.objectPropertiesByDomain.getOrDefault(owlClass.getIRI(), List.of());
+	}
+
+	/**
+	 * Get the data properties (and their sub-properties) whose domain includes the class.
+	 *
+	 * @param owlClass the {@link OWLClass}
+	 * @return a {@link List} of {@link DataPropertyEntry}s, which is empty if there are none
+	 */
+	public List<DataPropertyEntry> getDataProperties(OWLClass owlClass) {
+		return this.dataPropertiesByDomain.getOrDefault(owlClass.getIRI(), List.of());
+	}
+
+	private void indexObjectProperties() {
+		final var hierarchy = this.objectPropertyHierarchy;
+
+		for (final var topLevelId : hierarchy.getTopLevelProperties()) {
+			final var domains = new LinkedHashSet<IRI>(Arrays.asList(hierarchy.getDomains(topLevelId)));
+
+			// Keep track of all property ranges.  Even if the super-property has no domain, the ranges
+			// can be inherited by sub-properties which have a class as a domain.
+			final var objPropRanges =
+					new HashSet<OWLClass>(Arrays.asList(hierarchy.getRanges(topLevelId)));
+
+			this.addObjectPropertyEntry(
+					domains, this.createObjectPropertyEntry(topLevelId, objPropRanges));
+
+			// Loop through all sub-properties of this property.  They are added to a class which is the
+			// domain of either the sub-property or this property, and inherit this property's ranges.
+			for (final var subId : hierarchy.getSubProperties(topLevelId)) {
+				final var subObjPropDomains =
+						new LinkedHashSet<IRI>(Arrays.asList(hierarchy.getDomains(subId)));
+				subObjPropDomains.addAll(domains);
+
+				final var subObjPropRanges = new HashSet<OWLClass>();
+				subObjPropRanges.addAll(objPropRanges);
+				subObjPropRanges.addAll(Arrays.asList(hierarchy.getSubPropertyRanges(subId)));
+
+				this.addObjectPropertyEntry(
+						subObjPropDomains, this.createObjectPropertyEntry(subId, subObjPropRanges));
+			}
+		}
+	}
+
+	private ObjectPropertyEntry createObjectPropertyEntry(int id, Set<OWLClass> ranges) {
+		return new ObjectPropertyEntry(
+				this.objectPropertyHierarchy.getProperty(id),
+				ranges,
+				Arrays.asList(this.objectPropertyHierarchy.getComplexRanges(id)));
+	}
+
+	private void addObjectPropertyEntry(Set<IRI> domains, ObjectPropertyEntry entry) {
+		for (final var domain : domains) {
+			this.objectPropertiesByDomain.computeIfAbsent(domain, k -> new ArrayList<>()).add(entry);
+		}
+	}
+
+	private void indexDataProperties(OWLOntology ontology, OWLReasoner reasoner) {
+		final var dataPropDomainAxioms = new HashSet<OWLDataPropertyDomainAxiom>();
+		dataPropDomainAxioms.addAll(ontology.getAxioms(AxiomType.DATA_PROPERTY_DOMAIN));
+
+		final var entries = new HashMap<OWLDataProperty, DataPropertyEntry>();
+
+		for (final var dataPropDomainAx : dataPropDomainAxioms) {
+			// Get set of all data properties and subproperties.  (The domain can have data properties
+			// too, e.g. with a DataSomeValuesFrom, so they are collected into a new set.)
+			final var dataProperties = new LinkedHashSet<OWLDataProperty>();
+			for (final var topLevelDataProperty : dataPropDomainAx.getDataPropertiesInSignature()) {
+				dataProperties.add(topLevelDataProperty);
+				for (final var dataPropEx :
+						reasoner.getSubDataProperties(topLevelDataProperty, false).getFlattened()) {
+					// owl:bottomDataProperty
+					if (!dataPropEx.isOWLBottomDataProperty()) {
+						dataProperties.add(dataPropEx.asOWLDataProperty());
+					}
+				}
+			}
+
+			final var dataPropertyEntries = new ArrayList<DataPropertyEntry>();
+			for (final var dp : dataProperties) {
+				dataPropertyEntries.add(
+						entries.computeIfAbsent(
+								dp,
+								k ->
+										new DataPropertyEntry(
+												k,
+												ontology
+														.dataPropertyRangeAxioms(k)
+														.map(rangeAxiom -> rangeAxiom.getRange())
+														.collect(Collectors.toList()))));
+			}
+
+			// Every class in the domain's signature gets the properties.
+			for (final var domainClass : dataPropDomainAx.getDomain().getClassesInSignature()) {
+				this.dataPropertiesByDomain
+						.computeIfAbsent(domainClass.getIRI(), k -> new ArrayList<>())
+						.addAll(dataPropertyEntries);
+			}
+		}
+	}
+}
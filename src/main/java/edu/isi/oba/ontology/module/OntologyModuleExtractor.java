@@ -0,0 +1,166 @@
+package edu.isi.oba.ontology.module;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.modularity.ModuleExtractor;
+import org.semanticweb.owlapi.modularity.locality.LocalityClass;
+import org.semanticweb.owlapi.modularity.locality.SyntacticLocalityModuleExtractor;
+
+/**
+ * Extracts the part of the ontologies which the mapping of a set of (allowed) classes needs, so
+ * that the classes are mapped against much smaller ontologies.
+ *
+ * <p>The module is a syntactic (bottom) locality module, which holds the axioms of the classes and
+ * of their super classes. It is extended until nothing changes with what the mapping also reads:
+ * the properties whose domain is a class of the module (and their sub-properties, which inherit
+ * that domain), the ranges of those properties (which become referenced classes), and so on. The
+ * declarations and annotations of every entity of the module are kept as well.
+ *
+ * <p>Each module is a new ontology (in a new manager), with the same ontology ID, annotations, and
+ * document format (i.e. prefixes) as its ontology.
+ */
+public class OntologyModuleExtractor {
+
+	private OntologyModuleExtractor() {
+		throw new UnsupportedOperationException("Static utility class");
+	}
+
+	/**
+	 * Extract the module of each ontology for a set of classes.
+	 *
+	 * @param ontologies the {@link OWLOntology}s, whose classes may reference each other
+	 * @param seedClasses the {@link OWLClass}es to be mapped
+	 * @return a {@link Map} of each {@link OWLOntology} to its module
+	 * @throws OWLOntologyCreationException if a module ontology cannot be created
+	 */
+	public static Map<OWLOntology, OWLOntology> extractModules(
+			Collection<OWLOntology> ontologies, Set<OWLClass> seedClasses)
+			throws OWLOntologyCreationException {
+		final var extractors = new LinkedHashMap<OWLOntology, ModuleExtractor>();
+		final var logicalSignatures = new HashMap<OWLOntology, Set<OWLEntity>>();
+		for (final var ontology : ontologies) {
+			final var logicalAxioms =
+					ontology.axioms().filter(OWLAxiom::isLogicalAxiom).collect(Collectors.toList());
+			extractors.put(
+					ontology,
+					new SyntacticLocalityModuleExtractor(LocalityClass.BOTTOM, logicalAxioms.stream()));
+			logicalSignatures.put(
+					ontology,
+					logicalAxioms.stream().flatMap(OWLAxiom::signature).collect(Collectors.toSet()));
+		}
+
+		// A class of one ontology may be referenced by another one, so the signature is shared by all
+		// ontologies, and extended until no module adds to it.
+		final var signature = new HashSet<OWLEntity>(seedClasses);
+		final var moduleAxioms = new LinkedHashMap<OWLOntology, Set<OWLAxiom>>();
+		var changed = true;
+		while (changed) {
+			changed = false;
+			for (final var entry : extractors.entrySet()) {
+				final var ontology = entry.getKey();
+				// The extractor only accepts entities of its axioms (e.g. not those of another ontology).
+				final var ontologySignature = logicalSignatures.get(ontology);
+				final var axioms =
+						entry
+								.getValue()
+								.extract(signature.stream().filter(ontologySignature::contains))
+								.collect(Collectors.toSet());
+				moduleAxioms.put(ontology, axioms);
+
+				final var size = signature.size();
+				axioms.forEach(axiom -> axiom.signature().forEach(signature::add));
+				addMappedProperties(ontology, signature);
+				changed |= signature.size() > size;
+			}
+		}
+
+		final var signatureIRIs = signature.stream().map(OWLEntity::getIRI).collect(Collectors.toSet());
+		final var moduleManager = OWLManager.createConcurrentOWLOntologyManager();
+		final var modules = new LinkedHashMap<OWLOntology, OWLOntology>();
+		for (final var entry : moduleAxioms.entrySet()) {
+			final var ontology = entry.getKey();
+			final var module =
+					ontology.getOntologyID().isAnonymous()
+							? moduleManager.createOntology()
+							: moduleManager.createOntology(ontology.getOntologyID());
+
+			final List<OWLAxiom> axioms = new ArrayList<>(entry.getValue());
+			ontology
+					.axioms()
+					.filter(
+							axiom -> !axiom.isLogicalAxiom() && isAboutSignature(axiom, signature, signatureIRIs))
+					.forEach(axioms::add);
+			module.addAxioms(axioms);
+			ontology
+					.annotations()
+					.forEach(
+							annotation ->
+									moduleManager.applyChange(new AddOntologyAnnotation(module, annotation)));
+			moduleManager.setOntologyFormat(module, ontology.getFormat());
+
+			modules.put(ontology, module);
+		}
+
+		return modules;
+	}
+
+	/**
+	 * Add the properties mapped for the classes of the signature: the properties whose domain names
+	 * one of the classes, and the sub-properties of the properties of the signature.
+	 */
+	private static void addMappedProperties(OWLOntology ontology, Set<OWLEntity> signature) {
+		final var properties = new ArrayList<OWLEntity>();
+		ontology
+				.axioms(AxiomType.OBJECT_PROPERTY_DOMAIN)
+				.filter(axiom -> axiom.getProperty().isNamed())
+				.filter(axiom -> axiom.getDomain().classesInSignature().anyMatch(signature::contains))
+				.forEach(axiom -> properties.add(axiom.getProperty().asOWLObjectProperty()));
+		ontology
+				.axioms(AxiomType.DATA_PROPERTY_DOMAIN)
+				.filter(axiom -> axiom.getDomain().classesInSignature().anyMatch(signature::contains))
+				.forEach(axiom -> properties.add(axiom.getProperty().asOWLDataProperty()));
+		ontology
+				.axioms(AxiomType.SUB_OBJECT_PROPERTY)
+				.filter(axiom -> axiom.getSubProperty().isNamed())
+				.filter(axiom -> axiom.getSuperProperty().signature().anyMatch(signature::contains))
+				.forEach(axiom -> properties.add(axiom.getSubProperty().asOWLObjectProperty()));
+		ontology
+				.axioms(AxiomType.SUB_DATA_PROPERTY)
+				.filter(axiom -> signature.contains(axiom.getSuperProperty().asOWLDataProperty()))
+				.forEach(axiom -> properties.add(axiom.getSubProperty().asOWLDataProperty()));
+
+		signature.addAll(properties);
+	}
+
+	/** Whether a non-logical axiom (e.g. a declaration or annotation) is about the signature. */
+	private static boolean isAboutSignature(
+			OWLAxiom axiom, Set<OWLEntity> signature, Set<IRI> signatureIRIs) {
+		if (axiom instanceof OWLDeclarationAxiom) {
+			return signature.contains(((OWLDeclarationAxiom) axiom).getEntity());
+		} else if (axiom instanceof OWLAnnotationAssertionAxiom) {
+			final var subject = ((OWLAnnotationAssertionAxiom) axiom).getSubject();
+			return subject.isIRI() && signatureIRIs.contains((IRI) subject);
+		}
+
+		// Axioms of annotation properties (e.g. their domains and ranges) are kept.
+		return true;
+	}
+}
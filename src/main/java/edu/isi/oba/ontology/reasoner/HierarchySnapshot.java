@@ -0,0 +1,165 @@
+package edu.isi.oba.ontology.reasoner;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.InferenceDepth;
+import org.semanticweb.owlapi.reasoner.Node;
+import org.semanticweb.owlapi.reasoner.NodeSet;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Snapshot of the (precomputed) class, object property and data property hierarchies of a
+ * reasoner, for the named entities of its ontology (and its imports).
+ *
+ * <p>The snapshot is built once, before the reasoner is shared, and never changed afterwards, so
+ * the hierarchy queries it answers do not need to be serialized on the reasoner. Each query is
+ * keyed by its {@link OWLReasoner} {@link Method}, and answers all the variants of the query: with
+ * a {@code boolean}, an {@link InferenceDepth}, or no depth, and both the {@link Node} (or {@link
+ * NodeSet}) and the {@link Stream} of entities. The methods are looked up when the snapshot is
+ * built, so a renamed query fails there, instead of no longer being answered.
+ */
+final class HierarchySnapshot {
+	/** Returned by {@link #answer(Method, Object[])} for a query the snapshot does not answer. */
+	static final Object NOT_ANSWERED = new Object();
+
+	private final Map<Method, Function<Object[], Object>> queries = new HashMap<>();
+
+	/**
+	 * Take a snapshot of a precomputed reasoner's hierarchies.
+	 *
+	 * @param ontology the {@link OWLOntology} of the reasoner, whose named entities are included
+	 * @param reasoner the {@link OWLReasoner}, whose hierarchies are precomputed
+	 */
+	HierarchySnapshot(OWLOntology ontology, OWLReasoner reasoner) {
+		this.putNode("getTopClassNode", reasoner.getTopClassNode());
+		this.putNode("getBottomClassNode", reasoner.getBottomClassNode());
+		this.putNode("getTopObjectPropertyNode", reasoner.getTopObjectPropertyNode());
+		this.putNode("getBottomObjectPropertyNode", reasoner.getBottomObjectPropertyNode());
+		this.putNode("getTopDataPropertyNode", reasoner.getTopDataPropertyNode());
+		this.putNode("getBottomDataPropertyNode", reasoner.getBottomDataPropertyNode());
+
+		this.putNodeSets(
+				"getSubClasses",
+				OWLClassExpression.class,
+				ontology.classesInSignature(Imports.INCLUDED),
+				reasoner::getSubClasses);
+		this.putNodeSets(
+				"getSuperClasses",
+				OWLClassExpression.class,
+				ontology.classesInSignature(Imports.INCLUDED),
+				reasoner::getSuperClasses);
+		this.putNodeSets(
+				"getSubObjectProperties",
+				OWLObjectPropertyExpression.class,
+				ontology.objectPropertiesInSignature(Imports.INCLUDED),
+				reasoner::getSubObjectProperties);
+		this.putNodeSets(
+				"getSuperObjectProperties",
+				OWLObjectPropertyExpression.class,
+				ontology.objectPropertiesInSignature(Imports.INCLUDED),
+				reasoner::getSuperObjectProperties);
+		this.putNodeSets(
+				"getSubDataProperties",
+				OWLDataProperty.class,
+				ontology.dataPropertiesInSignature(Imports.INCLUDED),
+				reasoner::getSubDataProperties);
+		this.putNodeSets(
+				"getSuperDataProperties",
+				OWLDataProperty.class,
+				ontology.dataPropertiesInSignature(Imports.INCLUDED),
+				reasoner::getSuperDataProperties);
+	}
+
+	/** Answer a node query (e.g. {@code getTopClassNode()}), and its stream query. */
+	private void putNode(String query, Node<?> node) {
+		this.queries.put(getMethod(query), args -> node);
+		this.queries.put(getMethod(getStreamQuery(query)), args -> node.entities());
+	}
+
+	/**
+	 * Answer a node set query (e.g. {@code getSubClasses(...)}), with each depth argument, and its
+	 * stream queries. The queries without a depth return every sub (or super) entity.
+	 */
+	private <E extends OWLObject> void putNodeSets(
+			String query,
+			Class<?> entityType,
+			Stream<E> entities,
+			BiFunction<E, Boolean, NodeSet<?>> reasonerQuery) {
+		final var direct = new HashMap<OWLObject, NodeSet<?>>();
+		final var all = new HashMap<OWLObject, NodeSet<?>>();
+		entities.forEach(
+				entity -> {
+					direct.put(entity, reasonerQuery.apply(entity, true));
+					all.put(entity, reasonerQuery.apply(entity, false));
+				});
+
+		final Function<Object[], Map<OWLObject, NodeSet<?>>> byBoolean =
+				args -> (Boolean) args[1] ? direct : all;
+		final Function<Object[], Map<OWLObject, NodeSet<?>>> byDepth =
+				args -> ((InferenceDepth) args[1]).isDirectOnly() ? direct : all;
+		final Function<Object[], Map<OWLObject, NodeSet<?>>> byDefault = args -> all;
+
+		final var streamQuery = getStreamQuery(query);
+		this.putNodeSetQueries(query, streamQuery, byBoolean, entityType, boolean.class);
+		this.putNodeSetQueries(query, streamQuery, byDepth, entityType, InferenceDepth.class);
+		this.putNodeSetQueries(query, streamQuery, byDefault, entityType);
+	}
+
+	private void putNodeSetQueries(
+			String query,
+			String streamQuery,
+			Function<Object[], Map<OWLObject, NodeSet<?>>> nodeSetsOfDepth,
+			Class<?>... parameterTypes) {
+		final Function<Object[], NodeSet<?>> nodeSetQuery =
+				args -> nodeSetsOfDepth.apply(args).get(args[0]);
+		this.queries.put(
+				getMethod(query, parameterTypes),
+				args -> {
+					final var nodeSet = nodeSetQuery.apply(args);
+					return nodeSet == null ? NOT_ANSWERED : nodeSet;
+				});
+		this.queries.put(
+				getMethod(streamQuery, parameterTypes),
+				args -> {
+					final var nodeSet = nodeSetQuery.apply(args);
+					return nodeSet == null ? NOT_ANSWERED : nodeSet.entities();
+				});
+	}
+
+	/** Get the name of the stream query of a query (e.g. {@code subClasses} of getSubClasses). */
+	private static String getStreamQuery(String query) {
+		return Character.toLowerCase(query.charAt(3)) + query.substring(4);
+	}
+
+	private static Method getMethod(String query, Class<?>... parameterTypes) {
+		try {
+			return OWLReasoner.class.getMethod(query, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Unknown reasoner query:  " + query, e);
+		}
+	}
+
+	/**
+	 * Answer a hierarchy query of the {@link OWLReasoner} interface from the snapshot.
+	 *
+	 * @param method the {@link Method} of the query
+	 * @param args the arguments of the query
+	 * @return the query's {@link Node}, {@link NodeSet} or {@link Stream}, or {@link #NOT_ANSWERED}
+	 *     if the query is not a hierarchy query (or is about an entity, or class expression, not in
+	 *     the snapshot)
+	 */
+	Object answer(Method method, Object[] args) {
+		final var query = this.queries.get(method);
+		return query == null ? NOT_ANSWERED : query.apply(args);
+	}
+}
@@ -0,0 +1,126 @@
+package edu.isi.oba.ontology.reasoner;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Registry which shares a single, precomputed {@link OWLReasoner} per {@link OWLOntology}.
+ *
+ * <p>Creating a reasoner (and having it compute the class and property hierarchies) is expensive.
+ * Every class visited for an ontology uses the same hierarchies, so the reasoner is built once, the
+ * hierarchies are precomputed, and the same instance is handed out to every caller afterwards.
+ *
+ * <p>Ontologies are tracked by identity (and not {@link OWLOntology#equals(Object)}, which only
+ * compares ontology IDs), because the same ontology document may be loaded into different managers
+ * (e.g. one per configuration file).
+ *
+ * <p>The shared reasoner is safe to use from several mapping workers. The hierarchy queries about
+ * the ontology's named entities (and their stream variants) are answered from a {@link
+ * HierarchySnapshot}, taken once the hierarchies are precomputed, without a lock. The structural
+ * reasoner fills some of its caches lazily, so every other call is serialized on the underlying
+ * reasoner.
+ */
+public class ReasonerRegistry {
+	private static final Map<OWLOntology, OWLReasoner> reasoners = new IdentityHashMap<>();
+
+	private ReasonerRegistry() {
+		throw new UnsupportedOperationException("Static utility class");
+	}
+
+	/**
+	 * Get the shared reasoner for an ontology, creating (and precomputing) it on first use.
+	 *
+	 * @param ontology the {@link OWLOntology} to get the reasoner for
+	 * @return the shared {@link OWLReasoner} of the ontology
+	 */
+	public static OWLReasoner getReasoner(OWLOntology ontology) {
+		synchronized (reasoners) {
+			return reasoners.computeIfAbsent(ontology, ReasonerRegistry::createPrecomputedReasoner);
+		}
+	}
+
+	/**
+	 * Dispose of, and remove, the shared reasoner for an ontology (e.g. because the ontology was
+	 * changed or is no longer used). The next call to {@link #getReasoner(OWLOntology)} creates a new
+	 * one.
+	 *
+	 * @param ontology the {@link OWLOntology} whose reasoner should be released
+	 */
+	public static void release(OWLOntology ontology) {
+		final OWLReasoner reasoner;
+		synchronized (reasoners) {
+			reasoner = reasoners.remove(ontology);
+		}
+
+		if (reasoner != null) {
+			reasoner.dispose();
+		}
+	}
+
+	/** Dispose of, and remove, all shared reasoners. */
+	public static void clear() {
+		synchronized (reasoners) {
+			reasoners.values().forEach(OWLReasoner::dispose);
+			reasoners.clear();
+		}
+	}
+
+	private static OWLReasoner createPrecomputedReasoner(OWLOntology ontology) {
+		final var reasoner = ReasonerUtil.createReasoner(ontology);
+		reasoner.precomputeInferences(
+				InferenceType.CLASS_HIERARCHY,
+				InferenceType.OBJECT_PROPERTY_HIERARCHY,
+				InferenceType.DATA_PROPERTY_HIERARCHY);
+		return synchronizedReasoner(reasoner, new HierarchySnapshot(ontology, reasoner));
+	}
+
+	/**
+	 * Wrap a reasoner so that only one thread at a time may call it, except for the hierarchy queries
+	 * answered by its snapshot.
+	 *
+	 * @param reasoner the {@link OWLReasoner} to wrap
+	 * @param snapshot the {@link HierarchySnapshot} of the reasoner's hierarchies
+	 * @return an {@link OWLReasoner} which synchronizes every other call on the wrapped reasoner
+	 */
+	static OWLReasoner synchronizedReasoner(OWLReasoner reasoner, HierarchySnapshot snapshot) {
+		return (OWLReasoner)
+				Proxy.newProxyInstance(
+						OWLReasoner.class.getClassLoader(),
+						new Class<?>[] {OWLReasoner.class},
+						(proxy, method, args) -> {
+							// Keep identity semantics for the proxy itself.
+							switch (method.getName()) {
+								case "equals":
+									if (method.getParameterCount() == 1) {
+										return proxy == args[0];
+									}
+									break;
+								case "hashCode":
+									if (method.getParameterCount() == 0) {
+										return System.identityHashCode(proxy);
+									}
+									break;
+								default:
+									break;
+							}
+
+							final var answer = snapshot.answer(method, args);
+							if (answer != HierarchySnapshot.NOT_ANSWERED) {
+								return answer;
+							}
+
+							synchronized (reasoner) {
+								try {
+									return method.invoke(reasoner, args);
+								} catch (InvocationTargetException e) {
+									throw e.getCause();
+								}
+							}
+						});
+	}
+}
@@ -2,7 +2,9 @@ package edu.isi.oba.ontology.schema;
 
 import edu.isi.oba.MapperDataProperty;
 import io.swagger.v3.oas.models.media.Schema;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class DefaultPropertyFactory {
@@ -94,13 +96,16 @@ public class DefaultPropertyFactory {
 						});
 		MapperDataProperty.setNullableValueForPropertySchema(quantityPropertySchema, true);
 
-		return Map.ofEntries(
-				Map.entry(idPropertySchema.getName(), idPropertySchema),
-				Map.entry(labelPropertySchema.getName(), labelPropertySchema),
-				Map.entry(typePropertySchema.getName(), typePropertySchema),
-				Map.entry(descriptionPropertySchema.getName(), descriptionPropertySchema),
-				Map.entry(eventDateTimePropertySchema.getName(), eventDateTimePropertySchema),
-				Map.entry(isBoolPropertySchema.getName(), isBoolPropertySchema),
-				Map.entry(quantityPropertySchema.getName(), quantityPropertySchema));
+		// Keep the declared order (Map.ofEntries() iterates in a different order on each run), so the
+		// generated schemas are the same on every run.
+		final var defaultProperties = new LinkedHashMap<String, Schema>();
+		defaultProperties.put(idPropertySchema.getName(), idPropertySchema);
+		defaultProperties.put(labelPropertySchema.getName(), labelPropertySchema);
+		defaultProperties.put(typePropertySchema.getName(), typePropertySchema);
+		defaultProperties.put(descriptionPropertySchema.getName(), descriptionPropertySchema);
+		defaultProperties.put(eventDateTimePropertySchema.getName(), eventDateTimePropertySchema);
+		defaultProperties.put(isBoolPropertySchema.getName(), isBoolPropertySchema);
+		defaultProperties.put(quantityPropertySchema.getName(), quantityPropertySchema);
+		return Collections.unmodifiableMap(defaultProperties);
 	}
 }
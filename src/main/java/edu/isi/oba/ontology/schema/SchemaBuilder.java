@@ -4,6 +4,8 @@ import edu.isi.oba.MapperProperty;
 import edu.isi.oba.config.ConfigPropertyNames;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.exceptions.InvalidOntologyFormatException;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.index.PrefixIndex;
 import edu.isi.oba.utils.ontology.OntologyDescriptionUtils;
 import io.swagger.v3.oas.models.media.Schema;
 import java.util.*;
@@ -43,7 +45,8 @@ public class SchemaBuilder {
 	}
 
 	/**
-	 * Generates a prefixed schema name for an OWL class using ontology prefix mappings.
+	 * Generates a prefixed schema name for an OWL class using ontology prefix mappings (which are
+	 * indexed once per ontology, see {@link PrefixIndex}).
 	 *
 	 * @param owlClass The OWL class whose name is to be prefixed.
 	 * @param ontology The ontology containing prefix mappings.
@@ -52,29 +55,7 @@ public class SchemaBuilder {
 	 */
 	public static String getPrefixedSchemaName(OWLClass owlClass, OWLOntology ontology)
 			throws InvalidOntologyFormatException {
-		final var classIRI = owlClass.getIRI();
-		final var classIRIAsString = classIRI.toString();
-		final var classPrefix = classIRIAsString.replaceAll(classIRI.getShortForm() + "$", "");
-
-		var prefixedSchemaName = classIRI.getShortForm();
-
-		final var format = ontology.getOWLOntologyManager().getOntologyFormat(ontology);
-		if (format != null && format.isPrefixOWLDocumentFormat()) {
-			final var map = format.asPrefixOWLDocumentFormat().getPrefixName2PrefixMap();
-			for (final var entry : map.entrySet()) {
-				if (entry.getValue().equals(classPrefix)) {
-					final var prefixName = entry.getKey().replaceAll(":", "");
-					if (!"".equals(prefixName)) {
-						prefixedSchemaName = prefixName + "-" + prefixedSchemaName;
-					}
-				}
-			}
-		} else {
-			throw new InvalidOntologyFormatException(
-					"Ontology has an invalid or null prefix document format. Unable to proceed.");
-		}
-
-		return prefixedSchemaName;
+		return OntologyIndexRegistry.getPrefixIndex(ontology).getSchemaName(owlClass.getIRI());
 	}
 
 	/**
@@ -4,6 +4,7 @@ import edu.isi.oba.MapperProperty;
 import edu.isi.oba.config.ConfigPropertyNames;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.ontology.annotation.markdown.MarkdownAnnotationProcessor;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
 import edu.isi.oba.ontology.visitor.VisitorContext;
 import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
@@ -15,9 +16,7 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import org.semanticweb.owlapi.model.ClassExpressionType;
 import org.semanticweb.owlapi.model.OWLClass;
-import org.semanticweb.owlapi.search.EntitySearcher;
 
 public class SchemaOrchestrator {
 	private final Logger logger;
@@ -159,21 +158,12 @@ public class SchemaOrchestrator {
 			final var superClasses = new HashSet<OWLClass>(this.context.getProcessedClasses());
 			superClasses.remove(this.context.getBaseClass());
 
-			// Make a copy of the super classes.  Loop through all super classes and remove any
-			// super-super-classes that are being inherited by a nearer/more direct super class to the
-			// base class.
+			// Make a copy of the super classes, and remove any super-super-classes that are being
+			// inherited by a nearer/more direct super class to the base class.
 			final var directSuperClasses = new HashSet<OWLClass>(superClasses);
-			for (OWLClass superClassA : superClasses) {
-				for (OWLClass superClassB : superClasses) {
-					if (!superClassA.equals(superClassB)
-							&& this.context
-									.getReasoner()
-									.getSuperClasses(superClassA, false)
-									.containsEntity(superClassB)) {
-						directSuperClasses.remove(superClassB);
-					}
-				}
-			}
+			OntologyIndexRegistry.getClassHierarchyIndex(
+							this.context.getBaseClassOntology(), this.context.getReasoner())
+					.removeAncestors(directSuperClasses);
 
 			// Add all direct superclasses to allOf list.
 			directSuperClasses.stream()
@@ -199,61 +189,34 @@ public class SchemaOrchestrator {
 	}
 
 	private void pruneUnusedReferencedClasses() {
-		for (final var refClass : new HashSet<OWLClass>(this.context.getReferencedClasses())) {
-			// Indicator that referenced class has one or more equivalent classes.
-			final boolean hasEquivalentClasses =
-					EntitySearcher.getEquivalentClasses(refClass, this.context.getBaseClassOntology()).count()
-							> 0;
+		if (this.context.getReferencedClasses().isEmpty()) {
+			return;
+		}
 
-			// Indicator that referenced class has (subclass) properties.
-			boolean hasSubClassProperties = false;
+		final var classUsageIndex =
+				OntologyIndexRegistry.getClassUsageIndex(this.context.getBaseClassOntology());
 
-			// Indicator that referenced class is the range class for one or more object properties.
-			boolean isDomainForDataProperty = false;
+		// The classes in the ranges of the object properties of the base class.
+		final Map<String, Schema> classProperties = this.schema.getProperties();
+		final var objectPropertyRanges =
+				classUsageIndex.getObjectPropertyRanges(
+						classProperties == null ? Set.of() : classProperties.keySet());
 
-			// Indicator that referenced class is the range class for one or more object properties.
-			boolean isRangeForObjectProperty = false;
+		for (final var refClass : new HashSet<OWLClass>(this.context.getReferencedClasses())) {
+			// Indicator that referenced class has one or more equivalent classes.
+			final boolean hasEquivalentClasses = classUsageIndex.hasEquivalentClasses(refClass);
 
-			// Look for all subclass axioms where the expression type is not an OWL CLass (i.e. it is a
-			// restriction).  This means there is an axiom indicating a "subclass of" property
+			// Indicator that referenced class has (subclass) properties, i.e. a "subclass of" property
 			// restriction is declared for the class.
-			for (final var ax :
-					this.context.getBaseClassOntology().getSubClassAxiomsForSubClass(refClass)) {
-				for (final var nce : ax.getNestedClassExpressions()) {
-
-					if (!nce.getClassExpressionType().equals(ClassExpressionType.OWL_CLASS)) {
-						hasSubClassProperties = true;
-					}
-				}
-			}
+			final boolean hasSubClassProperties = classUsageIndex.hasSubClassRestrictions(refClass);
 
-			// Look at all data properties.  If any of them contain a domain which is the current
-			// referenced class, then set flag to keep the reference class to true.
-			for (final var op : this.context.getBaseClassOntology().getDataPropertiesInSignature()) {
-				for (final var dataPropDomainAx :
-						this.context.getBaseClassOntology().getDataPropertyDomainAxioms(op)) {
-					if (dataPropDomainAx.getClassesInSignature().contains(refClass)) {
-						isDomainForDataProperty = true;
-					}
-				}
-			}
+			// Indicator that referenced class is the domain class for one or more data properties.
+			final boolean isDomainForDataProperty = classUsageIndex.isDataPropertyDomain(refClass);
 
-			final Map<String, Schema> classProperties = this.schema.getProperties();
-
-			// Look at all object properties for the base class.  If any of them contain a range which is
-			// the current referenced class, then set flag to keep the reference class to true.
-			for (final var op : this.context.getBaseClassOntology().getObjectPropertiesInSignature()) {
-				if (classProperties != null && classProperties.containsKey(op.getIRI().getShortForm())) {
-					for (final var objPropRangeAx :
-							this.context
-									.getBaseClassOntology()
-									.getObjectPropertyRangeAxioms(op.asObjectPropertyExpression())) {
-						if (objPropRangeAx.getClassesInSignature().contains(refClass)) {
-							isRangeForObjectProperty = true;
-						}
-					}
-				}
-			}
+			// Indicator that referenced class is the range class for one or more object properties of
+			// the base class.
+			final boolean isRangeForObjectProperty =
+					classUsageIndex.isObjectPropertyRange(refClass, objectPropertyRanges);
 
 			// If the referenced class is empty and not actually referenced (e.g. it may have been nested
 			// or a super class), the remove it.
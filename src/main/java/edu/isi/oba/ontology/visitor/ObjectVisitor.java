@@ -9,6 +9,8 @@ import edu.isi.oba.config.YamlConfig;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.exceptions.OntologyVisitorException;
 import edu.isi.oba.ontology.annotation.AnnotationProcessor;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.index.PropertyDomainIndex;
 import edu.isi.oba.ontology.restrictions.RestrictionClassifier;
 import edu.isi.oba.ontology.restrictions.RestrictionKind;
 import edu.isi.oba.ontology.schema.SchemaBuilder;
@@ -23,7 +25,6 @@ import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLBooleanClassExpression;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -37,7 +38,6 @@ import org.semanticweb.owlapi.model.OWLDataMaxCardinality;
 import org.semanticweb.owlapi.model.OWLDataMinCardinality;
 import org.semanticweb.owlapi.model.OWLDataOneOf;
 import org.semanticweb.owlapi.model.OWLDataProperty;
-import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDataRange;
 import org.semanticweb.owlapi.model.OWLDataRestriction;
 import org.semanticweb.owlapi.model.OWLDataSomeValuesFrom;
@@ -62,7 +62,6 @@ import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLRestriction;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
-import org.semanticweb.owlapi.reasoner.InferenceDepth;
 import org.semanticweb.owlapi.search.EntitySearcher;
 
 /** Visits existential restrictions and collects the properties which are restricted. */
@@ -71,6 +70,10 @@ public class ObjectVisitor implements OWLObjectVisitor {
 	// private final OWLClass owlClass;
 	private final VisitorContext context;
 
+	// Sizes of the visited class, for the run report.
+	private int visitedAxiomCount = 0;
+	private int restrictionCount = 0;
+
 	/**
 	 * Constructor for ObjectVisitor.
 	 *
@@ -134,6 +137,21 @@ public class ObjectVisitor implements OWLObjectVisitor {
 		return this.context.getReferencedClasses();
 	}
 
+	/**
+	 * Get all the classes visited for the base class: the base class, its (processed) super classes
+	 * and restriction classes, and the classes it references.
+	 *
+	 * @return a {@link Set} of {@link OWLClass}
+	 */
+	public Set<OWLClass> getVisitedClasses() {
+		final var visitedClasses = new HashSet<OWLClass>();
+		visitedClasses.add(this.context.getBaseClass());
+		visitedClasses.addAll(this.context.getProcessedClasses());
+		visitedClasses.addAll(this.context.getProcessedRestrictionClasses());
+		visitedClasses.addAll(this.context.getReferencedClasses());
+		return visitedClasses;
+	}
+
 	/**
 	 * Get all the classes referenced directly or indirectly (potentially through inheritance) by the
 	 * base class.
@@ -145,6 +163,25 @@ public class ObjectVisitor implements OWLObjectVisitor {
 		return this.context.getMarkdownGenerationMap();
 	}
 
+	/**
+	 * Get the number of subclass and equivalent class axioms visited for the base class (and its
+	 * super classes).
+	 *
+	 * @return the number of axioms
+	 */
+	public int getVisitedAxiomCount() {
+		return this.visitedAxiomCount;
+	}
+
+	/**
+	 * Get the number of restrictions visited for the base class (and its super classes).
+	 *
+	 * @return the number of restrictions
+	 */
+	public int getRestrictionCount() {
+		return this.restrictionCount;
+	}
+
 	/**
 	 * @param ce an {@link OWLClass} to be visited by this {@link ObjectVisitor} class.
 	 */
@@ -168,9 +205,11 @@ public class ObjectVisitor implements OWLObjectVisitor {
 			if (this.context.getBaseClassOntology().containsClassInSignature(ce.getIRI())) {
 				// If it has subclass axioms, then loop through each to accept visits for all super
 				// classes.
+				// Sorted, because the ontology does not return the axioms in the same order on every load.
 				this.context
 						.getBaseClassOntology()
 						.subClassAxiomsForSubClass(ce)
+						.sorted()
 						.forEach(
 								ax -> {
 									// Only traverse super classes for inheriting properties.  Restrictions handled
@@ -242,12 +281,15 @@ public class ObjectVisitor implements OWLObjectVisitor {
 			this.context
 					.getBaseClassOntology()
 					.subClassAxiomsForSubClass(owlClass)
+					.sorted()
 					.forEach(
 							ax -> {
 								OWLClassExpression superClass = ax.getSuperClass();
+								this.visitedAxiomCount++;
 
 								// Set property name if it's a restriction
 								if (superClass instanceof OWLRestriction) {
+									this.restrictionCount++;
 									final var property =
 											superClass instanceof OWLObjectRestriction
 													? ((OWLObjectRestriction) superClass).getProperty().asOWLObjectProperty()
@@ -292,7 +334,12 @@ public class ObjectVisitor implements OWLObjectVisitor {
 			this.context
 					.getBaseClassOntology()
 					.equivalentClassesAxioms(owlClass)
-					.forEach(eqClsAx -> eqClsAx.accept(this));
+					.sorted()
+					.forEach(
+							eqClsAx -> {
+								this.visitedAxiomCount++;
+								eqClsAx.accept(this);
+							});
 		}
 	}
 
@@ -536,201 +583,20 @@ public class ObjectVisitor implements OWLObjectVisitor {
 		// Object property map to return
 		final var objPropertiesMap = new HashMap<String, Schema>();
 
-		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
-		// Loop through all top-level object properties of this class's ontology.
-		this.context
-				.getReasoner()
-				.subObjectProperties(
-						this.context.getReasoner().getTopObjectPropertyNode().getRepresentativeElement(),
-						InferenceDepth.DIRECT)
-				.filter(objPropExpr -> !objPropExpr.isBottomEntity() && objPropExpr.isOWLObjectProperty())
-				.forEach(
-						(objPropExpr) -> {
-							var isOwlClassDomainOfObjProp = false;
-
-							// Check property contains this owlClass as a domain.
-							for (final var objPropDomainAx :
-									this.context.getBaseClassOntology().getObjectPropertyDomainAxioms(objPropExpr)) {
-								final var domain = objPropDomainAx.getDomain();
-								if (domain.isOWLClass()) {
-									if (owlClass.equals(domain)) {
-										isOwlClassDomainOfObjProp = true;
-									}
-								} else if (domain instanceof OWLObjectUnionOf) {
-									for (final var domainOperand : ((OWLObjectUnionOf) domain).getOperands()) {
-										if (owlClass.equals(domainOperand)) {
-											isOwlClassDomainOfObjProp = true;
-										}
-									}
-								} else {
-									logger.severe(
-											"\t  The object property domain axiom \""
-													+ objPropDomainAx
-													+ "\" has an unknown domain type \""
-													+ domain
-													+ "\" !!");
-								}
-							}
-
-							final var objPropRanges = new HashSet<OWLClass>();
-
-							// Keep track of all property ranges.  Even if the super-property has no domain, the
-							// ranges can be inherited by sub-properties which have this owlClass as a domain.
-							for (final var objPropRangeAx :
-									this.context.getBaseClassOntology().getObjectPropertyRangeAxioms(objPropExpr)) {
-								final var range = objPropRangeAx.getRange();
-
-								// Only handle ranges which are OWLClass objects
-								if (range.isOWLClass()) {
-									objPropRanges.add(range.asOWLClass());
-								} else if (range instanceof OWLObjectUnionOf
-										|| range instanceof OWLObjectIntersectionOf) {
-									// This will be ignored temporarily, until the object property schema is created
-								} else {
-									logger.severe(
-											"\t  The object property range axiom \""
-													+ objPropRangeAx
-													+ "\" has an unknown range type \""
-													+ range
-													+ "\" !!");
-								}
-							}
-
-							// If this (sub-)property (under owl:topObjectProperty) has a domain of the current
-							// owlClass, then get its schema.
-							if (isOwlClassDomainOfObjProp) {
-								final var propertyName = objPropExpr.asOWLObjectProperty().getIRI().getShortForm();
-
-								// Save object property schema to class's schema.
-								objPropertiesMap.put(
-										propertyName, this.getObjectPropertySchema(objPropExpr, objPropRanges));
-
-								this.context.withProcessedProperty(
-										propertyName,
-										() -> {
-											for (final var objPropRangeAx :
-													this.context
-															.getBaseClassOntology()
-															.getObjectPropertyRangeAxioms(objPropExpr)) {
-												final var range = objPropRangeAx.getRange();
-
-												// For complex ranges which are unions or intersections, treat like a
-												// restriction.
-												if (range instanceof OWLObjectUnionOf
-														|| range instanceof OWLObjectIntersectionOf) {
-													range.accept(this);
-												}
-											}
-										});
-							}
-
-							// ==========================================================================================
-							// Junky workaround to use variable within the stream() below.
-							final var isOwlClassDomainOfObjPropFinal = isOwlClassDomainOfObjProp;
-
-							// Loop through all sub-properties of this property.
-							this.context
-									.getReasoner()
-									.subObjectProperties(objPropExpr, InferenceDepth.ALL)
-									.filter(
-											subObjPropExpr ->
-													!subObjPropExpr.isBottomEntity() && subObjPropExpr.isOWLObjectProperty())
-									.forEach(
-											(subObjPropExpr) -> {
-												var isOwlClassDomainOfSubObjProp = false;
-
-												// Check sub-property's domain(s) and inherit from its super-property.
-												// Check property contains this owlClass as a domain.
-												for (final var subObjPropDomainAx :
-														this.context
-																.getBaseClassOntology()
-																.getObjectPropertyDomainAxioms(subObjPropExpr)) {
-													final var domain = subObjPropDomainAx.getDomain();
-													if (domain.isOWLClass()) {
-														if (owlClass.equals(domain)) {
-															isOwlClassDomainOfSubObjProp = true;
-														}
-													} else if (domain instanceof OWLObjectUnionOf) {
-														for (final var domainOperand :
-																((OWLObjectUnionOf) domain).getOperands()) {
-															if (owlClass.equals(domainOperand)) {
-																isOwlClassDomainOfSubObjProp = true;
-															}
-														}
-													} else {
-														logger.severe(
-																"\t  The object property domain axiom \""
-																		+ subObjPropDomainAx
-																		+ "\" has an unknown domain type \""
-																		+ domain
-																		+ "\" !!");
-													}
-												}
+		// Loop through all (sub-)properties which have this owlClass as a domain, or whose top-level
+		// super-property does.  Their ranges (including inherited ones) are already resolved.
+		for (final var objPropEntry : this.getPropertyDomainIndex().getObjectProperties(owlClass)) {
+			final var objPropExpr = objPropEntry.getProperty();
+			final var propertyName = objPropExpr.asOWLObjectProperty().getIRI().getShortForm();
 
-												final var subObjPropRanges = new HashSet<OWLClass>();
-												subObjPropRanges.addAll(objPropRanges);
-
-												// Check sub-property's range(s) and inherit from its super-property.
-												for (final var subObjPropRangeAx :
-														this.context
-																.getBaseClassOntology()
-																.getObjectPropertyRangeAxioms(subObjPropExpr)) {
-													final var range = subObjPropRangeAx.getRange();
-													if (range.isOWLClass()) {
-														subObjPropRanges.add(range.asOWLClass());
-													} else if (range instanceof OWLObjectUnionOf) {
-														for (final var rangeOperand :
-																((OWLObjectUnionOf) range).getOperands()) {
-															subObjPropRanges.add(rangeOperand.asOWLClass());
-														}
-													} else if (range instanceof OWLObjectUnionOf
-															|| range instanceof OWLObjectIntersectionOf) {
-														// This will be ignored temporarily, until the object property schema is
-														// created
-													} else {
-														logger.severe(
-																"\t  The object property range axiom \""
-																		+ subObjPropRangeAx
-																		+ "\" has an unknown range type \""
-																		+ range
-																		+ "\" !!");
-													}
-												}
+			// Save object property schema to class's schema.
+			objPropertiesMap.put(
+					propertyName, this.getObjectPropertySchema(objPropExpr, objPropEntry.getRanges()));
 
-												// If this (sub-)property (under owl:topObjectProperty) has a domain of the
-												// current owlClass, then get its schema.
-												if (isOwlClassDomainOfSubObjProp || isOwlClassDomainOfObjPropFinal) {
-													final var propertyName =
-															subObjPropExpr.asOWLObjectProperty().getIRI().getShortForm();
-
-													// Save object property schema to class's schema.
-													objPropertiesMap.put(
-															propertyName,
-															this.getObjectPropertySchema(subObjPropExpr, subObjPropRanges));
-
-													this.context.withProcessedProperty(
-															propertyName,
-															() -> {
-																for (final var subObjPropRangeAx :
-																		this.context
-																				.getBaseClassOntology()
-																				.getObjectPropertyRangeAxioms(subObjPropExpr)) {
-																	final var range = subObjPropRangeAx.getRange();
-
-																	// For complex ranges which are unions or intersections, treat
-																	// like a
-																	// restriction.
-																	if (range instanceof OWLObjectUnionOf
-																			|| range instanceof OWLObjectIntersectionOf) {
-																		range.accept(this);
-																	}
-																}
-															});
-												}
-											});
-							// ==========================================================================================
-						});
-		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+			// For complex ranges which are unions or intersections, treat like a restriction.
+			this.context.withProcessedProperty(
+					propertyName, () -> objPropEntry.getComplexRanges().forEach(range -> range.accept(this)));
+		}
 
 		return objPropertiesMap;
 	}
@@ -743,162 +609,140 @@ public class ObjectVisitor implements OWLObjectVisitor {
 	 * @return a {@link Map} of the data property name keys and their associated {@link Schema}s.
 	 */
 	private Map<String, Schema> getDataPropertySchemasForClass(OWLClass owlClass) {
-		final var dataPropDomainAxioms = new HashSet<OWLDataPropertyDomainAxiom>();
-		dataPropDomainAxioms.addAll(
-				this.context.getBaseClassOntology().getAxioms(AxiomType.DATA_PROPERTY_DOMAIN));
-
 		// Data property map to return
 		final var dataPropertiesMap = new HashMap<String, Schema>();
 
-		// For the class's properties, check each axiom where the axiom's domain is a class AND the
-		// current class equals the domain.
-		dataPropDomainAxioms.stream()
-				.filter(
-						dataPropDomainAx ->
-								dataPropDomainAx.getDomain().getClassesInSignature().contains(owlClass))
+		// For the class's properties, check each data (sub)property whose domain includes the current
+		// class, and generate its schema.
+		this.getPropertyDomainIndex()
+				.getDataProperties(owlClass)
 				.forEach(
-						(dataPropDomainAx) -> {
-							// Get set of all data properties and subproperties.
-							final var dataProperties = dataPropDomainAx.getDataPropertiesInSignature();
-							for (final var topLevelDataProperty : dataProperties) {
-								for (final var dataPropEx :
-										this.context
-												.getReasoner()
-												.getSubDataProperties(topLevelDataProperty, false)
-												.getFlattened()) {
-									// owl:bottomDataProperty
-									if (!dataPropEx.isOWLBottomDataProperty()) {
-										dataProperties.add(dataPropEx.asOWLDataProperty());
-									}
-								}
-							}
-
-							// Loop through each data (sub)property and generate its schema
-							for (final var dp : dataProperties) {
-								final var propertyName = dp.getIRI().getShortForm();
-								this.context.addPropertyName(propertyName);
-								this.context.withProcessedProperty(
-										propertyName,
-										() -> {
-											logger.info("\thas property:  \"" + propertyName + "\"");
-
-											final var propertyRanges = new HashSet<String>();
-											final var complexDataRanges = new HashSet<OWLDataRange>();
-											this.context
-													.getBaseClassOntology()
-													.dataPropertyRangeAxioms(dp)
-													.forEach(
-															(dataPropRangeAxiom) -> {
-																if (dataPropRangeAxiom.getRange() instanceof OWLDatatype) {
-																	propertyRanges.add(
-																			((OWLDatatype) dataPropRangeAxiom.getRange())
-																					.getIRI()
-																					.getShortForm());
-																} else if (dataPropRangeAxiom.getRange() instanceof OWLDataUnionOf
-																		|| dataPropRangeAxiom.getRange()
-																				instanceof OWLDataIntersectionOf
-																		|| dataPropRangeAxiom.getRange() instanceof OWLDataOneOf
-																		|| dataPropRangeAxiom.getRange()
-																				instanceof OWLDataComplementOf) {
-																	logger.info(
-																			"\t\t...has complex range -> proceeding to its restrictions"
-																					+ " immediately...");
-																	dataPropRangeAxiom.getRange().accept(this);
-																} else {
-																	complexDataRanges.add(dataPropRangeAxiom.getRange());
-																}
-															});
+						(dataPropEntry) -> {
+							final var dp = dataPropEntry.getProperty();
+							final var propertyName = dp.getIRI().getShortForm();
+							this.context.addPropertyName(propertyName);
+							this.context.withProcessedProperty(
+									propertyName,
+									() -> {
+										logger.info("\thas property:  \"" + propertyName + "\"");
+
+										final var propertyRanges = new HashSet<String>();
+										final var complexDataRanges = new HashSet<OWLDataRange>();
+										dataPropEntry
+												.getRanges()
+												.forEach(
+														(dataPropRange) -> {
+															if (dataPropRange instanceof OWLDatatype) {
+																propertyRanges.add(
+																		((OWLDatatype) dataPropRange).getIRI().getShortForm());
+															} else if (dataPropRange instanceof OWLDataUnionOf
+																	|| dataPropRange instanceof OWLDataIntersectionOf
+																	|| dataPropRange instanceof OWLDataOneOf
+																	|| dataPropRange instanceof OWLDataComplementOf) {
+																logger.info(
+																		"\t\t...has complex range -> proceeding to its restrictions"
+																				+ " immediately...");
+																dataPropRange.accept(this);
+															} else {
+																complexDataRanges.add(dataPropRange);
+															}
+														});
 
-											// Check the ranges.  Output relevant info.  May not be necessary.
-											if (propertyRanges.isEmpty()) {
-												logger.warning(
-														"\t\tProperty \"" + dp.getIRI() + "\" has range equals zero.");
-											} else {
-												logger.info("\t\tProperty range(s): " + propertyRanges);
-
-												try {
-													final var propertyDescription =
-															OntologyDescriptionUtils.getDescription(
-																			dp,
-																			this.context.getBaseClassOntology(),
-																			GlobalFlags.getFlag(ConfigPropertyNames.DEFAULT_DESCRIPTIONS))
-																	.orElse(null);
-
-													// In cases, such as unionOf/intersectionOf/oneOf , the property schema
-													// may
-													// already be set.  Get it, if so.
-													var dataPropertySchema =
-															this.context.getClassSchema().getProperties() == null
-																	? null
-																	: (Schema)
-																			this.context
-																					.getClassSchema()
-																					.getProperties()
-																					.get(propertyName);
-
-													// Workaround for handling unionOf/intersectionOf/oneOf cases which may be
-													// set
-													// already above.
-													if (dataPropertySchema == null) {
-														// Get data property schema from mapper.
-														dataPropertySchema =
-																MapperDataProperty.createDataPropertySchema(
-																		propertyName, propertyDescription, propertyRanges);
-													} else {
-														// These do not get set properly because the
-														// unionOf/intersectionOf/oneOf
-														// property schema was not created via
-														// MapperDataProperty.createDataPropertySchema().
-														MapperDataProperty.setSchemaName(dataPropertySchema, propertyName);
-														MapperDataProperty.setSchemaDescription(
-																dataPropertySchema, propertyDescription);
-													}
-
-													// If property is functional, set the schema accordingly.
-													if (EntitySearcher.isFunctional(
-															dp,
-															Collections.singleton(this.context.getBaseClassOntology())
-																	.stream())) {
-														logger.info(
-																"\t\tProperty is functional.  Therefore, required with a max of 1"
-																		+ " item.");
-														this.context.addFunctionalProperty(propertyName);
-														this.context.addRequiredProperty(propertyName);
-														MapperDataProperty.setFunctionalForPropertySchema(dataPropertySchema);
-													}
-
-													AnnotationProcessor.applyEntityAnnotations(
-															dataPropertySchema,
-															dp,
-															this.context.getBaseClassOntology(),
-															this.context.getConfigData().getAnnotationConfig());
-
-													// Save object property schema to class's schema.
-													dataPropertiesMap.put(dataPropertySchema.getName(), dataPropertySchema);
-
-													// For any complex property ranges, traverse.  This will grab restrictions
-													// also.
-													//  There is no good way for this situation to grab only the types in this
-													// situation.
-													if (!complexDataRanges.isEmpty()) {
-														complexDataRanges.forEach(
-																(dataRange) -> {
-																	dataRange.accept(this);
-																});
-													}
-												} catch (Exception e) {
-													e.printStackTrace();
+										// Check the ranges.  Output relevant info.  May not be necessary.
+										if (propertyRanges.isEmpty()) {
+											logger.warning("\t\tProperty \"" + dp.getIRI() + "\" has range equals zero.");
+										} else {
+											logger.info("\t\tProperty range(s): " + propertyRanges);
+
+											try {
+												final var propertyDescription =
+														OntologyDescriptionUtils.getDescription(
+																		dp,
+																		this.context.getBaseClassOntology(),
+																		GlobalFlags.getFlag(ConfigPropertyNames.DEFAULT_DESCRIPTIONS))
+																.orElse(null);
+
+												// In cases, such as unionOf/intersectionOf/oneOf , the property schema
+												// may
+												// already be set.  Get it, if so.
+												var dataPropertySchema =
+														this.context.getClassSchema().getProperties() == null
+																? null
+																: (Schema)
+																		this.context.getClassSchema().getProperties().get(propertyName);
+
+												// Workaround for handling unionOf/intersectionOf/oneOf cases which may be
+												// set
+												// already above.
+												if (dataPropertySchema == null) {
+													// Get data property schema from mapper.
+													dataPropertySchema =
+															MapperDataProperty.createDataPropertySchema(
+																	propertyName, propertyDescription, propertyRanges);
+												} else {
+													// These do not get set properly because the
+													// unionOf/intersectionOf/oneOf
+													// property schema was not created via
+													// MapperDataProperty.createDataPropertySchema().
+													MapperDataProperty.setSchemaName(dataPropertySchema, propertyName);
+													MapperDataProperty.setSchemaDescription(
+															dataPropertySchema, propertyDescription);
+												}
+
+												// If property is functional, set the schema accordingly.
+												if (EntitySearcher.isFunctional(
+														dp,
+														Collections.singleton(this.context.getBaseClassOntology()).stream())) {
+													logger.info(
+															"\t\tProperty is functional.  Therefore, required with a max of 1"
+																	+ " item.");
+													this.context.addFunctionalProperty(propertyName);
+													this.context.addRequiredProperty(propertyName);
+													MapperDataProperty.setFunctionalForPropertySchema(dataPropertySchema);
 												}
+
+												AnnotationProcessor.applyEntityAnnotations(
+														dataPropertySchema,
+														dp,
+														this.context.getBaseClassOntology(),
+														this.context.getConfigData().getAnnotationConfig());
+
+												// Save object property schema to class's schema.
+												dataPropertiesMap.put(dataPropertySchema.getName(), dataPropertySchema);
+
+												// For any complex property ranges, traverse.  This will grab restrictions
+												// also.
+												//  There is no good way for this situation to grab only the types in this
+												// situation.
+												if (!complexDataRanges.isEmpty()) {
+													complexDataRanges.forEach(
+															(dataRange) -> {
+																dataRange.accept(this);
+															});
+												}
+											} catch (Exception e) {
+												e.printStackTrace();
 											}
+										}
 
-											logger.info("");
-										});
-							}
+										logger.info("");
+									});
 						});
 
 		return dataPropertiesMap;
 	}
 
+	/**
+	 * Get the shared index of the properties (and their ranges) for each domain class of the base
+	 * class's ontology.
+	 *
+	 * @return the {@link PropertyDomainIndex} of the base class's ontology
+	 */
+	private PropertyDomainIndex getPropertyDomainIndex() {
+		return OntologyIndexRegistry.getPropertyDomainIndex(
+				this.context.getBaseClassOntology(), this.context.getReasoner());
+	}
+
 	/** ================== Restrictions traversals ================== */
 	@Override
 	public void visit(@Nonnull OWLEquivalentClassesAxiom ax) {
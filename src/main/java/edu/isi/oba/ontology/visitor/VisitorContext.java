@@ -2,7 +2,7 @@ package edu.isi.oba.ontology.visitor;
 
 import edu.isi.oba.config.YamlConfig;
 import edu.isi.oba.exceptions.OntologyVisitorException;
-import edu.isi.oba.ontology.reasoner.ReasonerUtil;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
 import edu.isi.oba.ontology.schema.SchemaBuilder;
 import io.swagger.v3.oas.models.media.Schema;
 import java.util.*;
@@ -33,7 +33,7 @@ public class VisitorContext implements OwlVisitorContext {
 	/** The OpenAPI schema being built for the base class. */
 	private Schema classSchema;
 
-	/** Reasoner used for ontology inference. */
+	/** Reasoner used for ontology inference (shared by all contexts of the same ontology). */
 	private OWLReasoner reasoner;
 
 	/** The top-level OWL class (usually owl:Thing). */
@@ -89,7 +89,9 @@ public class VisitorContext implements OwlVisitorContext {
 
 		this.validateConstructorArguments();
 
-		this.reasoner = ReasonerUtil.createReasoner(this.baseClassOntology);
+		// The reasoner is shared by every class of the ontology, so its hierarchies are only computed
+		// once.
+		this.reasoner = ReasonerRegistry.getReasoner(this.baseClassOntology);
 		this.owlThing = this.reasoner.getTopClassNode().getRepresentativeElement();
 
 		this.classSchema =
@@ -0,0 +1,34 @@
+package edu.isi.oba.report;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event of mapping a class to its schema. */
+@Name("edu.isi.oba.ClassMapping")
+@Label("OBA Class Mapping")
+@Category("OBA")
+@Description("Mapping an ontology class to its schema")
+class ClassMappingEvent extends jdk.jfr.Event {
+	@Label("Class")
+	String owlClass;
+
+	@Label("Cached")
+	@Description("Whether the schema was taken from the schema cache")
+	boolean cached;
+
+	@Label("Axioms")
+	int axiomCount;
+
+	@Label("Properties")
+	int propertyCount;
+
+	@Label("Restrictions")
+	int restrictionCount;
+
+	@Label("Allocated")
+	@DataAmount
+	long allocatedBytes;
+}
@@ -0,0 +1,16 @@
+package edu.isi.oba.report;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event of a phase of a run of OBA (e.g. loading the ontologies, or mapping the classes). */
+@Name("edu.isi.oba.Phase")
+@Label("OBA Phase")
+@Category("OBA")
+@Description("A phase of generating the OpenAPI specification")
+class PhaseEvent extends jdk.jfr.Event {
+	@Label("Name")
+	String name;
+}
@@ -0,0 +1,384 @@
+package edu.isi.oba.report;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import edu.isi.oba.utils.file.FileWriterUtils;
+import io.swagger.v3.core.util.Json;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import org.semanticweb.owlapi.model.OWLClass;
+
+/**
+ * Timings of a run of OBA: the time (and bytes allocated) of each phase, and of mapping each class
+ * to its schema, with the number of axioms, properties, and restrictions of the class. The report
+ * is written as {@value #REPORT_FILE_NAME} next to the OpenAPI specification, to find the phases
+ * and classes which dominate a run.
+ *
+ * <p>There is one report per run, like the {@link edu.isi.oba.config.flags.GlobalFlags}. Nothing is
+ * recorded until {@link #start(String)} is called, so the instrumented classes may also be used by
+ * tests and benchmarks. Each phase and class is also emitted as a JFR event ({@link PhaseEvent} and
+ * {@link ClassMappingEvent}), which is only recorded while a flight recording is running (e.g. with
+ * {@code java -XX:StartFlightRecording=filename=oba.jfr ...}).
+ *
+ * <p>Allocated bytes are those of the thread which ran the phase (or mapped the class), so the
+ * allocations of the mapping workers are only part of the classes' entries.
+ */
+public final class RunReport {
+	public static final String REPORT_FILE_NAME = "run-report.json";
+
+	private static volatile Report current;
+
+	private RunReport() {
+		throw new UnsupportedOperationException("Static utility class");
+	}
+
+	/**
+	 * Start recording a new report, replacing the current one (if any).
+	 *
+	 * @param configFile the path of the configuration file of the run
+	 */
+	public static void start(String configFile) {
+		current = new Report(configFile);
+	}
+
+	/** Stop recording, and discard the current report. */
+	public static void clear() {
+		current = null;
+	}
+
+	/**
+	 * @return whether a report is being recorded
+	 */
+	public static boolean isStarted() {
+		return current != null;
+	}
+
+	/**
+	 * Start timing a phase of the run. Use the phase as the resource of a try-with-resources
+	 * statement (e.g. {@code final var phase = RunReport.phase("mapping"); try (phase) { ... }}), so
+	 * the phase is recorded when it ends.
+	 *
+	 * @param name the name of the phase
+	 * @return the {@link Phase}, which records the phase when closed
+	 */
+	public static Phase phase(String name) {
+		return new Phase(name);
+	}
+
+	/**
+	 * Start timing the mapping of a class. Record it with {@link ClassMapping#finish(boolean, int,
+	 * int, int)} once the class is mapped (by the same thread).
+	 *
+	 * @param owlClass the {@link OWLClass} being mapped
+	 * @return the {@link ClassMapping}
+	 */
+	public static ClassMapping startClass(OWLClass owlClass) {
+		return new ClassMapping(owlClass);
+	}
+
+	/**
+	 * @return the timings of the phases recorded so far, in the order they ended
+	 */
+	public static List<PhaseTiming> getPhases() {
+		final var report = current;
+		return report == null ? List.of() : List.copyOf(report.phases);
+	}
+
+	/**
+	 * @return the timings of the classes mapped so far, slowest first
+	 */
+	public static List<ClassTiming> getClasses() {
+		final var report = current;
+		return report == null ? List.of() : report.getSortedClasses();
+	}
+
+	/**
+	 * Write the current report (if any) to a file.
+	 *
+	 * @param file the {@link Path} of the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(Path file) throws IOException {
+		final var report = current;
+		if (report == null) {
+			return;
+		}
+
+		FileWriterUtils.writeFileAtomically(
+				file,
+				outputStream ->
+						Json.mapper().writerWithDefaultPrettyPrinter().writeValue(outputStream, report));
+	}
+
+	/**
+	 * Get the number of bytes allocated by the current thread, if the JVM supports measuring it.
+	 *
+	 * @return the number of bytes, or -1 if it cannot be measured
+	 */
+	static long getCurrentThreadAllocatedBytes() {
+		final var threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			final var allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+			if (allocationMXBean.isThreadAllocatedMemorySupported()
+					&& allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+				return allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return -1;
+	}
+
+	private static long getAllocatedBytesSince(long allocatedBytesAtStart) {
+		if (allocatedBytesAtStart < 0) {
+			return -1;
+		}
+
+		final var allocatedBytes = getCurrentThreadAllocatedBytes();
+		return allocatedBytes < 0 ? -1 : allocatedBytes - allocatedBytesAtStart;
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000d;
+	}
+
+	/** A phase of the run, which is recorded when closed. */
+	public static final class Phase implements AutoCloseable {
+		private final String name;
+		private final Report report;
+		private final PhaseEvent event = new PhaseEvent();
+		private final long startNanos;
+		private final long allocatedBytesAtStart;
+
+		private Phase(String name) {
+			this.name = name;
+			this.report = current;
+			this.event.begin();
+			this.startNanos = System.nanoTime();
+			this.allocatedBytesAtStart = this.report == null ? -1 : getCurrentThreadAllocatedBytes();
+		}
+
+		@Override
+		public void close() {
+			final var timeNanos = System.nanoTime() - this.startNanos;
+
+			this.event.end();
+			if (this.event.shouldCommit()) {
+				this.event.name = this.name;
+				this.event.commit();
+			}
+
+			if (this.report != null) {
+				this.report.phases.add(
+						new PhaseTiming(
+								this.name,
+								toMillis(timeNanos),
+								getAllocatedBytesSince(this.allocatedBytesAtStart)));
+			}
+		}
+	}
+
+	/** The mapping of a class, which is recorded when finished. */
+	public static final class ClassMapping {
+		private final OWLClass owlClass;
+		private final Report report;
+		private final ClassMappingEvent event = new ClassMappingEvent();
+		private final long startNanos;
+		private final long allocatedBytesAtStart;
+
+		private ClassMapping(OWLClass owlClass) {
+			this.owlClass = owlClass;
+			this.report = current;
+			this.event.begin();
+			this.startNanos = System.nanoTime();
+			this.allocatedBytesAtStart = getCurrentThreadAllocatedBytes();
+		}
+
+		/**
+		 * Record the mapping of the class.
+		 *
+		 * @param cached whether the schema was taken from the schema cache
+		 * @param axiomCount the number of (subclass and equivalent class) axioms visited
+		 * @param propertyCount the number of properties of the schema
+		 * @param restrictionCount the number of restrictions visited
+		 */
+		public void finish(boolean cached, int axiomCount, int propertyCount, int restrictionCount) {
+			final var timeNanos = System.nanoTime() - this.startNanos;
+			final var allocatedBytes = getAllocatedBytesSince(this.allocatedBytesAtStart);
+
+			this.event.end();
+			if (this.event.shouldCommit()) {
+				this.event.owlClass = this.owlClass.getIRI().toString();
+				this.event.cached = cached;
+				this.event.axiomCount = axiomCount;
+				this.event.propertyCount = propertyCount;
+				this.event.restrictionCount = restrictionCount;
+				this.event.allocatedBytes = allocatedBytes;
+				this.event.commit();
+			}
+
+			if (this.report != null) {
+				this.report.classes.add(
+						new ClassTiming(
+								this.owlClass.getIRI().toString(),
+								cached,
+								toMillis(timeNanos),
+								allocatedBytes,
+								axiomCount,
+								propertyCount,
+								restrictionCount));
+			}
+		}
+	}
+
+	/** The time and allocated bytes of a phase. */
+	@JsonPropertyOrder({"name", "time_ms", "allocated_bytes"})
+	public static final class PhaseTiming {
+		@JsonProperty("name")
+		private final String name;
+
+		@JsonProperty("time_ms")
+		private final double timeMillis;
+
+		@JsonProperty("allocated_bytes")
+		private final long allocatedBytes;
+
+		private PhaseTiming(String name, double timeMillis, long allocatedBytes) {
+			this.name = name;
+			this.timeMillis = timeMillis;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public double getTimeMillis() {
+			return this.timeMillis;
+		}
+
+		public long getAllocatedBytes() {
+			return this.allocatedBytes;
+		}
+	}
+
+	/** The time, allocated bytes, and size of the mapping of a class. */
+	@JsonPropertyOrder({
+		"class",
+		"cached",
+		"time_ms",
+		"allocated_bytes",
+		"axioms",
+		"properties",
+		"restrictions"
+	})
+	public static final class ClassTiming {
+		@JsonProperty("class")
+		private final String owlClass;
+
+		@JsonProperty("cached")
+		private final boolean cached;
+
+		@JsonProperty("time_ms")
+		private final double timeMillis;
+
+		@JsonProperty("allocated_bytes")
+		private final long allocatedBytes;
+
+		@JsonProperty("axioms")
+		private final int axiomCount;
+
+		@JsonProperty("properties")
+		private final int propertyCount;
+
+		@JsonProperty("restrictions")
+		private final int restrictionCount;
+
+		private ClassTiming(
+				String owlClass,
+				boolean cached,
+				double timeMillis,
+				long allocatedBytes,
+				int axiomCount,
+				int propertyCount,
+				int restrictionCount) {
+			this.owlClass = owlClass;
+			this.cached = cached;
+			this.timeMillis = timeMillis;
+			this.allocatedBytes = allocatedBytes;
+			this.axiomCount = axiomCount;
+			this.propertyCount = propertyCount;
+			this.restrictionCount = restrictionCount;
+		}
+
+		public String getOwlClass() {
+			return this.owlClass;
+		}
+
+		public boolean isCached() {
+			return this.cached;
+		}
+
+		public double getTimeMillis() {
+			return this.timeMillis;
+		}
+
+		public long getAllocatedBytes() {
+			return this.allocatedBytes;
+		}
+
+		public int getAxiomCount() {
+			return this.axiomCount;
+		}
+
+		public int getPropertyCount() {
+			return this.propertyCount;
+		}
+
+		public int getRestrictionCount() {
+			return this.restrictionCount;
+		}
+	}
+
+	/** The contents of the report file. */
+	@JsonPropertyOrder({"config", "started", "total_time_ms", "phases", "classes"})
+	private static final class Report {
+		@JsonProperty("config")
+		private final String configFile;
+
+		@JsonProperty("started")
+		private final String started = Instant.now().toString();
+
+		private final long startNanos = System.nanoTime();
+
+		@JsonProperty("phases")
+		private final List<PhaseTiming> phases = new ArrayList<>();
+
+		private final ConcurrentLinkedQueue<ClassTiming> classes = new ConcurrentLinkedQueue<>();
+
+		private Report(String configFile) {
+			this.configFile = configFile;
+		}
+
+		@JsonProperty("total_time_ms")
+		private double getTotalTimeMillis() {
+			return toMillis(System.nanoTime() - this.startNanos);
+		}
+
+		@JsonProperty("classes")
+		private List<ClassTiming> getSortedClasses() {
+			return this.classes.stream()
+					.sorted(
+							Comparator.comparingDouble(ClassTiming::getTimeMillis)
+									.reversed()
+									.thenComparing(ClassTiming::getOwlClass))
+					.collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package edu.isi.oba.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Thread-safe memoization cache which holds at most a given number of entries, evicting the least
+ * recently used one when full. It counts its hits and misses, to see whether it is large enough.
+ *
+ * <p>Values are computed outside of the lock, so a slow computation does not block the other
+ * threads. Two threads missing the same key at once may both compute it, so the function should be
+ * deterministic (as the string transforms of {@link StringUtils} are).
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the (non-null) values
+ */
+public final class BoundedCache<K, V> {
+	private final Map<K, V> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedCache(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+		}
+
+		this.entries =
+				new LinkedHashMap<>(16, 0.75f, true) {
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+						return this.size() > maximumSize;
+					}
+				};
+	}
+
+	/**
+	 * Get the value of a key, computing (and caching) it if it is not cached.
+	 *
+	 * @param key the key
+	 * @param function the {@link Function} which computes the (non-null) value of a key
+	 * @return the value
+	 */
+	public V get(K key, Function<? super K, ? extends V> function) {
+		synchronized (this.entries) {
+			final var value = this.entries.get(key);
+			if (value != null) {
+				this.hits.increment();
+				return value;
+			}
+		}
+
+		this.misses.increment();
+		final V value = function.apply(key);
+		synchronized (this.entries) {
+			this.entries.put(key, value);
+		}
+
+		return value;
+	}
+
+	/**
+	 * @return the number of cached entries
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * @return the number of lookups which found their value in the cache
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups which had to compute their value
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/** Remove all entries, and reset the counters. */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+		}
+
+		this.hits.reset();
+		this.misses.reset();
+	}
+}
@@ -0,0 +1,69 @@
+package edu.isi.oba.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility class for the SHA-256 digests which key OBA's caches (e.g. of schemas, downloaded
+ * ontologies, and ontology snapshots), and which name the generated files.
+ */
+public class DigestUtils {
+	private DigestUtils() {
+		throw new UnsupportedOperationException("Static utility class");
+	}
+
+	/**
+	 * @return a new SHA-256 {@link MessageDigest}
+	 */
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Add a value, as a line of UTF-8 text, to a digest.
+	 *
+	 * @param digest the {@link MessageDigest}
+	 * @param value the value
+	 */
+	public static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	/**
+	 * @param file the {@link Path} of a file
+	 * @return the SHA-256 digest of the file's content, in lower-case hexadecimal
+	 * @throws IOException if the file cannot be read
+	 */
+	public static String digestFile(Path file) throws IOException {
+		final var digest = newDigest();
+		try (final var stream = new DigestInputStream(Files.newInputStream(file), digest)) {
+			stream.transferTo(OutputStream.nullOutputStream());
+		}
+
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * @param bytes a digest
+	 * @return the digest in lower-case hexadecimal
+	 */
+	public static String toHex(byte[] bytes) {
+		final var hex = new StringBuilder(bytes.length * 2);
+		for (final var b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+}
@@ -1,27 +1,50 @@
 package edu.isi.oba.utils;
 
-import java.util.LinkedHashMap;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
 import rita.RiTa;
 
+/**
+ * Utility class for the string transforms of schema, property, and path names: kebab/camel/Pascal
+ * casing, and (English) pluralization and singularization with RiTa.
+ *
+ * <p>The same names are transformed again and again (e.g. once per schema and operation type), and
+ * RiTa is slow, so the pluralization, singularization, and kebab-casing of a name are memoized in
+ * {@link BoundedCache}s. Words which RiTa inflects wrongly (e.g. domain vocabulary) may be given in
+ * an inflection dictionary, which is used instead of RiTa.
+ */
 public class StringUtils {
-	private static final String UPPERCASE_BEFORE_LOWERCASE_BOUNDARY = "\\B([A-Z])(?=[a-z])";
+	// Order of the replacements is important.
+	private static final Pattern UPPERCASE_BEFORE_LOWERCASE_BOUNDARY =
+			Pattern.compile("\\B([A-Z])(?=[a-z])");
 	private static final String PASCAL_TO_KEBAB_UPPERCASE_BEFORE_LOWERCASE_REPLACEMENT = "-$1";
-	private static final String PASCAL_WORD_BOUNDARY = "\\B([a-z0-9])([A-Z])";
+	private static final Pattern PASCAL_WORD_BOUNDARY = Pattern.compile("\\B([a-z0-9])([A-Z])");
 	private static final String PASCAL_TO_KEBAB_WORD_BOUNDARY_REPLACEMENT = "$1-$2";
-	private static final String CAMEL_CASE_BOUNDARY = "-(.)";
-	private static final Map<String, String> PASCAL_TO_KEBAB_REGEX_TO_REPLACEMENT =
-			new LinkedHashMap<>() {
-				{
-					// Order of put() calls is important, which is why using LinkedHashMap!
-					put(
-							UPPERCASE_BEFORE_LOWERCASE_BOUNDARY,
-							PASCAL_TO_KEBAB_UPPERCASE_BEFORE_LOWERCASE_REPLACEMENT);
-					put(PASCAL_WORD_BOUNDARY, PASCAL_TO_KEBAB_WORD_BOUNDARY_REPLACEMENT);
-					put("Ph-D-", "PhD-");
-				}
-			};
+	private static final String PASCAL_TO_KEBAB_PHD = "Ph-D-";
+	private static final String PASCAL_TO_KEBAB_PHD_REPLACEMENT = "PhD-";
+	private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile("-(.)");
+
+	/** Maximum number of names memoized by each transform. */
+	public static final int TRANSFORM_CACHE_SIZE = 8192;
+
+	private static final BoundedCache<String, String> plurals =
+			new BoundedCache<>(TRANSFORM_CACHE_SIZE);
+	private static final BoundedCache<String, String> singulars =
+			new BoundedCache<>(TRANSFORM_CACHE_SIZE);
+	private static final BoundedCache<String, String> kebabCases =
+			new BoundedCache<>(TRANSFORM_CACHE_SIZE);
+
+	/** Plural of each word of the inflection dictionary (and of each of their plurals). */
+	private static volatile Map<String, String> dictionaryPlurals = Map.of();
+
+	/** Singular of each word of the inflection dictionary (and of each of their singulars). */
+	private static volatile Map<String, String> dictionarySingulars = Map.of();
 
 	private StringUtils() {
 		throw new UnsupportedOperationException("Static utility class");
@@ -38,13 +61,19 @@ public class StringUtils {
 			return str;
 		}
 
-		for (final var entry : PASCAL_TO_KEBAB_REGEX_TO_REPLACEMENT.entrySet()) {
-			final var regex = entry.getKey();
-			final var replacement = entry.getValue();
-			str = str.replaceAll(regex, replacement);
-		}
+		return kebabCases.get(str, StringUtils::toKebabCase);
+	}
 
-		return str.toLowerCase();
+	private static String toKebabCase(String str) {
+		var kebabCase =
+				UPPERCASE_BEFORE_LOWERCASE_BOUNDARY
+						.matcher(str)
+						.replaceAll(PASCAL_TO_KEBAB_UPPERCASE_BEFORE_LOWERCASE_REPLACEMENT);
+		kebabCase =
+				PASCAL_WORD_BOUNDARY
+						.matcher(kebabCase)
+						.replaceAll(PASCAL_TO_KEBAB_WORD_BOUNDARY_REPLACEMENT);
+		return kebabCase.replace(PASCAL_TO_KEBAB_PHD, PASCAL_TO_KEBAB_PHD_REPLACEMENT).toLowerCase();
 	}
 
 	/**
@@ -58,9 +87,7 @@ public class StringUtils {
 			return str;
 		}
 
-		return Pattern.compile(CAMEL_CASE_BOUNDARY)
-				.matcher(str)
-				.replaceAll(mr -> mr.group(1).toUpperCase());
+		return CAMEL_CASE_BOUNDARY.matcher(str).replaceAll(mr -> mr.group(1).toUpperCase());
 	}
 
 	/**
@@ -92,7 +119,12 @@ public class StringUtils {
 		// TODO: The language/locale would need to be set as a configuration value and passed into this
 		// class somehow.
 
-		return RiTa.pluralize(str);
+		return plurals.get(str, StringUtils::pluralize);
+	}
+
+	private static String pluralize(String str) {
+		final var plural = dictionaryPlurals.get(str);
+		return plural == null ? RiTa.pluralize(str) : plural;
 	}
 
 	public static String getLowerCasePluralOf(String str) {
@@ -117,7 +149,12 @@ public class StringUtils {
 		// TODO: The language/locale would need to be set as a configuration value and passed into this
 		// class somehow.
 
-		return RiTa.singularize(str);
+		return singulars.get(str, StringUtils::singularize);
+	}
+
+	private static String singularize(String str) {
+		final var singular = dictionarySingulars.get(str);
+		return singular == null ? RiTa.singularize(str) : singular;
 	}
 
 	public static String getLowerCaseSingularOf(String str) {
@@ -128,6 +165,79 @@ public class StringUtils {
 		return StringUtils.getSingularOf(str.toLowerCase());
 	}
 
+	/**
+	 * Set the inflection dictionary, whose words are pluralized and singularized as given instead of
+	 * by RiTa. The memoized plurals and singulars are cleared if the dictionary changed, and kept
+	 * otherwise (e.g. when each configuration of a batch has the same dictionary, or none).
+	 *
+	 * @param singularToPlural a {@link Map} of the singular of each word to its plural (matched
+	 *     case-sensitively)
+	 */
+	public static synchronized void setInflectionDictionary(Map<String, String> singularToPlural) {
+		final var pluralOf = new HashMap<String, String>();
+		final var singularOf = new HashMap<String, String>();
+		singularToPlural.forEach(
+				(singular, plural) -> {
+					// A plural's plural (and a singular's singular) is itself, which tells whether a word is
+					// plural.
+					pluralOf.put(singular, plural);
+					pluralOf.put(plural, plural);
+					singularOf.put(plural, singular);
+					singularOf.putIfAbsent(singular, singular);
+				});
+
+		if (pluralOf.equals(dictionaryPlurals) && singularOf.equals(dictionarySingulars)) {
+			return;
+		}
+
+		dictionaryPlurals = Map.copyOf(pluralOf);
+		dictionarySingulars = Map.copyOf(singularOf);
+		plurals.clear();
+		singulars.clear();
+	}
+
+	/**
+	 * Load the inflection dictionary from a YAML (or JSON) file, which maps the singular of each word
+	 * to its plural (e.g. {@code person: people}). See {@link #setInflectionDictionary(Map)}.
+	 *
+	 * @param file the {@link Path} of the dictionary file
+	 * @throws IOException if the file cannot be read or is not a map of words
+	 */
+	public static void loadInflectionDictionary(Path file) throws IOException {
+		final Map<String, String> singularToPlural =
+				new ObjectMapper(new YAMLFactory())
+						.readValue(file.toFile(), new TypeReference<Map<String, String>>() {});
+		setInflectionDictionary(singularToPlural == null ? Map.of() : singularToPlural);
+	}
+
+	/**
+	 * @return the plural of each word of the inflection dictionary (and of each of their plurals)
+	 */
+	public static Map<String, String> getInflectionDictionary() {
+		return dictionaryPlurals;
+	}
+
+	/** Clear the memoized transforms (and their hit and miss counters). */
+	public static void clearTransformCaches() {
+		plurals.clear();
+		singulars.clear();
+		kebabCases.clear();
+	}
+
+	/**
+	 * @return the number of transforms which were memoized
+	 */
+	public static long getTransformCacheHits() {
+		return plurals.getHits() + singulars.getHits() + kebabCases.getHits();
+	}
+
+	/**
+	 * @return the number of transforms which had to be computed
+	 */
+	public static long getTransformCacheMisses() {
+		return plurals.getMisses() + singulars.getMisses() + kebabCases.getMisses();
+	}
+
 	public static String insertCharBetweenLowerAndUpper(String text, char charToInsert) {
 		if (text == null || text.isBlank()) {
 			return text;
@@ -1,11 +1,13 @@
 package edu.isi.oba.utils.cli;
 
 import edu.isi.oba.utils.exithandler.FatalErrorHandler;
+import java.util.List;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionGroup;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
@@ -16,24 +18,125 @@ public class CliUtils {
 	}
 
 	public static String getYamlConfigFileArgument(String[] args) {
+		final var cmd = parseArguments(args);
+		return cmd == null ? null : cmd.getOptionValue("config");
+	}
+
+	/**
+	 * Get the configuration files of the command line. Several files (e.g. {@code -c a.yaml b.yaml},
+	 * or {@code -c a.yaml -c b.yaml}) are generated in batch mode.
+	 *
+	 * @param args the command line arguments
+	 * @return the paths of the configuration files, in the given order (empty if not given)
+	 */
+	public static List<String> getYamlConfigFilesArgument(String[] args) {
+		final var cmd = parseArguments(args);
+		if (cmd == null || !cmd.hasOption("config")) {
+			return List.of();
+		}
+
+		return List.of(cmd.getOptionValues("config"));
+	}
+
+	/**
+	 * Get the number of mapping workers from the command line, which overrides the value in the
+	 * configuration file.
+	 *
+	 * @param args the command line arguments
+	 * @return the number of mapping workers, or {@code null} if not given (or invalid)
+	 */
+	public static Integer getMappingWorkersArgument(String[] args) {
+		final var cmd = parseArguments(args);
+		if (cmd == null || !cmd.hasOption("workers")) {
+			return null;
+		}
+
+		try {
+			final var workers = Integer.parseInt(cmd.getOptionValue("workers"));
+			if (workers > 0) {
+				return workers;
+			}
+		} catch (NumberFormatException e) {
+			// Handled below.
+		}
+
+		FatalErrorHandler.fatal(
+				"Number of mapping workers must be a positive integer:  " + cmd.getOptionValue("workers"));
+		return null;
+	}
+
+	/**
+	 * Whether to keep running after generating the specification, and generate it again each time the
+	 * configuration file or a local ontology file changes.
+	 *
+	 * @param args the command line arguments
+	 * @return whether watch mode is enabled
+	 */
+	public static boolean getWatchArgument(String[] args) {
+		final var cmd = parseArguments(args);
+		return cmd != null && cmd.hasOption("watch");
+	}
+
+	/**
+	 * Get the port of the local generation server (see {@link edu.isi.oba.GenerationServer}), which
+	 * is used instead of a configuration file.
+	 *
+	 * @param args the command line arguments
+	 * @return the port, or {@code null} if not given (or invalid)
+	 */
+	public static Integer getServerPortArgument(String[] args) {
+		final var cmd = parseArguments(args);
+		if (cmd == null || !cmd.hasOption("server")) {
+			return null;
+		}
+
+		try {
+			final var port = Integer.parseInt(cmd.getOptionValue("server"));
+			if (port >= 0 && port <= 65535) {
+				return port;
+			}
+		} catch (NumberFormatException e) {
+			// Handled below.
+		}
+
+		FatalErrorHandler.fatal(
+				"Server port must be between 0 and 65535:  " + cmd.getOptionValue("server"));
+		return null;
+	}
+
+	private static CommandLine parseArguments(String[] args) {
 		// obtain the options to pass configuration
 		Options options = new Options();
-		Option input = new Option("c", "config", true, "configuration file path");
-		input.setRequired(true);
-		options.addOption(input);
+		Option input = new Option("c", "config", true, "configuration file path(s)");
+		input.setArgs(Option.UNLIMITED_VALUES);
+		Option server =
+				new Option("s", "server", true, "port of a local server generating specifications");
+
+		// Either a configuration file, or a server which is sent the configurations.
+		OptionGroup inputGroup = new OptionGroup();
+		inputGroup.addOption(input);
+		inputGroup.addOption(server);
+		inputGroup.setRequired(true);
+		options.addOptionGroup(inputGroup);
+		options.addOption(
+				new Option("w", "workers", true, "number of workers mapping classes to schemas"));
+		options.addOption(
+				new Option(
+						"W",
+						"watch",
+						false,
+						"regenerate the specification when the configuration or ontology files change"));
 
 		CommandLineParser parser = new DefaultParser();
 		HelpFormatter formatter = new HelpFormatter();
-		CommandLine cmd;
-		String config_yaml = null;
+		CommandLine cmd = null;
 
 		try {
 			cmd = parser.parse(options, args);
-			config_yaml = cmd.getOptionValue("config");
 		} catch (ParseException e) {
 			FatalErrorHandler.fatal("utiConfiguration filelity-name", e);
 		}
 
-		return config_yaml;
+		return cmd;
 	}
 }
@@ -18,6 +18,20 @@ public class FatalErrorHandler {
 		}
 	}
 
+	/**
+	 * Replace the exit handler, e.g. so that a fatal error only ends the current run in watch mode.
+	 *
+	 * @param handler the new {@link ExitHandler}
+	 * @return the previous {@link ExitHandler}
+	 */
+	public static ExitHandler setExitHandler(ExitHandler handler) {
+		final var previousHandler = exitHandler;
+		if (handler != null) {
+			exitHandler = handler;
+		}
+		return previousHandler;
+	}
+
 	public static void fatal(String message) {
 		RuntimeException ex = new RuntimeException(message);
 		fatal(message, ex);
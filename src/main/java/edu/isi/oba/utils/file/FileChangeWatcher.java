@@ -0,0 +1,163 @@
+package edu.isi.oba.utils.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a set of files for changes, with a {@link WatchService} on the directories containing
+ * them.
+ *
+ * <p>Saving a file often produces a burst of events (e.g. an editor writing a temporary file and
+ * renaming it over the original, or a tool writing several files). The changes are therefore
+ * debounced: {@link #awaitChanges()} waits for a change to a watched file, then until no watched
+ * file has changed for the debounce delay, and returns every file which changed meanwhile.
+ *
+ * <p>A watcher is used by a single thread.
+ */
+public class FileChangeWatcher implements Closeable {
+	private final WatchService watchService;
+	private final long debounceNanos;
+	private final Map<Path, WatchKey> directoryKeys = new HashMap<>();
+	private final Set<Path> watchedFiles = new HashSet<>();
+
+	/**
+	 * Create a watcher, which watches no file until {@link #watch(Set)} is called.
+	 *
+	 * @param debounce the delay without changes after which the changes are returned
+	 * @throws IOException if the watch service cannot be created
+	 */
+	public FileChangeWatcher(Duration debounce) throws IOException {
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.debounceNanos = debounce.toNanos();
+	}
+
+	/**
+	 * Watch a set of files, instead of the files watched so far. A file does not need to exist (yet),
+	 * but its directory does.
+	 *
+	 * @param files the {@link Set} of file {@link Path}s to watch
+	 * @throws IOException if the directory of a file cannot be watched
+	 */
+	public void watch(Set<Path> files) throws IOException {
+		final var normalizedFiles = new HashSet<Path>();
+		for (final var file : files) {
+			normalizedFiles.add(normalize(file));
+		}
+
+		final var directories = new HashSet<Path>();
+		for (final var file : normalizedFiles) {
+			final var directory = file.getParent();
+			directories.add(directory);
+			if (!this.directoryKeys.containsKey(directory)) {
+				this.directoryKeys.put(
+						directory,
+						directory.register(
+								this.watchService,
+								StandardWatchEventKinds.ENTRY_CREATE,
+								StandardWatchEventKinds.ENTRY_MODIFY,
+								StandardWatchEventKinds.ENTRY_DELETE));
+			}
+		}
+
+		// Stop watching the directories which no longer contain a watched file.
+		this.directoryKeys
+				.entrySet()
+				.removeIf(
+						entry -> {
+							if (directories.contains(entry.getKey())) {
+								return false;
+							}
+
+							entry.getValue().cancel();
+							return true;
+						});
+
+		this.watchedFiles.clear();
+		this.watchedFiles.addAll(normalizedFiles);
+	}
+
+	/**
+	 * @return the (absolute and normalized) {@link Path}s of the watched files
+	 */
+	public Set<Path> getWatchedFiles() {
+		return Set.copyOf(this.watchedFiles);
+	}
+
+	/**
+	 * Wait until one or more watched files change, and no watched file has changed for the debounce
+	 * delay.
+	 *
+	 * @return the (absolute and normalized) {@link Path}s of the changed files, in order
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Set<Path> awaitChanges() throws InterruptedException {
+		final var changedFiles = new TreeSet<Path>();
+		while (changedFiles.isEmpty()) {
+			this.collectChanges(this.watchService.take(), changedFiles);
+		}
+
+		var deadline = System.nanoTime() + this.debounceNanos;
+		for (var remaining = this.debounceNanos; remaining > 0; ) {
+			final var key = this.watchService.poll(remaining, TimeUnit.NANOSECONDS);
+			if (key != null && this.collectChanges(key, changedFiles)) {
+				deadline = System.nanoTime() + this.debounceNanos;
+			}
+
+			remaining = deadline - System.nanoTime();
+		}
+
+		return changedFiles;
+	}
+
+	/**
+	 * Add the watched files changed by the events of a key, and reset the key.
+	 *
+	 * @return whether a watched file changed
+	 */
+	private boolean collectChanges(WatchKey key, Set<Path> changedFiles) {
+		final var directory = (Path) key.watchable();
+		var changed = false;
+		for (final var event : key.pollEvents()) {
+			// Events were lost, so any watched file in the directory may have changed.
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				for (final var file : this.watchedFiles) {
+					if (file.getParent().equals(directory)) {
+						changedFiles.add(file);
+						changed = true;
+					}
+				}
+				continue;
+			}
+
+			final var file = directory.resolve((Path) event.context());
+			if (this.watchedFiles.contains(file)) {
+				changedFiles.add(file);
+				changed = true;
+			}
+		}
+
+		key.reset();
+		return changed;
+	}
+
+	private static Path normalize(Path file) {
+		return file.toAbsolutePath().normalize();
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.watchService.close();
+	}
+}
@@ -1,20 +1,37 @@
 package edu.isi.oba.utils.file;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
 
 /**
  * Utility class for writing content to files. Uses java.nio.file.Files for safe and efficient file
  * writing.
  */
 public final class FileWriterUtils {
+	/** The permissions of a new file written atomically (on POSIX file systems). */
+	private static final Set<PosixFilePermission> NEW_FILE_PERMISSIONS =
+			PosixFilePermissions.fromString("rw-r--r--");
 
 	private FileWriterUtils() {
 		throw new UnsupportedOperationException("Static utility class");
 	}
 
+	/** Writes the content of a file to a stream. */
+	@FunctionalInterface
+	public interface ContentWriter {
+		void write(OutputStream outputStream) throws IOException;
+	}
+
 	/**
 	 * Writes the given content to the specified file path.
 	 *
@@ -25,4 +42,57 @@ public final class FileWriterUtils {
 	public static void writeFile(String filePath, String content) throws IOException {
 		Files.write(Path.of(filePath), content.getBytes(StandardCharsets.UTF_8));
 	}
+
+	/**
+	 * Streams content to a temporary file next to the specified file, then renames it to the
+	 * specified file (replacing it, if it exists). The file is therefore either unchanged or
+	 * completely written, even if writing fails part way. Each call has its own temporary file, so
+	 * several threads (or processes) may write the same file at once: the last rename wins.
+	 *
+	 * @param file the path to the file
+	 * @param contentWriter the {@link ContentWriter} which writes the content to a buffered stream
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void writeFileAtomically(Path file, ContentWriter contentWriter)
+			throws IOException {
+		final var directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+
+		final var temporaryFile =
+				Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			setPermissions(temporaryFile, file);
+
+			try (final var outputStream =
+					new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+				contentWriter.write(outputStream);
+			}
+
+			try {
+				Files.move(
+						temporaryFile,
+						file,
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Give a temporary file (which is only readable by its owner) the permissions of the file it
+	 * replaces, or those of a new file.
+	 */
+	private static void setPermissions(Path temporaryFile, Path file) throws IOException {
+		if (Files.getFileAttributeView(temporaryFile, PosixFileAttributeView.class) == null) {
+			return;
+		}
+
+		Files.setPosixFilePermissions(
+				temporaryFile,
+				Files.exists(file) ? Files.getPosixFilePermissions(file) : NEW_FILE_PERMISSIONS);
+	}
 }
@@ -1,11 +1,11 @@
 package edu.isi.oba.utils.ontology;
 
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
 import edu.isi.oba.utils.constants.ObaConstants;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.search.EntitySearcher;
 
 /** Utility class for extracting and resolving descriptions from OWL entities. */
 public class OntologyDescriptionUtils {
@@ -15,8 +15,10 @@ public class OntologyDescriptionUtils {
 	}
 
 	static Stream<OWLAnnotation> getAnnotations(
-			OWLEntity entity, OWLOntology ontology, OWLAnnotationProperty property) {
-		return EntitySearcher.getAnnotationObjects(entity, Stream.of(ontology), property);
+			OWLEntity entity, OWLOntology ontology, IRI property) {
+		return OntologyIndexRegistry.getAnnotationIndex(ontology)
+				.getAnnotations(entity.getIRI(), property)
+				.stream();
 	}
 
 	/**
@@ -71,13 +73,12 @@ public class OntologyDescriptionUtils {
 	}
 
 	private static Map<String, String> extractDescriptions(OWLEntity entity, OWLOntology ontology) {
-		final var dataFactory = ontology.getOWLOntologyManager().getOWLDataFactory();
 		final var langDescMap = new HashMap<String, String>();
 
+		// The annotations are read from the (shared) annotation index of the ontology.
 		for (final var description : getDescriptionProperties()) {
-			final var property = dataFactory.getOWLAnnotationProperty(IRI.create(description));
 			final var annotationObjects =
-					getAnnotations(entity, ontology, property).collect(Collectors.toSet());
+					getAnnotations(entity, ontology, IRI.create(description)).collect(Collectors.toSet());
 
 			for (final var annotationObj : annotationObjects) {
 				addLiteralIfPresent(annotationObj, langDescMap, ObaConstants.YAML_LINE_SEPARATOR);
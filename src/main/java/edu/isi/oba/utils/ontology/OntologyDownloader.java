@@ -1,5 +1,7 @@
 package edu.isi.oba.utils.ontology;
 
+import edu.isi.oba.cache.CachedOntology;
+import edu.isi.oba.cache.OntologyCache;
 import edu.isi.oba.exceptions.OntologyDownloadException;
 import edu.isi.oba.utils.constants.ObaConstants;
 import java.io.IOException;
@@ -8,6 +10,9 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -29,36 +34,177 @@ public class OntologyDownloader {
 		throw new UnsupportedOperationException("Static utility class");
 	}
 
-	public static void downloadOntology(String uri, String downloadPath)
+	public static String downloadOntology(String uri, String downloadPath)
 			throws OntologyDownloadException {
-		downloadOntology(uri, downloadPath, OntologyDownloader::openConnectionWithFallback);
+		return downloadOntology(uri, downloadPath, OntologyDownloader::openConnectionWithFallback);
 	}
 
-	public static void downloadOntology(
+	public static String downloadOntology(
 			String uri, String downloadPath, Function<String, HttpURLConnection> connectionFactory)
 			throws OntologyDownloadException {
+		return downloadOntology(uri, downloadPath, connectionFactory, null);
+	}
+
+	public static String downloadOntology(String uri, String downloadPath, OntologyCache cache)
+			throws OntologyDownloadException {
+		return downloadOntology(
+				uri, downloadPath, OntologyDownloader::openConnectionWithFallback, cache);
+	}
+
+	/**
+	 * Download an ontology in the first RDF serialization the server provides.
+	 *
+	 * <p>With an {@link OntologyCache}, a cached ontology is revalidated with a conditional request
+	 * in the serialization it was downloaded in, and only downloaded again if it changed. If the
+	 * server no longer provides that serialization, the other serializations are tried. If none of
+	 * them can be downloaded (e.g. the server is failing, or unreachable), the cached ontology is
+	 * used. In offline mode, the cached ontology is used without any request (and the download fails
+	 * if there is none).
+	 *
+	 * @param uri the URI of the ontology
+	 * @param downloadPath the path of the file to download to
+	 * @param connectionFactory the factory of the connection to each URL
+	 * @param cache the {@link OntologyCache}, or {@code null} to always download the ontology
+	 * @return the {@code Content-Type} the ontology was received with (or the requested
+	 *     serialization, if the server returned none)
+	 * @throws OntologyDownloadException if the ontology cannot be downloaded
+	 */
+	public static String downloadOntology(
+			String uri,
+			String downloadPath,
+			Function<String, HttpURLConnection> connectionFactory,
+			OntologyCache cache)
+			throws OntologyDownloadException {
+		final var cachedOntology = cache == null ? null : cache.get(uri);
+		if (cache != null && cache.isOffline()) {
+			copyCachedOntology(uri, downloadPath, cache, cachedOntology);
+			return getContentType(cachedOntology);
+		}
 
-		for (final var serialization : ObaConstants.POSSIBLE_VOCAB_SERIALIZATIONS) {
+		// A cached ontology is revalidated in its serialization first.
+		final var serializations = new ArrayList<String>();
+		if (cachedOntology != null) {
+			serializations.add(cachedOntology.getSerialization());
+		}
+		ObaConstants.POSSIBLE_VOCAB_SERIALIZATIONS.stream()
+				.filter(serialization -> !serializations.contains(serialization))
+				.forEach(serializations::add);
+
+		IOException lastFailure = null;
+		for (final var serialization : serializations) {
 			logger.log(Level.FINE, "Attempting to download vocabulary in " + serialization);
 			try {
-				final var url = new URL(uri);
+				final var revalidating =
+						cachedOntology != null && serialization.equals(cachedOntology.getSerialization());
+				final var headers = new LinkedHashMap<String, String>();
+				headers.put("Accept", serialization);
+				if (revalidating && cachedOntology.getEtag() != null) {
+					headers.put("If-None-Match", cachedOntology.getEtag());
+				}
+				if (revalidating && cachedOntology.getLastModified() != null) {
+					headers.put("If-Modified-Since", cachedOntology.getLastModified());
+				}
+
 				var connection = connectionFactory.apply(uri);
 				connection.setRequestMethod("GET");
 				connection.setInstanceFollowRedirects(true);
-				connection.setRequestProperty("Accept", serialization);
-				connection = followRedirects(connection, serialization, connectionFactory);
-				final var in = connection.getInputStream();
-				Files.copy(in, Paths.get(downloadPath), StandardCopyOption.REPLACE_EXISTING);
-				in.close();
-				// break;
+				headers.forEach(connection::setRequestProperty);
+				connection = followRedirects(connection, headers, connectionFactory);
+
+				final var status = connection.getResponseCode();
+				if (status == HttpURLConnection.HTTP_NOT_MODIFIED && revalidating) {
+					logger.log(Level.INFO, "Using cached vocabulary (not modified): " + uri);
+					final var revalidated =
+							cache.revalidated(
+									cachedOntology,
+									connection.getHeaderField("ETag"),
+									connection.getHeaderField("Last-Modified"));
+					cache.copyTo(revalidated, Paths.get(downloadPath));
+					return getContentType(revalidated);
+				} else if (status >= HttpURLConnection.HTTP_BAD_REQUEST) {
+					// The server may not provide this serialization, so try the next one.
+					lastFailure = new IOException("HTTP status " + status + " for " + uri);
+					logger.log(
+							Level.FINE, "Vocabulary not available in " + serialization + ": " + lastFailure);
+					continue;
+				}
+
+				final var contentType =
+						connection.getContentType() == null ? serialization : connection.getContentType();
+				try (final var in = connection.getInputStream()) {
+					if (cache == null) {
+						Files.copy(in, Paths.get(downloadPath), StandardCopyOption.REPLACE_EXISTING);
+					} else {
+						final var downloaded =
+								cache.put(
+										uri,
+										in,
+										serialization,
+										connection.getContentType(),
+										connection.getHeaderField("ETag"),
+										connection.getHeaderField("Last-Modified"));
+						cache.copyTo(downloaded, Paths.get(downloadPath));
+					}
+				}
+
+				return contentType;
 			} catch (IOException | RuntimeException e) {
 				Throwable cause =
 						e instanceof RuntimeException && e.getCause() instanceof IOException ? e.getCause() : e;
 				final var message = "Failed to download vocabulary in RDF format [" + serialization + "]: ";
+				if (cachedOntology != null) {
+					logger.warning(message + cause.toString());
+					return useStaleCachedOntology(uri, downloadPath, cache, cachedOntology);
+				}
+
 				logger.severe(message + cause.toString());
 				throw new OntologyDownloadException(message, cause);
 			}
 		}
+
+		if (cachedOntology != null) {
+			logger.warning("Vocabulary not available in any RDF format: " + lastFailure);
+			return useStaleCachedOntology(uri, downloadPath, cache, cachedOntology);
+		}
+
+		final var message = "Failed to download vocabulary in any RDF format: ";
+		logger.severe(message + lastFailure);
+		throw new OntologyDownloadException(message + uri, lastFailure);
+	}
+
+	private static void copyCachedOntology(
+			String uri, String downloadPath, OntologyCache cache, CachedOntology cachedOntology)
+			throws OntologyDownloadException {
+		if (cachedOntology == null) {
+			throw new OntologyDownloadException(
+					"Vocabulary is not in the ontology cache (offline mode): " + uri, null);
+		}
+
+		try {
+			logger.log(Level.INFO, "Using cached vocabulary (offline mode): " + uri);
+			cache.copyTo(cachedOntology, Paths.get(downloadPath));
+		} catch (IOException e) {
+			throw new OntologyDownloadException("Failed to copy cached vocabulary: " + uri, e);
+		}
+	}
+
+	/** Use a cached ontology which could not be revalidated, since it is the last known version. */
+	private static String useStaleCachedOntology(
+			String uri, String downloadPath, OntologyCache cache, CachedOntology cachedOntology)
+			throws OntologyDownloadException {
+		try {
+			logger.warning("Using cached vocabulary (not revalidated): " + uri);
+			cache.copyTo(cachedOntology, Paths.get(downloadPath));
+			return getContentType(cachedOntology);
+		} catch (IOException e) {
+			throw new OntologyDownloadException("Failed to copy cached vocabulary: " + uri, e);
+		}
+	}
+
+	private static String getContentType(CachedOntology cachedOntology) {
+		return cachedOntology.getContentType() == null
+				? cachedOntology.getSerialization()
+				: cachedOntology.getContentType();
 	}
 
 	static boolean isRedirect(int status) {
@@ -70,13 +216,24 @@ public class OntologyDownloader {
 			String serialization,
 			Function<String, HttpURLConnection> connectionFactory)
 			throws IOException {
+		return followRedirects(connection, Map.of("Accept", serialization), connectionFactory);
+	}
+
+	/**
+	 * Follow the redirects of a connection, sending the same request headers to each new location.
+	 */
+	static HttpURLConnection followRedirects(
+			HttpURLConnection connection,
+			Map<String, String> headers,
+			Function<String, HttpURLConnection> connectionFactory)
+			throws IOException {
 		int status = connection.getResponseCode();
 		int redirectCount = 0;
 		while (isRedirect(status) && redirectCount++ < MAX_REDIRECTS) {
 			final var newUrl = connection.getHeaderField("Location");
 			logger.log(Level.FINE, "Redirecting to: " + newUrl);
 			connection = connectionFactory.apply(newUrl);
-			connection.setRequestProperty("Accept", serialization);
+			headers.forEach(connection::setRequestProperty);
 			status = connection.getResponseCode();
 		}
 		if (redirectCount >= MAX_REDIRECTS) {
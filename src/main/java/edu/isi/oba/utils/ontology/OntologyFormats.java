@@ -0,0 +1,233 @@
+package edu.isi.oba.utils.ontology;
+
+import static edu.isi.oba.Oba.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFJsonLDDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RioTurtleDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.UnparsableOntologyException;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Utility class for detecting the serialization (MIME type) of an ontology file, so that it is
+ * parsed with the matching parser instead of OWLAPI trying each of its parsers in turn.
+ *
+ * <p>The serialization is taken from the {@code Content-Type} a server returned (if it is a known
+ * one), otherwise from the file name's extension, otherwise it is sniffed from the start of the
+ * file's content. Turtle and N-Triples are parsed with the (streaming) RDF4J Rio parsers, and
+ * RDF/XML with the OWLAPI parser, which are the parsers OWLAPI ends up using for them anyway.
+ */
+public class OntologyFormats {
+	public static final String RDF_XML = "application/rdf+xml";
+	public static final String TURTLE = "text/turtle";
+	public static final String N_TRIPLES = "application/n-triples";
+	public static final String JSON_LD = "application/ld+json";
+	public static final String OWL_XML = "application/owl+xml";
+	public static final String FUNCTIONAL_SYNTAX = "text/owl-functional";
+	public static final String MANCHESTER_SYNTAX = "text/owl-manchester";
+
+	/** Number of bytes read from the start of a file to sniff its serialization. */
+	private static final int SNIFF_LENGTH = 4096;
+
+	private static final Map<String, String> MIME_TYPE_ALIASES =
+			Map.of(
+					"application/x-turtle", TURTLE,
+					// Ontologies served as N3 are Turtle in practice (which is a subset of N3).
+					"text/n3", TURTLE,
+					"text/rdf+n3", TURTLE,
+					"application/xml", RDF_XML,
+					"text/xml", RDF_XML);
+
+	private static final Map<String, String> FILE_EXTENSIONS =
+			Map.of(
+					"ttl", TURTLE,
+					"n3", TURTLE,
+					"nt", N_TRIPLES,
+					"rdf", RDF_XML,
+					"jsonld", JSON_LD,
+					"owx", OWL_XML,
+					"ofn", FUNCTIONAL_SYNTAX,
+					"omn", MANCHESTER_SYNTAX);
+
+	private static final Map<String, Supplier<OWLDocumentFormat>> FORMATS =
+			Map.of(
+					RDF_XML, RDFXMLDocumentFormat::new,
+					TURTLE, RioTurtleDocumentFormat::new,
+					N_TRIPLES, NTriplesDocumentFormat::new,
+					JSON_LD, RDFJsonLDDocumentFormat::new,
+					OWL_XML, OWLXMLDocumentFormat::new,
+					FUNCTIONAL_SYNTAX, FunctionalSyntaxDocumentFormat::new,
+					MANCHESTER_SYNTAX, ManchesterSyntaxDocumentFormat::new);
+
+	private OntologyFormats() {
+		throw new UnsupportedOperationException("Static utility class");
+	}
+
+	/**
+	 * Get the known MIME type of a {@code Content-Type} (without its parameters, e.g. the charset).
+	 *
+	 * @param contentType the {@code Content-Type}, or {@code null}
+	 * @return the MIME type, or {@code null} if it is not a known ontology serialization
+	 */
+	public static String getMimeType(String contentType) {
+		if (contentType == null) {
+			return null;
+		}
+
+		final var separator = contentType.indexOf(';');
+		final var mimeType =
+				(separator < 0 ? contentType : contentType.substring(0, separator))
+						.trim()
+						.toLowerCase(Locale.ROOT);
+		final var alias = MIME_TYPE_ALIASES.getOrDefault(mimeType, mimeType);
+		return FORMATS.containsKey(alias) ? alias : null;
+	}
+
+	/**
+	 * Detect the MIME type of an ontology file.
+	 *
+	 * @param file the {@link Path} of the file (whose name and content are checked)
+	 * @param contentType the {@code Content-Type} the file was downloaded with, or {@code null}
+	 * @return the MIME type, or {@code null} if it cannot be detected
+	 */
+	public static String detectMimeType(Path file, String contentType) {
+		final var mimeType = getMimeType(contentType);
+		if (mimeType != null) {
+			return mimeType;
+		}
+
+		final var fileName = file.getFileName().toString();
+		final var extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+		final var extensionMimeType = FILE_EXTENSIONS.get(extension.toLowerCase(Locale.ROOT));
+		if (extensionMimeType != null) {
+			return extensionMimeType;
+		}
+
+		return sniffMimeType(file);
+	}
+
+	/**
+	 * Get the {@link OWLDocumentFormat} of a MIME type.
+	 *
+	 * @param mimeType the MIME type, or {@code null}
+	 * @return a new {@link OWLDocumentFormat}, or {@code null} if the MIME type is not known
+	 */
+	public static OWLDocumentFormat getFormat(String mimeType) {
+		final var format = mimeType == null ? null : FORMATS.get(mimeType);
+		return format == null ? null : format.get();
+	}
+
+	/**
+	 * Load an ontology file with the parser of its MIME type (if known). If that parser fails (e.g.
+	 * the server returned the wrong {@code Content-Type}), OWLAPI tries each of its parsers instead.
+	 *
+	 * @param manager the {@link OWLOntologyManager} to load the ontology into
+	 * @param file the ontology {@link File}
+	 * @param mimeType the MIME type of the file, or {@code null} if it is not known
+	 * @param config the {@link OWLOntologyLoaderConfiguration}
+	 * @return the loaded {@link OWLOntology}
+	 * @throws OWLOntologyCreationException if no parser can load the ontology
+	 */
+	public static OWLOntology loadOntology(
+			OWLOntologyManager manager, File file, String mimeType, OWLOntologyLoaderConfiguration config)
+			throws OWLOntologyCreationException {
+		if (getFormat(mimeType) != null) {
+			try {
+				return manager.loadOntologyFromOntologyDocument(getDocumentSource(file, mimeType), config);
+			} catch (UnparsableOntologyException e) {
+				logger.warning(
+						"Unable to parse \"" + file + "\" as " + mimeType + ", trying every parser instead.");
+			}
+		}
+
+		return manager.loadOntologyFromOntologyDocument(new FileDocumentSource(file), config);
+	}
+
+	/**
+	 * Get the document source of an ontology file, with its format and MIME type (if known), so that
+	 * OWLAPI only tries the matching parser.
+	 *
+	 * @param file the ontology {@link File}
+	 * @param mimeType the MIME type of the file, or {@code null} if it is not known
+	 * @return the {@link OWLOntologyDocumentSource}
+	 */
+	public static OWLOntologyDocumentSource getDocumentSource(File file, String mimeType) {
+		final var format = getFormat(mimeType);
+		return format == null
+				? new FileDocumentSource(file)
+				: new FileDocumentSource(file, format, mimeType);
+	}
+
+	/**
+	 * Sniff the MIME type of an ontology file from the start of its content.
+	 *
+	 * @param file the {@link Path} of the file
+	 * @return the MIME type, or {@code null} if it is not recognized (or the file cannot be read)
+	 */
+	static String sniffMimeType(Path file) {
+		final byte[] start;
+		try (final var stream = Files.newInputStream(file)) {
+			start = stream.readNBytes(SNIFF_LENGTH);
+		} catch (IOException e) {
+			return null;
+		}
+
+		final var content = new String(start, StandardCharsets.UTF_8);
+		var index = 0;
+		while (index < content.length()) {
+			// Skip the byte order mark, whitespace, and (Turtle and N-Triples) comment lines.
+			final var character = content.charAt(index);
+			if (character == '\uFEFF' || Character.isWhitespace(character)) {
+				index++;
+			} else if (character == '#') {
+				final var lineEnd = content.indexOf('\n', index);
+				index = lineEnd < 0 ? content.length() : lineEnd + 1;
+			} else {
+				break;
+			}
+		}
+
+		final var text = content.substring(index);
+		if (text.startsWith("<?xml") || text.startsWith("<!")) {
+			return text.contains("<rdf:RDF") || !text.contains("<Ontology") ? RDF_XML : OWL_XML;
+		} else if (text.startsWith("<rdf:RDF")) {
+			return RDF_XML;
+		} else if (text.startsWith("<Ontology")) {
+			return OWL_XML;
+		} else if (text.startsWith("@prefix")
+				|| text.startsWith("@base")
+				|| text.regionMatches(true, 0, "PREFIX ", 0, 7)
+				|| text.regionMatches(true, 0, "BASE ", 0, 5)
+				|| text.startsWith("<")
+				|| text.startsWith("_:")) {
+			// N-Triples is a subset of Turtle, so both are parsed as Turtle.
+			return TURTLE;
+		} else if (text.startsWith("{") || text.startsWith("[")) {
+			return JSON_LD;
+		} else if (text.startsWith("Prefix(") || text.startsWith("Ontology(")) {
+			return FUNCTIONAL_SYNTAX;
+		} else if (text.startsWith("Prefix:") || text.startsWith("Ontology:")) {
+			return MANCHESTER_SYNTAX;
+		}
+
+		return null;
+	}
+}
@@ -3,7 +3,6 @@ package edu.isi.oba.utils.schema;
 import edu.isi.oba.MapperProperty;
 import io.swagger.v3.oas.models.media.Schema;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -11,6 +10,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
 public class SchemaRefUtils {
@@ -31,26 +32,31 @@ public class SchemaRefUtils {
 
 		Objects.requireNonNull(originalSchemas, "'originalSchemas' must not be null");
 
-		// Build dependency graph
-		final Map<String, Set<String>> dependencyGraph = new HashMap<>();
-		for (final var entry : originalSchemas.entrySet()) {
-			dependencyGraph.put(entry.getKey(), getAllRefs(entry.getValue()));
-		}
+		// Build dependency graph.  Each schema is only read, so they are all visited in parallel.
+		final Map<String, Set<String>> dependencyGraph =
+				originalSchemas.entrySet().parallelStream()
+						.collect(
+								Collectors.toConcurrentMap(
+										Map.Entry::getKey, entry -> getAllRefs(entry.getValue())));
 
-		// Topologically sort schema names
-		final var sortedSchemaNames = SchemaSortUtils.topologicalSort(dependencyGraph);
+		// Topologically sort schema names into levels
+		final var levels = SchemaSortUtils.topologicalLevels(dependencyGraph);
 
 		// Shared cache for dereferenced schemas
-		final Map<String, Schema<?>> dereferenceCache = new HashMap<>();
-
-		// Caching dereferencing logic
-		for (final var name : sortedSchemaNames) {
-			dereferenceCache.computeIfAbsent(
-					name,
-					key -> {
-						final Schema<?> schema = originalSchemas.get(key);
-						return getDereferencedSchema(schema, dereferenceCache);
-					});
+		final Map<String, Schema<?>> dereferenceCache = new ConcurrentHashMap<>();
+
+		// The schemas of a level only depend on the (already dereferenced) schemas of earlier
+		// levels, so each level is dereferenced concurrently on the common fork-join pool. A level's
+		// schemas are only added to the cache once the whole level is done, so that a (non-property)
+		// reference to another schema of the same level is never dereferenced in one run but not in
+		// the next.
+		for (final var level : levels) {
+			dereferenceCache.putAll(
+					level.parallelStream()
+							.collect(
+									Collectors.toConcurrentMap(
+											name -> name,
+											name -> getDereferencedSchema(originalSchemas.get(name), dereferenceCache))));
 		}
 
 		return new TreeMap<>(dereferenceCache); // Optional: sort by schema name
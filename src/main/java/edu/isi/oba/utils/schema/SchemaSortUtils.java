@@ -97,6 +97,76 @@ public class SchemaSortUtils {
 		return sortedSchemas;
 	}
 
+	/**
+	 * Topological sorting of the names of {@link Schema}s into levels. Each level only contains the
+	 * names of {@link Schema}s whose references are all in earlier levels, so the {@link Schema}s of
+	 * the same level can be processed concurrently.
+	 *
+	 * @param dependencyMap a {@link Map} of dependencies (name of {@link Schema} to a {@link Set} of
+	 *     all the {@link Schema}s that it references)
+	 * @return a {@link List} of levels, starting with the {@link Schema}s without references. Each
+	 *     level is sorted by name.
+	 */
+	public static List<List<String>> topologicalLevels(Map<String, Set<String>> dependencyMap) {
+		Logger.getLogger(MethodHandles.lookup().lookupClass().getSimpleName())
+				.log(Level.INFO, "Starting topological sort of schema dependencies into levels...");
+
+		final Map<String, Integer> inDegree = new HashMap<>();
+		final Map<String, List<String>> graph = new HashMap<>();
+
+		for (final var entry : dependencyMap.entrySet()) {
+			inDegree.merge(entry.getKey(), entry.getValue().size(), Integer::sum);
+			for (final var dependency : entry.getValue()) {
+				graph.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.getKey());
+			}
+		}
+
+		var level = new ArrayList<String>();
+		for (final var entry : inDegree.entrySet()) {
+			if (entry.getValue() == 0) {
+				level.add(entry.getKey());
+			}
+		}
+
+		final List<List<String>> levels = new ArrayList<>();
+		var sortedCount = 0;
+		while (!level.isEmpty()) {
+			Collections.sort(level);
+			levels.add(level);
+			sortedCount += level.size();
+
+			final var nextLevel = new ArrayList<String>();
+			for (final var current : level) {
+				for (final var neighbor : graph.getOrDefault(current, Collections.emptyList())) {
+					if (inDegree.merge(neighbor, -1, Integer::sum) == 0) {
+						nextLevel.add(neighbor);
+					}
+				}
+			}
+			level = nextLevel;
+		}
+
+		// Detect cycles
+		if (sortedCount != dependencyMap.size()) {
+			final Set<String> unresolved = new HashSet<>(dependencyMap.keySet());
+			levels.forEach(unresolved::removeAll);
+			Logger.getLogger(MethodHandles.lookup().lookupClass().getSimpleName())
+					.log(Level.SEVERE, "Cycle detected in schema references involving: " + unresolved);
+			throw new IllegalStateException("Cycle detected in schema references: " + unresolved);
+		}
+
+		Logger.getLogger(MethodHandles.lookup().lookupClass().getSimpleName())
+				.log(
+						Level.INFO,
+						"Topological sort completed. Sorted "
+								+ sortedCount
+								+ " schemas into "
+								+ levels.size()
+								+ " levels.");
+
+		return levels;
+	}
+
 	/**
 	 * Exports the schema dependency graph to a DOT file for visualization using tools like Graphviz.
 	 * Each node in the graph represents a schema, and each directed edge indicates a dependency
@@ -0,0 +1,220 @@
+package edu.isi.oba;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.report.RunReport;
+import io.swagger.v3.core.util.Json;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GenerationServerTest extends BaseTest {
+	private static final String CONFIG =
+			String.join(
+					"\n",
+					"name: modelcatalog",
+					"output_dir: ignored",
+					"openapi:",
+					"  openapi: 3.0.1",
+					"  info:",
+					"    title: Model Catalog",
+					"    version: v1.5.0",
+					"annotation_config:",
+					"  markdown_generation_filename: modelcatalog.md",
+					"");
+
+	@TempDir Path directory;
+
+	private GenerationServer server;
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.server = new GenerationServer(0, 1, this.directory);
+		this.server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.stop();
+		RunReport.clear();
+		OntologyIndexRegistry.clear();
+		ReasonerRegistry.clear();
+	}
+
+	@Test
+	void shouldGenerateSpecification_ofConfiguredOntologies() throws Exception {
+		final var config =
+				CONFIG
+						+ "ontologies:\n"
+						+ "  - examples/modelcatalog/sdm-reduced.ttl\n"
+						+ "  - examples/modelcatalog/sd-reduced.ttl\n";
+
+		final var response = this.post(Json.mapper().createObjectNode().put("config", config));
+		assertEquals(200, response.statusCode(), response.body());
+
+		final var body = Json.mapper().readTree(response.body());
+		assertTrue(body.get("openapi").textValue().contains("title: Model Catalog"));
+		assertTrue(body.get("openapi").textValue().contains("ModelConfiguration:"));
+		assertTrue(body.get("markdown").isTextual());
+
+		// Nothing is left in the work directory.
+		try (final var files = Files.list(this.directory)) {
+			assertEquals(0, files.count());
+		}
+
+		// The same configuration reuses the parsed ontologies.
+		final var secondResponse = this.post(Json.mapper().createObjectNode().put("config", config));
+		assertEquals(body, Json.mapper().readTree(secondResponse.body()));
+	}
+
+	@Test
+	void shouldGenerateSpecification_ofInlineOntology() throws Exception {
+		final var ontology = Files.readString(Path.of("src/test/resources/modelCat.ttl"));
+
+		final var response =
+				this.post(Json.mapper().createObjectNode().put("config", CONFIG).put("ontology", ontology));
+		assertEquals(200, response.statusCode(), response.body());
+		assertTrue(
+				Json.mapper().readTree(response.body()).get("openapi").textValue().contains("openapi:"));
+
+		// The inline ontology is deleted too.
+		try (final var files = Files.list(this.directory)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void shouldRejectInvalidRequests() throws Exception {
+		assertEquals(400, this.post(Json.mapper().createObjectNode().put("other", 1)).statusCode());
+		assertEquals(
+				400,
+				this.post(Json.mapper().createObjectNode().put("config", "- not an object")).statusCode());
+
+		// Valid YAML, but an invalid configuration (no ontologies).
+		final var response = this.post(Json.mapper().createObjectNode().put("config", CONFIG));
+		assertEquals(422, response.statusCode());
+		assertTrue(Json.mapper().readTree(response.body()).has("error"));
+	}
+
+	@Test
+	void shouldRejectNames_outsideOutputDirectory() throws Exception {
+		for (final var name : List.of("../escaped", "/tmp/escaped", ".")) {
+			final var config =
+					CONFIG.replace("name: modelcatalog", "name: \"" + name + "\"")
+							+ "ontologies:\n"
+							+ "  - examples/modelcatalog/sdm-reduced.ttl\n";
+
+			final var response = this.post(Json.mapper().createObjectNode().put("config", config));
+			assertEquals(400, response.statusCode(), name);
+			assertTrue(Json.mapper().readTree(response.body()).get("error").textValue().contains("name"));
+		}
+
+		assertFalse(Files.exists(this.directory.resolve("escaped")));
+	}
+
+	@Test
+	void shouldRejectMarkdownFilenames_outsideDestinationDirectory() throws Exception {
+		final var outsideFile = this.directory.resolve("outside.md");
+		Files.writeString(outsideFile, "outside");
+
+		for (final var markdownFilename : List.of(outsideFile.toString(), "../../outside.md")) {
+			final var config =
+					CONFIG.replace("modelcatalog.md", "\"" + markdownFilename + "\"")
+							+ "ontologies:\n"
+							+ "  - examples/modelcatalog/sdm-reduced.ttl\n";
+
+			final var response = this.post(Json.mapper().createObjectNode().put("config", config));
+			assertEquals(400, response.statusCode(), markdownFilename);
+			assertTrue(
+					Json.mapper()
+							.readTree(response.body())
+							.get("error")
+							.textValue()
+							.contains("markdown_generation_filename"));
+		}
+
+		// The file is neither read nor truncated.
+		assertEquals("outside", Files.readString(outsideFile));
+	}
+
+	@Test
+	void shouldRejectLocalPaths_outsideWorkingDirectory() throws Exception {
+		final var outsidePath = this.directory.resolve("outside").toAbsolutePath().toString();
+		final var configs =
+				List.of(
+						CONFIG + "ontologies:\n  - \"" + outsidePath + "\"\n",
+						CONFIG + "ontologies:\n  - ../outside.ttl\n",
+						CONFIG
+								+ "ontologies:\n  - examples/modelcatalog/sdm-reduced.ttl\n"
+								+ "ontology_cache_dir: \""
+								+ outsidePath
+								+ "\"\n",
+						CONFIG
+								+ "ontologies:\n  - examples/modelcatalog/sdm-reduced.ttl\n"
+								+ "inflection_dictionary: \""
+								+ outsidePath
+								+ "\"\n");
+
+		for (final var config : configs) {
+			final var response = this.post(Json.mapper().createObjectNode().put("config", config));
+			assertEquals(400, response.statusCode(), config);
+			assertTrue(
+					Json.mapper()
+							.readTree(response.body())
+							.get("error")
+							.textValue()
+							.contains("working directory"));
+		}
+
+		assertFalse(Files.exists(this.directory.resolve("outside")));
+	}
+
+	@Test
+	void shouldRejectBrowserRequests() throws Exception {
+		final var body =
+				Json.mapper().writeValueAsString(Json.mapper().createObjectNode().put("config", CONFIG));
+
+		final var withOrigin =
+				this.requestBuilder()
+						.header("Content-Type", "application/json")
+						.header("Origin", "http://example.org")
+						.POST(HttpRequest.BodyPublishers.ofString(body))
+						.build();
+		assertEquals(
+				403, this.client.send(withOrigin, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+		final var withFormContent =
+				this.requestBuilder()
+						.header("Content-Type", "text/plain")
+						.POST(HttpRequest.BodyPublishers.ofString(body))
+						.build();
+		assertEquals(
+				415, this.client.send(withFormContent, HttpResponse.BodyHandlers.ofString()).statusCode());
+	}
+
+	private HttpResponse<String> post(JsonNode body) throws Exception {
+		final var request =
+				this.requestBuilder()
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(Json.mapper().writeValueAsString(body)))
+						.build();
+		return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest.Builder requestBuilder() {
+		return HttpRequest.newBuilder(
+				URI.create("http://localhost:" + this.server.getPort() + "/generate"));
+	}
+}
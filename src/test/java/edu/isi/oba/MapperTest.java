@@ -1,11 +1,23 @@
 package edu.isi.oba;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import edu.isi.oba.utils.yaml.YamlUtils;
+import io.swagger.v3.core.util.Json;
 import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -87,4 +99,120 @@ public class MapperTest extends BaseTest {
 					.forEach(File::delete);
 		}
 	}
+
+	/**
+	 * Classes of the same short form get the same schema name if their namespaces have no prefix,
+	 * and the class found later in the ontology's signature replaces the earlier one's schema, with
+	 * any number of workers. A class whose namespace has a prefix gets its own (prefixed) schema.
+	 */
+	@Test
+	public void testDuplicateShortFormLaterClassReplacesSchema() throws Exception {
+		for (final var workers : new int[] {1, 4}) {
+			final var configData =
+					YamlUtils.getYamlData("src/test/resources/duplicate_short_forms/config.yaml");
+			configData.setMappingWorkers(workers);
+			final var mapper = new Mapper(configData);
+			mapper.createSchemas();
+
+			final var person = mapper.getSchemas().get("Person");
+			Assertions.assertNotNull(person);
+			Assertions.assertEquals("A person of a namespace without a prefix", person.getDescription());
+			final var otherPerson = mapper.getSchemas().get("other-Person");
+			Assertions.assertNotNull(otherPerson);
+			Assertions.assertEquals("A person of another namespace", otherPerson.getDescription());
+		}
+	}
+
+	/**
+	 * Mapping the classes with several workers must give exactly the same schemas, paths, and
+	 * markdown mappings as mapping them sequentially.
+	 */
+	@Test
+	public void testParallelMappingMatchesSequentialMapping() throws Exception {
+		final var configFilePath = "examples/modelcatalog/config.yaml";
+
+		final var sequentialConfig = YamlUtils.getYamlData(configFilePath);
+		sequentialConfig.setMappingWorkers(1);
+		final var sequentialMapper = new Mapper(sequentialConfig);
+		sequentialMapper.createSchemas();
+
+		final var parallelConfig = YamlUtils.getYamlData(configFilePath);
+		parallelConfig.setMappingWorkers(4);
+		final var parallelMapper = new Mapper(parallelConfig);
+		parallelMapper.createSchemas();
+
+		Assertions.assertFalse(sequentialMapper.getSchemas().isEmpty());
+		Assertions.assertEquals(
+				Json.pretty(sequentialMapper.getSchemas()), Json.pretty(parallelMapper.getSchemas()));
+		Assertions.assertEquals(
+				Json.pretty(sequentialMapper.getPaths()), Json.pretty(parallelMapper.getPaths()));
+		Assertions.assertEquals(
+				sequentialMapper.getFullMarkdownMappings(), parallelMapper.getFullMarkdownMappings());
+		Assertions.assertEquals(sequentialMapper.getSchemaNames(), parallelMapper.getSchemaNames());
+	}
+
+	/**
+	 * The DBpedia ontology declares many prefixes. Its classes are mapped in a worklist (instead of
+	 * once per prefix), and the output must be one of the outputs of the baseline mapper, which
+	 * mapped them once per prefix. The baseline's property (and array) order changes from run to
+	 * run, so the JSON is compared with sorted keys and arrays. A few schemas' properties also
+	 * changed from run to run, and every digest seen for them is expected.
+	 */
+	@Test
+	public void testHeavilyPrefixedOntologyOutputIsUnchanged() throws Exception {
+		final var configData = YamlUtils.getYamlData("examples/dbpedia/config_music.yaml");
+		final var ontology = configData.getOwlOntologies().iterator().next();
+		Assertions.assertTrue(
+				ontology.getFormat().asPrefixOWLDocumentFormat().getPrefixName2PrefixMap().size() > 1);
+
+		final var mapper = new Mapper(configData);
+		mapper.createSchemas();
+
+		final var actualDigests = new TreeMap<String, String>();
+		for (final var entry : mapper.getSchemas().entrySet()) {
+			actualDigests.put(entry.getKey(), digest(entry.getValue()));
+		}
+		actualDigests.put("paths", digest(mapper.getPaths()));
+
+		final var expectedDigests = new HashMap<String, List<String>>();
+		for (final var line :
+				Files.readAllLines(
+						Paths.get("src/test/resources/dbpedia_music/expected_schema_digests.txt"))) {
+			if (!line.startsWith("#")) {
+				final var fields = line.split(" ");
+				expectedDigests.put(fields[0], Arrays.asList(fields).subList(1, fields.length));
+			}
+		}
+
+		Assertions.assertEquals(new TreeSet<>(expectedDigests.keySet()), actualDigests.keySet());
+		actualDigests.forEach(
+				(name, digest) -> Assertions.assertTrue(expectedDigests.get(name).contains(digest), name));
+	}
+
+	private static String digest(Object value) throws Exception {
+		final var json = canonicalize(Json.mapper().valueToTree(value)).toString();
+		final var hash =
+				MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+		return String.format("%064x", new BigInteger(1, hash)).substring(0, 16);
+	}
+
+	/** Sort the keys of the JSON objects, and the elements of the JSON arrays. */
+	private static JsonNode canonicalize(JsonNode node) {
+		if (node.isObject()) {
+			final var names = new TreeSet<String>();
+			node.fieldNames().forEachRemaining(names::add);
+			final var canonicalObject = JsonNodeFactory.instance.objectNode();
+			names.forEach(name -> canonicalObject.set(name, canonicalize(node.get(name))));
+			return canonicalObject;
+		} else if (node.isArray()) {
+			final var elements = new ArrayList<JsonNode>();
+			node.forEach(element -> elements.add(canonicalize(element)));
+			elements.sort(Comparator.comparing(JsonNode::toString));
+			final var canonicalArray = JsonNodeFactory.instance.arrayNode();
+			elements.forEach(canonicalArray::add);
+			return canonicalArray;
+		}
+
+		return node;
+	}
 }
@@ -0,0 +1,154 @@
+package edu.isi.oba;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SplitSpecificationWriterTest extends BaseTest {
+	private static final String ROOT_FILE = "openapi.yaml";
+
+	@TempDir Path directory;
+
+	@Test
+	void shouldSplitDocument_withRelativeReferences() throws Exception {
+		this.write(this.openAPI());
+
+		assertTrue(Files.isRegularFile(this.directory.resolve("components/schemas/Person.yaml")));
+		assertTrue(Files.isRegularFile(this.directory.resolve("components/schemas/Address.yaml")));
+		assertTrue(
+				Files.isRegularFile(this.directory.resolve("components/examples/Person_Example.yaml")));
+		assertTrue(
+				Files.readString(this.directory.resolve("components/schemas/Person.yaml"))
+						.contains("$ref: Address.yaml"));
+		assertTrue(
+				Files.readString(this.directory.resolve("paths/Person.yaml"))
+						.contains("$ref: ../components/schemas/Person.yaml"));
+		assertTrue(Files.isRegularFile(this.directory.resolve("paths/untagged.yaml")));
+		assertTrue(
+				Files.readString(this.directory.resolve(ROOT_FILE))
+						.contains("$ref: components/schemas/Person.yaml"));
+
+		// The split document is the same document, once its references are resolved.
+		final var options = new ParseOptions();
+		options.setResolve(true);
+		final var result =
+				new OpenAPIV3Parser()
+						.readLocation(this.directory.resolve(ROOT_FILE).toString(), null, options);
+		assertEquals(List.of(), result.getMessages());
+		final Schema<?> address = result.getOpenAPI().getComponents().getSchemas().get("Address");
+		assertEquals("string", address.getProperties().get("street").getType());
+		assertNotNull(result.getOpenAPI().getPaths().get("/persons/{id}").getGet());
+		assertNotNull(result.getOpenAPI().getPaths().get("/status").getGet());
+	}
+
+	@Test
+	void shouldOnlyWriteChangedFiles_andDeleteStaleFiles() throws Exception {
+		final var openAPI = this.openAPI();
+		assertEquals(6, this.write(openAPI).getWrittenFiles());
+
+		final var unchangedWriter = this.write(openAPI);
+		assertEquals(0, unchangedWriter.getWrittenFiles());
+		assertEquals(6, unchangedWriter.getUnchangedFiles());
+
+		// Only the changed schema and the root document (without the removed path) are written.
+		openAPI.getComponents().getSchemas().get("Address").addProperty("city", new StringSchema());
+		openAPI.getPaths().remove("/status");
+		final var changedWriter = this.write(openAPI);
+		assertEquals(2, changedWriter.getWrittenFiles());
+		assertEquals(3, changedWriter.getUnchangedFiles());
+		assertTrue(
+				Files.readString(this.directory.resolve("components/schemas/Address.yaml"))
+						.contains("city"));
+		assertFalse(Files.exists(this.directory.resolve("paths/untagged.yaml")));
+	}
+
+	@Test
+	void shouldGiveUniqueFileNames_ignoringCase() throws Exception {
+		final var openAPI = this.openAPI();
+		openAPI.getComponents().addSchemas("person", new ObjectSchema());
+		openAPI.getComponents().addSchemas("Pet/Cat", new ObjectSchema());
+		this.write(openAPI);
+
+		final var root = Files.readString(this.directory.resolve(ROOT_FILE));
+		assertTrue(root.contains("$ref: components/schemas/Person.yaml"));
+		assertTrue(root.contains("$ref: components/schemas/person_2.yaml"));
+		assertTrue(root.contains("$ref: components/schemas/Pet_Cat.yaml"));
+	}
+
+	private SplitSpecificationWriter write(OpenAPI openAPI) throws Exception {
+		final var writer = new SplitSpecificationWriter(Yaml.mapper(), ".yaml", 2);
+		writer.write(openAPI, this.directory, ROOT_FILE);
+		return writer;
+	}
+
+	private OpenAPI openAPI() {
+		final var address = new ObjectSchema();
+		address.addProperty("street", new StringSchema());
+
+		final var person = new ObjectSchema();
+		person.addProperty("name", new StringSchema());
+		person.addProperty("address", new Schema<>().$ref("#/components/schemas/Address"));
+
+		final var getPerson =
+				new Operation()
+						.addTagsItem("Person")
+						.responses(
+								new ApiResponses()
+										.addApiResponse(
+												"200",
+												new ApiResponse()
+														.description("A person")
+														.content(
+																new Content()
+																		.addMediaType(
+																				"application/json",
+																				new MediaType()
+																						.schema(
+																								new Schema<>().$ref("#/components/schemas/Person"))
+																						.examples(
+																								Map.of(
+																										"person",
+																										new Example()
+																												.$ref(
+																														"#/components/examples/Person_Example")))))));
+		final var getStatus =
+				new Operation()
+						.responses(
+								new ApiResponses().addApiResponse("200", new ApiResponse().description("Status")));
+
+		return new OpenAPI()
+				.info(new Info().title("Test").version("1.0"))
+				.paths(
+						new Paths()
+								.addPathItem("/persons/{id}", new PathItem().get(getPerson))
+								.addPathItem("/status", new PathItem().get(getStatus)))
+				.components(
+						new Components()
+								.addSchemas("Address", address)
+								.addSchemas("Person", person)
+								.addExamples(
+										"Person_Example", new Example().value(Map.of("name", "Ada Lovelace"))));
+	}
+}
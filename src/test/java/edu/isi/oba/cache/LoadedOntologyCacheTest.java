@@ -0,0 +1,148 @@
+package edu.isi.oba.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.BaseTest;
+import edu.isi.oba.exceptions.OntologyLoadingException;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.ontology.OntologyFormats;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class LoadedOntologyCacheTest extends BaseTest {
+	private static final List<String> PATHS = List.of("first.ttl", "second.ttl");
+	private static final List<IRI> ONTOLOGY_IRIS =
+			List.of(IRI.create("https://w3id.org/okn/o/sdm"), IRI.create("https://w3id.org/okn/o/sd"));
+
+	@TempDir Path directory;
+
+	private List<Path> files;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.files =
+				List.of(this.directory.resolve("ontology0.owl"), this.directory.resolve("ontology1.owl"));
+		Files.copy(
+				Path.of("src/test/resources/modelCat.ttl"),
+				this.files.get(0),
+				StandardCopyOption.REPLACE_EXISTING);
+		Files.copy(
+				Path.of("examples/modelcatalog/sd-reduced.ttl"),
+				this.files.get(1),
+				StandardCopyOption.REPLACE_EXISTING);
+		LoadedOntologyCache.enable(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		LoadedOntologyCache.clear();
+		ReasonerRegistry.clear();
+	}
+
+	@Test
+	void shouldReuseOntologies_whenFilesUnchanged() throws Exception {
+		final var manager = this.load(PATHS);
+		final var first = this.loaded(manager, 0);
+		final var second = this.loaded(manager, 1);
+		final var reasoner = ReasonerRegistry.getReasoner(first);
+
+		final var reusedManager = this.load(PATHS);
+		assertSame(manager, reusedManager);
+		assertSame(first, this.loaded(reusedManager, 0));
+		assertSame(second, this.loaded(reusedManager, 1));
+		assertSame(reasoner, ReasonerRegistry.getReasoner(first));
+		assertTrue(LoadedOntologyCache.contains(first));
+		assertTrue(LoadedOntologyCache.contains("first.ttl"));
+	}
+
+	@Test
+	void shouldOnlyReloadChangedOntology() throws Exception {
+		final var manager = this.load(PATHS);
+		final var first = this.loaded(manager, 0);
+		final var second = this.loaded(manager, 1);
+		final var reasoner = ReasonerRegistry.getReasoner(first);
+
+		Files.writeString(this.files.get(1), "\n# Changed\n", StandardOpenOption.APPEND);
+
+		final var reloadedManager = this.load(PATHS);
+		assertSame(manager, reloadedManager);
+		assertSame(first, this.loaded(reloadedManager, 0));
+		assertSame(reasoner, ReasonerRegistry.getReasoner(first));
+
+		final var reloadedSecond = this.loaded(reloadedManager, 1);
+		assertNotSame(second, reloadedSecond);
+		assertEquals(second.getOntologyID(), reloadedSecond.getOntologyID());
+		assertFalse(LoadedOntologyCache.contains(second));
+		assertEquals(2, reloadedManager.getOntologies().size());
+	}
+
+	@Test
+	void shouldReloadEveryOntology_whenOntologyPathsChanged() throws Exception {
+		final var manager = this.load(PATHS);
+		final var first = this.loaded(manager, 0);
+
+		final var reorderedManager = this.load(List.of("first.ttl", "other.ttl"));
+		assertNotSame(manager, reorderedManager);
+		assertFalse(LoadedOntologyCache.contains(first));
+		assertFalse(LoadedOntologyCache.contains("second.ttl"));
+	}
+
+	@Test
+	void shouldKeepOntologiesOfSeveralConfigurations_upToMaximum() throws Exception {
+		LoadedOntologyCache.enable(2);
+		final var manager = this.load(PATHS);
+		final var otherPaths = List.of("first.ttl", "other.ttl");
+		final var otherManager = this.load(otherPaths);
+		assertNotSame(manager, otherManager);
+
+		assertSame(manager, this.load(PATHS));
+		assertSame(otherManager, this.load(otherPaths));
+
+		// The least recently used configuration is released.
+		final var first = this.loaded(manager, 0);
+		this.load(List.of("third.ttl", "fourth.ttl"));
+		assertFalse(LoadedOntologyCache.contains(first));
+		assertTrue(LoadedOntologyCache.contains("other.ttl"));
+		assertFalse(LoadedOntologyCache.contains("second.ttl"));
+	}
+
+	@Test
+	void shouldLoadEveryOntologyAgain_afterLoadingFailed() throws Exception {
+		final var manager = this.load(PATHS);
+		Files.writeString(this.files.get(1), "not an ontology ((");
+
+		assertThrows(OntologyLoadingException.class, () -> this.load(PATHS));
+		assertFalse(LoadedOntologyCache.contains("first.ttl"));
+
+		Files.copy(
+				Path.of("examples/modelcatalog/sd-reduced.ttl"),
+				this.files.get(1),
+				StandardCopyOption.REPLACE_EXISTING);
+		assertNotSame(manager, this.load(PATHS));
+		assertTrue(LoadedOntologyCache.contains("second.ttl"));
+	}
+
+	private OWLOntologyManager load(List<String> paths) throws Exception {
+		final var mimeTypes = new String[paths.size()];
+		Arrays.fill(mimeTypes, OntologyFormats.TURTLE);
+		return LoadedOntologyCache.load(
+				paths, this.files, Arrays.asList(mimeTypes), new OWLOntologyLoaderConfiguration());
+	}
+
+	/** Get the ontology loaded from a file, by its IRI. */
+	private OWLOntology loaded(OWLOntologyManager manager, int index) {
+		return manager.getOntology(ONTOLOGY_IRIS.get(index));
+	}
+}
@@ -0,0 +1,77 @@
+package edu.isi.oba.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.BaseTest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OntologyCacheTest extends BaseTest {
+	@TempDir Path directory;
+
+	@Test
+	void shouldGetCachedOntology_afterPut() throws Exception {
+		final var cache = new OntologyCache(this.directory, false);
+		assertNull(cache.get("http://example.org/ontology"));
+
+		final var cachedOntology = this.put(cache, "http://example.org/ontology", "<rdf:RDF/>");
+
+		final var reopened =
+				new OntologyCache(this.directory, false).get("http://example.org/ontology");
+		assertNotNull(reopened);
+		assertEquals(cachedOntology.getSha256(), reopened.getSha256());
+		assertEquals("application/rdf+xml", reopened.getSerialization());
+		assertEquals("\"v1\"", reopened.getEtag());
+
+		final var destination = this.directory.resolve("ontology0.owl");
+		cache.copyTo(reopened, destination);
+		assertEquals("<rdf:RDF/>", Files.readString(destination));
+	}
+
+	@Test
+	void shouldStoreSameContentOnce() throws Exception {
+		final var cache = new OntologyCache(this.directory, false);
+		final var first = this.put(cache, "http://example.org/first", "<rdf:RDF/>");
+		final var second = this.put(cache, "http://example.org/second", "<rdf:RDF/>");
+
+		assertEquals(first.getSha256(), second.getSha256());
+		assertEquals(1, this.list(OntologyCache.OBJECTS_DIRECTORY).size());
+		assertEquals(2, this.list(OntologyCache.ENTRIES_DIRECTORY).size());
+	}
+
+	@Test
+	void shouldIgnoreEntry_whenContentWasModified() throws Exception {
+		final var cache = new OntologyCache(this.directory, false);
+		final var cachedOntology = this.put(cache, "http://example.org/ontology", "<rdf:RDF/>");
+
+		Files.writeString(
+				this.directory.resolve(OntologyCache.OBJECTS_DIRECTORY).resolve(cachedOntology.getSha256()),
+				"<rdf:RDF>modified</rdf:RDF>");
+
+		assertNull(cache.get("http://example.org/ontology"));
+	}
+
+	private CachedOntology put(OntologyCache cache, String uri, String content) throws IOException {
+		return cache.put(
+				uri,
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+				"application/rdf+xml",
+				"application/rdf+xml",
+				"\"v1\"",
+				null);
+	}
+
+	private List<Path> list(String subdirectory) throws IOException {
+		try (Stream<Path> files = Files.list(this.directory.resolve(subdirectory))) {
+			return files.collect(Collectors.toList());
+		}
+	}
+}
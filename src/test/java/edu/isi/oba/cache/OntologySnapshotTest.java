@@ -0,0 +1,173 @@
+package edu.isi.oba.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import edu.isi.oba.BaseTest;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class OntologySnapshotTest extends BaseTest {
+	@TempDir Path directory;
+
+	@Test
+	void shouldRestoreSavedOntologies() throws Exception {
+		final var ontologyFile = this.copyOntology("src/test/resources/modelCat.ttl");
+		final var manager = this.load(ontologyFile);
+
+		final var snapshot = new OntologySnapshot(this.directory, List.of(ontologyFile));
+		assertNull(snapshot.restore());
+		snapshot.save(manager);
+		assertTrue(Files.isRegularFile(this.directory.resolve(OntologySnapshot.SNAPSHOT_FILE_NAME)));
+
+		final var restoredManager =
+				new OntologySnapshot(this.directory, List.of(ontologyFile)).restore();
+		assertNotNull(restoredManager);
+
+		final var ontology = this.single(manager);
+		final var restoredOntology = this.single(restoredManager);
+		assertEquals(ontology.getOntologyID(), restoredOntology.getOntologyID());
+		assertEquals(
+				ontology.axioms().collect(Collectors.toSet()),
+				restoredOntology.axioms().collect(Collectors.toSet()));
+		assertEquals(ontology.getFormat(), restoredOntology.getFormat());
+		assertEquals(
+				ontology.getFormat().asPrefixOWLDocumentFormat().getPrefixName2PrefixMap(),
+				restoredOntology.getFormat().asPrefixOWLDocumentFormat().getPrefixName2PrefixMap());
+	}
+
+	@Test
+	void shouldIgnoreSnapshot_whenOntologyFileChanged() throws Exception {
+		final var ontologyFile = this.copyOntology("src/test/resources/modelCat.ttl");
+		new OntologySnapshot(this.directory, List.of(ontologyFile)).save(this.load(ontologyFile));
+
+		Files.writeString(ontologyFile, "\n# Changed\n", StandardOpenOption.APPEND);
+
+		assertNull(new OntologySnapshot(this.directory, List.of(ontologyFile)).restore());
+	}
+
+	@Test
+	void shouldIgnoreUnreadableSnapshot() throws Exception {
+		final var ontologyFile = this.copyOntology("src/test/resources/modelCat.ttl");
+		Files.writeString(
+				this.directory.resolve(OntologySnapshot.SNAPSHOT_FILE_NAME), "not a snapshot");
+
+		assertNull(new OntologySnapshot(this.directory, List.of(ontologyFile)).restore());
+	}
+
+	@Test
+	void shouldIgnoreSnapshot_whenRemoteImportChanged() throws Exception {
+		final var importedOntology =
+				new AtomicReference<>(
+						"@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+								+ "<http://example.org/imported> a owl:Ontology .\n");
+		final var server =
+				HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext(
+				"/imported",
+				exchange -> {
+					final var content = importedOntology.get().getBytes(StandardCharsets.UTF_8);
+					exchange.getResponseHeaders().set("Content-Type", "text/turtle");
+					exchange.sendResponseHeaders(200, content.length);
+					exchange.getResponseBody().write(content);
+					exchange.close();
+				});
+		server.start();
+
+		try {
+			final var importedIri = "http://127.0.0.1:" + server.getAddress().getPort() + "/imported";
+			final var ontologyFile = this.directory.resolve("ontology0.owl");
+			Files.writeString(
+					ontologyFile,
+					"@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+							+ "<http://example.org/importing> a owl:Ontology ; owl:imports <"
+							+ importedIri
+							+ "> .\n");
+			final var manager = this.load(ontologyFile);
+			assertEquals(2, manager.ontologies().count());
+
+			new OntologySnapshot(this.directory, List.of(ontologyFile)).save(manager);
+			assertNotNull(new OntologySnapshot(this.directory, List.of(ontologyFile)).restore());
+
+			importedOntology.set(importedOntology.get() + "<http://example.org/A> a owl:Class .\n");
+			assertNull(new OntologySnapshot(this.directory, List.of(ontologyFile)).restore());
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void shouldRestoreSnapshot_whenRemoteImportIsCachedOffline() throws Exception {
+		final var importedOntology =
+				"@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+						+ "<http://example.org/imported> a owl:Ontology .\n";
+		final var server =
+				HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext(
+				"/imported",
+				exchange -> {
+					final var content = importedOntology.getBytes(StandardCharsets.UTF_8);
+					exchange.getResponseHeaders().set("Content-Type", "text/turtle");
+					exchange.sendResponseHeaders(200, content.length);
+					exchange.getResponseBody().write(content);
+					exchange.close();
+				});
+		server.start();
+
+		final var cacheDirectory = this.directory.resolve("cache");
+		final var ontologyFile = this.directory.resolve("ontology0.owl");
+		try {
+			final var importedIri = "http://127.0.0.1:" + server.getAddress().getPort() + "/imported";
+			Files.writeString(
+					ontologyFile,
+					"@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+							+ "<http://example.org/importing> a owl:Ontology ; owl:imports <"
+							+ importedIri
+							+ "> .\n");
+			final var manager = this.load(ontologyFile);
+			new OntologySnapshot(
+							this.directory, List.of(ontologyFile), new OntologyCache(cacheDirectory, false))
+					.save(manager);
+		} finally {
+			server.stop(0);
+		}
+
+		// The import is only read from the cache, since the server is gone.
+		final var offlineCache = new OntologyCache(cacheDirectory, true);
+		assertNotNull(
+				new OntologySnapshot(this.directory, List.of(ontologyFile), offlineCache).restore());
+		assertNull(new OntologySnapshot(this.directory, List.of(ontologyFile)).restore());
+	}
+
+	private Path copyOntology(String path) throws Exception {
+		final var ontologyFile = this.directory.resolve("ontology0.owl");
+		Files.copy(Path.of(path), ontologyFile, StandardCopyOption.REPLACE_EXISTING);
+		return ontologyFile;
+	}
+
+	private OWLOntologyManager load(Path ontologyFile) throws Exception {
+		final var manager = OWLManager.createConcurrentOWLOntologyManager();
+		manager.loadOntologyFromOntologyDocument(new FileDocumentSource(ontologyFile.toFile()));
+		return manager;
+	}
+
+	private OWLOntology single(OWLOntologyManager manager) {
+		final var ontologies = manager.ontologies().collect(Collectors.toList());
+		assertEquals(1, ontologies.size());
+		return ontologies.get(0);
+	}
+}
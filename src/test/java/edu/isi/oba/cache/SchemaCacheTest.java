@@ -0,0 +1,256 @@
+package edu.isi.oba.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.BaseTest;
+import edu.isi.oba.config.ontology.annotations.AnnotationConfig;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import edu.isi.oba.utils.StringUtils;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+public class SchemaCacheTest extends BaseTest {
+	private static final String NS = "http://example.org/";
+
+	@TempDir Path directory;
+
+	private OWLOntologyManager manager;
+	private OWLDataFactory dataFactory;
+	private OWLOntology ontology;
+	private OWLClass agent;
+	private OWLClass person;
+	private OWLClass place;
+
+	@BeforeEach
+	void setUp() throws OWLOntologyCreationException {
+		this.manager = OWLManager.createOWLOntologyManager();
+		this.dataFactory = this.manager.getOWLDataFactory();
+		this.ontology = this.manager.createOntology(IRI.create(NS + "ontology"));
+
+		this.agent = this.declareClass("Agent");
+		this.person = this.declareClass("Person");
+		this.place = this.declareClass("Place");
+		this.addAxiom(this.dataFactory.getOWLSubClassOfAxiom(this.person, this.agent));
+	}
+
+	@AfterEach
+	void tearDown() {
+		OntologyIndexRegistry.clear();
+		ReasonerRegistry.clear();
+		StringUtils.setInflectionDictionary(Map.of());
+	}
+
+	@Test
+	void shouldReturnCopyOfCachedSchema_whenNothingChanged() throws IOException {
+		final var schema = this.personSchema();
+		final var expectedJson = Json.pretty(schema);
+		final var markdownMappings = new TreeMap<String, Map<String, String>>();
+		markdownMappings.put("Person", new TreeMap<>(Map.of("name", "The name of a person")));
+
+		final var cache = this.newCache();
+		assertNull(cache.get(this.person, this.ontology));
+		cache.put(
+				this.person,
+				this.ontology,
+				schema,
+				Set.of(this.agent),
+				markdownMappings,
+				Set.of(this.person, this.agent));
+		cache.save();
+
+		final var reloadedCache = this.newCache();
+		final var cachedSchema = reloadedCache.get(this.person, this.ontology);
+		assertNotNull(cachedSchema);
+		assertEquals(1, reloadedCache.getHits());
+		assertEquals(0, reloadedCache.getMisses());
+
+		final var copy = cachedSchema.getSchema();
+		assertNotSame(schema, copy);
+		assertEquals(expectedJson, Json.pretty(copy));
+		assertEquals("Person", copy.getName());
+		assertEquals("name", ((Schema<?>) copy.getProperties().get("name")).getName());
+		assertNull(((Schema<?>) copy.getProperties().get("friends")).getItems().getType());
+		assertEquals(Set.of(this.agent), cachedSchema.getReferencedClasses(this.dataFactory));
+		assertEquals(markdownMappings, cachedSchema.getMarkdownMappings());
+	}
+
+	@Test
+	void shouldNotReturnCachedSchema_whenDependencyChanged() throws IOException {
+		final var cache = this.newCache();
+		cache.put(
+				this.person,
+				this.ontology,
+				this.personSchema(),
+				Set.of(),
+				Map.of(),
+				Set.of(this.person, this.agent));
+		cache.put(
+				this.place, this.ontology, new ObjectSchema(), Set.of(), Map.of(), Set.of(this.place));
+		cache.save();
+		OntologyIndexRegistry.clear();
+		ReasonerRegistry.clear();
+
+		// A new property of the super class changes the schema of Person, but not the one of Place.
+		final var name = this.dataFactory.getOWLDataProperty(IRI.create(NS + "name"));
+		this.addAxiom(this.dataFactory.getOWLDataPropertyDomainAxiom(name, this.agent));
+
+		final var reloadedCache = this.newCache();
+		assertNull(reloadedCache.get(this.person, this.ontology));
+		assertNotNull(reloadedCache.get(this.place, this.ontology));
+		assertEquals(1, reloadedCache.getHits());
+		assertEquals(1, reloadedCache.getMisses());
+	}
+
+	@Test
+	void shouldIgnoreUnreadableCacheFile() throws IOException {
+		Files.writeString(this.directory.resolve(SchemaCache.CACHE_FILE_NAME), "{ not json");
+
+		final var cache = this.newCache();
+
+		assertNull(cache.get(this.person, this.ontology));
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void shouldContinuePreviousCache_withoutCacheFile() {
+		final var cache = this.newCache();
+		cache.put(
+				this.person,
+				this.ontology,
+				this.personSchema(),
+				Set.of(),
+				Map.of(),
+				Set.of(this.person, this.agent));
+
+		// Not saved, so only the previous cache has the entry.
+		final var nextCache = new SchemaCache(this.directory, new AnnotationConfig(), cache);
+		assertNotNull(nextCache.get(this.person, this.ontology));
+		assertNull(nextCache.get(this.place, this.ontology));
+		assertNull(this.newCache().get(this.person, this.ontology));
+	}
+
+	@Test
+	void shouldKeepEntriesOfEveryPreviousRun_inMemory() throws IOException {
+		final var cache = new SchemaCache(null, new AnnotationConfig(), null);
+		cache.put(
+				this.person,
+				this.ontology,
+				this.personSchema(),
+				Set.of(),
+				Map.of(),
+				Set.of(this.person, this.agent));
+		cache.save();
+		assertNull(cache.getCacheFile());
+		assertFalse(Files.exists(this.directory.resolve(SchemaCache.CACHE_FILE_NAME)));
+
+		// A run which does not use the entry does not drop it for the next runs.
+		final var nextCache = new SchemaCache(null, new AnnotationConfig(), cache);
+		assertNull(nextCache.get(this.place, this.ontology));
+
+		final var lastCache = new SchemaCache(this.directory, new AnnotationConfig(), nextCache);
+		assertNotNull(lastCache.get(this.person, this.ontology));
+		lastCache.save();
+		assertNotNull(this.newCache().get(this.person, this.ontology));
+	}
+
+	@Test
+	void shouldReturnCachedSchemaFromCacheFile_whenContinuingAnotherConfiguration()
+			throws IOException {
+		// A previous batch saved the second configuration's cache, with its inflection dictionary.
+		final var firstDirectory = Files.createDirectories(this.directory.resolve("first"));
+		final var secondDirectory = Files.createDirectories(this.directory.resolve("second"));
+		StringUtils.setInflectionDictionary(Map.of("person", "people"));
+		final var savedCache = new SchemaCache(secondDirectory, new AnnotationConfig());
+		savedCache.put(
+				this.person,
+				this.ontology,
+				this.personSchema(),
+				Set.of(),
+				Map.of(),
+				Set.of(this.person, this.agent));
+		savedCache.put(
+				this.place, this.ontology, new ObjectSchema(), Set.of(), Map.of(), Set.of(this.place));
+		savedCache.save();
+
+		// The first configuration of the batch maps Person without the inflection dictionary.
+		StringUtils.setInflectionDictionary(Map.of());
+		final var firstCache = new SchemaCache(firstDirectory, new AnnotationConfig());
+		assertNull(firstCache.get(this.person, this.ontology));
+		firstCache.put(
+				this.person,
+				this.ontology,
+				this.personSchema(),
+				Set.of(),
+				Map.of(),
+				Set.of(this.person, this.agent));
+
+		// The second configuration continues the first one's cache, and reuses its own cache file.
+		StringUtils.setInflectionDictionary(Map.of("person", "people"));
+		final var secondCache = new SchemaCache(secondDirectory, new AnnotationConfig(), firstCache);
+		assertNotNull(secondCache.get(this.person, this.ontology));
+		assertNotNull(secondCache.get(this.place, this.ontology));
+		assertEquals(2, secondCache.getHits());
+		assertEquals(0, secondCache.getMisses());
+	}
+
+	@Test
+	void shouldNotReturnCachedSchema_whenInflectionDictionaryChanged() throws IOException {
+		final var cache = this.newCache();
+		cache.put(
+				this.person,
+				this.ontology,
+				this.personSchema(),
+				Set.of(),
+				Map.of(),
+				Set.of(this.person, this.agent));
+		cache.save();
+
+		StringUtils.setInflectionDictionary(Map.of("person", "persons"));
+		assertNull(this.newCache().get(this.person, this.ontology));
+	}
+
+	private SchemaCache newCache() {
+		return new SchemaCache(this.directory, new AnnotationConfig());
+	}
+
+	private Schema<?> personSchema() {
+		final var nameSchema = new StringSchema();
+		nameSchema.setName("name");
+
+		final var friendsSchema = new ArraySchema();
+		friendsSchema.setName("friends");
+		friendsSchema.setItems(new Schema<>());
+
+		final var schema = new ObjectSchema();
+		schema.setName("Person");
+		schema.addProperty("name", nameSchema);
+		schema.addProperty("friends", friendsSchema);
+		return schema;
+	}
+
+	private OWLClass declareClass(String name) {
+		final var owlClass = this.dataFactory.getOWLClass(IRI.create(NS + name));
+		this.addAxiom(this.dataFactory.getOWLDeclarationAxiom(owlClass));
+		return owlClass;
+	}
+
+	private void addAxiom(OWLAxiom axiom) {
+		this.manager.addAxiom(this.ontology, axiom);
+	}
+}
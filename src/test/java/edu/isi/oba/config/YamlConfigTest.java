@@ -1,14 +1,24 @@
 package edu.isi.oba.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import edu.isi.oba.BaseTest;
+import edu.isi.oba.cache.OntologySnapshot;
 import edu.isi.oba.config.flags.GlobalFlags;
 import edu.isi.oba.exceptions.ConfigValidationException;
 import edu.isi.oba.utils.yaml.YamlUtils;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
 public class YamlConfigTest extends BaseTest {
@@ -51,6 +61,62 @@ public class YamlConfigTest extends BaseTest {
 		Assertions.assertFalse(config_data.getOntologies().isEmpty());
 	}
 
+	@Test
+	public void testSeveralLocalOntologies(@TempDir File tempDir) throws Exception {
+		final var configFile =
+				this.writeConfig(
+						tempDir,
+						"src/test/resources/modelCat.ttl",
+						"examples/business/ontology.xml",
+						"examples/testConfig/ontology.ttl");
+
+		final var config_data = YamlUtils.getYamlData(configFile.getPath());
+
+		// Each ontology is copied to its own (indexed) file, and loaded.
+		final var projectDir = new File(tempDir, "outputs/several");
+		for (int index = 0; index < 3; index++) {
+			Assertions.assertTrue(new File(projectDir, "ontology" + index + ".owl").isFile());
+		}
+		Assertions.assertTrue(config_data.getOwlOntologies().size() >= 3);
+	}
+
+	@Test
+	public void testSeveralOntologies_whenOneIsMissing(@TempDir File tempDir) throws Exception {
+		final var configFile =
+				this.writeConfig(
+						tempDir, "src/test/resources/modelCat.ttl", "src/test/resources/missing.ttl");
+
+		// Process the configuration itself, since YamlUtils only reports it as a fatal error.
+		final var config = new ObjectMapper(new YAMLFactory()).readValue(configFile, YamlConfig.class);
+		final var exception = Assertions.assertThrows(NoSuchFileException.class, config::processConfig);
+		Assertions.assertTrue(exception.getMessage().contains("src/test/resources/missing.ttl"));
+	}
+
+	@Test
+	public void testOntologySnapshot_isRestored(@TempDir File tempDir) throws Exception {
+		final var configFile = this.writeConfig(tempDir, "src/test/resources/modelCat.ttl");
+		Files.writeString(configFile.toPath(), "ontology_snapshot: true\n", StandardOpenOption.APPEND);
+
+		final var parsedConfig = YamlUtils.getYamlData(configFile.getPath());
+		final var snapshotFile =
+				new File(tempDir, "outputs/several/" + OntologySnapshot.SNAPSHOT_FILE_NAME).toPath();
+		Assertions.assertTrue(Files.isRegularFile(snapshotFile));
+
+		// A restored snapshot is not saved again.
+		final var savedTime = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(snapshotFile, savedTime);
+		final var restoredConfig = YamlUtils.getYamlData(configFile.getPath());
+		Assertions.assertEquals(savedTime, Files.getLastModifiedTime(snapshotFile));
+
+		Assertions.assertEquals(
+				parsedConfig.getOwlOntologies().stream()
+						.flatMap(OWLOntology::axioms)
+						.collect(Collectors.toSet()),
+				restoredConfig.getOwlOntologies().stream()
+						.flatMap(OWLOntology::axioms)
+						.collect(Collectors.toSet()));
+	}
+
 	@Test
 	public void missingFile() throws OWLOntologyCreationException {
 		final var missing_file = "src/test/config/missing_file.yaml";
@@ -69,6 +135,35 @@ public class YamlConfigTest extends BaseTest {
 		Assertions.assertThrows(ConfigValidationException.class, config::validate);
 	}
 
+	@Test
+	public void testValidationFailsWhenOfflineWithoutOntologyCache() throws Exception {
+		YamlConfig config = new YamlConfig();
+
+		var ontologiesField = YamlConfig.class.getDeclaredField("ontologies");
+		ontologiesField.setAccessible(true);
+		((Set<String>) ontologiesField.get(config)).add("ontology.ttl");
+
+		var offlineField = YamlConfig.class.getDeclaredField("offline");
+		offlineField.setAccessible(true);
+		offlineField.set(config, true);
+
+		final var exception =
+				Assertions.assertThrows(ConfigValidationException.class, config::validate);
+		Assertions.assertTrue(exception.getMessage().contains(ConfigPropertyNames.ONTOLOGY_CACHE_DIR));
+	}
+
+	@Test
+	public void testMappingWorkers() {
+		YamlConfig config = new YamlConfig();
+		Assertions.assertEquals(1, config.getMappingWorkers());
+
+		config.setMappingWorkers(4);
+		Assertions.assertEquals(4, config.getMappingWorkers());
+
+		config.setMappingWorkers(null);
+		Assertions.assertEquals(1, config.getMappingWorkers());
+	}
+
 	@Test
 	public void testFlagSettersUpdateGlobalFlags() {
 		YamlConfig config = new YamlConfig();
@@ -98,4 +193,19 @@ public class YamlConfigTest extends BaseTest {
 		Assertions.assertTrue(expectedDir.exists());
 		Assertions.assertTrue(expectedDir.isDirectory());
 	}
+
+	private File writeConfig(File directory, String... ontologies) throws IOException {
+		final var config = new StringBuilder("ontologies:\n");
+		for (final var ontology : ontologies) {
+			config.append("  - ").append(ontology).append('\n');
+		}
+
+		config.append("name: several\n");
+		config.append("output_dir: ").append(new File(directory, "outputs").getPath()).append('\n');
+		config.append("openapi:\n  openapi: 3.0.1\n  info:\n    title: Several\n    version: v1\n");
+
+		final var configFile = new File(directory, "config.yaml");
+		Files.writeString(configFile.toPath(), config);
+		return configFile;
+	}
 }
@@ -0,0 +1,149 @@
+package edu.isi.oba.generators;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.isi.oba.config.YamlConfig;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+public class ExamplesGeneratorTest {
+	private static final String REF_PREFIX = "#/components/schemas/";
+
+	@Test
+	void shouldUseExampleOfReferencedSchema_butNotOfArrayItems() throws Exception {
+		final var schemas = new TreeMap<String, Schema>();
+		schemas.put("Person", new ObjectSchema().addProperty("name", new StringSchema()));
+		schemas.put(
+				"Team",
+				new ObjectSchema()
+						.addProperty("leader", new Schema<>().$ref(REF_PREFIX + "Person"))
+						.addProperty(
+								"members",
+								new ArraySchema().items(new ObjectSchema().$ref(REF_PREFIX + "Person"))));
+
+		final var examples = ExamplesGenerator.generateExamples(this.openAPI(schemas));
+
+		assertEquals(
+				"{\"leader\":{\"name\":\"string\"},\"members\":[null]}",
+				this.valueOf(examples, "Team_Example"));
+		assertEquals("[{\"name\":\"string\"}]", this.valueOf(examples, "Person_ArrayExample"));
+	}
+
+	@Test
+	void shouldNotFollowReference_whenItIsCyclic() throws Exception {
+		final var schemas = new TreeMap<String, Schema>();
+		schemas.put(
+				"Node",
+				new ObjectSchema()
+						.addProperty("next", new Schema<>().$ref(REF_PREFIX + "Node"))
+						.addProperty("value", new IntegerSchema()));
+
+		final var examples = ExamplesGenerator.generateExamples(this.openAPI(schemas));
+
+		assertEquals("{\"next\":null,\"value\":2}", this.valueOf(examples, "Node_Example"));
+	}
+
+	@Test
+	void shouldFollowReference_whichIsOnlyCyclicElsewhere() throws Exception {
+		final var schemas = new TreeMap<String, Schema>();
+		schemas.put("A", new ObjectSchema().addProperty("b", new Schema<>().$ref(REF_PREFIX + "B")));
+		schemas.put(
+				"B",
+				new ObjectSchema()
+						.addProperty("a", new Schema<>().$ref(REF_PREFIX + "A"))
+						.addProperty("flag", new BooleanSchema()));
+		schemas.put("C", new ObjectSchema().addProperty("b", new Schema<>().$ref(REF_PREFIX + "B")));
+
+		final var examples = ExamplesGenerator.generateExamples(this.openAPI(schemas));
+
+		// The example of B within A leaves out its reference back to A, but not the one within C.
+		assertEquals("{\"b\":{\"a\":null,\"flag\":false}}", this.valueOf(examples, "A_Example"));
+		assertEquals(
+				"{\"b\":{\"a\":{\"b\":null},\"flag\":false}}", this.valueOf(examples, "C_Example"));
+	}
+
+	@Test
+	void shouldNotFollowReferences_deeperThanMaxDepth() throws Exception {
+		final var schemas = new TreeMap<String, Schema>();
+		schemas.put("A", new ObjectSchema().addProperty("b", new Schema<>().$ref(REF_PREFIX + "B")));
+		schemas.put("B", new ObjectSchema().addProperty("c", new Schema<>().$ref(REF_PREFIX + "C")));
+		schemas.put("C", new ObjectSchema().addProperty("flag", new BooleanSchema()));
+
+		final var examples = ExamplesGenerator.generateExamples(this.openAPI(schemas), 1);
+
+		assertEquals("{\"b\":{\"c\":null}}", this.valueOf(examples, "A_Example"));
+		assertEquals("{\"c\":{\"flag\":false}}", this.valueOf(examples, "B_Example"));
+	}
+
+	@Test
+	void shouldCombineAllOfSubSchemas() throws Exception {
+		final var schemas = new TreeMap<String, Schema>();
+		schemas.put("Person", new ObjectSchema().addProperty("name", new StringSchema()));
+		schemas.put(
+				"Student",
+				new ComposedSchema()
+						.addAllOfItem(new Schema<>().$ref(REF_PREFIX + "Person"))
+						.addAllOfItem(new ObjectSchema().addProperty("enrolled", new BooleanSchema())));
+
+		final var examples = ExamplesGenerator.generateExamples(this.openAPI(schemas));
+
+		assertEquals(
+				"{\"enrolled\":false,\"name\":\"string\"}", this.valueOf(examples, "Student_Example"));
+	}
+
+	@Test
+	void shouldSplitRequestAndResponseExamples_whenPropertiesAreReadOrWriteOnly() throws Exception {
+		final var schemas = new TreeMap<String, Schema>();
+		schemas.put(
+				"Account",
+				new ObjectSchema()
+						.addProperty("id", new IntegerSchema().readOnly(true))
+						.addProperty("password", new StringSchema().writeOnly(true))
+						.addProperty("user", new StringSchema()));
+
+		final var examples = ExamplesGenerator.generateExamples(this.openAPI(schemas));
+
+		assertFalse(examples.containsKey("Account_Example"));
+		assertEquals(
+				"{\"id\":2,\"user\":\"string\"}", this.valueOf(examples, "Account_ResponseExample"));
+		assertEquals(
+				"{\"password\":\"string\",\"user\":\"string\"}",
+				this.valueOf(examples, "Account_RequestExample"));
+	}
+
+	@Test
+	void shouldGeneratePathExamples_whenConfigHasNoSearchPaths() {
+		final var paths = new Paths().addPathItem("/persons", new PathItem().post(new Operation()));
+
+		final var config = new YamlConfig();
+		assertNull(config.getPathConfig().getSearchPaths());
+
+		final var updatedPaths =
+				assertDoesNotThrow(() -> ExamplesGenerator.generatePathExamples(paths, Map.of(), config));
+		assertEquals(paths.keySet(), updatedPaths.keySet());
+	}
+
+	private OpenAPI openAPI(Map<String, Schema> schemas) {
+		return new OpenAPI().components(new Components().schemas(schemas));
+	}
+
+	private String valueOf(Map<String, Example> examples, String name) throws Exception {
+		assertTrue(examples.containsKey(name), "Missing example " + name);
+		return new ObjectMapper().writeValueAsString(examples.get(name).getValue());
+	}
+}
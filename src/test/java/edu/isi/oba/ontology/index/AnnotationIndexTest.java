@@ -0,0 +1,80 @@
+package edu.isi.oba.ontology.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.search.EntitySearcher;
+
+public class AnnotationIndexTest extends BaseIndexTest {
+	@Test
+	void shouldIndexAnnotations_bySubjectAndProperty() {
+		final var person = this.dataFactory.getOWLClass(IRI.create(NS + "Person"));
+		final var name = this.dataFactory.getOWLDataProperty(IRI.create(NS + "name"));
+		final var readOnly = this.dataFactory.getOWLAnnotationProperty(IRI.create(NS + "readOnly"));
+
+		this.annotate(
+				person.getIRI(),
+				this.dataFactory.getRDFSComment(this.dataFactory.getOWLLiteral("A person", "en")));
+		this.annotate(
+				person.getIRI(),
+				this.dataFactory.getRDFSComment(this.dataFactory.getOWLLiteral("Une personne", "fr")));
+		this.annotate(person.getIRI(), this.dataFactory.getRDFSLabel("person"));
+		this.annotate(
+				name.getIRI(),
+				this.dataFactory.getOWLAnnotation(readOnly, this.dataFactory.getOWLLiteral(true)));
+
+		final var index = new AnnotationIndex(this.ontology);
+
+		assertEquals(3, index.getAnnotations(person.getIRI()).size());
+		assertEquals(
+				List.of("A person", "Une personne"),
+				index.getAnnotations(person.getIRI(), this.dataFactory.getRDFSComment().getIRI()).stream()
+						.map(annotation -> annotation.getValue().asLiteral().get().getLiteral())
+						.sorted()
+						.collect(Collectors.toList()));
+		assertEquals(1, index.getAnnotations(name.getIRI(), readOnly.getIRI()).size());
+
+		// Nothing for other properties and entities.
+		assertTrue(
+				index.getAnnotations(name.getIRI(), this.dataFactory.getRDFSComment().getIRI()).isEmpty());
+		assertTrue(index.getAnnotations(IRI.create(NS + "Other")).isEmpty());
+		assertTrue(index.getAnnotations(IRI.create(NS + "Other"), readOnly.getIRI()).isEmpty());
+	}
+
+	@Test
+	void shouldReturnAnnotations_inEntitySearcherOrder() {
+		final var person = this.dataFactory.getOWLClass(IRI.create(NS + "Person"));
+		for (var i = 0; i < 20; i++) {
+			this.annotate(
+					person.getIRI(),
+					this.dataFactory.getRDFSLabel(this.dataFactory.getOWLLiteral("person " + i, "l" + i)));
+		}
+
+		final var index = new AnnotationIndex(this.ontology);
+
+		assertEquals(
+				EntitySearcher.getAnnotationObjects(person, this.ontology).collect(Collectors.toList()),
+				index.getAnnotations(person.getIRI()));
+		assertEquals(
+				EntitySearcher.getAnnotationObjects(person, this.ontology, this.dataFactory.getRDFSLabel())
+						.collect(Collectors.toList()),
+				index.getAnnotations(person.getIRI(), this.dataFactory.getRDFSLabel().getIRI()));
+	}
+
+	@Test
+	void shouldShareIndex_perOntology() {
+		final var index = OntologyIndexRegistry.getAnnotationIndex(this.ontology);
+		assertSame(index, OntologyIndexRegistry.getAnnotationIndex(this.ontology));
+
+		OntologyIndexRegistry.release(this.ontology);
+		assertNotSame(index, OntologyIndexRegistry.getAnnotationIndex(this.ontology));
+	}
+
+	private void annotate(IRI subject, OWLAnnotation annotation) {
+		this.manager.addAxiom(
+				this.ontology, this.dataFactory.getOWLAnnotationAssertionAxiom(subject, annotation));
+	}
+}
@@ -0,0 +1,38 @@
+package edu.isi.oba.ontology.index;
+
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/** Each index test starts with a new, empty ontology, and releases its indexes and reasoners. */
+public abstract class BaseIndexTest {
+	protected static final String NS = "http://example.org/";
+
+	protected OWLOntologyManager manager;
+	protected OWLDataFactory dataFactory;
+	protected OWLOntology ontology;
+
+	@BeforeEach
+	void createOntology() throws OWLOntologyCreationException {
+		this.manager = OWLManager.createOWLOntologyManager();
+		this.dataFactory = this.manager.getOWLDataFactory();
+		this.ontology = this.manager.createOntology(IRI.create(NS + "ontology"));
+	}
+
+	@AfterEach
+	void releaseOntology() {
+		OntologyIndexRegistry.clear();
+		ReasonerRegistry.clear();
+	}
+
+	protected OWLClass owlClass(String name) {
+		return this.dataFactory.getOWLClass(IRI.create(NS + name));
+	}
+}
@@ -0,0 +1,84 @@
+package edu.isi.oba.ontology.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+
+public class ClassHierarchyIndexTest extends BaseIndexTest {
+	@BeforeEach
+	void setUp() {
+		// Agent > Person (= Human) > Student > ExchangeStudent, and WorkingStudent is a sub-class of
+		// both Student and Employee (> Person).
+		this.addSubClass("Person", "Agent");
+		this.ontology.addAxiom(
+				this.dataFactory.getOWLEquivalentClassesAxiom(
+						this.owlClass("Person"), this.owlClass("Human")));
+		this.addSubClass("Student", "Person");
+		this.addSubClass("ExchangeStudent", "Student");
+		this.addSubClass("Employee", "Person");
+		this.addSubClass("WorkingStudent", "Student");
+		this.addSubClass("WorkingStudent", "Employee");
+	}
+
+	private void addSubClass(String subClass, String superClass) {
+		this.ontology.addAxiom(
+				this.dataFactory.getOWLSubClassOfAxiom(this.owlClass(subClass), this.owlClass(superClass)));
+	}
+
+	private Set<OWLClass> owlClasses(String... names) {
+		return List.of(names).stream().map(this::owlClass).collect(Collectors.toSet());
+	}
+
+	@Test
+	void shouldFindAncestors_asReasonerSuperClasses() {
+		final var reasoner = ReasonerRegistry.getReasoner(this.ontology);
+		final var index = new ClassHierarchyIndex(reasoner);
+
+		final var owlClasses = new HashSet<OWLClass>(this.ontology.getClassesInSignature());
+		owlClasses.add(this.dataFactory.getOWLThing());
+		for (final var owlClass : owlClasses) {
+			for (final var ancestor : owlClasses) {
+				assertEquals(
+						reasoner.getSuperClasses(owlClass, false).containsEntity(ancestor),
+						index.isAncestor(owlClass, ancestor),
+						ancestor + " of " + owlClass);
+			}
+		}
+	}
+
+	@Test
+	void shouldRemoveAncestors_leavingDirectSuperClasses() {
+		final var index = new ClassHierarchyIndex(ReasonerRegistry.getReasoner(this.ontology));
+
+		final var superClasses = this.owlClasses("Agent", "Person", "Student");
+		index.removeAncestors(superClasses);
+		assertEquals(this.owlClasses("Student"), superClasses);
+
+		// Neither Student nor Employee is an ancestor of the other.
+		final var multipleSuperClasses = this.owlClasses("Agent", "Person", "Student", "Employee");
+		index.removeAncestors(multipleSuperClasses);
+		assertEquals(this.owlClasses("Student", "Employee"), multipleSuperClasses);
+
+		// Equivalent classes are not ancestors of each other.
+		final var equivalentClasses = this.owlClasses("Person", "Human");
+		index.removeAncestors(equivalentClasses);
+		assertEquals(this.owlClasses("Person", "Human"), equivalentClasses);
+	}
+
+	@Test
+	void shouldShareIndex_perOntology() {
+		final var reasoner = ReasonerRegistry.getReasoner(this.ontology);
+		final var index = OntologyIndexRegistry.getClassHierarchyIndex(this.ontology, reasoner);
+		assertSame(index, OntologyIndexRegistry.getClassHierarchyIndex(this.ontology, reasoner));
+
+		OntologyIndexRegistry.release(this.ontology);
+		assertNotSame(index, OntologyIndexRegistry.getClassHierarchyIndex(this.ontology, reasoner));
+	}
+}
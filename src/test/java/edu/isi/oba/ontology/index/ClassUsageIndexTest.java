@@ -0,0 +1,108 @@
+package edu.isi.oba.ontology.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.search.EntitySearcher;
+
+public class ClassUsageIndexTest extends BaseIndexTest {
+	@Test
+	void shouldIndexEquivalentClasses_asEntitySearcherFindsThem() {
+		final var person = this.owlClass("Person");
+		final var human = this.owlClass("Human");
+		final var agent = this.owlClass("Agent");
+		final var knows = this.dataFactory.getOWLObjectProperty(IRI.create(NS + "knows"));
+
+		this.ontology.addAxiom(this.dataFactory.getOWLEquivalentClassesAxiom(person, human));
+		// A class which is only nested in an equivalent class expression has no equivalent class.
+		this.ontology.addAxiom(
+				this.dataFactory.getOWLEquivalentClassesAxiom(
+						this.owlClass("Friend"), this.dataFactory.getOWLObjectSomeValuesFrom(knows, agent)));
+
+		final var index = new ClassUsageIndex(this.ontology);
+
+		for (final var owlClass : List.of(person, human, agent, this.owlClass("Friend"))) {
+			assertEquals(
+					EntitySearcher.getEquivalentClasses(owlClass, this.ontology).count() > 0,
+					index.hasEquivalentClasses(owlClass),
+					owlClass.toString());
+		}
+		assertTrue(index.hasEquivalentClasses(person));
+		assertFalse(index.hasEquivalentClasses(agent));
+	}
+
+	@Test
+	void shouldIndexSubClassRestrictions_ofNamedSubClassesOnly() {
+		final var person = this.owlClass("Person");
+		final var agent = this.owlClass("Agent");
+		final var place = this.owlClass("Place");
+		final var livesIn = this.dataFactory.getOWLObjectProperty(IRI.create(NS + "livesIn"));
+
+		this.ontology.addAxiom(
+				this.dataFactory.getOWLSubClassOfAxiom(
+						person, this.dataFactory.getOWLObjectSomeValuesFrom(livesIn, place)));
+		this.ontology.addAxiom(this.dataFactory.getOWLSubClassOfAxiom(agent, this.owlClass("Thing")));
+
+		final var index = new ClassUsageIndex(this.ontology);
+
+		assertTrue(index.hasSubClassRestrictions(person));
+		// Only a subclass of another class.
+		assertFalse(index.hasSubClassRestrictions(agent));
+		// Only in the restriction of another class.
+		assertFalse(index.hasSubClassRestrictions(place));
+	}
+
+	@Test
+	void shouldIndexDataPropertyDomains_andObjectPropertyRangesByPropertyName() {
+		final var person = this.owlClass("Person");
+		final var place = this.owlClass("Place");
+		final var organization = this.owlClass("Organization");
+		final var name = this.dataFactory.getOWLDataProperty(IRI.create(NS + "name"));
+		final var livesIn = this.dataFactory.getOWLObjectProperty(IRI.create(NS + "livesIn"));
+		final var worksFor = this.dataFactory.getOWLObjectProperty(IRI.create(NS + "worksFor"));
+
+		this.ontology.addAxiom(this.dataFactory.getOWLDataPropertyDomainAxiom(name, person));
+		this.ontology.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(livesIn, place));
+		this.ontology.addAxiom(
+				this.dataFactory.getOWLObjectPropertyRangeAxiom(
+						worksFor, this.dataFactory.getOWLObjectUnionOf(organization, person)));
+
+		final var index = new ClassUsageIndex(this.ontology);
+
+		assertTrue(index.isDataPropertyDomain(person));
+		assertFalse(index.isDataPropertyDomain(place));
+
+		final var livesInRanges = index.getObjectPropertyRanges(Set.of("livesIn", "name", "unknown"));
+		assertTrue(index.isObjectPropertyRange(place, livesInRanges));
+		assertFalse(index.isObjectPropertyRange(organization, livesInRanges));
+
+		final var allRanges = index.getObjectPropertyRanges(Set.of("livesIn", "worksFor"));
+		assertTrue(index.isObjectPropertyRange(organization, allRanges));
+		assertTrue(index.isObjectPropertyRange(person, allRanges));
+
+		assertFalse(index.isObjectPropertyRange(place, index.getObjectPropertyRanges(Set.of())));
+	}
+
+	@Test
+	void shouldNotUseClass_whenNotInIndexedAxioms() {
+		final var index = new ClassUsageIndex(this.ontology);
+		final var other = this.owlClass("Other");
+
+		assertFalse(index.hasEquivalentClasses(other));
+		assertFalse(index.hasSubClassRestrictions(other));
+		assertFalse(index.isDataPropertyDomain(other));
+		assertFalse(index.isObjectPropertyRange(other, index.getObjectPropertyRanges(Set.of("x"))));
+	}
+
+	@Test
+	void shouldShareIndex_perOntology() {
+		final var index = OntologyIndexRegistry.getClassUsageIndex(this.ontology);
+		assertSame(index, OntologyIndexRegistry.getClassUsageIndex(this.ontology));
+
+		OntologyIndexRegistry.release(this.ontology);
+		assertNotSame(index, OntologyIndexRegistry.getClassUsageIndex(this.ontology));
+	}
+}
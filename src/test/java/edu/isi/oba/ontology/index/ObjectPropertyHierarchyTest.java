@@ -0,0 +1,86 @@
+package edu.isi.oba.ontology.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+
+public class ObjectPropertyHierarchyTest extends BaseIndexTest {
+	@Test
+	void shouldKeepAllSubProperties_ofTopLevelProperties() {
+		final var relatedTo = this.objectProperty("relatedTo");
+		final var worksFor = this.objectProperty("worksFor");
+		final var managerOf = this.objectProperty("managerOf");
+		final var unrelated = this.objectProperty("unrelated");
+		this.addAxiom(this.dataFactory.getOWLSubObjectPropertyOfAxiom(worksFor, relatedTo));
+		this.addAxiom(this.dataFactory.getOWLSubObjectPropertyOfAxiom(managerOf, worksFor));
+
+		final var hierarchy = this.getHierarchy();
+
+		assertEquals(4, hierarchy.size());
+		assertEquals(
+				Set.of(relatedTo, unrelated),
+				this.propertiesOf(hierarchy, hierarchy.getTopLevelProperties()));
+
+		final var relatedToId = hierarchy.getId(relatedTo);
+		assertSame(relatedTo, hierarchy.getProperty(relatedToId));
+		assertEquals(
+				Set.of(worksFor, managerOf),
+				this.propertiesOf(hierarchy, hierarchy.getSubProperties(relatedToId)));
+		assertEquals(0, hierarchy.getSubProperties(hierarchy.getId(worksFor)).length);
+		assertEquals(0, hierarchy.getSubProperties(hierarchy.getId(unrelated)).length);
+	}
+
+	@Test
+	void shouldReturnMinusOne_whenPropertyIsNotInHierarchy() {
+		this.objectProperty("relatedTo");
+
+		assertEquals(
+				-1, this.getHierarchy().getId(this.dataFactory.getOWLObjectProperty(NS + "other")));
+	}
+
+	@Test
+	void shouldSeparateNamedUnionAndComplexRanges() {
+		final var hasPart = this.objectProperty("hasPart");
+		final var person = this.dataFactory.getOWLClass(NS + "Person");
+		final var organization = this.dataFactory.getOWLClass(NS + "Organization");
+		final var place = this.dataFactory.getOWLClass(NS + "Place");
+		final var unionRange = this.dataFactory.getOWLObjectUnionOf(organization, place);
+		this.addAxiom(
+				this.dataFactory.getOWLObjectPropertyDomainAxiom(
+						hasPart, this.dataFactory.getOWLObjectUnionOf(person, organization)));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(hasPart, person));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(hasPart, unionRange));
+
+		final var hierarchy = this.getHierarchy();
+		final var id = hierarchy.getId(hasPart);
+
+		assertEquals(Set.of(person.getIRI(), organization.getIRI()), Set.of(hierarchy.getDomains(id)));
+		assertArrayEquals(new OWLClass[] {person}, hierarchy.getRanges(id));
+		assertEquals(Set.of(person, organization, place), Set.of(hierarchy.getSubPropertyRanges(id)));
+		assertArrayEquals(new OWLClassExpression[] {unionRange}, hierarchy.getComplexRanges(id));
+	}
+
+	private ObjectPropertyHierarchy getHierarchy() {
+		return new ObjectPropertyHierarchy(this.ontology, ReasonerRegistry.getReasoner(this.ontology));
+	}
+
+	private Set<OWLObjectPropertyExpression> propertiesOf(
+			ObjectPropertyHierarchy hierarchy, int[] ids) {
+		return Arrays.stream(ids).mapToObj(hierarchy::getProperty).collect(Collectors.toSet());
+	}
+
+	private OWLObjectProperty objectProperty(String name) {
+		final var property = this.dataFactory.getOWLObjectProperty(IRI.create(NS + name));
+		this.addAxiom(this.dataFactory.getOWLDeclarationAxiom(property));
+		return property;
+	}
+
+	private void addAxiom(OWLAxiom axiom) {
+		this.manager.addAxiom(this.ontology, axiom);
+	}
+}
@@ -0,0 +1,97 @@
+package edu.isi.oba.ontology.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import edu.isi.oba.exceptions.InvalidOntologyFormatException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+
+public class PrefixIndexTest extends BaseIndexTest {
+	private TurtleDocumentFormat format;
+
+	@BeforeEach
+	void setUp() {
+		this.format = new TurtleDocumentFormat();
+		this.manager.setOntologyFormat(this.ontology, this.format);
+	}
+
+	@Test
+	void shouldPrefixSchemaName_withPrefixNameOfExactNamespace() {
+		this.format.setPrefix("ex:", NS);
+		this.format.setPrefix("exv:", NS + "vocab#");
+		this.format.setPrefix("exvo:", NS + "vocab#other/");
+
+		final var index = new PrefixIndex(this.ontology);
+
+		assertEquals("ex-Person", index.getSchemaName(IRI.create(NS + "Person")));
+		assertEquals("exv-Person", index.getSchemaName(IRI.create(NS + "vocab#Person")));
+		assertEquals("exvo-Person", index.getSchemaName(IRI.create(NS + "vocab#other/Person")));
+
+		// A namespace which only starts with a prefix's namespace is not prefixed.
+		assertEquals("Person", index.getSchemaName(IRI.create(NS + "vocab/Person")));
+		assertEquals("Person", index.getSchemaName(IRI.create("http://example.com/Person")));
+	}
+
+	@Test
+	void shouldNotPrefixSchemaName_whenPrefixNameIsEmpty() {
+		this.format.setDefaultPrefix(NS);
+
+		final var index = new PrefixIndex(this.ontology);
+
+		assertEquals("Person", index.getSchemaName(IRI.create(NS + "Person")));
+	}
+
+	@Test
+	void shouldPrependEachPrefixName_whenPrefixNamesShareNamespace() {
+		this.format.setPrefix("a:", NS);
+		this.format.setPrefix("b:", NS);
+
+		final var index = new PrefixIndex(this.ontology);
+
+		// Prepended in the order of the prefix map, as the schema names always were.
+		final var expected = new StringBuilder("Person");
+		this.format
+				.getPrefixName2PrefixMap()
+				.forEach(
+						(prefixName, namespace) -> {
+							if (NS.equals(namespace)) {
+								expected.insert(0, prefixName.replace(":", "") + "-");
+							}
+						});
+		assertEquals(expected.toString(), index.getSchemaName(IRI.create(NS + "Person")));
+	}
+
+	@Test
+	void shouldReturnMemoizedSchemaName_whenLookedUpAgain() {
+		this.format.setPrefix("ex:", NS);
+
+		final var index = new PrefixIndex(this.ontology);
+		final var iri = IRI.create(NS + "Person");
+
+		assertSame(index.getSchemaName(iri), index.getSchemaName(iri));
+	}
+
+	@Test
+	void shouldThrowException_whenFormatIsNotPrefixFormat() {
+		final var nonPrefixFormat = mock(OWLDocumentFormat.class);
+		when(nonPrefixFormat.isPrefixOWLDocumentFormat()).thenReturn(false);
+		this.manager.setOntologyFormat(this.ontology, nonPrefixFormat);
+
+		assertThrows(InvalidOntologyFormatException.class, () -> new PrefixIndex(this.ontology));
+		assertThrows(
+				InvalidOntologyFormatException.class,
+				() -> OntologyIndexRegistry.getPrefixIndex(this.ontology));
+	}
+
+	@Test
+	void shouldShareIndex_perOntology() {
+		final var index = OntologyIndexRegistry.getPrefixIndex(this.ontology);
+		assertSame(index, OntologyIndexRegistry.getPrefixIndex(this.ontology));
+
+		OntologyIndexRegistry.release(this.ontology);
+		assertNotSame(index, OntologyIndexRegistry.getPrefixIndex(this.ontology));
+	}
+}
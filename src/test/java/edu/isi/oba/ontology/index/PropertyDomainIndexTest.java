@@ -0,0 +1,211 @@
+package edu.isi.oba.ontology.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.ontology.reasoner.ReasonerRegistry;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+
+public class PropertyDomainIndexTest extends BaseIndexTest {
+	private OWLClass person;
+	private OWLClass organization;
+	private OWLClass place;
+
+	@BeforeEach
+	void setUp() {
+		this.person = this.owlClass("Person");
+		this.organization = this.owlClass("Organization");
+		this.place = this.owlClass("Place");
+	}
+
+	@Test
+	void shouldThrowException_whenInstantiatingRegistry() throws Exception {
+		Constructor<OntologyIndexRegistry> constructor =
+				OntologyIndexRegistry.class.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		assertThrows(InvocationTargetException.class, constructor::newInstance);
+	}
+
+	@Test
+	void shouldIndexObjectProperties_byClassAndUnionDomains() {
+		final var memberOf = this.objectProperty("memberOf");
+		final var locatedIn = this.objectProperty("locatedIn");
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(memberOf, this.person));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(memberOf, this.organization));
+		this.addAxiom(
+				this.dataFactory.getOWLObjectPropertyDomainAxiom(
+						locatedIn, this.dataFactory.getOWLObjectUnionOf(this.person, this.organization)));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(locatedIn, this.place));
+
+		final var index = this.getIndex();
+
+		assertEquals(
+				Set.of(memberOf, locatedIn),
+				this.objectPropertiesOf(index.getObjectProperties(this.person)));
+		assertEquals(
+				Set.of(locatedIn), this.objectPropertiesOf(index.getObjectProperties(this.organization)));
+		assertTrue(index.getObjectProperties(this.place).isEmpty());
+
+		final var memberOfEntry =
+				index.getObjectProperties(this.person).stream()
+						.filter(entry -> memberOf.equals(entry.getProperty()))
+						.findFirst()
+						.orElseThrow();
+		assertEquals(Set.of(this.organization), memberOfEntry.getRanges());
+		assertTrue(memberOfEntry.getComplexRanges().isEmpty());
+	}
+
+	@Test
+	void shouldInheritDomainsAndRanges_whenPropertyIsSubProperty() {
+		final var relatedTo = this.objectProperty("relatedTo");
+		final var worksFor = this.objectProperty("worksFor");
+		final var livesIn = this.objectProperty("livesIn");
+		this.addAxiom(this.dataFactory.getOWLSubObjectPropertyOfAxiom(worksFor, relatedTo));
+		this.addAxiom(this.dataFactory.getOWLSubObjectPropertyOfAxiom(livesIn, relatedTo));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(relatedTo, this.person));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(relatedTo, this.organization));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(livesIn, this.organization));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(livesIn, this.place));
+
+		final var index = this.getIndex();
+
+		// Sub-properties are added to the domain of their top-level super-property.
+		assertEquals(
+				Set.of(relatedTo, worksFor, livesIn),
+				this.objectPropertiesOf(index.getObjectProperties(this.person)));
+		assertEquals(
+				Set.of(livesIn), this.objectPropertiesOf(index.getObjectProperties(this.organization)));
+
+		// The first entry of a class is the top-level super-property, followed by its sub-properties.
+		assertEquals(relatedTo, index.getObjectProperties(this.person).get(0).getProperty());
+
+		final var livesInEntry = index.getObjectProperties(this.organization).get(0);
+		assertEquals(Set.of(this.organization, this.place), livesInEntry.getRanges());
+	}
+
+	@Test
+	void shouldKeepComplexRanges_whenRangeIsUnionOrIntersection() {
+		final var hasPart = this.objectProperty("hasPart");
+		final var unionRange = this.dataFactory.getOWLObjectUnionOf(this.organization, this.place);
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(hasPart, this.person));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(hasPart, unionRange));
+
+		final var entries = this.getIndex().getObjectProperties(this.person);
+
+		assertEquals(1, entries.size());
+		assertTrue(entries.get(0).getRanges().isEmpty());
+		assertEquals(List.of(unionRange), entries.get(0).getComplexRanges());
+	}
+
+	@Test
+	void shouldIndexDataPropertiesAndSubProperties_byDomainClasses() {
+		final var name = this.dataProperty("name");
+		final var nickname = this.dataProperty("nickname");
+		final var founded = this.dataProperty("founded");
+		this.addAxiom(this.dataFactory.getOWLSubDataPropertyOfAxiom(nickname, name));
+		this.addAxiom(
+				this.dataFactory.getOWLDataPropertyDomainAxiom(
+						name, this.dataFactory.getOWLObjectUnionOf(this.person, this.organization)));
+		this.addAxiom(
+				this.dataFactory.getOWLDataPropertyRangeAxiom(
+						name, this.dataFactory.getStringOWLDatatype()));
+		this.addAxiom(this.dataFactory.getOWLDataPropertyDomainAxiom(founded, this.organization));
+
+		final var index = this.getIndex();
+
+		assertEquals(
+				Set.of(name, nickname), this.dataPropertiesOf(index.getDataProperties(this.person)));
+		assertEquals(
+				Set.of(name, nickname, founded),
+				this.dataPropertiesOf(index.getDataProperties(this.organization)));
+		assertTrue(index.getDataProperties(this.place).isEmpty());
+
+		final var nameEntry =
+				index.getDataProperties(this.person).stream()
+						.filter(entry -> name.equals(entry.getProperty()))
+						.findFirst()
+						.orElseThrow();
+		assertEquals(List.of(this.dataFactory.getStringOWLDatatype()), nameEntry.getRanges());
+	}
+
+	@Test
+	void shouldIndexDataProperties_whenDomainHasDataPropertiesAndSubProperties() {
+		final var name = this.dataProperty("name");
+		final var nickname = this.dataProperty("nickname");
+		final var label = this.dataProperty("label");
+		final var shortLabel = this.dataProperty("shortLabel");
+		this.addAxiom(this.dataFactory.getOWLSubDataPropertyOfAxiom(nickname, name));
+		this.addAxiom(this.dataFactory.getOWLSubDataPropertyOfAxiom(shortLabel, label));
+		this.addAxiom(
+				this.dataFactory.getOWLDataPropertyDomainAxiom(
+						name,
+						this.dataFactory.getOWLObjectIntersectionOf(
+								this.person,
+								this.dataFactory.getOWLDataSomeValuesFrom(
+										label, this.dataFactory.getStringOWLDatatype()))));
+
+		final var dataProperties =
+				this.dataPropertiesOf(this.getIndex().getDataProperties(this.person));
+
+		assertTrue(dataProperties.containsAll(Set.of(name, nickname)));
+	}
+
+	@Test
+	void shouldShareIndex_untilReleased() {
+		final var reasoner = ReasonerRegistry.getReasoner(this.ontology);
+		final var index = OntologyIndexRegistry.getPropertyDomainIndex(this.ontology, reasoner);
+
+		assertSame(index, OntologyIndexRegistry.getPropertyDomainIndex(this.ontology, reasoner));
+
+		OntologyIndexRegistry.release(this.ontology);
+		assertNotSame(index, OntologyIndexRegistry.getPropertyDomainIndex(this.ontology, reasoner));
+	}
+
+	private PropertyDomainIndex getIndex() {
+		return OntologyIndexRegistry.getPropertyDomainIndex(
+				this.ontology, ReasonerRegistry.getReasoner(this.ontology));
+	}
+
+	private Set<OWLObjectPropertyExpression> objectPropertiesOf(
+			List<PropertyDomainIndex.ObjectPropertyEntry> entries) {
+		return entries.stream()
+				.map(PropertyDomainIndex.ObjectPropertyEntry::getProperty)
+				.collect(Collectors.toSet());
+	}
+
+	private Set<OWLDataProperty> dataPropertiesOf(
+			List<PropertyDomainIndex.DataPropertyEntry> entries) {
+		return entries.stream()
+				.map(PropertyDomainIndex.DataPropertyEntry::getProperty)
+				.collect(Collectors.toSet());
+	}
+
+	@Override
+	protected OWLClass owlClass(String name) {
+		final var owlClass = super.owlClass(name);
+		this.addAxiom(this.dataFactory.getOWLDeclarationAxiom(owlClass));
+		return owlClass;
+	}
+
+	private OWLObjectProperty objectProperty(String name) {
+		final var property = this.dataFactory.getOWLObjectProperty(IRI.create(NS + name));
+		this.addAxiom(this.dataFactory.getOWLDeclarationAxiom(property));
+		return property;
+	}
+
+	private OWLDataProperty dataProperty(String name) {
+		final var property = this.dataFactory.getOWLDataProperty(IRI.create(NS + name));
+		this.addAxiom(this.dataFactory.getOWLDeclarationAxiom(property));
+		return property;
+	}
+
+	private void addAxiom(OWLAxiom axiom) {
+		this.manager.addAxiom(this.ontology, axiom);
+	}
+}
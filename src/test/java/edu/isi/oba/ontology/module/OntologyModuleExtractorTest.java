@@ -0,0 +1,139 @@
+package edu.isi.oba.ontology.module;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+
+public class OntologyModuleExtractorTest {
+	private static final String NS = "http://example.org/";
+
+	private OWLOntologyManager manager;
+	private OWLDataFactory dataFactory;
+	private OWLOntology ontology;
+
+	@BeforeEach
+	void setUp() throws OWLOntologyCreationException {
+		this.manager = OWLManager.createOWLOntologyManager();
+		this.dataFactory = this.manager.getOWLDataFactory();
+		this.ontology = this.manager.createOntology(IRI.create(NS + "ontology"));
+
+		final var format = new TurtleDocumentFormat();
+		format.setPrefix("ex:", NS);
+		this.manager.setOntologyFormat(this.ontology, format);
+	}
+
+	@Test
+	void shouldThrowException_whenConstructorIsInvoked() throws Exception {
+		Constructor<OntologyModuleExtractor> constructor =
+				OntologyModuleExtractor.class.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		assertThrows(InvocationTargetException.class, constructor::newInstance);
+	}
+
+	@Test
+	void shouldKeepWhatTheClassesNeed_andDropTheRest() throws Exception {
+		final var band = this.owlClass("Band");
+		final var organisation = this.owlClass("Organisation");
+		final var person = this.owlClass("Person");
+		final var place = this.owlClass("Place");
+		final var building = this.owlClass("Building");
+		final var bandMember = this.objectProperty("bandMember");
+		final var formerBandMember = this.objectProperty("formerBandMember");
+		final var birthPlace = this.objectProperty("birthPlace");
+		final var floorCount = this.dataFactory.getOWLDataProperty(IRI.create(NS + "floorCount"));
+
+		this.addAxiom(this.dataFactory.getOWLSubClassOfAxiom(band, organisation));
+		this.addAxiom(this.dataFactory.getOWLSubClassOfAxiom(building, place));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(bandMember, organisation));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(bandMember, person));
+		this.addAxiom(this.dataFactory.getOWLSubObjectPropertyOfAxiom(formerBandMember, bandMember));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(birthPlace, person));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(birthPlace, place));
+		this.addAxiom(this.dataFactory.getOWLDataPropertyDomainAxiom(floorCount, building));
+		this.addAxiom(
+				this.dataFactory.getOWLAnnotationAssertionAxiom(
+						band.getIRI(), this.dataFactory.getRDFSLabel("band")));
+		this.addAxiom(
+				this.dataFactory.getOWLAnnotationAssertionAxiom(
+						building.getIRI(), this.dataFactory.getRDFSLabel("building")));
+
+		final var module =
+				OntologyModuleExtractor.extractModules(List.of(this.ontology), Set.of(band))
+						.get(this.ontology);
+
+		// The class, its super class, their properties (and sub-properties), and the ranges of those.
+		for (final var entity :
+				List.<OWLEntity>of(
+						band, organisation, person, place, bandMember, formerBandMember, birthPlace)) {
+			assertTrue(module.containsEntityInSignature(entity), entity.toString());
+		}
+		assertTrue(
+				module.containsAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(birthPlace, person)));
+		assertTrue(
+				module.containsAxiom(
+						this.dataFactory.getOWLAnnotationAssertionAxiom(
+								band.getIRI(), this.dataFactory.getRDFSLabel("band"))));
+
+		// Nothing the mapping of the class reaches.
+		assertFalse(module.containsEntityInSignature(building));
+		assertFalse(module.containsEntityInSignature(floorCount));
+		assertEquals(0, module.annotationAssertionAxioms(building.getIRI()).count());
+
+		assertEquals(this.ontology.getOntologyID(), module.getOntologyID());
+		assertEquals(
+				NS,
+				module
+						.getOWLOntologyManager()
+						.getOntologyFormat(module)
+						.asPrefixOWLDocumentFormat()
+						.getPrefix("ex:"));
+	}
+
+	@Test
+	void shouldFollowClassesReferencedAcrossOntologies() throws Exception {
+		final var other = this.manager.createOntology(IRI.create(NS + "other"));
+		this.manager.setOntologyFormat(other, new TurtleDocumentFormat());
+
+		final var band = this.owlClass("Band");
+		final var person = this.owlClass("Person");
+		final var place = this.owlClass("Place");
+		final var bandMember = this.objectProperty("bandMember");
+		final var birthPlace = this.objectProperty("birthPlace");
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyDomainAxiom(bandMember, band));
+		this.addAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(bandMember, person));
+		this.manager.addAxiom(
+				other, this.dataFactory.getOWLObjectPropertyDomainAxiom(birthPlace, person));
+		this.manager.addAxiom(
+				other, this.dataFactory.getOWLObjectPropertyRangeAxiom(birthPlace, place));
+
+		final var modules =
+				OntologyModuleExtractor.extractModules(List.of(this.ontology, other), Set.of(band));
+
+		assertTrue(modules.get(this.ontology).containsEntityInSignature(person));
+		assertTrue(modules.get(other).containsEntityInSignature(place));
+	}
+
+	private OWLClass owlClass(String name) {
+		final var owlClass = this.dataFactory.getOWLClass(IRI.create(NS + name));
+		this.addAxiom(this.dataFactory.getOWLDeclarationAxiom(owlClass));
+		return owlClass;
+	}
+
+	private OWLObjectProperty objectProperty(String name) {
+		final var property = this.dataFactory.getOWLObjectProperty(IRI.create(NS + name));
+		this.addAxiom(this.dataFactory.getOWLDeclarationAxiom(property));
+		return property;
+	}
+
+	private void addAxiom(OWLAxiom axiom) {
+		this.manager.addAxiom(this.ontology, axiom);
+	}
+}
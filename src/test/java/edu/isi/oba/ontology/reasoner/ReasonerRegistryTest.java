@@ -0,0 +1,191 @@
+package edu.isi.oba.ontology.reasoner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.InferenceDepth;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+public class ReasonerRegistryTest {
+
+	@AfterEach
+	void tearDown() {
+		ReasonerRegistry.clear();
+	}
+
+	@Test
+	void shouldThrowException_whenInstantiatingUtilityClass() throws Exception {
+		Constructor<ReasonerRegistry> constructor = ReasonerRegistry.class.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		assertThrows(InvocationTargetException.class, constructor::newInstance);
+	}
+
+	@Test
+	void shouldReturnSamePrecomputedReasoner_whenCalledRepeatedlyForSameOntology()
+			throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory dataFactory = manager.getOWLDataFactory();
+		OWLOntology ontology = manager.createOntology();
+
+		OWLClass animal = dataFactory.getOWLClass(IRI.create("http://example.org/Animal"));
+		OWLClass mammal = dataFactory.getOWLClass(IRI.create("http://example.org/Mammal"));
+		manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(mammal, animal));
+
+		OWLReasoner reasoner = ReasonerRegistry.getReasoner(ontology);
+
+		assertSame(reasoner, ReasonerRegistry.getReasoner(ontology));
+		assertTrue(reasoner.isPrecomputed(InferenceType.CLASS_HIERARCHY));
+		assertTrue(reasoner.isPrecomputed(InferenceType.OBJECT_PROPERTY_HIERARCHY));
+		assertTrue(reasoner.isPrecomputed(InferenceType.DATA_PROPERTY_HIERARCHY));
+		assertTrue(reasoner.getSubClasses(animal, false).containsEntity(mammal));
+	}
+
+	@Test
+	void shouldAnswerHierarchyQueries_likeUnsharedReasoner() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory dataFactory = manager.getOWLDataFactory();
+		OWLOntology ontology = manager.createOntology();
+
+		OWLClass animal = dataFactory.getOWLClass(IRI.create("http://example.org/Animal"));
+		OWLClass mammal = dataFactory.getOWLClass(IRI.create("http://example.org/Mammal"));
+		OWLClass dog = dataFactory.getOWLClass(IRI.create("http://example.org/Dog"));
+		OWLObjectProperty relatedTo =
+				dataFactory.getOWLObjectProperty(IRI.create("http://example.org/relatedTo"));
+		OWLObjectProperty ownedBy =
+				dataFactory.getOWLObjectProperty(IRI.create("http://example.org/ownedBy"));
+		OWLDataProperty name = dataFactory.getOWLDataProperty(IRI.create("http://example.org/name"));
+		OWLDataProperty nickname =
+				dataFactory.getOWLDataProperty(IRI.create("http://example.org/nickname"));
+		manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(mammal, animal));
+		manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(dog, mammal));
+		manager.addAxiom(ontology, dataFactory.getOWLSubObjectPropertyOfAxiom(ownedBy, relatedTo));
+		manager.addAxiom(ontology, dataFactory.getOWLSubDataPropertyOfAxiom(nickname, name));
+
+		OWLReasoner reasoner = ReasonerRegistry.getReasoner(ontology);
+		OWLReasoner unsharedReasoner = ReasonerUtil.createReasoner(ontology);
+
+		assertEquals(unsharedReasoner.getTopClassNode(), reasoner.getTopClassNode());
+		for (OWLClass owlClass : List.of(animal, mammal, dog)) {
+			for (boolean direct : new boolean[] {true, false}) {
+				assertEquals(
+						unsharedReasoner.getSuperClasses(owlClass, direct),
+						reasoner.getSuperClasses(owlClass, direct));
+				assertEquals(
+						unsharedReasoner.getSubClasses(owlClass, direct),
+						reasoner.getSubClasses(owlClass, direct));
+			}
+		}
+
+		assertEquals(
+				unsharedReasoner.getSubObjectProperties(relatedTo, InferenceDepth.DIRECT),
+				reasoner.getSubObjectProperties(relatedTo, InferenceDepth.DIRECT));
+		assertEquals(
+				unsharedReasoner.getSuperDataProperties(nickname),
+				reasoner.getSuperDataProperties(nickname));
+
+		// The queries about named entities are answered from the snapshot, and other queries by the
+		// reasoner.
+		assertSame(reasoner.getSuperClasses(dog, false), reasoner.getSuperClasses(dog, false));
+		final var intersection = dataFactory.getOWLObjectIntersectionOf(dog, mammal);
+		assertEquals(
+				unsharedReasoner.getSuperClasses(intersection, false),
+				reasoner.getSuperClasses(intersection, false));
+
+		unsharedReasoner.dispose();
+	}
+
+	@Test
+	void shouldAnswerStreamHierarchyQueries_whileReasonerIsLocked() throws Exception {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory dataFactory = manager.getOWLDataFactory();
+		OWLOntology ontology = manager.createOntology();
+
+		OWLClass animal = dataFactory.getOWLClass(IRI.create("http://example.org/Animal"));
+		OWLClass mammal = dataFactory.getOWLClass(IRI.create("http://example.org/Mammal"));
+		OWLObjectProperty relatedTo =
+				dataFactory.getOWLObjectProperty(IRI.create("http://example.org/relatedTo"));
+		OWLObjectProperty ownedBy =
+				dataFactory.getOWLObjectProperty(IRI.create("http://example.org/ownedBy"));
+		manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(mammal, animal));
+		manager.addAxiom(ontology, dataFactory.getOWLSubObjectPropertyOfAxiom(ownedBy, relatedTo));
+
+		OWLReasoner reasoner = ReasonerUtil.createReasoner(ontology);
+		reasoner.precomputeInferences(
+				InferenceType.CLASS_HIERARCHY,
+				InferenceType.OBJECT_PROPERTY_HIERARCHY,
+				InferenceType.DATA_PROPERTY_HIERARCHY);
+		final var expectedSubClasses = reasoner.subClasses(animal, false).collect(Collectors.toSet());
+		final var expectedSuperClasses =
+				reasoner.superClasses(mammal, InferenceDepth.DIRECT).collect(Collectors.toSet());
+		final var expectedSubProperties =
+				reasoner.subObjectProperties(relatedTo).collect(Collectors.toSet());
+
+		final var sharedReasoner =
+				ReasonerRegistry.synchronizedReasoner(reasoner, new HierarchySnapshot(ontology, reasoner));
+		final var executor = Executors.newSingleThreadExecutor();
+		try {
+			// Another thread queries the shared reasoner while this thread holds the reasoner's lock.
+			synchronized (reasoner) {
+				assertEquals(
+						expectedSubClasses,
+						executor
+								.submit(() -> sharedReasoner.subClasses(animal, false).collect(Collectors.toSet()))
+								.get(10, TimeUnit.SECONDS));
+				assertEquals(
+						expectedSuperClasses,
+						executor
+								.submit(
+										() ->
+												sharedReasoner
+														.superClasses(mammal, InferenceDepth.DIRECT)
+														.collect(Collectors.toSet()))
+								.get(10, TimeUnit.SECONDS));
+				assertEquals(
+						expectedSubProperties,
+						executor
+								.submit(
+										() -> sharedReasoner.subObjectProperties(relatedTo).collect(Collectors.toSet()))
+								.get(10, TimeUnit.SECONDS));
+				assertTrue(
+						executor
+								.submit(() -> sharedReasoner.topClassNode().anyMatch(OWLClass::isOWLThing))
+								.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+			reasoner.dispose();
+		}
+	}
+
+	@Test
+	void shouldReturnDifferentReasoners_whenOntologiesAreEqualButNotIdentical()
+			throws OWLOntologyCreationException {
+		final var ontologyIRI = IRI.create("http://example.org/ontology");
+		OWLOntology ontologyA = OWLManager.createOWLOntologyManager().createOntology(ontologyIRI);
+		OWLOntology ontologyB = OWLManager.createOWLOntologyManager().createOntology(ontologyIRI);
+
+		assertEquals(ontologyA, ontologyB);
+		assertNotSame(ReasonerRegistry.getReasoner(ontologyA), ReasonerRegistry.getReasoner(ontologyB));
+		assertSame(ontologyB, ReasonerRegistry.getReasoner(ontologyB).getRootOntology());
+	}
+
+	@Test
+	void shouldCreateNewReasoner_whenPreviousOneWasReleased() throws OWLOntologyCreationException {
+		OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+		OWLReasoner reasoner = ReasonerRegistry.getReasoner(ontology);
+		ReasonerRegistry.release(ontology);
+
+		assertNotSame(reasoner, ReasonerRegistry.getReasoner(ontology));
+	}
+}
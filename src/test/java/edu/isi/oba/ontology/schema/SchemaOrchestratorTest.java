@@ -11,6 +11,7 @@ import static org.mockito.Mockito.*;
 import edu.isi.oba.MapperProperty;
 import edu.isi.oba.config.ConfigPropertyNames;
 import edu.isi.oba.config.flags.GlobalFlags;
+import edu.isi.oba.ontology.index.OntologyIndexRegistry;
 import edu.isi.oba.ontology.reasoner.ReasonerUtil;
 import edu.isi.oba.ontology.visitor.VisitorContext;
 import io.swagger.v3.oas.models.media.ObjectSchema;
@@ -19,24 +20,27 @@ import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.ClassExpressionType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
-import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
-import org.semanticweb.owlapi.search.EntitySearcher;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNode;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNodeSet;
 
 public class SchemaOrchestratorTest {
 
@@ -54,6 +58,11 @@ public class SchemaOrchestratorTest {
 		orchestrator = new SchemaOrchestrator(context, logger);
 	}
 
+	@AfterEach
+	void tearDown() {
+		OntologyIndexRegistry.clear();
+	}
+
 	/** Test that generateSchema orchestrates all steps and returns the schema. */
 	@Test
 	void shouldReturnSchema_whenGenerateSchemaIsCalled() {
@@ -340,10 +349,10 @@ public class SchemaOrchestratorTest {
 			when(mockOntology.getOWLOntologyManager()).thenReturn(manager);
 			when(context.getBaseClassOntology()).thenReturn(mockOntology);
 
+			// Neither class is a super class of the other.
 			OWLReasoner mockReasoner = mock(OWLReasoner.class);
-			NodeSet<OWLClass> mockNodeSet = mock(NodeSet.class);
-			when(mockNodeSet.containsEntity(any())).thenReturn(false);
-			when(mockReasoner.getSuperClasses(any(OWLClass.class), eq(false))).thenReturn(mockNodeSet);
+			when(mockReasoner.getSuperClasses(any(OWLClass.class), eq(true)))
+					.thenReturn(new OWLClassNodeSet());
 			reasonerMock.when(() -> ReasonerUtil.createReasoner(mockOntology)).thenReturn(mockReasoner);
 			when(context.getReasoner()).thenReturn(mockReasoner);
 
@@ -397,11 +406,11 @@ public class SchemaOrchestratorTest {
 			when(mockOntology.getOWLOntologyManager()).thenReturn(manager);
 			when(context.getBaseClassOntology()).thenReturn(mockOntology);
 
+			// Class B is the (direct) super class of class A.
 			OWLReasoner mockReasoner = mock(OWLReasoner.class);
-			NodeSet<OWLClass> mockNodeSet = mock(NodeSet.class);
-			when(mockNodeSet.containsEntity(eq(mockClass))).thenReturn(false);
-			when(mockNodeSet.containsEntity(eq(mockClassB))).thenReturn(true);
-			when(mockReasoner.getSuperClasses(any(OWLClass.class), eq(false))).thenReturn(mockNodeSet);
+			when(mockReasoner.getSuperClasses(mockClass, true))
+					.thenReturn(new OWLClassNodeSet(new OWLClassNode(mockClassB)));
+			when(mockReasoner.getSuperClasses(mockClassB, true)).thenReturn(new OWLClassNodeSet());
 			reasonerMock.when(() -> ReasonerUtil.createReasoner(mockOntology)).thenReturn(mockReasoner);
 			when(context.getReasoner()).thenReturn(mockReasoner);
 
@@ -536,16 +545,16 @@ public class SchemaOrchestratorTest {
 		when(context.getClassSchema()).thenReturn(schema);
 
 		// Mock equivalent classes
-		try (MockedStatic<EntitySearcher> searcherMock = mockStatic(EntitySearcher.class)) {
-			searcherMock
-					.when(() -> EntitySearcher.getEquivalentClasses(refClass, ontology))
-					.thenReturn(Stream.of(mock(OWLClass.class)));
+		OWLEquivalentClassesAxiom equivalentAxiom = mock(OWLEquivalentClassesAxiom.class);
+		when(equivalentAxiom.namedClasses()).thenReturn(Stream.of(refClass));
+		when(equivalentAxiom.classExpressions()).thenReturn(Stream.of(refClass, mock(OWLClass.class)));
+		when(ontology.axioms(AxiomType.EQUIVALENT_CLASSES))
+				.thenAnswer(invocation -> Stream.of(equivalentAxiom));
 
-			orchestrator = new SchemaOrchestrator(context, logger);
-			orchestrator.generateSchema();
+		orchestrator = new SchemaOrchestrator(context, logger);
+		orchestrator.generateSchema();
 
-			verify(context, never()).removeReferencedClass(refClass);
-		}
+		verify(context, never()).removeReferencedClass(refClass);
 	}
 
 	@Test
@@ -565,7 +574,9 @@ public class SchemaOrchestratorTest {
 		var expr = mock(org.semanticweb.owlapi.model.OWLClassExpression.class);
 		when(expr.getClassExpressionType()).thenReturn(ClassExpressionType.OBJECT_COMPLEMENT_OF);
 		when(axiom.getNestedClassExpressions()).thenReturn(Set.of(expr));
-		when(ontology.getSubClassAxiomsForSubClass(refClass)).thenReturn(Set.of(axiom));
+		when(axiom.getSubClass()).thenReturn(refClass);
+		when(refClass.asOWLClass()).thenReturn(refClass);
+		when(ontology.axioms(AxiomType.SUBCLASS_OF)).thenAnswer(invocation -> Stream.of(axiom));
 
 		orchestrator = new SchemaOrchestrator(context, logger);
 		orchestrator.generateSchema();
@@ -588,9 +599,11 @@ public class SchemaOrchestratorTest {
 		when(schema.getProperties()).thenReturn(null);
 		when(context.getClassSchema()).thenReturn(schema);
 
-		when(ontology.getDataPropertiesInSignature()).thenReturn(Set.of(dataProp));
-		when(ontology.getDataPropertyDomainAxioms(dataProp)).thenReturn(Set.of(domainAxiom));
+		when(domainAxiom.getProperty()).thenReturn(dataProp);
+		when(domainAxiom.getDomain()).thenReturn(refClass);
 		when(domainAxiom.getClassesInSignature()).thenReturn(Set.of(refClass));
+		when(ontology.axioms(AxiomType.DATA_PROPERTY_DOMAIN))
+				.thenAnswer(invocation -> Stream.of(domainAxiom));
 
 		orchestrator = new SchemaOrchestrator(context, logger);
 		orchestrator.generateSchema();
@@ -616,28 +629,18 @@ public class SchemaOrchestratorTest {
 		// Simulate object property with matching short form
 		when(objProp.getIRI()).thenReturn(iri);
 		when(iri.getShortForm()).thenReturn("someProp");
-		when(ontology.getObjectPropertiesInSignature()).thenReturn(Set.of(objProp));
+		when(objProp.isNamed()).thenReturn(true);
+		when(objProp.asOWLObjectProperty()).thenReturn(objProp);
 		when(schema.getProperties()).thenReturn(Map.of("someProp", mock(Schema.class)));
-		when(ontology.getObjectPropertyRangeAxioms(objProp)).thenReturn(Set.of(rangeAxiom));
+		when(rangeAxiom.getProperty()).thenReturn(objProp);
 		when(rangeAxiom.getClassesInSignature()).thenReturn(Set.of(refClass));
+		when(ontology.axioms(AxiomType.OBJECT_PROPERTY_RANGE))
+				.thenAnswer(invocation -> Stream.of(rangeAxiom));
 
-		// Simulate other flags being true to prevent pruning
-		var axiom = mock(org.semanticweb.owlapi.model.OWLSubClassOfAxiom.class);
-		var expr = mock(org.semanticweb.owlapi.model.OWLClassExpression.class);
-		when(expr.getClassExpressionType()).thenReturn(ClassExpressionType.OBJECT_COMPLEMENT_OF);
-		when(axiom.getNestedClassExpressions()).thenReturn(Set.of(expr));
-		when(ontology.getSubClassAxiomsForSubClass(refClass)).thenReturn(Set.of(axiom));
-
-		try (MockedStatic<EntitySearcher> searcherMock = mockStatic(EntitySearcher.class)) {
-			searcherMock
-					.when(() -> EntitySearcher.getEquivalentClasses(refClass, ontology))
-					.thenReturn(Stream.of(mock(OWLClass.class)));
-
-			orchestrator = new SchemaOrchestrator(context, logger);
-			orchestrator.generateSchema();
+		orchestrator = new SchemaOrchestrator(context, logger);
+		orchestrator.generateSchema();
 
-			verify(context, never()).removeReferencedClass(refClass);
-		}
+		verify(context, never()).removeReferencedClass(refClass);
 	}
 
 	@Test
@@ -670,18 +673,11 @@ public class SchemaOrchestratorTest {
 		when(schema.getAllOf()).thenReturn(new ArrayList<>());
 		when(schema.getProperties()).thenReturn(Map.of("someProp", mock(Schema.class)));
 
-		// Stub EntitySearcher to return no equivalent classes
-		try (MockedStatic<EntitySearcher> searcherMock = mockStatic(EntitySearcher.class)) {
-			searcherMock
-					.when(() -> EntitySearcher.getEquivalentClasses(refClass, ontology))
-					.thenReturn(Stream.empty());
-
-			orchestrator = new SchemaOrchestrator(context, logger);
-			orchestrator.generateSchema();
+		orchestrator = new SchemaOrchestrator(context, logger);
+		orchestrator.generateSchema();
 
-			// ✅ If branch was taken, refClass should NOT be removed
-			verify(context, never()).removeReferencedClass(refClass);
-		}
+		// ✅ If branch was taken, refClass should NOT be removed
+		verify(context, never()).removeReferencedClass(refClass);
 	}
 
 	@Test
@@ -709,17 +705,11 @@ public class SchemaOrchestratorTest {
 		// Schema does NOT contain the property
 		when(schema.getProperties()).thenReturn(Map.of("someOtherProp", mock(Schema.class)));
 
-		try (MockedStatic<EntitySearcher> searcherMock = mockStatic(EntitySearcher.class)) {
-			searcherMock
-					.when(() -> EntitySearcher.getEquivalentClasses(refClass, ontology))
-					.thenReturn(Stream.empty());
-
-			orchestrator = new SchemaOrchestrator(context, logger);
-			orchestrator.generateSchema();
+		orchestrator = new SchemaOrchestrator(context, logger);
+		orchestrator.generateSchema();
 
-			// ✅ Since schema is missing the property, refClass should be removed
-			verify(context).removeReferencedClass(refClass);
-		}
+		// ✅ Since schema is missing the property, refClass should be removed
+		verify(context).removeReferencedClass(refClass);
 	}
 
 	@Test
@@ -754,17 +744,8 @@ public class SchemaOrchestratorTest {
 		when(manager.getOntologyFormat(ontology)).thenReturn(format);
 		when(ontology.getOWLOntologyManager()).thenReturn(manager);
 
-		// Ensure pruning condition is met
-		when(ontology.getSubClassAxiomsForSubClass(refClass)).thenReturn(Set.of());
-		when(ontology.getDataPropertiesInSignature()).thenReturn(Set.of());
-		when(ontology.getObjectPropertiesInSignature()).thenReturn(Set.of());
-
-		try (MockedStatic<EntitySearcher> searcherMock = mockStatic(EntitySearcher.class);
-				MockedStatic<SchemaBuilder> schemaBuilderMock = mockStatic(SchemaBuilder.class)) {
-			searcherMock
-					.when(() -> EntitySearcher.getEquivalentClasses(refClass, ontology))
-					.thenReturn(Stream.empty());
-
+		// Ensure pruning condition is met (the mocked ontology has no axioms which use the class)
+		try (MockedStatic<SchemaBuilder> schemaBuilderMock = mockStatic(SchemaBuilder.class)) {
 			schemaBuilderMock
 					.when(() -> SchemaBuilder.getPrefixedSchemaName(refClass, ontology))
 					.thenReturn("ex:TestClass");
@@ -734,6 +734,8 @@ public class RestrictionProcessorTest {
 			OWLClassExpression operand = mock(OWLClassExpression.class);
 			OWLClass owlClass = mock(OWLClass.class);
 			IRI classIRI = mock(IRI.class);
+			when(classIRI.toString()).thenReturn("http://example.org#TestClass");
+			when(classIRI.getShortForm()).thenReturn("TestClass");
 			when(owlClass.getIRI()).thenReturn(classIRI);
 			when(operand.asOWLClass()).thenReturn(owlClass);
 			when(complement.getOperand()).thenReturn(operand);
@@ -775,6 +777,8 @@ public class RestrictionProcessorTest {
 			OWLClassExpression operand = mock(OWLClassExpression.class);
 			OWLClass owlClass = mock(OWLClass.class);
 			IRI classIRI = mock(IRI.class);
+			when(classIRI.toString()).thenReturn("http://example.org#TestClass");
+			when(classIRI.getShortForm()).thenReturn("TestClass");
 			when(owlClass.getIRI()).thenReturn(classIRI);
 			when(operand.asOWLClass()).thenReturn(owlClass);
 			when(complement.getOperand()).thenReturn(operand);
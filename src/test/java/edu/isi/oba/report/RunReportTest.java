@@ -0,0 +1,103 @@
+package edu.isi.oba.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+
+public class RunReportTest {
+	@TempDir Path directory;
+
+	@AfterEach
+	void tearDown() {
+		RunReport.clear();
+	}
+
+	@Test
+	void shouldNotRecord_whenNotStarted() throws Exception {
+		final var mappingPhase = RunReport.phase("mapping");
+		try (mappingPhase) {
+			RunReport.startClass(this.owlClass("Person")).finish(false, 1, 2, 3);
+		}
+
+		assertFalse(RunReport.isStarted());
+		assertTrue(RunReport.getPhases().isEmpty());
+		assertTrue(RunReport.getClasses().isEmpty());
+
+		final var reportFile = this.directory.resolve(RunReport.REPORT_FILE_NAME);
+		RunReport.write(reportFile);
+		assertFalse(Files.exists(reportFile));
+	}
+
+	@Test
+	void shouldRecordPhasesInOrder_andClassesSlowestFirst() throws Exception {
+		RunReport.start("config.yaml");
+
+		final var loadPhase = RunReport.phase("load");
+		try (loadPhase) {
+			// Nothing to load.
+		}
+
+		final var mappingPhase = RunReport.phase("mapping");
+		try (mappingPhase) {
+			final var fast = RunReport.startClass(this.owlClass("Fast"));
+			final var slow = RunReport.startClass(this.owlClass("Slow"));
+			fast.finish(true, 0, 1, 0);
+			Thread.sleep(5);
+			slow.finish(false, 4, 2, 3);
+		}
+
+		final var phases = RunReport.getPhases();
+		assertEquals(2, phases.size());
+		assertEquals("load", phases.get(0).getName());
+		assertEquals("mapping", phases.get(1).getName());
+		assertTrue(phases.get(1).getTimeMillis() >= 5);
+
+		final var classes = RunReport.getClasses();
+		assertEquals(2, classes.size());
+		assertEquals("http://example.org/Slow", classes.get(0).getOwlClass());
+		assertFalse(classes.get(0).isCached());
+		assertEquals(4, classes.get(0).getAxiomCount());
+		assertEquals(2, classes.get(0).getPropertyCount());
+		assertEquals(3, classes.get(0).getRestrictionCount());
+		assertTrue(classes.get(1).isCached());
+	}
+
+	@Test
+	void shouldWriteReportAsJson() throws Exception {
+		RunReport.start("config.yaml");
+		final var serializationPhase = RunReport.phase("serialization");
+		try (serializationPhase) {
+			RunReport.startClass(this.owlClass("Person")).finish(false, 2, 1, 1);
+		}
+
+		final var reportFile = this.directory.resolve(RunReport.REPORT_FILE_NAME);
+		RunReport.write(reportFile);
+
+		final JsonNode report = Json.mapper().readTree(reportFile.toFile());
+		assertEquals("config.yaml", report.get("config").asText());
+		assertTrue(report.has("started"));
+		assertTrue(report.get("total_time_ms").isNumber());
+		assertEquals("serialization", report.get("phases").get(0).get("name").asText());
+		assertTrue(report.get("phases").get(0).has("allocated_bytes"));
+
+		final var personClass = report.get("classes").get(0);
+		assertEquals("http://example.org/Person", personClass.get("class").asText());
+		assertFalse(personClass.get("cached").asBoolean());
+		assertEquals(2, personClass.get("axioms").asInt());
+		assertEquals(1, personClass.get("properties").asInt());
+		assertEquals(1, personClass.get("restrictions").asInt());
+	}
+
+	private OWLClass owlClass(String name) {
+		return OWLManager.getOWLDataFactory().getOWLClass(IRI.create("http://example.org/" + name));
+	}
+}
@@ -0,0 +1,57 @@
+package edu.isi.oba.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class BoundedCacheTest {
+
+	@Test
+	void shouldComputeOnce_whenKeyIsCached() {
+		final var cache = new BoundedCache<String, String>(10);
+		final var computations = new AtomicInteger();
+
+		assertEquals("A", cache.get("a", key -> computations.incrementAndGet() > 0 ? "A" : null));
+		assertEquals("A", cache.get("a", key -> computations.incrementAndGet() > 0 ? "B" : null));
+
+		assertEquals(1, computations.get());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedEntry_whenFull() {
+		final var cache = new BoundedCache<String, String>(2);
+		cache.get("a", String::toUpperCase);
+		cache.get("b", String::toUpperCase);
+
+		// "a" is used more recently than "b", which is evicted by "c".
+		cache.get("a", String::toUpperCase);
+		cache.get("c", String::toUpperCase);
+		assertEquals(2, cache.size());
+
+		cache.get("a", String::toUpperCase);
+		assertEquals(2, cache.getHits());
+		cache.get("b", String::toUpperCase);
+		assertEquals(4, cache.getMisses());
+	}
+
+	@Test
+	void shouldResetCounters_whenCleared() {
+		final var cache = new BoundedCache<String, String>(2);
+		cache.get("a", String::toUpperCase);
+		cache.get("a", String::toUpperCase);
+
+		cache.clear();
+
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+	}
+
+	@Test
+	void shouldThrowException_whenMaximumSizeIsNotPositive() {
+		assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(0));
+	}
+}
@@ -3,10 +3,15 @@ package edu.isi.oba.utils;
 import static org.junit.jupiter.api.Assertions.*;
 
 import edu.isi.oba.BaseTest;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -84,4 +89,62 @@ public class StringUtilsTest extends BaseTest {
 	void testInsertCharBetweenLowerAndUpper(String input, char insertChar, String expected) {
 		assertEquals(expected, StringUtils.insertCharBetweenLowerAndUpper(input, insertChar));
 	}
+
+	@Test
+	void testTransformsAreMemoized() {
+		StringUtils.clearTransformCaches();
+
+		assertEquals("modelconfigurations", StringUtils.getLowerCasePluralOf("ModelConfiguration"));
+		assertEquals("model-configuration", StringUtils.pascalCaseToKebabCase("ModelConfiguration"));
+		assertEquals(0, StringUtils.getTransformCacheHits());
+		assertEquals(2, StringUtils.getTransformCacheMisses());
+
+		assertEquals("modelconfigurations", StringUtils.getLowerCasePluralOf("ModelConfiguration"));
+		assertEquals("model-configuration", StringUtils.pascalCaseToKebabCase("ModelConfiguration"));
+		assertEquals(2, StringUtils.getTransformCacheHits());
+		assertEquals(2, StringUtils.getTransformCacheMisses());
+	}
+
+	@Test
+	void testInflectionDictionary(@TempDir Path tempDir) throws IOException {
+		final var dictionary = tempDir.resolve("inflections.yaml");
+		Files.writeString(dictionary, "datum: data\nfoo: foozles\n");
+
+		try {
+			StringUtils.loadInflectionDictionary(dictionary);
+
+			assertEquals("data", StringUtils.getPluralOf("datum"));
+			assertEquals("data", StringUtils.getPluralOf("data"));
+			assertEquals("datum", StringUtils.getSingularOf("data"));
+			assertEquals("datum", StringUtils.getSingularOf("datum"));
+			assertEquals("foozles", StringUtils.getPluralOf("foo"));
+
+			// Words which are not in the dictionary are still inflected by RiTa.
+			assertEquals("cats", StringUtils.getPluralOf("cat"));
+		} finally {
+			StringUtils.setInflectionDictionary(Map.of());
+		}
+
+		assertEquals("datum", StringUtils.getSingularOf("datum"));
+		assertEquals("foos", StringUtils.getPluralOf("foo"));
+	}
+
+	@Test
+	void shouldKeepMemoizedTransforms_whenInflectionDictionaryIsUnchanged() {
+		StringUtils.setInflectionDictionary(Map.of());
+		StringUtils.clearTransformCaches();
+
+		assertEquals("cats", StringUtils.getPluralOf("cat"));
+		StringUtils.setInflectionDictionary(Map.of());
+		assertEquals("cats", StringUtils.getPluralOf("cat"));
+		assertEquals(1, StringUtils.getTransformCacheHits());
+
+		try {
+			StringUtils.setInflectionDictionary(Map.of("cat", "cattes"));
+			assertEquals("cattes", StringUtils.getPluralOf("cat"));
+			assertEquals(0, StringUtils.getTransformCacheHits());
+		} finally {
+			StringUtils.setInflectionDictionary(Map.of());
+		}
+	}
 }
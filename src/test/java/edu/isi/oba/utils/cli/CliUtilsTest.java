@@ -6,6 +6,7 @@ import edu.isi.oba.BaseTest;
 import edu.isi.oba.utils.exithandler.FatalErrorHandler;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 public class CliUtilsTest extends BaseTest {
@@ -36,4 +37,71 @@ public class CliUtilsTest extends BaseTest {
 		String result = CliUtils.getYamlConfigFileArgument(args);
 		assertNull(result); // Should return null after catching the exception
 	}
+
+	@Test
+	public void testGetConfigYamls() {
+		assertEquals(
+				List.of("a.yaml", "b.yaml", "c.yaml"),
+				CliUtils.getYamlConfigFilesArgument(
+						new String[] {"-c", "a.yaml", "b.yaml", "-w", "2", "--config", "c.yaml"}));
+		assertEquals(
+				List.of("config.yaml"),
+				CliUtils.getYamlConfigFilesArgument(new String[] {"-c", "config.yaml"}));
+		assertEquals(
+				"a.yaml", CliUtils.getYamlConfigFileArgument(new String[] {"-c", "a.yaml", "b.yaml"}));
+		assertEquals(List.of(), CliUtils.getYamlConfigFilesArgument(new String[] {"-s", "0"}));
+	}
+
+	@Test
+	public void testGetMappingWorkers() {
+		String[] args = {"-c", "config.yaml", "-w", "4"};
+		assertEquals(4, CliUtils.getMappingWorkersArgument(args));
+		assertEquals("config.yaml", CliUtils.getYamlConfigFileArgument(args));
+	}
+
+	@Test
+	public void testGetMappingWorkers_NotGiven() {
+		String[] args = {"-c", "config.yaml"};
+		assertNull(CliUtils.getMappingWorkersArgument(args));
+	}
+
+	@Test
+	public void testGetMappingWorkers_Invalid() {
+		// Inject a no-op exit handler to prevent System.exit
+		FatalErrorHandler.setExitHandlerForTesting(
+				code -> {
+					// Do nothing or log for verification
+				});
+
+		String[] args = {"-c", "config.yaml", "--workers", "zero"};
+		assertNull(CliUtils.getMappingWorkersArgument(args));
+	}
+
+	@Test
+	public void testGetWatch() {
+		assertTrue(CliUtils.getWatchArgument(new String[] {"-c", "config.yaml", "--watch"}));
+		assertTrue(CliUtils.getWatchArgument(new String[] {"-c", "config.yaml", "-W", "-w", "2"}));
+		assertFalse(CliUtils.getWatchArgument(new String[] {"-c", "config.yaml", "-w", "2"}));
+	}
+
+	@Test
+	public void testGetServerPort() {
+		String[] args = {"--server", "8080"};
+		assertEquals(8080, CliUtils.getServerPortArgument(args));
+		assertNull(CliUtils.getYamlConfigFileArgument(args));
+		assertNull(CliUtils.getServerPortArgument(new String[] {"-c", "config.yaml"}));
+	}
+
+	@Test
+	public void testGetServerPort_Invalid() {
+		// Inject a no-op exit handler to prevent System.exit
+		FatalErrorHandler.setExitHandlerForTesting(
+				code -> {
+					// Do nothing or log for verification
+				});
+
+		assertNull(CliUtils.getServerPortArgument(new String[] {"-s", "http"}));
+		// Either a configuration file or a server.
+		assertNull(CliUtils.getServerPortArgument(new String[] {"-s", "8080", "-c", "config.yaml"}));
+	}
 }
@@ -0,0 +1,73 @@
+package edu.isi.oba.utils.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.BaseTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link FileChangeWatcher}. */
+public class FileChangeWatcherTest extends BaseTest {
+
+	@TempDir Path directory;
+
+	@Test
+	@Timeout(value = 30, unit = TimeUnit.SECONDS)
+	void shouldReturnChangedWatchedFiles_onceChangesSettle() throws Exception {
+		final var config = Files.writeString(this.directory.resolve("config.yaml"), "name: a");
+		final var ontology = Files.writeString(this.directory.resolve("ontology.ttl"), "");
+		final var other = Files.writeString(this.directory.resolve("other.txt"), "");
+
+		try (final var watcher = new FileChangeWatcher(Duration.ofMillis(200))) {
+			watcher.watch(Set.of(config, ontology));
+			assertEquals(
+					Set.of(config.toAbsolutePath(), ontology.toAbsolutePath()), watcher.getWatchedFiles());
+
+			final var changes = CompletableFuture.supplyAsync(() -> this.awaitChanges(watcher));
+
+			// A burst of changes, including an unwatched file.
+			Files.writeString(other, "changed");
+			Files.writeString(config, "name: b");
+			Thread.sleep(50);
+			Files.writeString(ontology, "# changed");
+
+			assertEquals(
+					Set.of(config.toAbsolutePath(), ontology.toAbsolutePath()),
+					changes.get(20, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	@Timeout(value = 30, unit = TimeUnit.SECONDS)
+	void shouldIgnoreFiles_noLongerWatched() throws Exception {
+		final var config = Files.writeString(this.directory.resolve("config.yaml"), "name: a");
+		final var ontology = Files.writeString(this.directory.resolve("ontology.ttl"), "");
+
+		try (final var watcher = new FileChangeWatcher(Duration.ofMillis(100))) {
+			watcher.watch(Set.of(config, ontology));
+			watcher.watch(Set.of(config));
+
+			final var changes = CompletableFuture.supplyAsync(() -> this.awaitChanges(watcher));
+			Files.writeString(ontology, "# changed");
+			Thread.sleep(300);
+			Files.writeString(config, "name: b");
+
+			assertEquals(Set.of(config.toAbsolutePath()), changes.get(20, TimeUnit.SECONDS));
+		}
+	}
+
+	private Set<Path> awaitChanges(FileChangeWatcher watcher) {
+		try {
+			return watcher.awaitChanges();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,17 +1,29 @@
 package edu.isi.oba.utils.file;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import edu.isi.oba.BaseTest;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /** Unit tests for {@link FileWriterUtils}. Verifies file writing functionality. */
 public class FileWriterUtilsTest extends BaseTest {
 
+	@TempDir Path directory;
+
 	@Test
 	void shouldThrowException_whenInstantiatingUtilityClass() throws Exception {
 		Constructor<FileWriterUtils> constructor = FileWriterUtils.class.getDeclaredConstructor();
@@ -28,4 +40,84 @@ public class FileWriterUtilsTest extends BaseTest {
 		assertEquals(content, readContent);
 		Files.deleteIfExists(tempFile);
 	}
+
+	@Test
+	void shouldReplaceFile_whenWritingAtomically() throws Exception {
+		Path file = this.directory.resolve("sub").resolve("openapi.yaml");
+		FileWriterUtils.writeFileAtomically(
+				file, outputStream -> outputStream.write("old".getBytes(StandardCharsets.UTF_8)));
+		FileWriterUtils.writeFileAtomically(
+				file, outputStream -> outputStream.write("new".getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals("new", Files.readString(file));
+		try (var files = Files.list(file.getParent())) {
+			assertEquals(1, files.count());
+		}
+	}
+
+	@Test
+	void shouldWriteCompleteFile_whenWritingAtomicallyAtOnce() throws Exception {
+		Path file = this.directory.resolve("entry.json");
+		final var contents = List.of("a".repeat(100_000), "b".repeat(100_000));
+		final var executor = Executors.newFixedThreadPool(contents.size());
+		try {
+			final var writes = new ArrayList<Future<?>>();
+			for (final var content : contents) {
+				writes.add(
+						executor.submit(
+								() -> {
+									FileWriterUtils.writeFileAtomically(
+											file,
+											outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8)));
+									return null;
+								}));
+			}
+			for (final var write : writes) {
+				write.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertTrue(contents.contains(Files.readString(file)));
+		try (var files = Files.list(this.directory)) {
+			assertEquals(1, files.count());
+		}
+	}
+
+	@Test
+	void shouldKeepPermissions_whenWritingAtomically() throws Exception {
+		Path file = this.directory.resolve("openapi.yaml");
+		assumeTrue(Files.getFileAttributeView(this.directory, PosixFileAttributeView.class) != null);
+
+		FileWriterUtils.writeFileAtomically(
+				file, outputStream -> outputStream.write("new".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(PosixFilePermissions.fromString("rw-r--r--"), Files.getPosixFilePermissions(file));
+
+		Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-rw----"));
+		FileWriterUtils.writeFileAtomically(
+				file, outputStream -> outputStream.write("newer".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(PosixFilePermissions.fromString("rw-rw----"), Files.getPosixFilePermissions(file));
+	}
+
+	@Test
+	void shouldKeepExistingFile_whenWritingAtomicallyFails() throws Exception {
+		Path file = this.directory.resolve("openapi.yaml");
+		Files.writeString(file, "old");
+
+		assertThrows(
+				IOException.class,
+				() ->
+						FileWriterUtils.writeFileAtomically(
+								file,
+								outputStream -> {
+									outputStream.write("partial".getBytes(StandardCharsets.UTF_8));
+									throw new IOException("Failed part way");
+								}));
+
+		assertEquals("old", Files.readString(file));
+		try (var files = Files.list(this.directory)) {
+			assertEquals(1, files.count());
+		}
+	}
 }
@@ -15,7 +15,6 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.search.EntitySearcher;
 
 /**
  * Unit tests for {@link OntologyDescriptionUtils}. Covers all branches of getDescription and
@@ -96,26 +95,20 @@ public class OntologyDescriptionUtilsTest extends BaseTest {
 	public void shouldSkipAnnotation_whenLiteralIsNotPresent() {
 		final var entity = mock(OWLEntity.class);
 		final var ontology = mock(OWLOntology.class);
-		final var manager = mock(OWLOntologyManager.class);
-		final var dataFactory = mock(OWLDataFactory.class);
 		final var annotation = mock(OWLAnnotation.class);
 		final var value = mock(OWLAnnotationValue.class);
-		final var property = mock(OWLAnnotationProperty.class);
 		final var iri = IRI.create("http://example.com/label");
 
-		when(dataFactory.getOWLAnnotationProperty(iri)).thenReturn(property);
-		when(manager.getOWLDataFactory()).thenReturn(dataFactory);
-		when(ontology.getOWLOntologyManager()).thenReturn(manager);
 		when(annotation.getValue()).thenReturn(value);
 		when(value.asLiteral()).thenReturn(Optional.empty());
 
-		final var ontologyStream = Stream.of(ontology);
-
-		try (MockedStatic<EntitySearcher> searcher = mockStatic(EntitySearcher.class)) {
-			searcher
-					.when(
-							() ->
-									EntitySearcher.getAnnotationObjects(eq(entity), eq(ontologyStream), eq(property)))
+		try (MockedStatic<OntologyDescriptionUtils> utilsMock =
+				mockStatic(OntologyDescriptionUtils.class, CALLS_REAL_METHODS)) {
+			utilsMock
+					.when(OntologyDescriptionUtils::getDescriptionProperties)
+					.thenReturn(List.of(iri.toString()));
+			utilsMock
+					.when(() -> OntologyDescriptionUtils.getAnnotations(eq(entity), eq(ontology), eq(iri)))
 					.thenReturn(Stream.of(annotation));
 
 			final var description = OntologyDescriptionUtils.getDescription(entity, ontology, false);
@@ -139,20 +132,17 @@ public class OntologyDescriptionUtilsTest extends BaseTest {
 			final var annotation = mock(OWLAnnotation.class);
 			final var value = mock(OWLAnnotationValue.class);
 			final var literal = mock(OWLLiteral.class);
-			final var property = mock(OWLAnnotationProperty.class);
 			final var iri = IRI.create("http://example.com/label");
 
 			when(ontology.getOWLOntologyManager()).thenReturn(manager);
 			when(manager.getOWLDataFactory()).thenReturn(dataFactory);
-			when(dataFactory.getOWLAnnotationProperty(iri)).thenReturn(property);
 			when(annotation.getValue()).thenReturn(value);
 			when(value.asLiteral()).thenReturn(Optional.of(literal));
 			when(literal.getLiteral()).thenReturn("Some description");
 			when(literal.getLang()).thenReturn(null);
 
 			utilsMock
-					.when(
-							() -> OntologyDescriptionUtils.getAnnotations(eq(entity), eq(ontology), eq(property)))
+					.when(() -> OntologyDescriptionUtils.getAnnotations(eq(entity), eq(ontology), eq(iri)))
 					.thenReturn(Stream.of(annotation));
 
 			final var description = OntologyDescriptionUtils.getDescription(entity, ontology, false, "");
@@ -3,22 +3,34 @@ package edu.isi.oba.utils.ontology;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
 import edu.isi.oba.BaseTest;
+import edu.isi.oba.cache.OntologyCache;
 import edu.isi.oba.exceptions.OntologyDownloadException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 public class OntologyDownloaderTest extends BaseTest {
+	@TempDir Path directory;
 
 	@Test
 	void shouldThrowException_whenConstructorIsInvoked() throws Exception {
@@ -235,6 +247,205 @@ public class OntologyDownloaderTest extends BaseTest {
 		assertTrue(ex.getCause() instanceof IOException);
 	}
 
+	@Test
+	void shouldDownloadOnce_whenFirstSerializationSucceeds() throws Exception {
+		try (final var server = new StandInServer("<rdf:RDF/>", "\"v1\"")) {
+			final var downloadPath = this.directory.resolve("ontology.owl");
+			OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString());
+
+			assertEquals("<rdf:RDF/>", Files.readString(downloadPath));
+			assertEquals(List.of("application/rdf+xml"), server.getAcceptHeaders());
+		}
+	}
+
+	@Test
+	void shouldTryNextSerialization_whenServerRejectsOne() throws Exception {
+		try (final var server = new StandInServer("@prefix : <#> .", null)) {
+			server.rejectedSerializations.add("application/rdf+xml");
+			final var downloadPath = this.directory.resolve("ontology.owl");
+			final var contentType =
+					OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString());
+
+			assertEquals("text/turtle", contentType);
+			assertEquals("@prefix : <#> .", Files.readString(downloadPath));
+			assertEquals(List.of("application/rdf+xml", "text/turtle"), server.getAcceptHeaders());
+		}
+	}
+
+	@Test
+	void shouldRevalidateCachedOntology_withConditionalRequest() throws Exception {
+		final var cache = new OntologyCache(this.directory.resolve("cache"), false);
+		final var downloadPath = this.directory.resolve("ontology.owl");
+
+		try (final var server = new StandInServer("<rdf:RDF/>", "\"v1\"")) {
+			OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString(), cache);
+			Files.delete(downloadPath);
+
+			final var contentType =
+					OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString(), cache);
+
+			assertEquals("application/rdf+xml", contentType);
+			assertEquals("<rdf:RDF/>", Files.readString(downloadPath));
+			assertEquals(List.of(200, 304), server.statuses);
+			assertEquals("\"v1\"", server.ifNoneMatchHeaders.get(1));
+		}
+	}
+
+	@Test
+	void shouldDownloadAgain_whenCachedOntologyChanged() throws Exception {
+		final var cache = new OntologyCache(this.directory.resolve("cache"), false);
+		final var downloadPath = this.directory.resolve("ontology.owl");
+
+		try (final var server = new StandInServer("<rdf:RDF/>", "\"v1\"")) {
+			OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString(), cache);
+
+			server.content = "<rdf:RDF><owl:Class/></rdf:RDF>";
+			server.etag = "\"v2\"";
+			OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString(), cache);
+
+			assertEquals("<rdf:RDF><owl:Class/></rdf:RDF>", Files.readString(downloadPath));
+			assertEquals(List.of(200, 200), server.statuses);
+			assertEquals("\"v2\"", cache.get(server.getUri()).getEtag());
+		}
+	}
+
+	@Test
+	void shouldTryOtherSerializations_whenCachedSerializationIsRejected() throws Exception {
+		final var cache = new OntologyCache(this.directory.resolve("cache"), false);
+		final var downloadPath = this.directory.resolve("ontology.owl");
+
+		try (final var server = new StandInServer("<rdf:RDF/>", "\"v1\"")) {
+			OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString(), cache);
+
+			server.rejectedSerializations.add("application/rdf+xml");
+			server.content = "@prefix : <#> .";
+			final var contentType =
+					OntologyDownloader.downloadOntology(server.getUri(), downloadPath.toString(), cache);
+
+			assertEquals("text/turtle", contentType);
+			assertEquals("@prefix : <#> .", Files.readString(downloadPath));
+			assertEquals("text/turtle", cache.get(server.getUri()).getSerialization());
+		}
+	}
+
+	@Test
+	void shouldUseCachedOntology_whenRevalidationFails() throws Exception {
+		final var cache = new OntologyCache(this.directory.resolve("cache"), false);
+		final var downloadPath = this.directory.resolve("ontology.owl");
+
+		final String uri;
+		try (final var server = new StandInServer("<rdf:RDF/>", "\"v1\"")) {
+			uri = server.getUri();
+			OntologyDownloader.downloadOntology(uri, downloadPath.toString(), cache);
+			Files.delete(downloadPath);
+
+			server.failingStatus = HttpURLConnection.HTTP_UNAVAILABLE;
+			final var contentType =
+					OntologyDownloader.downloadOntology(uri, downloadPath.toString(), cache);
+
+			assertEquals("application/rdf+xml", contentType);
+			assertEquals("<rdf:RDF/>", Files.readString(downloadPath));
+			assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, server.statuses.get(1));
+		}
+
+		// The server is stopped, so the revalidation cannot connect.
+		Files.delete(downloadPath);
+		OntologyDownloader.downloadOntology(uri, downloadPath.toString(), cache);
+		assertEquals("<rdf:RDF/>", Files.readString(downloadPath));
+	}
+
+	@Test
+	void shouldUseCachedOntology_withoutNetwork_whenOffline() throws Exception {
+		final var cacheDirectory = this.directory.resolve("cache");
+		final var downloadPath = this.directory.resolve("ontology.owl");
+
+		final String uri;
+		try (final var server = new StandInServer("<rdf:RDF/>", null)) {
+			uri = server.getUri();
+			OntologyDownloader.downloadOntology(
+					uri, downloadPath.toString(), new OntologyCache(cacheDirectory, false));
+		}
+
+		// The server is stopped, so any request would fail.
+		Files.delete(downloadPath);
+		final var offlineCache = new OntologyCache(cacheDirectory, true);
+		OntologyDownloader.downloadOntology(uri, downloadPath.toString(), offlineCache);
+		assertEquals("<rdf:RDF/>", Files.readString(downloadPath));
+
+		assertThrows(
+				OntologyDownloadException.class,
+				() ->
+						OntologyDownloader.downloadOntology(
+								"http://127.0.0.1:1/missing", downloadPath.toString(), offlineCache));
+	}
+
+	/** Local stand-in for a server providing an ontology, which honours conditional requests. */
+	private static class StandInServer implements AutoCloseable {
+		private final HttpServer server;
+		private final List<String> acceptHeaders = new ArrayList<>();
+		private final List<String> ifNoneMatchHeaders = new ArrayList<>();
+		private final List<Integer> statuses = new ArrayList<>();
+		private final Set<String> rejectedSerializations = new HashSet<>();
+		private String content;
+		private String etag;
+		private Integer failingStatus;
+
+		StandInServer(String content, String etag) throws IOException {
+			this.content = content;
+			this.etag = etag;
+			this.server =
+					HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+			this.server.createContext("/ontology", this::handle);
+			this.server.start();
+		}
+
+		private synchronized void handle(HttpExchange exchange) throws IOException {
+			final var accept = exchange.getRequestHeaders().getFirst("Accept");
+			final var ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+			this.acceptHeaders.add(accept);
+			this.ifNoneMatchHeaders.add(ifNoneMatch);
+
+			if (this.failingStatus != null) {
+				this.respond(exchange, this.failingStatus, null);
+			} else if (this.rejectedSerializations.contains(accept)) {
+				this.respond(exchange, HttpURLConnection.HTTP_NOT_ACCEPTABLE, null);
+			} else if (this.etag != null && this.etag.equals(ifNoneMatch)) {
+				this.respond(exchange, HttpURLConnection.HTTP_NOT_MODIFIED, null);
+			} else {
+				if (this.etag != null) {
+					exchange.getResponseHeaders().set("ETag", this.etag);
+				}
+				exchange.getResponseHeaders().set("Content-Type", accept);
+				this.respond(exchange, HttpURLConnection.HTTP_OK, this.content);
+			}
+		}
+
+		private void respond(HttpExchange exchange, int status, String body) throws IOException {
+			this.statuses.add(status);
+			if (body == null) {
+				exchange.sendResponseHeaders(status, -1);
+			} else {
+				final var bytes = body.getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(status, bytes.length);
+				exchange.getResponseBody().write(bytes);
+			}
+			exchange.close();
+		}
+
+		String getUri() {
+			return "http://127.0.0.1:" + this.server.getAddress().getPort() + "/ontology";
+		}
+
+		synchronized List<String> getAcceptHeaders() {
+			return List.copyOf(this.acceptHeaders);
+		}
+
+		@Override
+		public void close() {
+			this.server.stop(0);
+		}
+	}
+
 	// @Test
 	// void shouldNotDownloadAnything_whenSerializationsAreEmpty() {
 	// 	try (MockedStatic<ObaConstants> mocked = mockStatic(ObaConstants.class)) {
@@ -0,0 +1,93 @@
+package edu.isi.oba.utils.ontology;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.isi.oba.BaseTest;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RioTurtleDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+public class OntologyFormatsTest extends BaseTest {
+	@TempDir Path directory;
+
+	@Test
+	void shouldThrowException_whenConstructorIsInvoked() throws Exception {
+		Constructor<OntologyFormats> constructor = OntologyFormats.class.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		assertThrows(InvocationTargetException.class, constructor::newInstance);
+	}
+
+	@Test
+	void shouldGetMimeType_withoutParameters() {
+		assertEquals(OntologyFormats.TURTLE, OntologyFormats.getMimeType("text/turtle; charset=UTF-8"));
+		assertEquals(OntologyFormats.RDF_XML, OntologyFormats.getMimeType("Application/RDF+XML"));
+		assertEquals(OntologyFormats.TURTLE, OntologyFormats.getMimeType("text/n3"));
+		assertNull(OntologyFormats.getMimeType("text/plain"));
+		assertNull(OntologyFormats.getMimeType(null));
+	}
+
+	@Test
+	void shouldDetectMimeType_fromContentTypeThenExtension() throws Exception {
+		final var file = Files.writeString(this.directory.resolve("ontology.ttl"), "<rdf:RDF/>");
+
+		assertEquals(
+				OntologyFormats.RDF_XML,
+				OntologyFormats.detectMimeType(file, "application/rdf+xml;charset=UTF-8"));
+		assertEquals(OntologyFormats.TURTLE, OntologyFormats.detectMimeType(file, "text/plain"));
+		assertEquals(OntologyFormats.TURTLE, OntologyFormats.detectMimeType(file, null));
+	}
+
+	@Test
+	void shouldSniffMimeType_fromContent() throws Exception {
+		assertEquals(OntologyFormats.RDF_XML, this.sniff("<?xml version=\"1.0\"?>\n<rdf:RDF/>"));
+		assertEquals(
+				OntologyFormats.OWL_XML,
+				this.sniff(
+						"<?xml version=\"1.0\"?>\n<Ontology xmlns=\"http://www.w3.org/2002/07/owl#\"/>"));
+		assertEquals(OntologyFormats.TURTLE, this.sniff("# Comment\n@prefix : <#> ."));
+		assertEquals(OntologyFormats.TURTLE, this.sniff("PREFIX : <#>"));
+		assertEquals(OntologyFormats.TURTLE, this.sniff("<http://a> <http://b> <http://c> ."));
+		assertEquals(OntologyFormats.JSON_LD, this.sniff("﻿{ \"@context\": {} }"));
+		assertEquals(OntologyFormats.FUNCTIONAL_SYNTAX, this.sniff("Prefix(:=<#>)"));
+		assertEquals(OntologyFormats.MANCHESTER_SYNTAX, this.sniff("Prefix: : <#>"));
+		assertNull(this.sniff("Not an ontology"));
+	}
+
+	@Test
+	void shouldParseWithDetectedFormat() throws Exception {
+		final var file = Path.of("src/test/resources/modelCat.ttl");
+		final var mimeType = OntologyFormats.detectMimeType(file, null);
+
+		final var ontology =
+				OWLManager.createOWLOntologyManager()
+						.loadOntologyFromOntologyDocument(
+								OntologyFormats.getDocumentSource(file.toFile(), mimeType));
+		assertTrue(ontology.getFormat() instanceof RioTurtleDocumentFormat);
+		assertTrue(ontology.getAxiomCount() > 0);
+	}
+
+	@Test
+	void shouldParseWithOtherParser_whenDetectedFormatIsWrong() throws Exception {
+		final var file = Path.of("src/test/resources/modelCat.ttl");
+
+		final var manager = OWLManager.createOWLOntologyManager();
+		final var ontology =
+				OntologyFormats.loadOntology(
+						manager, file.toFile(), OntologyFormats.RDF_XML, new OWLOntologyLoaderConfiguration());
+		assertFalse(ontology.getFormat() instanceof RDFXMLDocumentFormat);
+		assertTrue(ontology.getAxiomCount() > 0);
+		assertEquals(1, manager.ontologies().count());
+	}
+
+	private String sniff(String content) throws Exception {
+		return OntologyFormats.sniffMimeType(
+				Files.writeString(this.directory.resolve("ontology.owl"), content));
+	}
+}
@@ -65,4 +65,32 @@ public class SchemaRefUtilsTest extends BaseTest {
 		assertEquals("Address schema", dereferencedAddress.getDescription());
 		assertEquals("object", dereferencedAddress.getType());
 	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void shouldDereferenceChainOfReferences_whenSchemasAreInDifferentLevels() {
+		Map<String, Schema> schemaMap = new HashMap<>();
+		for (int i = 0; i < 50; i++) {
+			Schema<?> schema = new Schema<>();
+			schema.setType("object");
+			schema.setTitle("Schema" + i);
+			if (i > 0) {
+				Schema<?> ref = new Schema<>();
+				ref.set$ref("#/components/schemas/Schema" + (i - 1));
+				schema.addProperty("previous", ref);
+			}
+			schemaMap.put("Schema" + i, schema);
+		}
+
+		Map<String, Schema> dereferenced = SchemaRefUtils.getDereferencedSchemasParallel(schemaMap);
+
+		assertEquals(50, dereferenced.size());
+		Schema<?> schema = dereferenced.get("Schema49");
+		for (int i = 48; i >= 0; i--) {
+			schema = (Schema<?>) schema.getProperties().get("previous");
+			assertNull(schema.get$ref());
+			assertEquals("Schema" + i, schema.getTitle());
+		}
+		assertNull(schema.getProperties());
+	}
 }
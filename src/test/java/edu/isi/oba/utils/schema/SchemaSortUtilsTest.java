@@ -108,4 +108,30 @@ public class SchemaSortUtilsTest extends BaseTest {
 		List<String> sorted = SchemaSortUtils.topologicalSort(deps);
 		assertEquals(List.of("X", "A", "B"), sorted); // or any valid topological order
 	}
+
+	@Test
+	public void shouldGroupSchemasIntoSortedLevels_whenSortingIntoLevels() {
+		Map<String, Set<String>> deps = new HashMap<>();
+		deps.put("C", Set.of("A", "B"));
+		deps.put("B", Set.of("X"));
+		deps.put("A", Set.of("X"));
+		deps.put("Y", Set.of());
+		deps.put("X", Set.of());
+
+		List<List<String>> levels = SchemaSortUtils.topologicalLevels(deps);
+		assertEquals(List.of(List.of("X", "Y"), List.of("A", "B"), List.of("C")), levels);
+	}
+
+	@Test
+	public void shouldThrowException_whenSortingCyclicSchemasIntoLevels() {
+		Map<String, Set<String>> deps = new HashMap<>();
+		deps.put("A", Set.of("B"));
+		deps.put("B", Set.of("A"));
+		deps.put("C", Set.of());
+
+		Exception exception =
+				assertThrows(IllegalStateException.class, () -> SchemaSortUtils.topologicalLevels(deps));
+
+		assertEquals("Cycle detected in schema references: [A, B]", exception.getMessage());
+	}
 }